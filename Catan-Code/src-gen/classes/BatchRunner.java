@@ -0,0 +1,356 @@
+package classes;
+
+import classes.controller.GameMaster;
+import classes.controller.GameSpec;
+import classes.enums.RandomMode;
+import classes.model.BoardLayout;
+import classes.model.Player;
+import classes.sim.LockstepEngine;
+import classes.sim.OpeningBook;
+import classes.sim.OpeningBookBuilder;
+import classes.sim.SimResult;
+import classes.util.BoardLoader;
+import classes.util.ConfigReader;
+import classes.util.ExperimentConfigReader;
+import classes.util.GameOutputManager;
+import classes.util.LoggerUtil;
+import classes.util.SweepCheckpoint;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless batch mode: runs all-AI games on every board of the visualizer corpus in parallel.
+ *
+ * Boards are read by BoardLoader (base_map.json plus any scraped_boards/*.json; the
+ * shipped corpus is the base map only) and cached in binary form under
+ * target/layout-cache. Each game runs on its own GameMaster with state export
+ * disabled; only the per-board summary is logged.
+ *
+ * Sweep mode expands an experiment file (see ExperimentConfigReader) into games, shards
+ * them in chunks across worker threads and checkpoints every finished chunk, so a killed
+ * sweep resumes where it stopped. Each worker keeps one GameMaster and resets it for every
+ * game. With "engine: lockstep" each worker plays its chunks on a LockstepEngine instead;
+ * the results are identical, so a sweep can be resumed with either engine.
+ *
+ * Book mode builds OpeningBook entries for every corpus board and merges them into a book
+ * file. Corpus games use a book when -Dcatan.book names one; sweeps never do.
+ *
+ * Games write no state file unless -Dcatan.out.dir names a root for GameOutputManager;
+ * then each game writes its own.
+ *
+ * Usage: BatchRunner [corpusDir] [gamesPerBoard] [threads]
+ *        BatchRunner --sweep experiment.txt
+ *        BatchRunner --book corpusDir book.bin [rolloutsPerCandidate] [threads]
+ */
+public class BatchRunner {
+    private static final Logger LOGGER = Logger.getLogger(BatchRunner.class.getName());
+
+    private static final String DEFAULT_CORPUS = "../2aa4-2026-base/assignments/visualize";
+    private static final Path CACHE_DIR = Paths.get("target", "layout-cache");
+    /** Games per sweep chunk: the unit of work stealing and of checkpointing. */
+    private static final int SWEEP_CHUNK_SIZE = 64;
+
+    /** The all-AI seat configuration used for batch games. */
+    private static final List<String[]> AI_PLAYERS = List.of(
+            new String[]{"1", "AI"}, new String[]{"2", "AI"},
+            new String[]{"3", "AI"}, new String[]{"4", "AI"});
+
+    private final int maxRounds;
+    private final int threads;
+    private Demonstrator.SetupAdvisor book;
+    private GameOutputManager outputs;
+
+    /**
+     * @param maxRounds Round limit for each game
+     * @param threads   Number of worker threads
+     */
+    public BatchRunner(int maxRounds, int threads) {
+        this.maxRounds = maxRounds;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoggerUtil.setupLogging();
+        // Game-level logging is far too chatty for thousands of games, unless routed (see LoggerUtil)
+        Logger.getLogger("").setLevel(Level.parse(System.getProperty("catan.log.level", "WARNING")));
+        LOGGER.setLevel(Level.INFO);
+
+        if (args.length > 1 && "--sweep".equals(args[0])) {
+            ExperimentConfigReader experiment = new ExperimentConfigReader(args[1], new BoardLoader(CACHE_DIR));
+            BatchRunner runner = new BatchRunner(experiment.getRounds(), experiment.getThreads());
+            try (GameOutputManager outputs = GameOutputManager.fromProperties()) {
+                runner.setOutputs(outputs);
+                runner.runSweep(experiment);
+            }
+            return;
+        }
+
+        if (args.length > 2 && "--book".equals(args[0])) {
+            int rollouts = args.length > 3 ? Integer.parseInt(args[3]) : 32;
+            int bookThreads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+            buildBook(Paths.get(args[1]), Paths.get(args[2]), rollouts, bookThreads);
+            return;
+        }
+
+        Path corpus = Paths.get(args.length > 0 ? args[0] : DEFAULT_CORPUS);
+        int gamesPerBoard = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        List<BoardLayout> boards = new BoardLoader(CACHE_DIR).loadCorpus(corpus);
+        if (boards.isEmpty()) {
+            LOGGER.severe(() -> "No boards found in " + corpus);
+            return;
+        }
+
+        ConfigReader config = new ConfigReader("config.txt");
+        BatchRunner runner = new BatchRunner(config.getMaxRounds(), threads);
+        String bookFile = System.getProperty(OpeningBook.PROPERTY);
+        if (bookFile != null) {
+            runner.setBook(OpeningBook.open(Paths.get(bookFile)));
+        }
+        try (GameOutputManager outputs = GameOutputManager.fromProperties()) {
+            runner.setOutputs(outputs);
+            for (BoardSummary summary : runner.runCorpus(boards, gamesPerBoard)) {
+                LOGGER.info(summary::toString);
+            }
+        }
+    }
+
+    /**
+     * Builds opening book entries for every board of a corpus and merges them into a book file.
+     */
+    private static void buildBook(Path corpus, Path bookFile, int rollouts, int threads)
+            throws IOException, InterruptedException {
+        List<BoardLayout> boards = new BoardLoader(CACHE_DIR).loadCorpus(corpus);
+        ConfigReader config = new ConfigReader("config.txt");
+        OpeningBookBuilder builder = new OpeningBookBuilder(OpeningBook.MAX_PICKS, rollouts,
+                config.getMaxRounds(), threads, 0L);
+        List<OpeningBook.Entry> entries = new ArrayList<>();
+        for (BoardLayout board : boards) {
+            entries.addAll(builder.build(board, AI_PLAYERS.size()));
+            LOGGER.info(() -> "Book: " + board.getName());
+        }
+        OpeningBook.merge(bookFile, entries);
+        LOGGER.info(() -> String.format("Book: %d positions from %d boards -> %s", entries.size(), boards.size(), bookFile));
+    }
+
+    /**
+     * Uses an advisor (e.g. an OpeningBook) for AI setup placements in corpus games.
+     *
+     * @param book The advisor, or null for the default setup
+     */
+    public void setBook(Demonstrator.SetupAdvisor book) {
+        this.book = book;
+    }
+
+    /**
+     * @param outputs Where every game writes its own state file, or null for no output
+     */
+    public void setOutputs(GameOutputManager outputs) {
+        this.outputs = outputs;
+    }
+
+    /**
+     * Runs gamesPerBoard games on each board, spreading all games over the worker pool.
+     *
+     * @param boards        The layouts to play on
+     * @param gamesPerBoard Number of games per layout
+     * @return One summary per board, in the order given
+     */
+    public List<BoardSummary> runCorpus(List<BoardLayout> boards, int gamesPerBoard) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<List<Future<GameResult>>> futures = new ArrayList<>();
+            for (BoardLayout board : boards) {
+                List<Future<GameResult>> perBoard = new ArrayList<>();
+                for (int g = 0; g < gamesPerBoard; g++) {
+                    perBoard.add(pool.submit(() -> playGame(board)));
+                }
+                futures.add(perBoard);
+            }
+
+            List<BoardSummary> summaries = new ArrayList<>();
+            for (int b = 0; b < boards.size(); b++) {
+                BoardSummary summary = new BoardSummary(boards.get(b));
+                for (Future<GameResult> f : futures.get(b)) {
+                    summary.add(f.get());
+                }
+                summaries.add(summary);
+            }
+            return summaries;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs every game of an experiment, resuming from its checkpoint file.
+     * Workers claim chunks of consecutive spec indices from a shared counter, decode
+     * their specs lazily, and append each chunk's results to the checkpoint as it finishes.
+     *
+     * @param experiment The sweep to run
+     */
+    public void runSweep(ExperimentConfigReader experiment) throws IOException, InterruptedException {
+        long total = experiment.size();
+        int chunks = (int) ((total + SWEEP_CHUNK_SIZE - 1) / SWEEP_CHUNK_SIZE);
+        Path progress = experiment.getCheckpointPath();
+
+        try (SweepCheckpoint checkpoint = SweepCheckpoint.open(progress, experiment.fingerprint())) {
+            LOGGER.info(() -> String.format("Sweep: %d games in %d chunks, %d already done, %d threads -> %s",
+                    total, chunks, checkpoint.getResumedChunks(), threads, progress));
+
+            AtomicInteger nextChunk = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> workers = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    workers.add(pool.submit(() -> sweepWorker(experiment, checkpoint, nextChunk, chunks, total)));
+                }
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Sweep worker failed", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+            LOGGER.info(() -> String.format("Sweep complete: %d/%d chunks", checkpoint.getCompletedChunks(), chunks));
+        }
+    }
+
+    private void sweepWorker(ExperimentConfigReader experiment, SweepCheckpoint checkpoint,
+                             AtomicInteger nextChunk, int chunks, long total) {
+        LockstepEngine engine = experiment.isLockstep()
+                ? new LockstepEngine(SWEEP_CHUNK_SIZE, experiment.getPlayerCount()) : null;
+        GameMaster game = null;   // reset between games rather than rebuilt
+        int chunk;
+        while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+            if (checkpoint.isDone(chunk)) continue;
+
+            long from = (long) chunk * SWEEP_CHUNK_SIZE;
+            long to = Math.min(total, from + SWEEP_CHUNK_SIZE);
+            List<String> lines = new ArrayList<>();
+            if (engine != null) {
+                List<GameSpec> specs = new ArrayList<>();
+                for (long i = from; i < to; i++) {
+                    specs.add(experiment.specAt(i));
+                }
+                for (SimResult result : engine.runAll(specs)) {
+                    lines.add(resultLine(result.getSpec(), result.getWinnerId(), result.getRounds()));
+                }
+            } else {
+                for (long i = from; i < to; i++) {
+                    GameSpec spec = experiment.specAt(i);
+                    if (game == null) {
+                        game = new GameMaster(spec);
+                    } else {
+                        game.reset(spec);
+                    }
+                    GameResult result = playGame(game);
+                    lines.add(resultLine(spec, result.winnerId, result.rounds));
+                }
+            }
+            try {
+                checkpoint.complete(chunk, lines);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /** Paired games get a last column naming their arm (COMMON or ANTITHETIC). */
+    private static String resultLine(GameSpec spec, int winnerId, int rounds) {
+        String line = String.format("r,%d,%d,%s,%s,%d,%d", spec.getIndex(), spec.getSeed(),
+                spec.getWeightsName(), spec.getBoard().getName(), winnerId, rounds);
+        return spec.getRandomMode() == RandomMode.INDEPENDENT ? line : line + "," + spec.getRandomMode();
+    }
+
+    /**
+     * Plays one headless all-AI game on the given board.
+     */
+    private GameResult playGame(BoardLayout board) {
+        return playGame(new GameMaster(maxRounds, AI_PLAYERS, board), book);
+    }
+
+    private GameResult playGame(GameMaster game) {
+        return playGame(game, null);
+    }
+
+    private GameResult playGame(GameMaster game, Demonstrator.SetupAdvisor advisor) {
+        game.setStatePath(null);
+        game.setOutputManager(outputs);
+        Demonstrator.performSetupPhase(game, advisor);
+        game.startSimulation();
+        Player winner = game.getWinner();
+        return new GameResult(winner == null ? 0 : winner.getId(), game.getCurrentRound());
+    }
+
+    /**
+     * Outcome of a single game: winning player ID (0 if the round limit was hit) and rounds played.
+     */
+    public static class GameResult {
+        final int winnerId;
+        final int rounds;
+
+        GameResult(int winnerId, int rounds) {
+            this.winnerId = winnerId;
+            this.rounds = rounds;
+        }
+
+        public int getWinnerId() { return winnerId; }
+        public int getRounds() { return rounds; }
+    }
+
+    /**
+     * Aggregated results for one board: wins per seat and average game length.
+     */
+    public static class BoardSummary {
+        private final BoardLayout board;
+        private final int[] wins = new int[AI_PLAYERS.size() + 1];
+        private int games;
+        private long totalRounds;
+
+        BoardSummary(BoardLayout board) {
+            this.board = board;
+        }
+
+        void add(GameResult result) {
+            games++;
+            totalRounds += result.rounds;
+            if (result.winnerId >= 0 && result.winnerId < wins.length) {
+                wins[result.winnerId]++;
+            }
+        }
+
+        public BoardLayout getBoard() { return board; }
+        public int getGames() { return games; }
+        /** @return wins for the given player ID; index 0 counts games with no winner */
+        public int getWins(int playerId) { return wins[playerId]; }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%s: %d games, avg %.1f rounds, wins", board.getName(), games,
+                    games == 0 ? 0.0 : (double) totalRounds / games));
+            for (int id = 1; id < wins.length; id++) {
+                sb.append(String.format(" P%d=%d", id, wins[id]));
+            }
+            sb.append(String.format(" none=%d", wins[0]));
+            return sb.toString();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package classes;
 
 import classes.controller.GameMaster;
 import classes.util.ConfigReader;
+import classes.util.GameLogContext;
 import classes.util.LoggerUtil;
 import classes.model.Player;
 import classes.model.Buildings;
@@ -10,7 +11,6 @@ import classes.model.Road;
 import classes.model.Settlement;
 import classes.model.Vertex;
 import classes.model.Tile;
-import classes.util.JsonStateExporter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -76,27 +76,62 @@ public class Demonstrator {
      * Supports undo/redo for human players during setup.
      * @param game The GameMaster object managing the current simulation
      */
-    private static void performSetupPhase(GameMaster game) {
+    public static void performSetupPhase(GameMaster game) {
+        performSetupPhase(game, game.getSetupRandom());
+    }
+
+    /**
+     * Performs the setup phase, asking the advisor for each AI placement first.
+     * @param game The GameMaster object managing the current simulation
+     * @param advisor Suggests AI placements (e.g. an opening book); null for none
+     */
+    public static void performSetupPhase(GameMaster game, SetupAdvisor advisor) {
+        performSetupPhase(game, game.getSetupRandom(), advisor);
+    }
+
+    /**
+     * Performs the setup phase using the given random generator for AI placements.
+     * @param game The GameMaster object managing the current simulation
+     * @param rand Random generator for AI decision making
+     */
+    public static void performSetupPhase(GameMaster game, Random rand) {
+        performSetupPhase(game, rand, null);
+    }
+
+    /**
+     * Performs the setup phase using the given random generator for AI placements
+     * the advisor has no suggestion for.
+     * @param game The GameMaster object managing the current simulation
+     * @param rand Random generator for AI decision making
+     * @param advisor Suggests AI placements; null for none
+     */
+    public static void performSetupPhase(GameMaster game, Random rand, SetupAdvisor advisor) {
         List<Player> players = game.getPlayers(); // the list of participants
         List<Integer> assignedVertices = new ArrayList<>(); // tracks vertices where settlements are placed
-        @SuppressWarnings("java:S2245")
-        Random rand = new Random(); // random generator for AI decision making
-
-        // Standard Catan setup: two rounds of initial placements
-        for (int setupRound = 1; setupRound <= 2; setupRound++) {
-            final int round = setupRound; // effective final variable for lambda use
-            if (LOGGER.isLoggable(Level.INFO)) {
-                LOGGER.info(() -> String.format("--- Setup Round %d ---", round));
-            }
-            for (Player p : players) {
-                placeInitialPieces(p, round, game, assignedVertices, rand);
-                // Update the visualizer state after every move
-                JsonStateExporter.exportState(game.getBoard(), "../2aa4-2026-base/assignments/visualize/state.json");
+        GameLogContext logContext = game.getLogContext();
+        GameLogContext previous = logContext.bind();
+        try {
+            // Standard Catan setup: two rounds of initial placements
+            for (int setupRound = 1; setupRound <= 2; setupRound++) {
+                final int round = setupRound; // effective final variable for lambda use
+                logContext.setSeat(0);
+                if (LOGGER.isLoggable(Level.INFO)) {
+                    LOGGER.info(() -> String.format("--- Setup Round %d ---", round));
+                }
+                for (Player p : players) {
+                    logContext.setSeat(p.getId());
+                    placeInitialPieces(p, round, game, assignedVertices, rand, advisor);
+                    // Update the visualizer state after every move
+                    game.exportState();
+                }
             }
-        }
-        JsonStateExporter.exportState(game.getBoard(), "../2aa4-2026-base/assignments/visualize/state.json");
+            logContext.setSeat(0);
+            game.exportState();
 
-        printStartingResources(players);
+            printStartingResources(players);
+        } finally {
+            GameLogContext.restore(previous);
+        }
     }
 
     /**
@@ -108,8 +143,10 @@ public class Demonstrator {
      * @param game The game master controller
      * @param assigned The list of vertex IDs already occupied
      * @param rand Random generator for AI logic
+     * @param advisor Suggests AI placements; null for none
      */
-    private static void placeInitialPieces(Player p, int round, GameMaster game, List<Integer> assigned, Random rand) {
+    private static void placeInitialPieces(Player p, int round, GameMaster game, List<Integer> assigned, Random rand,
+                                           SetupAdvisor advisor) {
         Vertex startVertex; // the vertex chosen for the settlement
         Vertex neighbor; // the target vertex for the road connection
 
@@ -122,19 +159,19 @@ public class Demonstrator {
                 // Step 1: Place settlement
                 startVertex = handleHumanSettlementPlacement(p, round, game, assigned, scanner);
                 Settlement s = new Settlement(p);
-                s.placeOn(startVertex);
+                game.getBoard().placeBuilding(startVertex, s);
                 p.addBuilding(s);
                 p.addVictoryPoints(1);
-                JsonStateExporter.exportState(game.getBoard(), "../2aa4-2026-base/assignments/visualize/state.json");
+                game.exportState();
                 LOGGER.info("Settlement placed at vertex " + startVertex.getId() + ". Type 'undo' to redo, or press Enter to place road:");
                 String confirmSettle = scanner.nextLine().trim();
 
                 if (confirmSettle.equalsIgnoreCase("undo")) {
                     // Undo the settlement placement
-                    startVertex.setBuilding(null);
+                    game.getBoard().removeBuilding(startVertex);
                     p.getBuildingsBuilt().remove(s);
                     p.addVictoryPoints(-1);
-                    JsonStateExporter.exportState(game.getBoard(), "../2aa4-2026-base/assignments/visualize/state.json");
+                    game.exportState();
                     LOGGER.info("Settlement undone. Please choose again.");
                     continue; // restart the loop
                 }
@@ -144,22 +181,22 @@ public class Demonstrator {
                 Road r = new Road(p, startVertex, neighbor);
                 p.addRoad(r);
                 game.getBoard().placeRoad(r);
-                JsonStateExporter.exportState(game.getBoard(), "../2aa4-2026-base/assignments/visualize/state.json");
+                game.exportState();
                 LOGGER.info("Road placed from vertex " + startVertex.getId() + " to vertex " + neighbor.getId() + ". Type 'undo' to redo road, or press Enter to confirm:");
                 String confirmRoad = scanner.nextLine().trim();
 
                 if (confirmRoad.equalsIgnoreCase("undo")) {
                     // Undo the road placement only — go back to road selection
-                    game.getBoard().getRoads().remove(r);
+                    game.getBoard().removeRoad(r);
                     p.getRoadsBuilt().remove(r);
-                    JsonStateExporter.exportState(game.getBoard(), "../2aa4-2026-base/assignments/visualize/state.json");
+                    game.exportState();
                     LOGGER.info("Road undone. Please choose road again.");
                     // Re-place road only
                     neighbor = handleHumanRoadPlacement(p, round, startVertex, game, scanner);
                     r = new Road(p, startVertex, neighbor);
                     p.addRoad(r);
                     game.getBoard().placeRoad(r);
-                    JsonStateExporter.exportState(game.getBoard(), "../2aa4-2026-base/assignments/visualize/state.json");
+                    game.exportState();
                 }
 
                 // Both placements confirmed
@@ -179,9 +216,15 @@ public class Demonstrator {
 
         } else {
             // AI placement — no undo needed
-            startVertex = findValidVertex(p, round, game, assigned, rand);
+            int[] advice = advisor == null ? null : advisor.advise(game, p, round);
+            if (isValidAdvice(advice, assigned, game)) {
+                startVertex = game.getBoard().getVertex(advice[0]);
+                neighbor = game.getBoard().getVertex(advice[1]);
+            } else {
+                startVertex = findValidVertex(p, round, game, assigned, rand);
+                neighbor = startVertex.getAdjacentVertices().get(0); // AI defaults to the first valid neighbor
+            }
             assigned.add(startVertex.getId());
-            neighbor = startVertex.getAdjacentVertices().get(0); // AI defaults to the first valid neighbor
 
             executePlacement(p, startVertex, neighbor, game);
 
@@ -263,7 +306,7 @@ public class Demonstrator {
      */
     private static void executePlacement(Player p, Vertex startVertex, Vertex neighbor, GameMaster game) {
         Settlement s = new Settlement(p); // the settlement object to be placed
-        s.placeOn(startVertex);
+        game.getBoard().placeBuilding(startVertex, s);
         p.addBuilding(s);
         p.addVictoryPoints(1);
         Road r = new Road(p, startVertex, neighbor); // the road object to be placed
@@ -296,6 +339,23 @@ public class Demonstrator {
         }
     }
 
+    /**
+     * Checks an advisor's suggestion against the distance rule and road adjacency.
+     * @param advice {settlement vertex, road end vertex}, or null
+     * @param assigned The list of currently occupied vertex IDs
+     * @param game The game master controller
+     * @return True if the suggestion can be placed
+     */
+    private static boolean isValidAdvice(int[] advice, List<Integer> assigned, GameMaster game) {
+        if (advice == null) {
+            return false;
+        }
+        Vertex settlement = game.getBoard().getVertex(advice[0]);
+        Vertex roadEnd = game.getBoard().getVertex(advice[1]);
+        return settlement != null && roadEnd != null && isValidPlacement(settlement, assigned, game)
+                && settlement.getAdjacentVertices().contains(roadEnd);
+    }
+
     /**
      * Checks if a candidate vertex is valid for settlement placement,
      * ensuring it is unoccupied and not adjacent to another settlement.
@@ -385,6 +445,20 @@ public class Demonstrator {
         return resources;
     }
 
+    /**
+     * Suggests setup placements for AI players, e.g. from an opening book.
+     */
+    @FunctionalInterface
+    public interface SetupAdvisor {
+        /**
+         * @param game The game being set up
+         * @param player The AI player about to place
+         * @param round The setup round (1 or 2)
+         * @return {settlement vertex, road end vertex}, or null to use the default placement
+         */
+        int[] advise(GameMaster game, Player player, int round);
+    }
+
     /**
      * Prints a termination banner to indicate the end of the demonstration.
      */
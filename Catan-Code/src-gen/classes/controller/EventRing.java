@@ -0,0 +1,80 @@
+package classes.controller;
+
+import classes.enums.GameEventType;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer, single-consumer queue of game events.
+ *
+ * The game thread is the only producer and one consumer thread drains it, so the
+ * only synchronisation is an ordered write of each index. Events are stored as
+ * six ints per slot; nothing is allocated per event. When the ring is full the
+ * producer waits for the consumer instead of dropping events, so a replay or
+ * export always sees every event.
+ */
+public final class EventRing {
+    private static final int FIELDS = 6;
+    private static final GameEventType[] TYPES = GameEventType.values();
+
+    private final int mask;
+    private final int[] slots;
+    /** Next slot to write; written only by the producer. */
+    private final AtomicLong head = new AtomicLong();
+    /** Next slot to read; written only by the consumer. */
+    private final AtomicLong tail = new AtomicLong();
+    private final GameEvent scratch = new GameEvent();
+
+    /**
+     * @param capacity Events the ring can hold; rounded up to a power of two
+     */
+    public EventRing(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        this.mask = size - 1;
+        this.slots = new int[size * FIELDS];
+    }
+
+    /** Producer side: adds an event, waiting while the ring is full. */
+    void offer(GameEventType type, int round, int playerId, int a, int b, int c) {
+        long h = head.get();
+        while (h - tail.get() > mask) {
+            Thread.onSpinWait();
+        }
+        int i = (int) (h & mask) * FIELDS;
+        slots[i] = type.ordinal();
+        slots[i + 1] = round;
+        slots[i + 2] = playerId;
+        slots[i + 3] = a;
+        slots[i + 4] = b;
+        slots[i + 5] = c;
+        head.lazySet(h + 1);
+    }
+
+    /**
+     * Consumer side: delivers every queued event to the listener.
+     *
+     * @return the number of events delivered
+     */
+    public int drain(GameEventListener listener) {
+        long t = tail.get();
+        long h = head.get();
+        for (long n = t; n < h; n++) {
+            int i = (int) (n & mask) * FIELDS;
+            scratch.set(TYPES[slots[i]], slots[i + 1], slots[i + 2], slots[i + 3], slots[i + 4], slots[i + 5]);
+            listener.onEvent(scratch);
+        }
+        tail.lazySet(h);
+        return (int) (h - t);
+    }
+
+    /** @return events waiting to be drained */
+    public int size() {
+        return (int) (head.get() - tail.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
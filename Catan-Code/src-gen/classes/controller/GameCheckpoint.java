@@ -0,0 +1,373 @@
+package classes.controller;
+
+import classes.enums.DiceModel;
+import classes.enums.RandomMode;
+import classes.enums.ResourceType;
+import classes.model.*;
+import classes.moves.ValueWeights;
+import classes.util.Dice;
+import classes.util.DiceSource;
+import classes.util.RollTape;
+import classes.util.SeededRandom;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary encoding of a whole game, used by GameMaster.checkpoint() and restore().
+ *
+ * A checkpoint is a header (magic, version, body length) followed by the body, so
+ * checkpoints can be appended to one stream and read back one at a time. Counts and
+ * small numbers are unsigned LEB128 varints; seeds, generator states and weights are
+ * fixed 8-byte values. A mid-game checkpoint of a four-player game is about 250 bytes.
+ *
+ * Body (version 2; version 1 has no random mode and is read as INDEPENDENT):
+ *   seed, maxRounds, currentRound, turnsTaken, winner id (0 = none)
+ *   weights: victoryPointBuild, roadBuild, lowHand, lowHandThreshold
+ *   layout: name, then one byte per tile (resource << 4 | token)
+ *   robber tile id + 1 (0 = no robber)
+ *   dice, robber, steal, discard and setup generator states
+ *   random mode (RandomMode ordinal | DiceModel ordinal << 4; STREAM or TAPE)
+ *   players, in seat order: id, type, VP, the five card counts, generator state,
+ *     and buildings in the player's own order as (vertex << 1 | isCity)
+ *   roads, in board order, as (owner seat << 12 | start vertex << 6 | end vertex)
+ *
+ * Vertex ids are packed into 6 bits, which covers the 54-vertex board. A seat whose
+ * type GameMaster does not know was played by an AIPlayer and is saved as "AI".
+ * Reading checks every table index, count and id against the format and the board,
+ * so a corrupt or foreign file fails with an IOException ("bad checkpoint: ...").
+ */
+final class GameCheckpoint {
+    private static final int MAGIC = 0x434B5054; // "CKPT"
+    private static final int VERSION = 2;
+    private static final String[] TYPES = {"HUMAN", "AI", "PRODUCTION", "PLANNER", "EXPECTIMAX"};
+    private static final int VERTEX_BITS = 6;
+    private static final int VERTEX_MASK = (1 << VERTEX_BITS) - 1;
+    private static final ResourceType[] RESOURCES = ResourceType.values();
+    private static final RandomMode[] MODES = RandomMode.values();
+    private static final DiceModel[] DICE_MODELS = DiceModel.values();
+
+    private GameCheckpoint() {
+    }
+
+    static void write(GameMaster game, OutputStream out) throws IOException {
+        Buffer body = new Buffer();
+        Board board = game.getBoard();
+        List<Player> players = game.getPlayers();
+
+        body.fixed64(game.getSeed());
+        body.varint(game.getMaxRounds());
+        body.varint(game.getCurrentRound());
+        body.varint(game.getTurnsTaken());
+        body.varint(game.getWinner() == null ? 0 : game.getWinner().getId());
+
+        ValueWeights w = game.getWeights();
+        body.fixed64(Double.doubleToLongBits(w.getVictoryPointBuild()));
+        body.fixed64(Double.doubleToLongBits(w.getRoadBuild()));
+        body.fixed64(Double.doubleToLongBits(w.getLowHand()));
+        body.varint(w.getLowHandThreshold());
+
+        BoardLayout layout = game.getLayout();
+        byte[] name = layout.getName().getBytes(StandardCharsets.UTF_8);
+        body.varint(name.length);
+        body.bytes(name);
+        for (int t = 0; t < BoardLayout.TILE_COUNT; t++) {
+            body.u8(layout.getResource(t).ordinal() << 4 | layout.getToken(t));
+        }
+
+        Tile robberTile = board.getRobber() == null ? null : board.getRobber().getCurrentTile();
+        body.varint(robberTile == null ? 0 : robberTile.getId() + 1);
+        for (long state : game.getRandomStates()) {
+            body.fixed64(state);
+        }
+        body.u8(game.getRandomMode().ordinal() | diceModel(game.getDiceSource()).ordinal() << 4);
+
+        body.varint(players.size());
+        for (Player p : players) {
+            body.varint(p.getId());
+            body.u8(typeIndex(game.getPlayerType(p), p));
+            body.varint(p.getVictoryPoints());
+            for (int count : p.getHand().toArray()) {
+                body.varint(count);
+            }
+            if (p.getRandom() instanceof SeededRandom) {
+                body.u8(1);
+                body.fixed64(((SeededRandom) p.getRandom()).getState());
+            } else {
+                body.u8(0);
+            }
+            body.varint(p.getBuildingsBuilt().size());
+            for (Buildings b : p.getBuildingsBuilt()) {
+                body.varint(vertexId(b.getLocation()) << 1 | (b instanceof City ? 1 : 0));
+            }
+        }
+
+        body.varint(board.getRoads().size());
+        for (Road road : board.getRoads()) {
+            int seat = players.indexOf(road.getOwner());
+            body.varint(seat << (2 * VERTEX_BITS) | vertexId(road.getStart()) << VERTEX_BITS | vertexId(road.getEnd()));
+        }
+
+        Buffer header = new Buffer();
+        header.fixed32(MAGIC);
+        header.u8(VERSION);
+        header.varint(body.size);
+        out.write(header.data, 0, header.size);
+        out.write(body.data, 0, body.size);
+    }
+
+    /**
+     * @param seatType Player type for every seat, or null for the checkpointed types
+     */
+    static GameMaster read(InputStream in, String seatType) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a game checkpoint");
+        }
+        int version = data.readUnsignedByte();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported checkpoint version " + version);
+        }
+        int length = readVarint(data);
+        if (length < 0) throw new IOException("bad checkpoint: body length " + length);
+        byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        Reader body = new Reader(bytes);
+
+        long seed = body.fixed64();
+        int maxRounds = body.varint();
+        int currentRound = body.varint();
+        int turnsTaken = body.varint();
+        int winnerId = body.varint();
+
+        ValueWeights weights = new ValueWeights(Double.longBitsToDouble(body.fixed64()),
+                Double.longBitsToDouble(body.fixed64()), Double.longBitsToDouble(body.fixed64()), body.varint());
+
+        String name = new String(body.bytes(body.count("layout name length")), StandardCharsets.UTF_8);
+        ResourceType[] resources = new ResourceType[BoardLayout.TILE_COUNT];
+        int[] tokens = new int[BoardLayout.TILE_COUNT];
+        for (int t = 0; t < BoardLayout.TILE_COUNT; t++) {
+            int packed = body.u8();
+            resources[t] = entry(RESOURCES, packed >> 4, "resource");
+            tokens[t] = packed & 0xF;
+        }
+        BoardLayout layout = new BoardLayout(name, resources, tokens);
+
+        int robberTile = body.varint() - 1;
+        if (robberTile < -1 || robberTile >= BoardLayout.TILE_COUNT) {
+            throw new IOException("bad checkpoint: robber tile " + robberTile);
+        }
+        long[] randomStates = new long[5];
+        for (int i = 0; i < randomStates.length; i++) {
+            randomStates[i] = body.fixed64();
+        }
+        int modes = version >= 2 ? body.u8() : 0;
+        RandomMode randomMode = entry(MODES, modes & 0xF, "random mode");
+        DiceModel diceModel = entry(DICE_MODELS, modes >> 4, "dice model");
+        if (diceModel == DiceModel.DECK) throw new IOException("bad checkpoint: dice model " + diceModel);
+
+        // Seats first, so the game can be constructed; their pieces are placed after
+        int playerCount = body.count("player count");
+        List<String[]> configs = new ArrayList<>();
+        List<int[]> hands = new ArrayList<>();
+        int[] victoryPoints = new int[playerCount];
+        long[] playerStates = new long[playerCount];
+        boolean[] hasState = new boolean[playerCount];
+        List<int[]> buildings = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            int id = body.varint();
+            String type = entry(TYPES, body.u8(), "player type");
+            configs.add(new String[]{String.valueOf(id), seatType == null ? type : seatType});
+            victoryPoints[i] = body.varint();
+            int[] hand = new int[ResourceHand.RESOURCE_COUNT];
+            for (int r = 0; r < hand.length; r++) {
+                hand[r] = body.varint();
+            }
+            hands.add(hand);
+            hasState[i] = body.u8() == 1;
+            if (hasState[i]) {
+                playerStates[i] = body.fixed64();
+            }
+            int[] owned = new int[body.count("building count")];
+            for (int b = 0; b < owned.length; b++) {
+                owned[b] = body.varint();
+                checkVertex(owned[b] >> 1);
+            }
+            buildings.add(owned);
+        }
+
+        GameMaster game = new GameMaster(maxRounds, configs, layout, seed, weights, randomMode);
+        game.setStatePath(null);
+        game.setDiceModel(diceModel);
+        Board board = game.getBoard();
+        List<Player> players = game.getPlayers();
+        Player winner = null;
+
+        for (int i = 0; i < playerCount; i++) {
+            Player p = players.get(i);
+            for (int code : buildings.get(i)) {
+                Buildings b = (code & 1) == 1 ? new City(p) : new Settlement(p);
+                board.placeBuilding(board.getVertex(code >> 1), b);
+                p.addBuilding(b);
+            }
+            p.addVictoryPoints(victoryPoints[i] - p.getVictoryPoints());
+            p.getHand().setAll(hands.get(i));
+            if (hasState[i] && p.getRandom() instanceof SeededRandom) {
+                ((SeededRandom) p.getRandom()).setState(playerStates[i]);
+            }
+            if (p.getId() == winnerId) {
+                winner = p;
+            }
+        }
+
+        int roadCount = body.count("road count");
+        for (int i = 0; i < roadCount; i++) {
+            int packed = body.varint();
+            int seat = packed >> (2 * VERTEX_BITS);
+            if (seat < 0 || seat >= playerCount) throw new IOException("bad checkpoint: road owner seat " + seat);
+            checkVertex(packed >> VERTEX_BITS & VERTEX_MASK);
+            checkVertex(packed & VERTEX_MASK);
+            Player owner = players.get(seat);
+            Road road = new Road(owner, board.getVertex(packed >> VERTEX_BITS & VERTEX_MASK),
+                    board.getVertex(packed & VERTEX_MASK));
+            board.placeRoad(road);
+            owner.addRoad(road);
+        }
+
+        if (robberTile >= 0) {
+            board.moveRobber(board.getTile(robberTile));
+        }
+        game.setRandomStates(randomStates);
+        game.setProgress(currentRound, turnsTaken, winner);
+        return game;
+    }
+
+    /** Dice whose whole state lives in the game's dice stream; anything else cannot be saved. */
+    private static DiceModel diceModel(DiceSource dice) {
+        if (dice instanceof RollTape) return DiceModel.TAPE;
+        if (dice instanceof Dice) return DiceModel.STREAM;
+        throw new IllegalStateException("Cannot checkpoint a game rolling " + dice.getClass().getSimpleName());
+    }
+
+    /**
+     * @return the index of a seat's type in TYPES; types GameMaster does not know were
+     *         created as AIPlayer, so they are saved as "AI"
+     */
+    private static int typeIndex(String type, Player p) {
+        if (type == null) {
+            throw new IllegalStateException("Player " + p.getId() + " has no recorded type");
+        }
+        int index = Arrays.asList(TYPES).indexOf(type);
+        return index >= 0 ? index : Arrays.asList(TYPES).indexOf("AI");
+    }
+
+    private static <T> T entry(T[] table, int index, String what) throws IOException {
+        if (index < 0 || index >= table.length) {
+            throw new IOException("bad checkpoint: " + what + " " + index);
+        }
+        return table[index];
+    }
+
+    private static void checkVertex(int id) throws IOException {
+        if (id < 0 || id >= BoardTopology.STANDARD.getVertexCount()) {
+            throw new IOException("bad checkpoint: vertex " + id);
+        }
+    }
+
+    private static int vertexId(Vertex v) {
+        if (v.getId() > VERTEX_MASK) {
+            throw new IllegalStateException("Vertex id " + v.getId() + " does not fit the checkpoint format");
+        }
+        return v.getId();
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if (b < 0x80) return value;
+        }
+    }
+
+    /** Growable output buffer. */
+    private static final class Buffer {
+        byte[] data = new byte[256];
+        int size;
+
+        void u8(int b) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = (byte) b;
+        }
+
+        void varint(int value) {
+            while ((value & ~0x7F) != 0) {
+                u8((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            u8(value);
+        }
+
+        void fixed32(int value) {
+            for (int shift = 24; shift >= 0; shift -= 8) u8(value >>> shift);
+        }
+
+        void fixed64(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) u8((int) (value >>> shift));
+        }
+
+        void bytes(byte[] b) {
+            for (byte x : b) u8(x);
+        }
+    }
+
+    /** Reads the body written by Buffer. */
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int u8() throws IOException {
+            if (pos >= data.length) throw new IOException("Truncated checkpoint");
+            return data[pos++] & 0xFF;
+        }
+
+        int varint() throws IOException {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = u8();
+                value |= (b & 0x7F) << shift;
+                if (b < 0x80) return value;
+            }
+        }
+
+        long fixed64() throws IOException {
+            long value = 0;
+            for (int i = 0; i < 8; i++) value = (value << 8) | u8();
+            return value;
+        }
+
+        /** Reads a count that cannot exceed the bytes left, as each counted item takes at least one. */
+        int count(String what) throws IOException {
+            int n = varint();
+            if (n < 0 || n > data.length - pos) throw new IOException("bad checkpoint: " + what + " " + n);
+            return n;
+        }
+
+        byte[] bytes(int length) throws IOException {
+            if (length < 0 || pos + length > data.length) throw new IOException("Truncated checkpoint");
+            byte[] b = Arrays.copyOfRange(data, pos, pos + length);
+            pos += length;
+            return b;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package classes.controller;
+
+import classes.enums.GameEventType;
+
+/**
+ * One fact about a game, as delivered to GameEventListeners.
+ *
+ * Events hold only primitives, and the bus reuses a single instance for every
+ * synchronous delivery, so a listener must copy what it needs instead of keeping
+ * the object. The meaning of a, b and c depends on the type (see GameEventType).
+ */
+public final class GameEvent {
+    GameEventType type;
+    int round;
+    int playerId;
+    int a;
+    int b;
+    int c;
+
+    void set(GameEventType type, int round, int playerId, int a, int b, int c) {
+        this.type = type;
+        this.round = round;
+        this.playerId = playerId;
+        this.a = a;
+        this.b = b;
+        this.c = c;
+    }
+
+    public GameEventType getType() { return type; }
+    public int getRound() { return round; }
+    /** @return the acting player's id, or 0 for game-level events */
+    public int getPlayerId() { return playerId; }
+    public int getA() { return a; }
+    public int getB() { return b; }
+    public int getC() { return c; }
+
+    @Override
+    public String toString() {
+        return String.format("[%d] %s player=%d (%d, %d, %d)", round, type, playerId, a, b, c);
+    }
+}
@@ -0,0 +1,112 @@
+package classes.controller;
+
+import classes.enums.GameEventType;
+
+import java.util.Arrays;
+
+/**
+ * Publishes game events to synchronous listeners and asynchronous rings.
+ *
+ * Synchronous listeners sit in a pre-sized array and are called on the game thread,
+ * in subscription order, with one reused GameEvent. Asynchronous consumers each get
+ * an EventRing that they drain from their own thread.
+ *
+ * publish() only reads a field when nobody is subscribed, so the bus can stay in the
+ * headless simulation loop; callers should still avoid building arguments they only
+ * need for events.
+ */
+public class GameEventBus {
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private GameEventListener[] listeners;
+    private int listenerCount;
+    private EventRing[] rings = new EventRing[0];
+    /** listenerCount + rings.length, checked first on every publish. */
+    private int subscribers;
+    private final GameEvent event = new GameEvent();
+
+    public GameEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Synchronous listeners to make room for up front
+     */
+    public GameEventBus(int capacity) {
+        this.listeners = new GameEventListener[Math.max(1, capacity)];
+    }
+
+    public void subscribe(GameEventListener listener) {
+        if (listenerCount == listeners.length) {
+            listeners = Arrays.copyOf(listeners, listenerCount * 2);
+        }
+        listeners[listenerCount++] = listener;
+        subscribers++;
+    }
+
+    public void unsubscribe(GameEventListener listener) {
+        for (int i = 0; i < listenerCount; i++) {
+            if (listeners[i] == listener) {
+                System.arraycopy(listeners, i + 1, listeners, i, listenerCount - i - 1);
+                listeners[--listenerCount] = null;
+                subscribers--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds an asynchronous consumer.
+     *
+     * @param capacity Events the ring holds before the game thread has to wait
+     * @return The ring to drain from the consumer's thread
+     */
+    public EventRing subscribeAsync(int capacity) {
+        EventRing ring = new EventRing(capacity);
+        rings = Arrays.copyOf(rings, rings.length + 1);
+        rings[rings.length - 1] = ring;
+        subscribers++;
+        return ring;
+    }
+
+    public void unsubscribeAsync(EventRing ring) {
+        for (int i = 0; i < rings.length; i++) {
+            if (rings[i] == ring) {
+                EventRing[] rest = new EventRing[rings.length - 1];
+                System.arraycopy(rings, 0, rest, 0, i);
+                System.arraycopy(rings, i + 1, rest, i, rings.length - i - 1);
+                rings = rest;
+                subscribers--;
+                return;
+            }
+        }
+    }
+
+    /** @return true if any listener or ring is subscribed */
+    public boolean hasSubscribers() {
+        return subscribers != 0;
+    }
+
+    /**
+     * Delivers one event to every subscriber.
+     *
+     * @param type     The kind of event
+     * @param round    The current round
+     * @param playerId The acting player, or 0
+     * @param a        First argument (see GameEventType)
+     * @param b        Second argument
+     * @param c        Third argument
+     */
+    public void publish(GameEventType type, int round, int playerId, int a, int b, int c) {
+        if (subscribers == 0) return;
+        for (EventRing ring : rings) {
+            ring.offer(type, round, playerId, a, b, c);
+        }
+        if (listenerCount == 0) return;
+        GameEvent e = event;
+        for (int i = 0; i < listenerCount; i++) {
+            e.set(type, round, playerId, a, b, c);
+            listeners[i].onEvent(e);
+        }
+    }
+}
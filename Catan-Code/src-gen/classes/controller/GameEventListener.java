@@ -0,0 +1,9 @@
+package classes.controller;
+
+/**
+ * Receives game events (see GameEventBus). The event object is reused after the call
+ * returns.
+ */
+public interface GameEventListener {
+    void onEvent(GameEvent event);
+}
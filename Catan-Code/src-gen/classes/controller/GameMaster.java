@@ -2,17 +2,35 @@ package classes.controller;
 
 import classes.model.*;
 import classes.moves.PlayerAction;
+import classes.moves.ValueWeights;
 import classes.util.Dice;
+import classes.util.DiceDeck;
+import classes.util.DiceSource;
 import classes.util.RuleValidator;
-import classes.util.LoggerUtil;
+import classes.util.PairedRandom;
+import classes.util.RollTape;
+import classes.util.SeededRandom;
+import classes.util.GameLogContext;
 import classes.util.JsonStateExporter;
+import classes.util.GameOutputManager;
+import classes.enums.DiceModel;
+import classes.enums.GameEventType;
+import classes.enums.RandomMode;
 import classes.enums.ResourceType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Main controller for the Catan simulation.
- * Handles turn order, game loops, and resource distribution.
+ * Handles resource distribution and the robber; the turn order is
+ * stepped by TurnStateMachine.
  *
  * R3.1: Holds a CommandManager (Invoker) so that build actions executed
  * through it are recorded and can be undone or redone within a turn.
@@ -21,15 +39,55 @@ public class GameMaster {
     private static final Logger LOGGER = Logger.getLogger(GameMaster.class.getName());
     private Board board;
     private List<Player> players;
-    private Dice dice;
+    private DiceSource dice;
     private RuleValidator ruleValidator;
     private int currentRound;
     private int maxRounds;
     private static final int MAX_VICTORY_POINTS = 10;
-    private final Scanner scanner = new Scanner(System.in);
+    /** Console input, opened on first use: headless games never need it. */
+    private Scanner scanner;
+    private Player winner;
+
+    /** Default location of the visualizer's state file. */
+    public static final String DEFAULT_STATE_PATH = "../2aa4-2026-base/assignments/visualize/state.json";
+    /** Where board state is exported after each change; null disables exporting. */
+    private String statePath = DEFAULT_STATE_PATH;
+    /** Per-game output files, in addition to statePath; null for none. */
+    private GameOutputManager outputs;
+
+    /** Sub-stream IDs: each source of randomness gets its own stream of the game seed. */
+    public static final long STREAM_DICE = 1;
+    public static final long STREAM_ROBBER = 2;
+    public static final long STREAM_STEAL = 3;
+    public static final long STREAM_DISCARD = 4;
+    public static final long STREAM_SETUP = 5;
+    public static final long STREAM_PLAYER_BASE = 16;
+
+    private long seed;
+    private SeededRandom diceRandom;
+    private SeededRandom robberRandom;
+    private SeededRandom stealRandom;
+    private SeededRandom discardRandom;
+    private SeededRandom setupRandom;
+    private RandomMode randomMode;
+
+    private BoardLayout layout;
+    private ValueWeights weights;
+    /** Config type (HUMAN, AI, ...) of each player, by id. */
+    private final Map<Integer, String> playerTypes = new HashMap<>();
+    /** Turns finished in the current round. */
+    private int turnsTaken;
 
     /** R3.1: The Invoker that records executed actions for undo/redo. */
     private final CommandManager commandManager = new CommandManager();
+    private final GameEventBus events = new GameEventBus();
+    /** Game id and seat of this game's log records; bound while the game runs. */
+    private final GameLogContext logContext;
+
+    /** Human players queued to discard on a 7: {cards still owed, hand size before}. */
+    private final Map<HumanPlayer, int[]> pendingDiscards = new LinkedHashMap<>();
+    private Player robberRoller;
+    private boolean deferredInput;
 
     /**
      * Constructs a GameMaster with player configuration read from config file.
@@ -40,72 +98,372 @@ public class GameMaster {
      *                      each entry is a String array: [id, type]
      */
     public GameMaster(int maxRounds, List<String[]> playerConfigs) {
-        LoggerUtil.setupLogging();
+        this(maxRounds, playerConfigs, BoardLayout.defaultLayout());
+    }
+
+    /**
+     * Constructs a GameMaster playing on the given board layout.
+     * The game is seeded randomly; use getSeed() to reproduce it.
+     *
+     * @param maxRounds     The maximum number of rounds to simulate
+     * @param playerConfigs List of player config entries, each [id, type]
+     * @param layout        The tile contents of the board to play on
+     */
+    public GameMaster(int maxRounds, List<String[]> playerConfigs, BoardLayout layout) {
+        this(maxRounds, playerConfigs, layout, new Random().nextLong(), ValueWeights.defaults());
+    }
+
+    /**
+     * Constructs a headless all-AI game from an experiment spec.
+     * Every random choice in the game is derived from the spec's seed.
+     *
+     * @param spec The game to play
+     */
+    public GameMaster(GameSpec spec) {
+        this(spec.getMaxRounds(), aiPlayerConfigs(spec.getPlayerCount()), spec.getBoard(),
+                spec.getSeed(), spec.getWeights(), spec.getRandomMode(), spec.getIndex());
+        setDiceModel(spec.getDiceModel());
+    }
+
+    /**
+     * Constructs a fully seeded GameMaster.
+     *
+     * @param maxRounds     The maximum number of rounds to simulate
+     * @param playerConfigs List of player config entries, each [id, type]
+     * @param layout        The tile contents of the board to play on
+     * @param seed          Seed from which every random stream of the game is derived
+     * @param weights       Value scores used by the AI players
+     */
+    public GameMaster(int maxRounds, List<String[]> playerConfigs, BoardLayout layout,
+                      long seed, ValueWeights weights) {
+        this(maxRounds, playerConfigs, layout, seed, weights, RandomMode.INDEPENDENT);
+    }
+
+    /**
+     * Constructs a fully seeded GameMaster whose dice, robber, steal and discard
+     * streams draw as the given mode says (see RandomMode). Setup and player streams
+     * are SeededRandom in every mode.
+     *
+     * @param randomMode How the luck streams draw
+     * @see #GameMaster(int, List, BoardLayout, long, ValueWeights)
+     */
+    public GameMaster(int maxRounds, List<String[]> playerConfigs, BoardLayout layout,
+                      long seed, ValueWeights weights, RandomMode randomMode) {
+        this(maxRounds, playerConfigs, layout, seed, weights, randomMode, GameLogContext.nextGameId());
+    }
+
+    /**
+     * @param gameId Id this game's log records are tagged with
+     */
+    private GameMaster(int maxRounds, List<String[]> playerConfigs, BoardLayout layout,
+                       long seed, ValueWeights weights, RandomMode randomMode, long gameId) {
+        this.logContext = new GameLogContext(gameId);
         this.board = new Board();
         this.players = new ArrayList<>();
-        this.dice = new Dice();
+        this.seed = seed;
+        this.randomMode = randomMode;
+        this.diceRandom = luckStream(seed, STREAM_DICE, randomMode);
+        this.dice = new Dice(diceRandom);
+        this.robberRandom = luckStream(seed, STREAM_ROBBER, randomMode);
+        this.stealRandom = luckStream(seed, STREAM_STEAL, randomMode);
+        this.discardRandom = luckStream(seed, STREAM_DISCARD, randomMode);
+        this.setupRandom = SeededRandom.forStream(seed, STREAM_SETUP);
         this.ruleValidator = new RuleValidator(board);
         this.currentRound = 0;
-        this.maxRounds = Math.min(maxRounds, 8192);
+        this.maxRounds = maxRounds;
+        this.layout = layout;
+        this.weights = weights;
 
-        board.initializeDefaultMap();
+        board.initializeFromLayout(layout);
 
         // Players are configured via config.txt instead of being hardcoded
         for (String[] entry : playerConfigs) {
             int id = Integer.parseInt(entry[0]);
-            String type = entry[1];
-            if ("HUMAN".equals(type)) {
-                players.add(new HumanPlayer(id));
-                LOGGER.info(() -> String.format("Added Human Player %d", id));
-            } else {
-                players.add(new AIPlayer(id));
-                LOGGER.info(() -> String.format("Added AI Player %d", id));
-            }
+            players.add(createPlayer(id, entry[1]));
+            playerTypes.put(id, entry[1]);
         }
     }
 
-    public void startSimulation() {
-        LOGGER.info("=== Starting Catan Simulation ===");
-        boolean hasHumanPlayer = players.stream().anyMatch(HumanPlayer.class::isInstance);
+    private Player createPlayer(int id, String type) {
+        GameLogContext previous = logContext.bind();
+        try {
+            return newPlayer(id, type);
+        } finally {
+            GameLogContext.restore(previous);
+        }
+    }
+
+    private Player newPlayer(int id, String type) {
+        Player player;
+        if ("HUMAN".equals(type)) {
+            player = new HumanPlayer(id);
+            LOGGER.info(() -> String.format("Added Human Player %d", id));
+        } else if ("EXPECTIMAX".equals(type)) {
+            player = new ExpectimaxAIPlayer(id);
+            LOGGER.info(() -> String.format("Added Expectimax AI Player %d", id));
+        } else if ("PLANNER".equals(type)) {
+            player = new PlanningAIPlayer(id, weights);
+            LOGGER.info(() -> String.format("Added Planning AI Player %d", id));
+        } else if ("PRODUCTION".equals(type)) {
+            player = new ProductionAIPlayer(id, weights);
+            LOGGER.info(() -> String.format("Added Production AI Player %d", id));
+        } else {
+            player = new AIPlayer(id, weights);
+            LOGGER.info(() -> String.format("Added AI Player %d", id));
+        }
+        player.setRandom(SeededRandom.forStream(seed, STREAM_PLAYER_BASE + id));
+        return player;
+    }
+
+    // ------------------------------------------------------------------------------
+    // Reuse
+    // ------------------------------------------------------------------------------
+
+    /**
+     * Starts a new game in place with the same board layout, weights, round limit and
+     * dice, as if this GameMaster had just been constructed with the given seed and
+     * seats. Seats whose id and type are unchanged keep their player objects.
+     *
+     * @param seed          Seed from which every random stream of the game is derived
+     * @param playerConfigs Player config entries, each [id, type]
+     */
+    public void reset(long seed, List<String[]> playerConfigs) {
+        resetGame(maxRounds, playerConfigs.size(), i -> Integer.parseInt(playerConfigs.get(i)[0]),
+                i -> playerConfigs.get(i)[1], layout, seed, weights, randomMode, currentDiceModel());
+        logContext.setGameId(GameLogContext.nextGameId());
+    }
+
+    /**
+     * Starts the game of an experiment spec in place, for worker threads that play
+     * many games on one engine. The result is the same as new GameMaster(spec), but
+     * the board, streams, dice and (where id, type and weights match) players are
+     * reused, so a reset allocates next to nothing.
+     *
+     * @param spec The game to play next
+     */
+    public void reset(GameSpec spec) {
+        resetGame(spec.getMaxRounds(), spec.getPlayerCount(), i -> i + 1, i -> "AI",
+                spec.getBoard(), spec.getSeed(), spec.getWeights(), spec.getRandomMode(), spec.getDiceModel());
+        logContext.setGameId(spec.getIndex());
+    }
+
+    /**
+     * @param seatCount Number of seats
+     * @param idAt      Player id of each seat
+     * @param typeAt    Player type of each seat
+     * @param diceModel Dice to roll with, or null to keep a custom DiceSource
+     */
+    private void resetGame(int maxRounds, int seatCount, IntUnaryOperator idAt, IntFunction<String> typeAt,
+                           BoardLayout layout, long seed, ValueWeights weights, RandomMode randomMode,
+                           DiceModel diceModel) {
+        completeOutputs();   // an unfinished game's files are done with too
+        this.maxRounds = maxRounds;
+        this.currentRound = 0;
+        this.turnsTaken = 0;
+        this.winner = null;
+        this.robberRoller = null;
+        logContext.setSeat(0);
+        pendingDiscards.clear();
+        commandManager.clearHistory();
+
+        this.layout = layout;
+        board.reset(layout);
 
-        while (currentRound < maxRounds) {
-            currentRound++;
-            LOGGER.info(() -> String.format("--- Round %d ---", currentRound));
+        boolean newStreams = randomMode != this.randomMode;
+        if (newStreams) {
+            this.randomMode = randomMode;
+            diceRandom = luckStream(seed, STREAM_DICE, randomMode);
+            robberRandom = luckStream(seed, STREAM_ROBBER, randomMode);
+            stealRandom = luckStream(seed, STREAM_STEAL, randomMode);
+            discardRandom = luckStream(seed, STREAM_DISCARD, randomMode);
+        }
+        // Dice and tapes hold nothing but the stream; a deck holds its order, so it is dealt anew
+        if (diceModel != null && (newStreams || diceModel == DiceModel.DECK || diceModel != currentDiceModel())) {
+            setDiceModel(diceModel);
+        }
 
-            if (hasHumanPlayer) {
-                runRound();
+        // Seats keep their player while id, type and weights are unchanged. Players are
+        // found by id, not position, and moved into seat order.
+        boolean sameWeights = weights == this.weights;
+        this.weights = weights;
+        this.seed = seed;
+        for (int i = 0; i < seatCount; i++) {
+            int id = idAt.applyAsInt(i);
+            String type = typeAt.apply(i);
+            int found = -1;
+            for (int j = i; j < players.size() && found < 0; j++) {
+                if (players.get(j).getId() == id) found = j;
+            }
+            if (found >= 0) {
+                Collections.swap(players, i, found);
+                if (sameWeights && type.equals(playerTypes.get(id))) {
+                    players.get(i).reset();
+                    continue;
+                }
+                players.set(i, createPlayer(id, type));
             } else {
-                players.forEach(this::runTurn);
-                printRoundSummary();
+                players.add(i, createPlayer(id, type));
             }
+            playerTypes.put(id, type);
+        }
+        // Whatever is left over holds ids no seat uses any more
+        while (players.size() > seatCount) {
+            playerTypes.remove(players.remove(players.size() - 1).getId());
+        }
+        reseed(seed);
+    }
+
+    /** @return the model of the current dice, or null for a custom DiceSource */
+    private DiceModel currentDiceModel() {
+        if (dice instanceof RollTape) return DiceModel.TAPE;
+        if (dice instanceof DiceDeck) return DiceModel.DECK;
+        if (dice instanceof Dice) return DiceModel.STREAM;
+        return null;
+    }
+
+    private static SeededRandom luckStream(long seed, long streamId, RandomMode mode) {
+        if (mode == RandomMode.INDEPENDENT) {
+            return SeededRandom.forStream(seed, streamId);
+        }
+        return new PairedRandom(SeededRandom.streamState(seed, streamId), mode == RandomMode.ANTITHETIC);
+    }
+
+    private static List<String[]> aiPlayerConfigs(int count) {
+        List<String[]> configs = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            configs.add(new String[]{String.valueOf(id), "AI"});
+        }
+        return configs;
+    }
 
-            Player winner = checkVictory();
-            if (winner != null) {
-                LOGGER.info("=== GAME OVER ===");
-                LOGGER.info(() -> String.format("Winner: Player %d with %d VP!", winner.getId(), winner.getVictoryPoints()));
-                return;
+    /**
+     * Plays the game to the end on this thread, reading console input whenever a
+     * human player (or the pause before an AI turn) needs it.
+     * See TurnStateMachine for stepping the game without blocking.
+     */
+    public void startSimulation() {
+        TurnStateMachine machine = new TurnStateMachine(this);
+        while (machine.step()) {
+            if (machine.isAwaitingInput()) {
+                if (scanner == null) scanner = new Scanner(System.in);
+                machine.offerInput(scanner.nextLine());
             }
         }
-        LOGGER.info("=== SIMULATION ENDED ===");
-        printFinalStandings();
     }
 
-    public void runRound() {
-        for (Player player : players) {
-            if (player instanceof AIPlayer) {
-                waitForGoCommand(player.getId());
+    /**
+     * Writes the whole game (board, hands, victory points, round, seats and every
+     * random stream) in the compact binary format of GameCheckpoint. Checkpoints are
+     * meant to be taken between turns: the undo history of a turn in progress is not
+     * saved.
+     *
+     * @param out Where to write; several checkpoints may share one stream
+     */
+    public void checkpoint(OutputStream out) throws IOException {
+        GameCheckpoint.write(this, out);
+    }
+
+    /**
+     * Reads a game written by checkpoint(). The restored game continues exactly as
+     * the original would have: startSimulation() or a new TurnStateMachine picks up
+     * with the next turn.
+     *
+     * @param in Stream positioned at a checkpoint; left positioned after it
+     * @return The restored game (state exporting disabled)
+     * @throws IOException if the stream ends early or does not hold a supported checkpoint
+     */
+    public static GameMaster restore(InputStream in) throws IOException {
+        return GameCheckpoint.read(in, null);
+    }
+
+    /**
+     * Reads a game written by checkpoint(), seating every player as the given type,
+     * e.g. "AI" to play a position with human seats out headlessly.
+     *
+     * @param in       Stream positioned at a checkpoint; left positioned after it
+     * @param seatType Player type for every seat, or null to keep the checkpointed types
+     * @return The restored game (state exporting disabled)
+     * @throws IOException if the stream ends early or does not hold a supported checkpoint
+     */
+    public static GameMaster restore(InputStream in, String seatType) throws IOException {
+        return GameCheckpoint.read(in, seatType);
+    }
+
+    /**
+     * Re-derives every random stream (dice, robber, steal, discard, setup and each
+     * seeded player's) from a new seed, as if the game had been created with it.
+     * Pieces, hands and progress are untouched, so copies of one position reseeded
+     * differently play out as independent continuations.
+     *
+     * @param seed The new seed
+     */
+    public void reseed(long seed) {
+        this.seed = seed;
+        diceRandom.setState(SeededRandom.streamState(seed, STREAM_DICE));
+        robberRandom.setState(SeededRandom.streamState(seed, STREAM_ROBBER));
+        stealRandom.setState(SeededRandom.streamState(seed, STREAM_STEAL));
+        discardRandom.setState(SeededRandom.streamState(seed, STREAM_DISCARD));
+        setupRandom.setState(SeededRandom.streamState(seed, STREAM_SETUP));
+        for (Player p : players) {
+            if (p.getRandom() instanceof SeededRandom) {
+                ((SeededRandom) p.getRandom()).setState(SeededRandom.streamState(seed, STREAM_PLAYER_BASE + p.getId()));
             }
-            runTurn(player);
         }
-        printRoundSummary();
     }
 
-    public void runTurn(Player player) {
-        // R3.1: Clear undo/redo history at the start of each turn so that
-        // undo cannot reach back into a previous player's turn.
+    /** Starts the next round. */
+    void beginRound() {
+        currentRound++;
+        turnsTaken = 0;
+        logContext.setSeat(0);
+        LOGGER.info(() -> String.format("--- Round %d ---", currentRound));
+    }
+
+    /** @return true if another round may be played */
+    boolean hasRoundsLeft() {
+        return currentRound < maxRounds;
+    }
+
+    /**
+     * R3.1: Clears undo/redo history at the start of each turn so that
+     * undo cannot reach back into a previous player's turn.
+     */
+    void beginTurn(Player player) {
+        logContext.setSeat(player.getId());
         commandManager.clearHistory();
-        player.takeTurn(this);
-        JsonStateExporter.exportState(this.board, "../2aa4-2026-base/assignments/visualize/state.json");
+        publish(GameEventType.TURN_START, player, 0, 0, 0);
+    }
+
+    /** Ends the current player's turn. */
+    void endTurn() {
+        exportState();
+        turnsTaken++;
+    }
+
+    /**
+     * Prints the round summary and checks for a winner.
+     *
+     * @return true if the game is over
+     */
+    boolean endRound() {
+        printRoundSummary();
+        winner = checkVictory();
+        if (winner == null) {
+            return false;
+        }
+        events.publish(GameEventType.GAME_OVER, currentRound, winner.getId(), 0, 0, 0);
+        completeOutputs();
+        LOGGER.info("=== GAME OVER ===");
+        LOGGER.info(() -> String.format("Winner: Player %d with %d VP!", winner.getId(), winner.getVictoryPoints()));
+        return true;
+    }
+
+    /** Ends a game that ran out of rounds without a winner. */
+    void endSimulation() {
+        events.publish(GameEventType.GAME_OVER, currentRound, 0, 0, 0, 0);
+        completeOutputs();
+        LOGGER.info("=== SIMULATION ENDED ===");
+        printFinalStandings();
     }
 
     /**
@@ -117,7 +475,7 @@ public class GameMaster {
      */
     public void executeAction(PlayerAction action) {
         commandManager.executeCommand(action, this);
-        JsonStateExporter.exportState(this.board, "../2aa4-2026-base/assignments/visualize/state.json");
+        exportState();
     }
 
     /**
@@ -127,7 +485,7 @@ public class GameMaster {
      */
     public boolean undoLastAction() {
         boolean result = commandManager.undo(this);
-        JsonStateExporter.exportState(this.board, "../2aa4-2026-base/assignments/visualize/state.json");
+        exportState();
         return result;
     }
 
@@ -138,14 +496,66 @@ public class GameMaster {
      */
     public boolean redoLastAction() {
         boolean result = commandManager.redo(this);
-        JsonStateExporter.exportState(this.board, "../2aa4-2026-base/assignments/visualize/state.json");
+        exportState();
         return result;
     }
 
-    public void rollAndDistribute(Player roller) {
-        int roll = dice.roll();
-        logAction(roller, "rolled " + roll);
+    /**
+     * Writes the board to the visualizer state file, unless exporting is disabled.
+     */
+    public void exportState() {
+        if (statePath != null) {
+            JsonStateExporter.exportState(this.board, statePath);
+        }
+        if (outputs != null) {
+            try {
+                outputs.write(logContext.getGameId(), JsonStateExporter.STATE_FILE, JsonStateExporter.toBytes(board));
+            } catch (IOException | UncheckedIOException e) {
+                LOGGER.log(Level.SEVERE, "Failed to export game state of game {0}", logContext.getGameId());
+            }
+        }
+    }
+
+    /** Hands this game's output files to the output manager as finished. */
+    private void completeOutputs() {
+        if (outputs == null) return;
+        try {
+            outputs.complete(logContext.getGameId());
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Failed to complete the output of game {0}", logContext.getGameId());
+        }
+    }
+
+    /**
+     * Replaces the dice with a model drawing from this game's dice stream.
+     *
+     * @param model The dice to roll with
+     */
+    public void setDiceModel(DiceModel model) {
+        switch (model) {
+            case TAPE: dice = new RollTape(diceRandom); break;
+            case DECK: dice = new DiceDeck(diceRandom); break;
+            default: dice = new Dice(diceRandom); break;
+        }
+    }
+
+    /**
+     * Replaces the dice with any source, e.g. a ReplayDice. Only STREAM and TAPE
+     * dice can be checkpointed.
+     *
+     * @param dice Where the game's rolls come from
+     */
+    public void setDiceSource(DiceSource dice) {
+        this.dice = dice;
+    }
+
+    /** @return where the game's rolls come from */
+    public DiceSource getDiceSource() {
+        return dice;
+    }
 
+    public void rollAndDistribute(Player roller) {
+        int roll = rollDice(roller);
         if (roll == 7) {
             handleRobberAction(roller);
         } else {
@@ -153,10 +563,35 @@ public class GameMaster {
         }
     }
 
+    int rollDice(Player roller) {
+        int roll = dice.roll();
+        logAction(roller, "rolled " + roll);
+        publish(GameEventType.ROLL, roller, roll, 0, 0);
+        return roll;
+    }
+
     private void handleRobberAction(Player roller) {
+        startRobber(roller);
+        if (!hasPendingDiscards()) {
+            finishRobber();
+        }
+    }
+
+    /**
+     * First half of a 7: players over 7 cards discard. With deferred input, human
+     * players are queued instead of prompted, and finishRobber() must wait for them.
+     */
+    void startRobber(Player roller) {
         LOGGER.info("A 7 was rolled! Robber activated.");
+        robberRoller = roller;
         discardExcessCards();
-        Tile newTile = moveRobber();
+    }
+
+    /** Second half of a 7: the roller moves the robber and steals. */
+    void finishRobber() {
+        Player roller = robberRoller;
+        robberRoller = null;
+        Tile newTile = moveRobber(roller);
         stealCard(roller, newTile);
     }
 
@@ -164,29 +599,70 @@ public class GameMaster {
         for (Player p : players) {
             int total = p.getHand().totalCards();
             if (total > 7) {
+                if (p instanceof HumanPlayer && deferredInput) {
+                    ((HumanPlayer) p).promptDiscard(total / 2);
+                    pendingDiscards.put((HumanPlayer) p, new int[]{total / 2, total});
+                    continue;
+                }
                 if (p instanceof HumanPlayer) {
                     ((HumanPlayer) p).discardHalf();
                 } else {
-                    p.getHand().discardRandomCards(total / 2);
+                    p.getHand().discardRandomCards(total / 2, discardRandom);
                 }
                 logAction(p, "discarded cards due to robber.");
+                publish(GameEventType.DISCARD, p, total - p.getHand().totalCards(), 0, 0);
             }
         }
     }
 
-    private Tile moveRobber() {
+    /** @return true while a human player still owes cards to a 7 */
+    boolean hasPendingDiscards() {
+        return !pendingDiscards.isEmpty();
+    }
+
+    /** @return true while a 7 is waiting for finishRobber() */
+    boolean isRobberPending() {
+        return robberRoller != null;
+    }
+
+    /**
+     * Applies one line of discard input to the first human player who still owes cards.
+     */
+    void offerDiscard(String input) {
+        Map.Entry<HumanPlayer, int[]> first = pendingDiscards.entrySet().iterator().next();
+        HumanPlayer p = first.getKey();
+        int[] owed = first.getValue();
+        if (p.discardOne(input) && --owed[0] == 0) {
+            pendingDiscards.remove(p);
+            logAction(p, "discarded cards due to robber.");
+            publish(GameEventType.DISCARD, p, owed[1] - p.getHand().totalCards(), 0, 0);
+        }
+    }
+
+    /**
+     * @param deferredInput true to queue human discards for offerDiscard() instead of
+     *                      reading them from the console (set by TurnStateMachine)
+     */
+    void setDeferredInput(boolean deferredInput) {
+        this.deferredInput = deferredInput;
+    }
+
+    private Tile moveRobber(Player roller) {
+        Tile oldTile = board.getRobber().getCurrentTile();
         List<Tile> potentialTiles = new ArrayList<>(board.getTiles());
-        potentialTiles.remove(board.getRobber().getCurrentTile());
+        potentialTiles.remove(oldTile);
 
-        Tile newTile = potentialTiles.get(new Random().nextInt(potentialTiles.size()));
-        board.getRobber().moveTo(newTile);
+        Tile newTile = potentialTiles.get(robberRandom.nextInt(potentialTiles.size()));
+        board.moveRobber(newTile);
+        publish(GameEventType.ROBBER_MOVED, roller, oldTile == null ? -1 : oldTile.getId(), newTile.getId(), 0);
 
         LOGGER.info("Robber moved to " + newTile.toString());
         return newTile;
     }
 
     private void stealCard(Player roller, Tile tile) {
-        Set<Player> qualifyingPlayers = new HashSet<>();
+        // Insertion-ordered so that the victim choice is reproducible under a seed
+        Set<Player> qualifyingPlayers = new LinkedHashSet<>();
         for (Vertex v : tile.getAdjacentVertices()) {
             if (v.isOccupied() && v.getOwner() != roller) {
                 qualifyingPlayers.add(v.getOwner());
@@ -199,16 +675,17 @@ public class GameMaster {
         }
 
         List<Player> victimList = new ArrayList<>(qualifyingPlayers);
-        Player victim = victimList.get(new Random().nextInt(victimList.size()));
-        ResourceType stolen = victim.getHand().removeRandomCard();
+        Player victim = victimList.get(stealRandom.nextInt(victimList.size()));
+        ResourceType stolen = victim.getHand().removeRandomCard(stealRandom);
 
         if (stolen != null) {
             roller.collectResource(stolen, 1);
             logAction(roller, "stole a card from Player " + victim.getId());
+            publish(GameEventType.STEAL, roller, victim.getId(), stolen.ordinal(), 0);
         }
     }
 
-    private void produceResources(int roll) {
+    void produceResources(int roll) {
         Tile robberTile = board.getRobber().getCurrentTile();
         for (Tile tile : board.getTiles()) {
             if (tile.producesOnRoll(roll) && !tile.equals(robberTile)) {
@@ -225,22 +702,11 @@ public class GameMaster {
                 Player owner = building.getOwner();
                 int amount = (building instanceof City) ? 2 : 1;
                 owner.collectResource(resource, amount);
+                publish(GameEventType.PRODUCTION, owner, resource.ordinal(), amount, tile.getId());
             }
         }
     }
 
-    private void waitForGoCommand(int nextPlayerId) {
-        LOGGER.info(() -> String.format("%n[PAUSED] Ready for AI Player %d.", nextPlayerId));
-        LOGGER.info("Type 'go' to proceed to the next agent's turn:");
-        while (true) {
-            String input = scanner.nextLine().trim();
-            if (input.equalsIgnoreCase("go")) {
-                break;
-            }
-            LOGGER.info("Waiting for 'go' command...");
-        }
-    }
-
     public Player checkVictory() {
         return players.stream()
                 .filter(p -> p.getVictoryPoints() >= MAX_VICTORY_POINTS)
@@ -248,6 +714,18 @@ public class GameMaster {
                 .orElse(null);
     }
 
+    /**
+     * Publishes an event for the current round; free when nobody is subscribed.
+     *
+     * @param type   The kind of event
+     * @param player The acting player
+     */
+    public void publish(GameEventType type, Player player, int a, int b, int c) {
+        if (events.hasSubscribers()) {
+            events.publish(type, currentRound, player.getId(), a, b, c);
+        }
+    }
+
     public void logAction(Player player, String action) {
         LOGGER.info(() -> String.format("[%d] / [Player %d]: %s", currentRound, player.getId(), action));
     }
@@ -262,9 +740,11 @@ public class GameMaster {
     }
 
     private void printFinalStandings() {
-        players.sort((p1, p2) -> Integer.compare(p2.getVictoryPoints(), p1.getVictoryPoints()));
-        for (int i = 0; i < players.size(); i++) {
-            Player p = players.get(i);
+        // Sort a copy: the players list stays in seat order for checkpoints and resets
+        List<Player> standings = new ArrayList<>(players);
+        standings.sort((p1, p2) -> Integer.compare(p2.getVictoryPoints(), p1.getVictoryPoints()));
+        for (int i = 0; i < standings.size(); i++) {
+            Player p = standings.get(i);
             LOGGER.info((i + 1) + ". Player " + p.getId() + ": " + p.getVictoryPoints() + " VP");
         }
     }
@@ -274,4 +754,53 @@ public class GameMaster {
     public RuleValidator getRuleValidator() { return ruleValidator; }
     public int getCurrentRound() { return currentRound; }
     public CommandManager getCommandManager() { return commandManager; }
+    /** @return the bus that game events are published on */
+    public GameEventBus getEvents() { return events; }
+    /** @return the game id and seat this game's log records are tagged with */
+    public GameLogContext getLogContext() { return logContext; }
+    /** @return the player who reached the victory point target, or null if none did */
+    public Player getWinner() { return winner; }
+    public String getStatePath() { return statePath; }
+    /** @return the seed every random stream of this game is derived from */
+    public long getSeed() { return seed; }
+    /** @return how the dice, robber, steal and discard streams draw */
+    public RandomMode getRandomMode() { return randomMode; }
+    /** @return the tile contents this game was created with */
+    public BoardLayout getLayout() { return layout; }
+    /** @return the value scores given to the AI players */
+    public ValueWeights getWeights() { return weights; }
+    public int getMaxRounds() { return maxRounds; }
+    /** @return the number of turns finished in the current round */
+    public int getTurnsTaken() { return turnsTaken; }
+    /** @return the config type (HUMAN, AI, ...) the player was created from */
+    String getPlayerType(Player player) { return playerTypes.get(player.getId()); }
+
+    /** @return the states of the dice, robber, steal, discard and setup streams */
+    long[] getRandomStates() {
+        return new long[]{diceRandom.getState(), robberRandom.getState(), stealRandom.getState(),
+                discardRandom.getState(), setupRandom.getState()};
+    }
+
+    void setRandomStates(long[] states) {
+        diceRandom.setState(states[0]);
+        robberRandom.setState(states[1]);
+        stealRandom.setState(states[2]);
+        discardRandom.setState(states[3]);
+        setupRandom.setState(states[4]);
+    }
+
+    /** Puts the round counters back to a checkpointed position. */
+    void setProgress(int currentRound, int turnsTaken, Player winner) {
+        this.currentRound = currentRound;
+        this.turnsTaken = turnsTaken;
+        this.winner = winner;
+    }
+
+    /** @return the random stream reserved for setup-phase placements */
+    public Random getSetupRandom() { return setupRandom; }
+    /** @param statePath where to export board state, or null to disable exporting (headless runs) */
+    public void setStatePath(String statePath) { this.statePath = statePath; }
+    /** @param outputs where to write this game's own state file (named by its log game id), or null for none */
+    public void setOutputManager(GameOutputManager outputs) { this.outputs = outputs; }
+    public GameOutputManager getOutputManager() { return outputs; }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package classes.controller;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Steps many games on one thread, round-robin.
+ *
+ * Each pass gives every game up to `quantum` steps of its TurnStateMachine. Games
+ * waiting for input are skipped until a line is offered to them (from any thread),
+ * and finished games are dropped.
+ */
+public class GameScheduler {
+    /** Default number of steps a game takes before the next game gets a turn. */
+    public static final int DEFAULT_QUANTUM = 64;
+
+    private final List<TurnStateMachine> games = new ArrayList<>();
+    private final int quantum;
+
+    public GameScheduler() {
+        this(DEFAULT_QUANTUM);
+    }
+
+    /**
+     * @param quantum Steps per game per pass
+     */
+    public GameScheduler(int quantum) {
+        if (quantum < 1) throw new IllegalArgumentException("quantum must be >= 1");
+        this.quantum = quantum;
+    }
+
+    public void add(TurnStateMachine game) {
+        games.add(game);
+    }
+
+    /**
+     * One pass over the games.
+     *
+     * @return The number of games that took at least one step
+     */
+    public int runOnce() {
+        int stepped = 0;
+        for (Iterator<TurnStateMachine> it = games.iterator(); it.hasNext(); ) {
+            TurnStateMachine game = it.next();
+            if (game.isAwaitingInput()) {
+                continue;
+            }
+            boolean running = true;
+            for (int i = 0; i < quantum && running && !game.isAwaitingInput(); i++) {
+                running = game.step();
+            }
+            stepped++;
+            if (!running) {
+                it.remove();
+            }
+        }
+        return stepped;
+    }
+
+    /**
+     * Runs passes until every game has finished or is waiting for input.
+     *
+     * @return The number of games left, all of them waiting for input
+     */
+    public int runUntilBlocked() {
+        while (runOnce() > 0) {
+            // keep stepping
+        }
+        return games.size();
+    }
+
+    /** @return games that have not finished yet */
+    public int getActiveCount() {
+        return games.size();
+    }
+}
@@ -0,0 +1,79 @@
+package classes.controller;
+
+import classes.enums.DiceModel;
+import classes.enums.RandomMode;
+import classes.model.BoardLayout;
+import classes.moves.ValueWeights;
+
+/**
+ * One fully specified headless game: seed, AI weights, board and round limit.
+ *
+ * Experiment sweeps expand into a stream of GameSpecs; the index is the spec's
+ * position in that stream and is what sweep checkpoints record.
+ */
+public final class GameSpec {
+    private final long index;
+    private final long seed;
+    private final String weightsName;
+    private final ValueWeights weights;
+    private final BoardLayout board;
+    private final int maxRounds;
+    private final int playerCount;
+    private final RandomMode randomMode;
+    private final DiceModel diceModel;
+
+    /**
+     * @param index       Position of this spec in its experiment
+     * @param seed        Seed for every random stream of the game
+     * @param weightsName Label of the AI weight set
+     * @param weights     Value scores used by every AI player
+     * @param board       Board layout to play on
+     * @param maxRounds   Round limit
+     * @param playerCount Number of AI players (IDs 1..playerCount)
+     */
+    public GameSpec(long index, long seed, String weightsName, ValueWeights weights,
+                    BoardLayout board, int maxRounds, int playerCount) {
+        this(index, seed, weightsName, weights, board, maxRounds, playerCount, RandomMode.INDEPENDENT);
+    }
+
+    /**
+     * @param randomMode How the dice, robber, steal and discard streams draw
+     * @see #GameSpec(long, long, String, ValueWeights, BoardLayout, int, int)
+     */
+    public GameSpec(long index, long seed, String weightsName, ValueWeights weights,
+                    BoardLayout board, int maxRounds, int playerCount, RandomMode randomMode) {
+        this(index, seed, weightsName, weights, board, maxRounds, playerCount, randomMode, DiceModel.STREAM);
+    }
+
+    /**
+     * @param diceModel The dice the game rolls with
+     * @see #GameSpec(long, long, String, ValueWeights, BoardLayout, int, int, RandomMode)
+     */
+    public GameSpec(long index, long seed, String weightsName, ValueWeights weights, BoardLayout board,
+                    int maxRounds, int playerCount, RandomMode randomMode, DiceModel diceModel) {
+        this.index = index;
+        this.seed = seed;
+        this.weightsName = weightsName;
+        this.weights = weights;
+        this.board = board;
+        this.maxRounds = maxRounds;
+        this.playerCount = playerCount;
+        this.randomMode = randomMode;
+        this.diceModel = diceModel;
+    }
+
+    public long getIndex() { return index; }
+    public long getSeed() { return seed; }
+    public String getWeightsName() { return weightsName; }
+    public ValueWeights getWeights() { return weights; }
+    public BoardLayout getBoard() { return board; }
+    public int getMaxRounds() { return maxRounds; }
+    public int getPlayerCount() { return playerCount; }
+    public RandomMode getRandomMode() { return randomMode; }
+    public DiceModel getDiceModel() { return diceModel; }
+
+    @Override
+    public String toString() {
+        return String.format("GameSpec[#%d seed=%d weights=%s board=%s]", index, seed, weightsName, board.getName());
+    }
+}
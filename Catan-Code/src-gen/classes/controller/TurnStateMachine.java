@@ -0,0 +1,299 @@
+package classes.controller;
+
+import classes.enums.TurnState;
+import classes.model.AIPlayer;
+import classes.model.HumanPlayer;
+import classes.model.Player;
+import classes.model.RuleBasedAIPlayer;
+import classes.util.GameLogContext;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * The game's turn flow as an explicit state machine (see the Catan-Automatas diagrams
+ * and TurnState).
+ *
+ * Each call to step() runs the action of the current state and moves to the next one,
+ * so a game can be suspended between any two states and resumed later, by any thread.
+ * The handler table maps each state to its action; the transition table lists the
+ * states each one may move to, and step() rejects anything else.
+ *
+ * A state that needs a line of input (a human command, a discard, or the 'go' before
+ * an AI turn) takes it from the input queue. If the queue is empty the step returns
+ * without moving and isAwaitingInput() is true until offerInput() supplies a line,
+ * so a game waiting on a player never holds a thread.
+ *
+ * With only AI players the machine makes exactly the moves, in the same order, as
+ * RuleBasedAIPlayer.takeTurn() would, so seeded games play out the same. A game
+ * that is already under way (e.g. from GameMaster.restore) starts at its next turn;
+ * TURN_START and ROUND_START are the states at which to checkpoint.
+ */
+public class TurnStateMachine {
+    private static final Logger LOGGER = Logger.getLogger(TurnStateMachine.class.getName());
+
+    private static final Map<TurnState, EnumSet<TurnState>> TRANSITIONS = new EnumMap<>(TurnState.class);
+
+    static {
+        TRANSITIONS.put(TurnState.SETUP, EnumSet.of(TurnState.ROUND_START, TurnState.GAME_OVER));
+        TRANSITIONS.put(TurnState.ROUND_START, EnumSet.of(TurnState.TURN_START));
+        TRANSITIONS.put(TurnState.TURN_START, EnumSet.of(TurnState.ROLLING));
+        TRANSITIONS.put(TurnState.ROLLING, EnumSet.of(TurnState.ROBBER_DISCARD,
+                TurnState.RESOURCE_PRODUCTION, TurnState.BUILDING_PHASE, TurnState.TURN_END));
+        TRANSITIONS.put(TurnState.ROBBER_DISCARD, EnumSet.of(TurnState.ROBBER_ACTIVE));
+        TRANSITIONS.put(TurnState.ROBBER_ACTIVE, EnumSet.of(TurnState.BUILDING_PHASE));
+        TRANSITIONS.put(TurnState.RESOURCE_PRODUCTION, EnumSet.of(TurnState.BUILDING_PHASE));
+        TRANSITIONS.put(TurnState.BUILDING_PHASE, EnumSet.of(TurnState.BUILDING_PHASE, TurnState.TURN_END,
+                TurnState.ROLLING, TurnState.ROBBER_DISCARD));
+        TRANSITIONS.put(TurnState.TURN_END, EnumSet.of(TurnState.TURN_START, TurnState.ROUND_END));
+        TRANSITIONS.put(TurnState.ROUND_END, EnumSet.of(TurnState.ROUND_START, TurnState.GAME_OVER));
+        TRANSITIONS.put(TurnState.GAME_OVER, EnumSet.noneOf(TurnState.class));
+    }
+
+    /** The action of one state; returns the next state (the same one to wait). */
+    private interface Handler {
+        TurnState run();
+    }
+
+    private final GameMaster game;
+    private final List<Player> players;
+    private final Consumer<GameMaster> setup;
+    private final boolean hasHumanPlayer;
+    private final Handler[] handlers = new Handler[TurnState.values().length];
+    private final Queue<String> input = new ConcurrentLinkedQueue<>();
+    private volatile boolean awaitingInput;
+
+    private TurnState state = TurnState.SETUP;
+    private int playerIndex;
+    private int roll;
+    private int buildSteps;
+    private boolean paused;
+
+    /**
+     * @param game A game whose initial placements are already made, or a restored game
+     */
+    public TurnStateMachine(GameMaster game) {
+        this(game, null);
+    }
+
+    /**
+     * @param game  The game to step
+     * @param setup Initial placements, run by the SETUP state (null if already done)
+     */
+    public TurnStateMachine(GameMaster game, Consumer<GameMaster> setup) {
+        this.game = game;
+        this.players = game.getPlayers();
+        this.setup = setup;
+        this.hasHumanPlayer = players.stream().anyMatch(HumanPlayer.class::isInstance);
+        game.setDeferredInput(true);
+
+        handlers[TurnState.SETUP.ordinal()] = this::setup;
+        handlers[TurnState.ROUND_START.ordinal()] = this::roundStart;
+        handlers[TurnState.TURN_START.ordinal()] = this::turnStart;
+        handlers[TurnState.ROLLING.ordinal()] = this::rolling;
+        handlers[TurnState.ROBBER_DISCARD.ordinal()] = this::robberDiscard;
+        handlers[TurnState.ROBBER_ACTIVE.ordinal()] = this::robberActive;
+        handlers[TurnState.RESOURCE_PRODUCTION.ordinal()] = this::production;
+        handlers[TurnState.BUILDING_PHASE.ordinal()] = this::building;
+        handlers[TurnState.TURN_END.ordinal()] = this::turnEnd;
+        handlers[TurnState.ROUND_END.ordinal()] = this::roundEnd;
+        handlers[TurnState.GAME_OVER.ordinal()] = () -> TurnState.GAME_OVER;
+
+        if (game.getWinner() != null) {
+            state = TurnState.GAME_OVER;
+        } else if (game.getCurrentRound() > 0) {
+            // A restored game: pick up with the next turn
+            playerIndex = game.getTurnsTaken();
+            state = playerIndex < players.size() ? TurnState.TURN_START : TurnState.ROUND_END;
+        }
+    }
+
+    /**
+     * Runs the current state's action, with the game's log context bound to the thread.
+     *
+     * @return false once the game is over
+     * @throws IllegalStateException if a handler asks for a transition the table does not allow
+     */
+    public boolean step() {
+        if (state == TurnState.GAME_OVER) {
+            return false;
+        }
+        GameLogContext previous = game.getLogContext().bind();
+        try {
+            TurnState next = handlers[state.ordinal()].run();
+            if (next != state && !TRANSITIONS.get(state).contains(next)) {
+                throw new IllegalStateException("No transition from " + state + " to " + next);
+            }
+            state = next;
+        } finally {
+            GameLogContext.restore(previous);
+        }
+        return state != TurnState.GAME_OVER;
+    }
+
+    /**
+     * Queues one line of player input. Safe to call from any thread.
+     */
+    public void offerInput(String line) {
+        input.add(line);
+    }
+
+    /** @return true if the game cannot move until offerInput() is called */
+    public boolean isAwaitingInput() {
+        return awaitingInput && input.isEmpty();
+    }
+
+    public boolean isFinished() { return state == TurnState.GAME_OVER; }
+    public TurnState getState() { return state; }
+    public GameMaster getGame() { return game; }
+    /** @return the player whose turn it is (or was last) */
+    public Player getCurrentPlayer() { return players.get(Math.min(playerIndex, players.size() - 1)); }
+
+    // ------------------------------------------------------------------------------
+    // State actions
+    // ------------------------------------------------------------------------------
+
+    private TurnState setup() {
+        if (setup != null) {
+            setup.accept(game);
+        }
+        LOGGER.info("=== Starting Catan Simulation ===");
+        return startRoundOrEnd();
+    }
+
+    private TurnState roundStart() {
+        game.beginRound();
+        playerIndex = 0;
+        return TurnState.TURN_START;
+    }
+
+    private TurnState turnStart() {
+        Player player = players.get(playerIndex);
+        if (hasHumanPlayer && player instanceof AIPlayer) {
+            if (!paused) {
+                LOGGER.info(() -> String.format("%n[PAUSED] Ready for AI Player %d.", player.getId()));
+                LOGGER.info("Type 'go' to proceed to the next agent's turn:");
+                paused = true;
+            }
+            String line = nextInput();
+            if (line == null) {
+                return TurnState.TURN_START;
+            }
+            if (!line.trim().equalsIgnoreCase("go")) {
+                LOGGER.info("Waiting for 'go' command...");
+                return TurnState.TURN_START;
+            }
+            paused = false;
+        }
+
+        game.beginTurn(player);
+        if (player instanceof HumanPlayer) {
+            ((HumanPlayer) player).beginTurn();
+        }
+        buildSteps = 0;
+        return TurnState.ROLLING;
+    }
+
+    private TurnState rolling() {
+        Player player = players.get(playerIndex);
+        if (player instanceof HumanPlayer) {
+            return humanCommand((HumanPlayer) player);
+        }
+        if (!(player instanceof RuleBasedAIPlayer)) {
+            // No finer-grained hooks: the whole turn is one step
+            player.takeTurn(game);
+            return TurnState.TURN_END;
+        }
+        roll = game.rollDice(player);
+        if (roll == 7) {
+            game.startRobber(player);
+            return TurnState.ROBBER_DISCARD;
+        }
+        return TurnState.RESOURCE_PRODUCTION;
+    }
+
+    private TurnState robberDiscard() {
+        if (game.hasPendingDiscards()) {
+            String line = nextInput();
+            if (line != null) {
+                game.offerDiscard(line);
+            }
+            return TurnState.ROBBER_DISCARD;
+        }
+        return TurnState.ROBBER_ACTIVE;
+    }
+
+    private TurnState robberActive() {
+        game.finishRobber();
+        return TurnState.BUILDING_PHASE;
+    }
+
+    private TurnState production() {
+        game.produceResources(roll);
+        return TurnState.BUILDING_PHASE;
+    }
+
+    private TurnState building() {
+        Player player = players.get(playerIndex);
+        if (player instanceof HumanPlayer) {
+            return humanCommand((HumanPlayer) player);
+        }
+        boolean more = ((RuleBasedAIPlayer) player).buildStep(game, buildSteps++);
+        return more ? TurnState.BUILDING_PHASE : TurnState.TURN_END;
+    }
+
+    private TurnState turnEnd() {
+        game.endTurn();
+        playerIndex++;
+        return playerIndex < players.size() ? TurnState.TURN_START : TurnState.ROUND_END;
+    }
+
+    private TurnState roundEnd() {
+        if (game.endRound()) {
+            return TurnState.GAME_OVER;
+        }
+        return startRoundOrEnd();
+    }
+
+    private TurnState startRoundOrEnd() {
+        if (game.hasRoundsLeft()) {
+            return TurnState.ROUND_START;
+        }
+        game.endSimulation();
+        return TurnState.GAME_OVER;
+    }
+
+    /**
+     * One human command. A roll runs its whole robber or production step inside the
+     * RollAction (so it can be undone), except for other humans' discards, which wait
+     * in ROBBER_DISCARD.
+     */
+    private TurnState humanCommand(HumanPlayer human) {
+        if (!awaitingInput) {
+            human.prompt();
+        }
+        String line = nextInput();
+        if (line == null) {
+            return state;
+        }
+        if (human.handleInput(game, line)) {
+            return TurnState.TURN_END;
+        }
+        if (game.hasPendingDiscards()) {
+            return TurnState.ROBBER_DISCARD;
+        }
+        return human.hasRolled() ? TurnState.BUILDING_PHASE : TurnState.ROLLING;
+    }
+
+    /** @return the next queued line, or null (and awaitingInput set) if there is none */
+    private String nextInput() {
+        String line = input.poll();
+        awaitingInput = line == null;
+        return line;
+    }
+}
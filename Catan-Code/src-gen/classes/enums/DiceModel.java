@@ -0,0 +1,13 @@
+package classes.enums;
+
+/**
+ * Dice a game rolls with, all drawn from its dice stream (see GameMaster.setDiceModel).
+ */
+public enum DiceModel {
+    /** Dice: two bounded draws per roll. */
+    STREAM,
+    /** RollTape: one draw per roll, generated in blocks. */
+    TAPE,
+    /** DiceDeck: the 36 outcomes dealt from a shuffled deck. */
+    DECK
+}
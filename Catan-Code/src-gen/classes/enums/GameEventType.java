@@ -0,0 +1,31 @@
+package classes.enums;
+
+/**
+ * Kinds of GameEvent. The comments give the meaning of the event's a, b and c fields.
+ */
+public enum GameEventType {
+    /** A player's turn begins. */
+    TURN_START,
+    /** a = dice total */
+    ROLL,
+    /** a = resource ordinal, b = cards received, c = tile id */
+    PRODUCTION,
+    /** a = cards discarded */
+    DISCARD,
+    /** a = previous tile id, b = new tile id */
+    ROBBER_MOVED,
+    /** a = victim id, b = resource ordinal */
+    STEAL,
+    /** a = vertex id */
+    BUILD_SETTLEMENT,
+    /** a = vertex id */
+    BUILD_CITY,
+    /** a = start vertex id, b = end vertex id */
+    BUILD_ROAD,
+    /** a = ordinal of the undone event type, b and c = that event's a and b */
+    UNDO,
+    /** The player ends their turn. */
+    PASS,
+    /** player = winner id (0 if the round limit was reached) */
+    GAME_OVER
+}
@@ -0,0 +1,18 @@
+package classes.enums;
+
+/**
+ * How a game draws from its luck streams (dice, robber, steal and discard).
+ * Experiments pick one per game to trade independence for lower variance.
+ */
+public enum RandomMode {
+    /** SeededRandom streams: a bounded draw may take several steps (rejection sampling). */
+    INDEPENDENT,
+    /**
+     * Every draw takes exactly one step, so the n-th draw of a stream is the same in
+     * every game with the same seed, whatever happened before: paired arms see the same
+     * n-th roll, robber pick and steal.
+     */
+    COMMON,
+    /** COMMON with every draw mirrored (i becomes bound - 1 - i, so a roll s becomes 14 - s). */
+    ANTITHETIC
+}
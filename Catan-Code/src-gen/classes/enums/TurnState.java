@@ -0,0 +1,30 @@
+package classes.enums;
+
+/**
+ * States of TurnStateMachine, following the Catan-Automatas turn diagrams.
+ * The comments list the states each one may move to.
+ */
+public enum TurnState {
+    /** Initial placements, if the machine was given a setup phase. -> ROUND_START */
+    SETUP,
+    /** Next round number. -> TURN_START */
+    ROUND_START,
+    /** Clears the undo history; an AI turn in a game with humans waits for 'go'. -> ROLLING */
+    TURN_START,
+    /** AI: rolls the dice. Human: waits for commands until 'roll'. -> ROBBER_DISCARD, RESOURCE_PRODUCTION, BUILDING_PHASE */
+    ROLLING,
+    /** A 7: players over 7 cards discard half; waits for human discards. -> ROBBER_ACTIVE */
+    ROBBER_DISCARD,
+    /** Moves the robber and steals a card. -> BUILDING_PHASE */
+    ROBBER_ACTIVE,
+    /** Every building on a tile with the rolled number collects. -> BUILDING_PHASE */
+    RESOURCE_PRODUCTION,
+    /** One build (AI) or one command (human) per step. -> BUILDING_PHASE, TURN_END, ROLLING, ROBBER_DISCARD */
+    BUILDING_PHASE,
+    /** Exports the board and hands over to the next player. -> TURN_START, ROUND_END */
+    TURN_END,
+    /** Round summary and victory check. -> ROUND_START, GAME_OVER */
+    ROUND_END,
+    /** Terminal. */
+    GAME_OVER
+}
@@ -13,8 +13,20 @@ import java.util.List;
  */
 public class AIPlayer extends RuleBasedAIPlayer {
 
+    /** Scores used by the ValueEvaluator for this player (tunable per experiment). */
+    private final ValueWeights weights;
+
     public AIPlayer(int id) {
+        this(id, ValueWeights.defaults());
+    }
+
+    /**
+     * @param id      The player ID
+     * @param weights The R3.2 value scores this player uses
+     */
+    public AIPlayer(int id, ValueWeights weights) {
         super(id);
+        this.weights = weights;
     }
 
     // -------------------------------------------------------------------------
@@ -48,17 +60,18 @@ public class AIPlayer extends RuleBasedAIPlayer {
     @Override
     protected PlayerAction pickBestValueMove(GameMaster game) {
         List<ScoredAction> candidates = new ArrayList<>();
-        ValueEvaluator evaluator = new ValueEvaluator(hand);
+        ActionVisitor evaluator = createEvaluator(game);
+        int affordable = Cost.affordableMask(hand); // once per decision, not per candidate
 
-        for (PlayerAction a : getCandidateCities(game)) {
+        for (PlayerAction a : getCandidateCities(game, affordable)) {
             candidates.add(new ScoredAction(a, a.accept(evaluator)));
         }
 
-        for (PlayerAction a : getCandidateSettlements(game)) {
+        for (PlayerAction a : getCandidateSettlements(game, affordable)) {
             candidates.add(new ScoredAction(a, a.accept(evaluator)));
         }
 
-        for (PlayerAction a : getCandidateRoads(game)) {
+        for (PlayerAction a : getCandidateRoads(game, affordable)) {
             candidates.add(new ScoredAction(a, a.accept(evaluator)));
         }
 
@@ -79,31 +92,41 @@ public class AIPlayer extends RuleBasedAIPlayer {
         return pickRandom(best);
     }
 
+    /**
+     * Creates the visitor that scores this turn's candidates.
+     * Subclasses override this to swap in a different scoring strategy.
+     *
+     * @param game The current game
+     * @return The evaluator for one decision
+     */
+    protected ActionVisitor createEvaluator(GameMaster game) {
+        return new ValueEvaluator(hand, weights);
+    }
+
     // -------------------------------------------------------------------------
     // R3.3 helpers
     // -------------------------------------------------------------------------
 
     private boolean hasGapToClose(GameMaster game) {
         if (roadsBuilt.size() < 2) return false;
+        VertexDistances distances = game.getBoard().getDistances();
         for (Road r1 : roadsBuilt) {
             for (Road r2 : roadsBuilt) {
                 if (r1 == r2) continue;
-                if (isWithinTwoSteps(r1, r2)) return true;
+                if (isWithinTwoSteps(distances, r1, r2)) return true;
             }
         }
         return false;
     }
 
-    private boolean isWithinTwoSteps(Road r1, Road r2) {
+    /** True if an end of r1 is one or two steps from a different end of r2 (table lookups). */
+    private boolean isWithinTwoSteps(VertexDistances distances, Road r1, Road r2) {
         Vertex[] ends1 = {r1.getStart(), r1.getEnd()};
         Vertex[] ends2 = {r2.getStart(), r2.getEnd()};
         for (Vertex a : ends1) {
             for (Vertex b : ends2) {
-                if (a == b) continue;
-                if (a.getAdjacentVertices().contains(b)) return true;
-                for (Vertex mid : a.getAdjacentVertices()) {
-                    if (mid.getAdjacentVertices().contains(b)) return true;
-                }
+                int hops = distances.distance(a.getId(), b.getId());
+                if (hops == 1 || hops == 2) return true;
             }
         }
         return false;
@@ -129,11 +152,13 @@ public class AIPlayer extends RuleBasedAIPlayer {
     }
 
     private PlayerAction findAnyBuildAction(GameMaster game) {
-        List<PlayerAction> cities = getCandidateCities(game);
+        int affordable = Cost.affordableMask(hand);
+        if (affordable == 0) return null;
+        List<PlayerAction> cities = getCandidateCities(game, affordable);
         if (!cities.isEmpty()) return pickRandom(cities);
-        List<PlayerAction> settlements = getCandidateSettlements(game);
+        List<PlayerAction> settlements = getCandidateSettlements(game, affordable);
         if (!settlements.isEmpty()) return pickRandom(settlements);
-        List<PlayerAction> roads = getCandidateRoads(game);
+        List<PlayerAction> roads = getCandidateRoads(game, affordable);
         if (!roads.isEmpty()) return pickRandom(roads);
         return null;
     }
@@ -143,6 +168,8 @@ public class AIPlayer extends RuleBasedAIPlayer {
         return roads.isEmpty() ? null : pickRandom(roads);
     }
 
+    public ValueWeights getWeights() { return weights; }
+
     // -------------------------------------------------------------------------
     // Inner helper class
     // -------------------------------------------------------------------------
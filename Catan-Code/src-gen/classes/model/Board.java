@@ -1,7 +1,8 @@
 package classes.model;
 
-import classes.enums.ResourceType;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -12,25 +13,32 @@ import java.util.List;
  * - Row 3: 11, 3, 0, 6, 17
  * - Row 4: 10, 2, 1, 18
  * - Row 5: 9, 8, 7
+ *
+ * All changes to buildings, roads and the robber during a game go through
+ * placeBuilding/removeBuilding, placeRoad/removeRoad and moveRobber (undo included).
+ * Each one increments the board's epoch and notifies the registered BoardListeners,
+ * so caches can compare epochs or update themselves from the change records.
  */
 public class Board {
-	
-	protected static final int[][] VERTEX_ADJACENCY = {
-	        {1,5,20}, {0,6,2}, {1,9,3}, {2,12,4}, {3,15,5}, {4,16,0},
-	        {1,7,23}, {6,8,24}, {7,27,9}, {8,10,2}, {9,11,29}, {10,12,32},
-	        {11,13,3}, {12,14,34}, {13,15,37}, {14,17,4}, {5,18,21}, {15,18,39},
-	        {17,16,40}, {46,20,21}, {19,22,0}, {19,43,16}, {20,23,49}, {22,6,52},
-	        {7,25,53}, {24,26}, {25,27}, {26,8,28}, {27,29}, {28,10,30},
-	        {29,31}, {30,32}, {31,11,33}, {32,34}, {33,13,35}, {34,36},
-	        {35,37}, {36,14,38}, {37,39}, {38,17,41}, {44,18,42}, {39,42},
-	        {41,40}, {21,44,45}, {43,40}, {43,47}, {47,48,19}, {45,46},
-	        {46,49}, {48,50,22}, {49,51}, {50,52}, {51,23,53}, {52,24}
-	    };
-	
+
+    /** The shape every board shares; only the state below is per game. */
+    private final BoardTopology topology = BoardTopology.STANDARD;
+
     private List<Tile> tiles;
     private List<Vertex> vertices;
     private List<Road> roads;
+    /** Per-game state indexed by the topology's ids; empty until the board is initialized. */
+    private Vertex[] vertexById = new Vertex[0];
+    private Tile[] tileById = new Tile[0];
+    private Road[] roadOnEdge = new Road[0];
     private Robber robber;
+    /** Per-vertex production tables, built lazily and kept in step with the robber. */
+    private ProductionIndex productionIndex;
+    /** Per-player income by roll, built lazily and updated from this board's changes. */
+    private ProductionModel productionModel;
+    /** Number of mutations so far; never decreases. */
+    private long epoch;
+    private final List<BoardListener> listeners = new ArrayList<>();
 
     public Board() {
         this.tiles = new ArrayList<>();
@@ -39,125 +47,219 @@ public class Board {
     }
 
     public void initializeDefaultMap() {
-        // Initialize 54 vertices (0-53)
-        for (int i = 0; i < 54; i++) {
-            vertices.add(new Vertex(i));
-        }
+        initializeFromLayout(BoardLayout.defaultLayout());
+    }
 
-        // Create 19 tiles with specific IDs, resources, and tokens as described
-        // Row 1 (Top)
-        tiles.add(new Tile(13, ResourceType.BRICK, 9));
-        tiles.add(new Tile(14, ResourceType.BRICK, 8));
-        tiles.add(new Tile(15, ResourceType.WHEAT, 4));
-
-        // Row 2
-        tiles.add(new Tile(12, ResourceType.WOOD, 5));
-        tiles.add(new Tile(4, ResourceType.SHEEP, 11));
-        tiles.add(new Tile(5, ResourceType.SHEEP, 5));
-        tiles.add(new Tile(16, ResourceType.DESERT, 0)); // Desert has no number
-
-        // Row 3 (Middle)
-        tiles.add(new Tile(11, ResourceType.WHEAT, 9));
-        tiles.add(new Tile(3, ResourceType.ORE, 3));
-        tiles.add(new Tile(0, ResourceType.WOOD, 10)); // Center tile
-        tiles.add(new Tile(6, ResourceType.SHEEP, 12));
-        tiles.add(new Tile(17, ResourceType.WOOD, 2)); 
-
-        // Row 4
-        tiles.add(new Tile(10, ResourceType.ORE, 6));
-        tiles.add(new Tile(2, ResourceType.BRICK, 8));
-        tiles.add(new Tile(1, ResourceType.WHEAT, 11));
-        tiles.add(new Tile(18, ResourceType.SHEEP, 10));
-
-        // Row 5 (Bottom)
-        tiles.add(new Tile(9, ResourceType.WOOD, 4));
-        tiles.add(new Tile(8, ResourceType.ORE, 6));
-        tiles.add(new Tile(7, ResourceType.WHEAT, 3));
-        
-        
-     // Establish which vertices belong to which tile
-        setupTileVertexAdjacencies();
-        connectVerticesFromManualList();
-        
-        Tile desert = getTile(16);
-        this.robber = new Robber(desert);
-
-      }
-
-    private void connectVerticesFromManualList() {
-        // i is the ID of the vertex we are looking at
-        for (int i = 0; i < VERTEX_ADJACENCY.length; i++) {
-            for (int neighborId : VERTEX_ADJACENCY[i]) {
-                addVertexConnection(i, neighborId);
-            }
+    /**
+     * Builds the board from a layout: the shared 54-vertex topology plus the
+     * resources and number tokens the layout assigns to each tile.
+     * The robber starts on the layout's desert.
+     *
+     * Only the vertices and tiles themselves are created per board; their adjacency
+     * is read from the shared BoardTopology.
+     *
+     * @param layout The tile contents to place on the board
+     */
+    public void initializeFromLayout(BoardLayout layout) {
+        int vertexCount = topology.getVertexCount();
+        Vertex[] byId = new Vertex[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            byId[i] = new Vertex(i, new VertexView(byId, topology.neighbours[i]));
         }
-    }
 
-    private void setupTileVertexAdjacencies() {
-        // Center Tile 0
-        addTileVertices(0, new int[]{0, 1, 2, 3, 4, 5});
-
-        // Inner ring tiles (1-6)
-        addTileVertices(1, new int[]{2, 1, 6, 7, 8, 9});
-        addTileVertices(2, new int[]{3, 2, 9, 10, 11, 12});
-        addTileVertices(3, new int[]{4, 3, 12, 13, 14, 15});
-        addTileVertices(4, new int[]{5, 4, 15, 16, 17, 18});
-        addTileVertices(5, new int[]{0, 5, 16, 19, 20, 21});
-        addTileVertices(6, new int[]{1, 0, 20, 22, 23, 6});
-        
-        // Outer ring tiles (7-18)
-        addTileVertices(7, new int[]{27, 7, 8, 24, 25, 26});
-        addTileVertices(8, new int[]{8, 9, 10, 29, 27, 28});
-        addTileVertices(9, new int[]{10, 11, 31, 32, 29, 30});
-        addTileVertices(10, new int[]{11, 12, 13, 32, 33, 34});
-        addTileVertices(11, new int[]{13, 14, 37, 34, 35, 36});
-        addTileVertices(12, new int[]{14, 15, 17, 37, 38, 39});
-        addTileVertices(13, new int[]{17, 18, 39, 40, 41, 42});
-        addTileVertices(14, new int[]{16, 18, 21, 40, 43, 44});
-        addTileVertices(15, new int[]{19, 21, 43, 45, 46, 47});
-        addTileVertices(16, new int[]{19, 20, 22, 46, 48, 49});
-        addTileVertices(17, new int[]{22, 23, 49, 50, 51, 52}); 
-        addTileVertices(18, new int[]{6, 7, 23, 24, 52, 53});
-    }
-
-    private void addTileVertices(int tileId, int[] vertexIds) {
-        Tile tile = getTile(tileId);
-        if (tile != null) {
-            for (int id : vertexIds) {
-                Vertex v = getVertex(id);
-                if (v != null) {
-                    tile.addAdjacentVertex(v); // Populates the tile's vertex list
-                }
-            }
+        // Create 19 tiles, row by row, with the layout's resources and tokens
+        Tile[] created = new Tile[topology.tileOrder.length];
+        tileById = new Tile[topology.tileVertices.length];
+        for (int t = 0; t < created.length; t++) {
+            int tileId = topology.tileOrder[t];
+            created[t] = new Tile(tileId, layout.getResource(tileId), layout.getToken(tileId),
+                    new VertexView(byId, topology.tileVertices[tileId]));
+            tileById[tileId] = created[t];
         }
+
+        vertexById = byId;
+        vertices = Arrays.asList(byId);
+        tiles = Arrays.asList(created);
+        roadOnEdge = new Road[topology.getEdgeCount()];
+        this.robber = new Robber(getTile(layout.getDesertTileId()));
     }
 
-    private void addVertexConnection(int v1Id, int v2Id) {
-        Vertex v1 = vertices.get(v1Id);
-        Vertex v2 = vertices.get(v2Id);
-        if (!v1.getAdjacentVertices().contains(v2)) {
-            v1.addAdjacentVertex(v2);
-            v2.addAdjacentVertex(v1);
+    /**
+     * Clears the board for a new game on the given layout, reusing its vertices, tiles
+     * and robber: buildings and roads are removed, tiles take the layout's contents and
+     * the robber goes back to the desert. Listeners stay registered and get a single
+     * BOARD_RESET change instead of one change per piece removed.
+     *
+     * @param layout The tile contents of the next game
+     */
+    public void reset(BoardLayout layout) {
+        if (vertexById.length == 0) {
+            initializeFromLayout(layout);
+            return;
         }
+        for (Vertex v : vertexById) {
+            v.setBuilding(null);
+        }
+        roads.clear();
+        Arrays.fill(roadOnEdge, null);
+        for (Tile tile : tiles) {
+            tile.reset(layout.getResource(tile.getId()), layout.getToken(tile.getId()));
+        }
+        robber.moveTo(getTile(layout.getDesertTileId()));
+        productionIndex = null;
+        publish(BoardChange.reset(++epoch));
     }
 
     public Tile getTile(int id) {
-        for (Tile tile : tiles) {
-            if (tile.getId() == id) { return tile; }
-        }
-        return null;
+        return id >= 0 && id < tileById.length ? tileById[id] : null;
     }
 
     public Vertex getVertex(int id) {
-        if (id >= 0 && id < vertices.size()) { return vertices.get(id); }
+        return id >= 0 && id < vertexById.length ? vertexById[id] : null;
+    }
+
+    /**
+     * @return the road between two vertices, or null if there is none
+     */
+    public Road getRoad(Vertex a, Vertex b) {
+        int edge = topology.edgeId(a.getId(), b.getId());
+        if (edge >= 0 && edge < roadOnEdge.length && getVertex(a.getId()) == a && getVertex(b.getId()) == b) {
+            return roadOnEdge[edge];
+        }
+        for (Road road : roads) {
+            if (road.connects(a, b)) return road;
+        }
         return null;
     }
     
     public Robber getRobber() {
         return robber;
     }
-    public void placeRoad(Road road) { roads.add(road); }
+
+    /**
+     * Returns the board's per-vertex production tables with the robber's tile excluded.
+     * The tables are built on first use; later calls only update them if the robber moved.
+     *
+     * @return The production index for the current robber position
+     */
+    public ProductionIndex getProductionIndex() {
+        if (productionIndex == null) {
+            productionIndex = new ProductionIndex(tiles, vertices.size());
+        }
+        productionIndex.sync(robber == null ? null : robber.getCurrentTile());
+        return productionIndex;
+    }
+
+    /**
+     * Returns the per-player income and time-to-afford model of this board. It is built
+     * on first use and listens to the board from then on.
+     *
+     * @return The production model for the current buildings and robber position
+     */
+    public ProductionModel getProductionModel() {
+        if (productionModel == null) {
+            productionModel = new ProductionModel(this);
+        }
+        return productionModel;
+    }
+
+    /**
+     * Returns the all-pairs vertex distance and next-hop tables. Every board has the same
+     * topology, so the tables are built once and shared.
+     *
+     * @return The distance tables for this board's vertices
+     */
+    public VertexDistances getDistances() {
+        return topology.getDistances();
+    }
+
+    /** @return the shared shape of this board */
+    public BoardTopology getTopology() {
+        return topology;
+    }
+
+    // -------------------------------------------------------------------------
+    // Mutations: every change goes through here and is published
+    // -------------------------------------------------------------------------
+
+    /**
+     * Puts a building on a vertex, replacing whatever was there (e.g. a city over a
+     * settlement, or a settlement restored by undo).
+     *
+     * @param vertex   The vertex to build on
+     * @param building The building to place
+     */
+    public void placeBuilding(Vertex vertex, Buildings building) {
+        Buildings before = vertex.getBuilding();
+        building.placeOn(vertex);
+        publish(BoardChange.building(++epoch, vertex, before, building));
+    }
+
+    /**
+     * Clears a vertex.
+     *
+     * @param vertex The vertex whose building is removed
+     */
+    public void removeBuilding(Vertex vertex) {
+        Buildings before = vertex.getBuilding();
+        if (before == null) return;
+        vertex.setBuilding(null);
+        publish(BoardChange.building(++epoch, vertex, before, null));
+    }
+
+    public void placeRoad(Road road) {
+        roads.add(road);
+        int edge = edgeOf(road);
+        if (edge >= 0) roadOnEdge[edge] = road;
+        publish(BoardChange.road(++epoch, road, true));
+    }
+
+    /**
+     * Takes a road off the board.
+     *
+     * @param road The road to remove
+     */
+    public void removeRoad(Road road) {
+        if (roads.remove(road)) {
+            int edge = edgeOf(road);
+            if (edge >= 0 && roadOnEdge[edge] == road) roadOnEdge[edge] = null;
+            publish(BoardChange.road(++epoch, road, false));
+        }
+    }
+
+    /**
+     * Moves the robber.
+     *
+     * @param tile The robber's new tile
+     */
+    public void moveRobber(Tile tile) {
+        Tile from = robber.getCurrentTile();
+        robber.moveTo(tile);
+        publish(BoardChange.robber(++epoch, from, tile));
+    }
+
+    /** @return the edge slot of a road between this board's own vertices, or -1 */
+    private int edgeOf(Road road) {
+        Vertex a = road.getStart();
+        Vertex b = road.getEnd();
+        if (getVertex(a.getId()) != a || getVertex(b.getId()) != b) return -1;
+        return topology.edgeId(a.getId(), b.getId());
+    }
+
+    private void publish(BoardChange change) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).boardChanged(change);
+        }
+    }
+
+    public void addListener(BoardListener listener) { listeners.add(listener); }
+    public void removeListener(BoardListener listener) { listeners.remove(listener); }
+
+    /** @return the number of mutations made through this board so far */
+    public long getEpoch() { return epoch; }
+
     public List<Tile> getTiles() { return tiles; }
     public List<Vertex> getVertices() { return vertices; }
-    public List<Road> getRoads() { return roads; }
+    /** @return the roads on the board, read-only; use placeRoad/removeRoad to change them */
+    public List<Road> getRoads() { return Collections.unmodifiableList(roads); }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package classes.model;
+
+/**
+ * One mutation of a Board, as passed to BoardListeners.
+ *
+ * Every change carries the board epoch it produced. The other fields depend on the
+ * kind: building changes have the vertex and the building before and after (null
+ * when there is none), road changes have the road, and robber moves have both tiles.
+ * A reset (Board.reset) carries nothing: every building and road is gone, the tiles
+ * may hold a new layout and the robber is on the desert, so listeners start over.
+ */
+public final class BoardChange {
+
+    public enum Kind {
+        BUILDING_PLACED,
+        BUILDING_REPLACED,
+        BUILDING_REMOVED,
+        ROAD_PLACED,
+        ROAD_REMOVED,
+        ROBBER_MOVED,
+        BOARD_RESET
+    }
+
+    private final Kind kind;
+    private final long epoch;
+    private final Vertex vertex;
+    private final Buildings before;
+    private final Buildings after;
+    private final Road road;
+    private final Tile fromTile;
+    private final Tile toTile;
+
+    private BoardChange(Kind kind, long epoch, Vertex vertex, Buildings before, Buildings after,
+                        Road road, Tile fromTile, Tile toTile) {
+        this.kind = kind;
+        this.epoch = epoch;
+        this.vertex = vertex;
+        this.before = before;
+        this.after = after;
+        this.road = road;
+        this.fromTile = fromTile;
+        this.toTile = toTile;
+    }
+
+    static BoardChange building(long epoch, Vertex vertex, Buildings before, Buildings after) {
+        Kind kind = after == null ? Kind.BUILDING_REMOVED
+                : before == null ? Kind.BUILDING_PLACED : Kind.BUILDING_REPLACED;
+        return new BoardChange(kind, epoch, vertex, before, after, null, null, null);
+    }
+
+    static BoardChange road(long epoch, Road road, boolean placed) {
+        return new BoardChange(placed ? Kind.ROAD_PLACED : Kind.ROAD_REMOVED, epoch, null, null, null,
+                road, null, null);
+    }
+
+    static BoardChange robber(long epoch, Tile fromTile, Tile toTile) {
+        return new BoardChange(Kind.ROBBER_MOVED, epoch, null, null, null, null, fromTile, toTile);
+    }
+
+    static BoardChange reset(long epoch) {
+        return new BoardChange(Kind.BOARD_RESET, epoch, null, null, null, null, null, null);
+    }
+
+    public Kind getKind() { return kind; }
+    /** @return the board epoch after this change */
+    public long getEpoch() { return epoch; }
+    /** @return the vertex of a building change, otherwise null */
+    public Vertex getVertex() { return vertex; }
+    /** @return the building on the vertex before a building change (null if it was empty) */
+    public Buildings getBefore() { return before; }
+    /** @return the building on the vertex after a building change (null if it is now empty) */
+    public Buildings getAfter() { return after; }
+    /** @return the road of a road change, otherwise null */
+    public Road getRoad() { return road; }
+    /** @return the robber's previous tile for a robber move, otherwise null */
+    public Tile getFromTile() { return fromTile; }
+    /** @return the robber's new tile for a robber move, otherwise null */
+    public Tile getToTile() { return toTile; }
+
+    @Override
+    public String toString() {
+        return "BoardChange[" + kind + ", epoch=" + epoch + "]";
+    }
+}
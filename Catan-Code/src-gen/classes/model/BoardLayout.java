@@ -0,0 +1,110 @@
+package classes.model;
+
+import classes.enums.ResourceType;
+import java.util.Arrays;
+
+/**
+ * Immutable description of a board's tile contents (resource and number token per tile).
+ *
+ * The vertex/tile topology is the same for every standard board, so a layout only
+ * records what sits on each of the 19 tiles. Board.initializeFromLayout() applies a
+ * layout on top of the shared topology.
+ *
+ * Tiles are indexed by tile ID: 0 (center), 1-6 (inner ring), 7-18 (outer ring).
+ */
+public final class BoardLayout {
+    public static final int TILE_COUNT = 19;
+
+    private static final BoardLayout DEFAULT = new BoardLayout("default",
+            new ResourceType[]{
+                ResourceType.WOOD,
+                ResourceType.WHEAT, ResourceType.BRICK, ResourceType.ORE,
+                ResourceType.SHEEP, ResourceType.SHEEP, ResourceType.SHEEP,
+                ResourceType.WHEAT, ResourceType.ORE, ResourceType.WOOD, ResourceType.ORE,
+                ResourceType.WHEAT, ResourceType.WOOD, ResourceType.BRICK, ResourceType.BRICK,
+                ResourceType.WHEAT, ResourceType.DESERT, ResourceType.WOOD, ResourceType.SHEEP
+            },
+            new int[]{10, 11, 8, 3, 11, 5, 12, 3, 6, 4, 6, 9, 5, 9, 8, 4, 0, 2, 10});
+
+    private final String name;
+    private final ResourceType[] resources;
+    private final int[] tokens;
+
+    /**
+     * Constructs a layout from per-tile arrays indexed by tile ID.
+     *
+     * @param name      Human-readable name (usually the source file name)
+     * @param resources Resource type of each tile (DESERT for the desert)
+     * @param tokens    Number token of each tile (0 for the desert)
+     */
+    public BoardLayout(String name, ResourceType[] resources, int[] tokens) {
+        if (resources.length != TILE_COUNT || tokens.length != TILE_COUNT) {
+            throw new IllegalArgumentException("A board layout needs exactly " + TILE_COUNT + " tiles");
+        }
+        this.name = name;
+        this.resources = resources.clone();
+        this.tokens = tokens.clone();
+    }
+
+    /**
+     * Returns the layout hard-coded in the original simulator (same as base_map.json).
+     *
+     * @return The default board layout
+     */
+    public static BoardLayout defaultLayout() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the ID of the first desert tile, where the robber starts.
+     *
+     * @return The desert tile ID, or 0 if the layout has no desert
+     */
+    public int getDesertTileId() {
+        for (int i = 0; i < TILE_COUNT; i++) {
+            if (resources[i] == ResourceType.DESERT) return i;
+        }
+        return 0;
+    }
+
+    public String getName() { return name; }
+    public ResourceType getResource(int tileId) { return resources[tileId]; }
+    public int getToken(int tileId) { return tokens[tileId]; }
+
+    /**
+     * 64-bit FNV-1a hash of the tile contents (the name is ignored). Unlike hashCode()
+     * it is specified, so it can key data stored on disk (e.g. an opening book).
+     *
+     * @return The same value for equal layouts, in every run
+     */
+    public long contentHash() {
+        long h = 0xCBF29CE484222325L;
+        for (int t = 0; t < TILE_COUNT; t++) {
+            h = (h ^ resources[t].ordinal()) * 0x100000001B3L;
+            h = (h ^ tokens[t]) * 0x100000001B3L;
+        }
+        return h;
+    }
+
+    /**
+     * Hash of the tile contents only (the name is ignored), so identical boards
+     * loaded from different files hash the same.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(resources) + Arrays.hashCode(tokens);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BoardLayout)) return false;
+        BoardLayout other = (BoardLayout) o;
+        return Arrays.equals(resources, other.resources) && Arrays.equals(tokens, other.tokens);
+    }
+
+    @Override
+    public String toString() {
+        return "BoardLayout[" + name + "]";
+    }
+}
@@ -0,0 +1,11 @@
+package classes.model;
+
+/**
+ * Observer of Board mutations (see Board.addListener).
+ *
+ * Listeners are called synchronously, after the change has been applied, in the
+ * order they were registered.
+ */
+public interface BoardListener {
+    void boardChanged(BoardChange change);
+}
@@ -0,0 +1,176 @@
+package classes.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The fixed shape of the board: which vertices neighbour each other, which vertices
+ * each tile touches, and the edges between them, as int arrays by id.
+ *
+ * Every Board shares the one STANDARD instance (a flyweight): a game only holds its
+ * mutable state (buildings, roads, robber), and its Vertex and Tile objects read their
+ * neighbours from here instead of keeping adjacency lists of their own.
+ *
+ * Orders are part of the contract, since AI players and the robber iterate them:
+ * vertex neighbours are in the order the original list-based board linked them, tiles
+ * are created row by row from the top, and edges are numbered by first appearance when
+ * walking each vertex's neighbours in vertex order.
+ */
+public final class BoardTopology {
+
+    private static final int[][] VERTEX_ADJACENCY = {
+        {1,5,20}, {0,6,2}, {1,9,3}, {2,12,4}, {3,15,5}, {4,16,0},
+        {1,7,23}, {6,8,24}, {7,27,9}, {8,10,2}, {9,11,29}, {10,12,32},
+        {11,13,3}, {12,14,34}, {13,15,37}, {14,17,4}, {5,18,21}, {15,18,39},
+        {17,16,40}, {46,20,21}, {19,22,0}, {19,43,16}, {20,23,49}, {22,6,52},
+        {7,25,53}, {24,26}, {25,27}, {26,8,28}, {27,29}, {28,10,30},
+        {29,31}, {30,32}, {31,11,33}, {32,34}, {33,13,35}, {34,36},
+        {35,37}, {36,14,38}, {37,39}, {38,17,41}, {44,18,42}, {39,42},
+        {41,40}, {21,44,45}, {43,40}, {43,47}, {47,48,19}, {45,46},
+        {46,49}, {48,50,22}, {49,51}, {50,52}, {51,23,53}, {52,24}
+    };
+
+    /** Corner vertices of each tile, by tile id: 0 (center), 1-6 (inner ring), 7-18 (outer ring). */
+    private static final int[][] TILE_VERTICES = {
+        {0, 1, 2, 3, 4, 5},
+        {2, 1, 6, 7, 8, 9}, {3, 2, 9, 10, 11, 12}, {4, 3, 12, 13, 14, 15},
+        {5, 4, 15, 16, 17, 18}, {0, 5, 16, 19, 20, 21}, {1, 0, 20, 22, 23, 6},
+        {27, 7, 8, 24, 25, 26}, {8, 9, 10, 29, 27, 28}, {10, 11, 31, 32, 29, 30},
+        {11, 12, 13, 32, 33, 34}, {13, 14, 37, 34, 35, 36}, {14, 15, 17, 37, 38, 39},
+        {17, 18, 39, 40, 41, 42}, {16, 18, 21, 40, 43, 44}, {19, 21, 43, 45, 46, 47},
+        {19, 20, 22, 46, 48, 49}, {22, 23, 49, 50, 51, 52}, {6, 7, 23, 24, 52, 53}
+    };
+
+    /**
+     * Tile IDs in the order tiles are created, row by row from the top.
+     * The order matters: the robber picks its destination from the tile list.
+     */
+    private static final int[] TILE_CREATION_ORDER = {
+        13, 14, 15,
+        12, 4, 5, 16,
+        11, 3, 0, 6, 17,
+        10, 2, 1, 18,
+        9, 8, 7
+    };
+
+    /** The standard 54-vertex, 19-tile board. */
+    public static final BoardTopology STANDARD = new BoardTopology(VERTEX_ADJACENCY, TILE_VERTICES, TILE_CREATION_ORDER);
+
+    private final int vertexCount;
+    /** Neighbour ids of each vertex. */
+    final int[][] neighbours;
+    /** Bit mask of each vertex's neighbours (every board has at most 64 vertices). */
+    final long[] neighbourMasks;
+    /** Corner vertex ids of each tile, by tile id. */
+    final int[][] tileVertices;
+    /** Ids of the tiles touching each vertex, in creation order. */
+    private final int[][] vertexTiles;
+    /** Tile ids in creation order. */
+    final int[] tileOrder;
+    private final int[] edgeStart;
+    private final int[] edgeEnd;
+    /** edgeIds[a * vertexCount + b]: the edge joining a and b, or -1. */
+    private final int[] edgeIds;
+    private final VertexDistances distances;
+
+    /**
+     * @param adjacency     Neighbour ids per vertex id; links are two-way and may be listed from either end
+     * @param tileVertices  Corner vertex ids per tile id
+     * @param tileOrder     Tile ids in creation order
+     */
+    BoardTopology(int[][] adjacency, int[][] tileVertices, int[] tileOrder) {
+        this.vertexCount = adjacency.length;
+        this.tileVertices = tileVertices;
+        this.tileOrder = tileOrder;
+
+        // Link the way the list-based board did: a before b when a's entry is read first
+        List<List<Integer>> links = new ArrayList<>();
+        for (int v = 0; v < vertexCount; v++) links.add(new ArrayList<>());
+        for (int a = 0; a < vertexCount; a++) {
+            for (int b : adjacency[a]) {
+                if (!links.get(a).contains(b)) {
+                    links.get(a).add(b);
+                    if (!links.get(b).contains(a)) links.get(b).add(a);
+                }
+            }
+        }
+        this.neighbours = new int[vertexCount][];
+        this.neighbourMasks = new long[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            neighbours[v] = links.get(v).stream().mapToInt(Integer::intValue).toArray();
+            for (int n : neighbours[v]) neighbourMasks[v] |= 1L << n;
+        }
+
+        List<List<Integer>> touching = new ArrayList<>();
+        for (int v = 0; v < vertexCount; v++) touching.add(new ArrayList<>());
+        for (int tileId : tileOrder) {
+            for (int v : tileVertices[tileId]) touching.get(v).add(tileId);
+        }
+        this.vertexTiles = new int[vertexCount][];
+        for (int v = 0; v < vertexCount; v++) {
+            vertexTiles[v] = touching.get(v).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        this.edgeIds = new int[vertexCount * vertexCount];
+        Arrays.fill(edgeIds, -1);
+        int[] start = new int[vertexCount * 3];
+        int[] end = new int[vertexCount * 3];
+        int e = 0;
+        for (int a = 0; a < vertexCount; a++) {
+            for (int b : neighbours[a]) {
+                if (edgeIds[a * vertexCount + b] < 0) {
+                    edgeIds[a * vertexCount + b] = edgeIds[b * vertexCount + a] = e;
+                    start[e] = a;
+                    end[e] = b;
+                    e++;
+                }
+            }
+        }
+        this.edgeStart = Arrays.copyOf(start, e);
+        this.edgeEnd = Arrays.copyOf(end, e);
+        this.distances = new VertexDistances(adjacency);
+    }
+
+    public int getVertexCount() { return vertexCount; }
+    public int getTileCount() { return tileOrder.length; }
+    public int getEdgeCount() { return edgeStart.length; }
+
+    /** @return the neighbour ids of a vertex (a copy) */
+    public int[] getNeighbours(int vertex) {
+        return neighbours[vertex].clone();
+    }
+
+    /** @return the corner vertex ids of a tile (a copy) */
+    public int[] getTileVertices(int tileId) {
+        return tileVertices[tileId].clone();
+    }
+
+    /** @return the ids of the tiles touching a vertex, in creation order (a copy) */
+    public int[] getVertexTiles(int vertex) {
+        return vertexTiles[vertex].clone();
+    }
+
+    /** @return tile ids in creation order, the order of Board.getTiles() (a copy) */
+    public int[] getTileOrder() {
+        return tileOrder.clone();
+    }
+
+    /**
+     * @return the id of the edge joining two vertices, or -1 if they are not neighbours
+     *         (or either id is off the board)
+     */
+    public int edgeId(int a, int b) {
+        if (a < 0 || b < 0 || a >= vertexCount || b >= vertexCount) return -1;
+        return edgeIds[a * vertexCount + b];
+    }
+
+    /** @return the lower vertex id of an edge */
+    public int getEdgeStart(int edge) { return edgeStart[edge]; }
+
+    /** @return the higher vertex id of an edge */
+    public int getEdgeEnd(int edge) { return edgeEnd[edge]; }
+
+    /** @return the all-pairs distance tables of this topology */
+    public VertexDistances getDistances() { return distances; }
+}
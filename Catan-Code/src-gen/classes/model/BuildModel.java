@@ -0,0 +1,389 @@
+package classes.model;
+
+import classes.enums.ResourceType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bitmask model of one player's side of the board, used by the planners.
+ *
+ * The player's hand, buildings, roads and the robber's tile live in a small State;
+ * everything else (opponents' pieces, tile yields) is read once from the live board
+ * and stays fixed. On a 7 the opponents move the robber onto the player's most
+ * productive tile, and the player earns nothing from it until the next 7. Adjacency, tile corners and edge ids come from the
+ * board's shared BoardTopology, so only that per-game part is built per model. Moves
+ * are ints: a kind in the high bits (CITY, SETTLEMENT, ROAD or END) and a vertex or
+ * edge id in the low 16. Legality follows RuleValidator; apply() returns a new State
+ * and never touches the board.
+ */
+class BuildModel {
+    static final int END = 0;
+    static final int CITY = 1 << 16;
+    static final int SETTLEMENT = 2 << 16;
+    static final int ROAD = 3 << 16;
+    static final int ARG = 0xFFFF;
+
+    static final int R = ResourceHand.RESOURCE_COUNT;
+    static final int WOOD = ResourceType.WOOD.ordinal();
+    static final int BRICK = ResourceType.BRICK.ordinal();
+    static final int WHEAT = ResourceType.WHEAT.ordinal();
+    static final int SHEEP = ResourceType.SHEEP.ordinal();
+    static final int ORE = ResourceType.ORE.ordinal();
+    /** Hands above this size lose half their cards on a 7. */
+    static final int DISCARD_LIMIT = 7;
+    /** State.robber when the robber blocks none of the tiles the model knows. */
+    static final int NO_TILE = -1;
+
+    private final BoardTopology topology;
+    /** Per vertex: {token, resource, tile id} of every producing tile. */
+    private final int[][][] vertexYield;
+    /** The robber's tile on the live board, or NO_TILE. */
+    private final int robberTile;
+    private final long othersOccupied;
+    private final long[] othersEdges = new long[2];
+    /** Hash of everything read from the board apart from the player's own pieces. */
+    private final long fingerprint;
+
+    /**
+     * @param board  The live board
+     * @param player The player whose builds are modelled
+     */
+    BuildModel(Board board, Player player) {
+        topology = board.getTopology();
+        int v = topology.getVertexCount();
+
+        Tile robber = board.getRobber() == null ? null : board.getRobber().getCurrentTile();
+        robberTile = robber == null ? NO_TILE : robber.getId();
+        List<List<int[]>> yields = new ArrayList<>();
+        for (int i = 0; i < v; i++) yields.add(new ArrayList<>());
+        for (Tile t : board.getTiles()) {
+            if (t.getResourceType() == ResourceType.DESERT) continue;
+            int token = t.getNumberToken();
+            if (token < 2 || token > 12) continue;
+            for (int corner : topology.tileVertices[t.getId()]) {
+                yields.get(corner).add(new int[]{token, t.getResourceType().ordinal(), t.getId()});
+            }
+        }
+        vertexYield = new int[v][][];
+        for (int i = 0; i < v; i++) vertexYield[i] = yields.get(i).toArray(new int[0][]);
+
+        long occupied = 0;
+        for (Vertex vertex : board.getVertices()) {
+            if (vertex.isOccupied() && vertex.getOwner() != player) occupied |= 1L << vertex.getId();
+        }
+        othersOccupied = occupied;
+        for (Road road : board.getRoads()) {
+            if (road.getOwner() != player) {
+                int e = edgeIndex(road.getStart().getId(), road.getEnd().getId());
+                othersEdges[e >> 6] |= 1L << e;
+            }
+        }
+        long h = v * 31L + robberTile;
+        h = h * 0x9E3779B97F4A7C15L + othersOccupied;
+        h = h * 0x9E3779B97F4A7C15L + othersEdges[0];
+        fingerprint = h * 0x9E3779B97F4A7C15L + othersEdges[1];
+    }
+
+    /**
+     * Snapshots the player's own pieces and hand.
+     */
+    State rootState(Player player) {
+        State s = new State();
+        System.arraycopy(player.getHand().toArray(), 0, s.hand, 0, R);
+        s.vp = player.getVictoryPoints();
+        s.robber = robberTile;
+        s.income = new int[13 * R];
+        for (Buildings b : player.getBuildingsBuilt()) {
+            int v = b.getLocation().getId();
+            if (b instanceof City) {
+                s.cities |= 1L << v;
+                addYield(s, v);
+            } else {
+                s.settlements |= 1L << v;
+            }
+            addYield(s, v);
+        }
+        for (Road road : player.getRoadsBuilt()) {
+            int e = edgeIndex(road.getStart().getId(), road.getEnd().getId());
+            s.roads[e >> 6] |= 1L << e;
+            s.roadTouch |= (1L << edgeStart(e)) | (1L << edgeEnd(e));
+        }
+        return s;
+    }
+
+    // ------------------------------------------------------------------------------
+    // Legality
+    // ------------------------------------------------------------------------------
+
+    static boolean canAffordCity(State s) {
+        return s.hand[WHEAT] >= 2 && s.hand[ORE] >= 3;
+    }
+
+    static boolean canAffordSettlement(State s) {
+        return s.hand[WOOD] >= 1 && s.hand[BRICK] >= 1 && s.hand[WHEAT] >= 1 && s.hand[SHEEP] >= 1;
+    }
+
+    static boolean canAffordRoad(State s) {
+        return s.hand[WOOD] >= 1 && s.hand[BRICK] >= 1;
+    }
+
+    /** Empty vertices whose neighbours are all empty. */
+    long openVertices(State s) {
+        long occupied = othersOccupied | s.settlements | s.cities;
+        long open = 0;
+        for (int v = 0; v < topology.getVertexCount(); v++) {
+            if ((occupied & (1L << v)) == 0 && (neighbors(v) & occupied) == 0) open |= 1L << v;
+        }
+        return open;
+    }
+
+    /** Open vertices touched by one of the player's roads. */
+    long settlementSpots(State s) {
+        return openVertices(s) & s.roadTouch;
+    }
+
+    /** @return true if a road may be extended from vertex v (own building, or own road not cut by another player) */
+    boolean connected(State s, int v) {
+        long bit = 1L << v;
+        if (((s.settlements | s.cities) & bit) != 0) return true;
+        if ((othersOccupied & bit) != 0) return false;
+        return (s.roadTouch & bit) != 0;
+    }
+
+    boolean canPlaceRoad(State s, int e) {
+        long bit = 1L << e;
+        if ((s.roads[e >> 6] & bit) != 0 || (othersEdges[e >> 6] & bit) != 0) return false;
+        return connected(s, edgeStart(e)) || connected(s, edgeEnd(e));
+    }
+
+    /** Every edge the player may build a road on, ignoring cost. */
+    List<Integer> legalRoads(State s) {
+        List<Integer> roads = new ArrayList<>();
+        for (int e = 0; e < edgeCount(); e++) {
+            if (canPlaceRoad(s, e)) roads.add(e);
+        }
+        return roads;
+    }
+
+    /** @return true if a road on edge e reaches an open vertex the player's roads do not touch yet */
+    boolean opensSpot(State s, long open, int e) {
+        long reached = (1L << edgeStart(e)) | (1L << edgeEnd(e));
+        return (reached & open & ~s.roadTouch) != 0;
+    }
+
+    // ------------------------------------------------------------------------------
+    // Transitions
+    // ------------------------------------------------------------------------------
+
+    /** The position after a build; the hand pays the cost. */
+    State apply(State s, int move) {
+        State c = s.copy();
+        int arg = move & ARG;
+        switch (move & ~ARG) {
+            case CITY:
+                c.hand[WHEAT] -= 2;
+                c.hand[ORE] -= 3;
+                c.settlements &= ~(1L << arg);
+                c.cities |= 1L << arg;
+                c.vp++;
+                c.income = s.income.clone();
+                addYield(c, arg);
+                break;
+            case SETTLEMENT:
+                c.hand[WOOD]--;
+                c.hand[BRICK]--;
+                c.hand[WHEAT]--;
+                c.hand[SHEEP]--;
+                c.settlements |= 1L << arg;
+                c.vp++;
+                c.income = s.income.clone();
+                addYield(c, arg);
+                break;
+            case ROAD:
+                c.hand[WOOD]--;
+                c.hand[BRICK]--;
+                c.roads[arg >> 6] |= 1L << arg;
+                c.roadTouch |= (1L << edgeStart(arg)) | (1L << edgeEnd(arg));
+                break;
+            default:
+                break;
+        }
+        return c;
+    }
+
+    /**
+     * The position after a roll: production, or on a 7 discarding half of a large hand
+     * and the robber moving to the player's best tile.
+     */
+    State rolled(State s, int roll) {
+        State c = s.copy();
+        if (roll == 7) {
+            int total = total(c);
+            if (total > DISCARD_LIMIT) {
+                for (int d = total / 2; d > 0; d--) {
+                    int largest = 0;
+                    for (int r = 1; r < R; r++) if (c.hand[r] > c.hand[largest]) largest = r;
+                    c.hand[largest]--;
+                }
+            }
+            moveRobber(c, robberTarget(c));
+        } else {
+            for (int r = 0; r < R; r++) c.hand[r] += s.income[roll * R + r];
+        }
+        return c;
+    }
+
+    /**
+     * The tile the opponents would rob: the one earning the player the most pips, counting
+     * a city twice. The robber must move, so its current tile is skipped; with nothing
+     * left to block it goes to a tile the model does not track.
+     *
+     * @return a tile id, or NO_TILE
+     */
+    int robberTarget(State s) {
+        int[] weight = new int[topology.getTileCount()];
+        for (long m = s.settlements | s.cities; m != 0; m &= m - 1) {
+            int v = Long.numberOfTrailingZeros(m);
+            int share = (s.cities & (1L << v)) != 0 ? 2 : 1;
+            for (int[] y : vertexYield[v]) weight[y[2]] += share * ProductionIndex.pips(y[0]);
+        }
+        int best = NO_TILE;
+        for (int t = 0; t < weight.length; t++) {
+            if (t != s.robber && weight[t] > 0 && (best == NO_TILE || weight[t] > weight[best])) best = t;
+        }
+        return best;
+    }
+
+    /** Puts the robber on a tile and recomputes the income of a copied state. */
+    private void moveRobber(State c, int tile) {
+        c.robber = tile;
+        c.income = new int[13 * R];
+        for (long m = c.settlements | c.cities; m != 0; m &= m - 1) {
+            int v = Long.numberOfTrailingZeros(m);
+            addYield(c, v);
+            if ((c.cities & (1L << v)) != 0) addYield(c, v);
+        }
+    }
+
+    private void addYield(State s, int v) {
+        for (int[] y : vertexYield[v]) {
+            if (y[2] != s.robber) s.income[y[0] * R + y[1]]++;
+        }
+    }
+
+    /** @return pips (of 36 rolls) one building at v collects, the robber's tile excluded */
+    int pips(int v) {
+        int p = 0;
+        for (int[] y : vertexYield[v]) {
+            if (y[2] != robberTile) p += ProductionIndex.pips(y[0]);
+        }
+        return p;
+    }
+
+    static int total(State s) {
+        int t = 0;
+        for (int count : s.hand) t += count;
+        return t;
+    }
+
+    int edgeIndex(int a, int b) {
+        int e = topology.edgeId(a, b);
+        if (e < 0) throw new IllegalArgumentException("No edge between " + a + " and " + b);
+        return e;
+    }
+
+    /**
+     * @return a hash of the fixed part of the model (opponents' pieces and the robber's
+     *         tile); two models of the same board with equal fingerprints behave the same
+     */
+    long fingerprint() { return fingerprint; }
+
+    /** @return bit mask of the vertices adjacent to v */
+    long neighbors(int v) { return topology.neighbourMasks[v]; }
+
+    int edgeStart(int e) { return topology.getEdgeStart(e); }
+    int edgeEnd(int e) { return topology.getEdgeEnd(e); }
+    int edgeCount() { return topology.getEdgeCount(); }
+    int vertexCount() { return topology.getVertexCount(); }
+
+    /** The modelled player's hand, pieces and income. */
+    static final class State {
+        final int[] hand = new int[R];
+        int vp;
+        long settlements;
+        long cities;
+        long roadTouch;
+        final long[] roads = new long[2];
+        /** Tile id the robber blocks, or NO_TILE. */
+        int robber = NO_TILE;
+        /** [roll * R + resource]: cards earned on each roll; shared until a build changes it. */
+        int[] income;
+
+        State copy() {
+            State c = new State();
+            System.arraycopy(hand, 0, c.hand, 0, R);
+            c.vp = vp;
+            c.settlements = settlements;
+            c.cities = cities;
+            c.roadTouch = roadTouch;
+            c.roads[0] = roads[0];
+            c.roads[1] = roads[1];
+            c.robber = robber;
+            c.income = income;
+            return c;
+        }
+
+        /** @return the hand packed into 12-bit lanes, for memo keys */
+        long packedHand() {
+            long h = 0;
+            for (int r = 0; r < R; r++) h = (h << 12) | Math.min(hand[r], 0xFFF);
+            return h;
+        }
+    }
+
+    /** Memo key: the hand, the player's pieces and the robber (everything else is fixed). */
+    static final class Key {
+        private final long hand;
+        private final long settlements;
+        private final long cities;
+        private final long roads0;
+        private final long roads1;
+        private final int robber;
+        private final boolean flag;
+        private final int hash;
+
+        /**
+         * @param s    The position
+         * @param flag Distinguishes two kinds of node with the same position
+         */
+        Key(State s, boolean flag) {
+            this.hand = s.packedHand();
+            this.settlements = s.settlements;
+            this.cities = s.cities;
+            this.roads0 = s.roads[0];
+            this.roads1 = s.roads[1];
+            this.robber = s.robber;
+            this.flag = flag;
+            long h = hand * 31 + settlements;
+            h = h * 31 + cities;
+            h = h * 31 + roads0;
+            h = h * 31 + roads1;
+            h = h * 31 + robber;
+            this.hash = Long.hashCode(h) ^ (flag ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return hand == k.hand && settlements == k.settlements && cities == k.cities
+                    && roads0 == k.roads0 && roads1 == k.roads1 && robber == k.robber && flag == k.flag;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
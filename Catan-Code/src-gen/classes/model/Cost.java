@@ -1,34 +1,102 @@
 package classes.model;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Represents the resource cost for building structures in Catan.
- * 
+ *
  * Provides factory methods for standard building costs:
  * - Road: 1 wood, 1 brick
  * - Settlement: 1 wood, 1 brick, 1 wheat, 1 sheep
  * - City: 2 wheat, 3 ore
+ *
+ * Costs are immutable and interned: the standard costs are shared constants and
+ * Cost.of() returns one instance per distinct vector. Each cost is also packed into a
+ * long with one 12-bit lane per resource (11 value bits plus a guard bit), so a hand
+ * packed the same way can be checked against it with a single subtraction.
  */
-public class Cost {
-    private int wood;
-    private int brick;
-    private int wheat;
-    private int sheep;
-    private int ore;
+public final class Cost {
+    private static final int LANE_BITS = 12;
+    private static final long LANE_MAX = (1L << (LANE_BITS - 1)) - 1; // 2047
+    /** The guard (top) bit of every lane. */
+    private static final long GUARD_BITS;
 
-    /**
-     * Constructs a Cost with specified resource amounts.
-     */
-    public Cost(int wood, int brick, int wheat, int sheep, int ore) {
+    static {
+        long guards = 0;
+        for (int i = 0; i < ResourceHand.RESOURCE_COUNT; i++) {
+            guards |= (LANE_MAX + 1) << (i * LANE_BITS);
+        }
+        GUARD_BITS = guards;
+    }
+
+    private static final Map<Long, Cost> INTERNED = new ConcurrentHashMap<>();
+
+    /** Bit flags for affordableMask(). */
+    public static final int ROAD_BIT = 1;
+    public static final int SETTLEMENT_BIT = 1 << 1;
+    public static final int CITY_BIT = 1 << 2;
+
+    public static final Cost ROAD = of(1, 1, 0, 0, 0);
+    public static final Cost SETTLEMENT = of(1, 1, 1, 1, 0);
+    public static final Cost CITY = of(0, 0, 2, 0, 3);
+
+    private final int wood;
+    private final int brick;
+    private final int wheat;
+    private final int sheep;
+    private final int ore;
+    private final long packed;
+
+    private Cost(int wood, int brick, int wheat, int sheep, int ore) {
         this.wood = wood;
         this.brick = brick;
         this.wheat = wheat;
         this.sheep = sheep;
         this.ore = ore;
+        this.packed = pack(wood, brick, wheat, sheep, ore);
+    }
+
+    /**
+     * Returns the interned Cost with the specified resource amounts.
+     * Amounts must be between 0 and 2047.
+     */
+    public static Cost of(int wood, int brick, int wheat, int sheep, int ore) {
+        for (int amount : new int[]{wood, brick, wheat, sheep, ore}) {
+            if (amount < 0 || amount > LANE_MAX) {
+                throw new IllegalArgumentException("Cost amounts must be between 0 and " + LANE_MAX);
+            }
+        }
+        return INTERNED.computeIfAbsent(pack(wood, brick, wheat, sheep, ore),
+                key -> new Cost(wood, brick, wheat, sheep, ore));
+    }
+
+    /**
+     * Packs five counts into 12-bit lanes, saturating at 2047 (no real cost comes close,
+     * so a saturated hand count still compares correctly).
+     */
+    static long pack(int wood, int brick, int wheat, int sheep, int ore) {
+        return lane(wood, 0) | lane(brick, 1) | lane(wheat, 2) | lane(sheep, 3) | lane(ore, 4);
+    }
+
+    private static long lane(int count, int index) {
+        return Math.min(Math.max(count, 0), LANE_MAX) << (index * LANE_BITS);
+    }
+
+    /**
+     * Checks every lane at once: setting the guard bits and subtracting the cost leaves
+     * a lane's guard bit set exactly when the hand holds at least that lane's amount.
+     *
+     * @param packedHand A hand packed with ResourceHand.packed()
+     * @return true if the hand covers this cost
+     */
+    public boolean isCoveredBy(long packedHand) {
+        return (((packedHand | GUARD_BITS) - packed) & GUARD_BITS) == GUARD_BITS;
     }
 
     /**
      * Checks if the given resource hand can afford this cost.
-     * 
+     *
      * @param hand The resource hand to check
      * @return true if the hand has enough resources
      */
@@ -36,19 +104,57 @@ public class Cost {
         return hand.hasEnough(this);
     }
 
+    /**
+     * Counts how many times this cost could be paid from the hand.
+     *
+     * @param hand The resource hand to check
+     * @return The number of copies affordable (Integer.MAX_VALUE for a zero cost)
+     */
+    public int maxAffordable(ResourceHand hand) {
+        int max = Integer.MAX_VALUE;
+        max = limit(max, hand.getWood(), wood);
+        max = limit(max, hand.getBrick(), brick);
+        max = limit(max, hand.getWheat(), wheat);
+        max = limit(max, hand.getSheep(), sheep);
+        return limit(max, hand.getOre(), ore);
+    }
+
+    private static int limit(int max, int held, int needed) {
+        return needed == 0 ? max : Math.min(max, held / needed);
+    }
+
+    /**
+     * Determines which standard builds a hand can afford, packing the hand only once.
+     *
+     * @param hand The resource hand to check
+     * @return A combination of ROAD_BIT, SETTLEMENT_BIT and CITY_BIT
+     */
+    public static int affordableMask(ResourceHand hand) {
+        long packedHand = hand.packed();
+        int mask = 0;
+        if (ROAD.isCoveredBy(packedHand)) mask |= ROAD_BIT;
+        if (SETTLEMENT.isCoveredBy(packedHand)) mask |= SETTLEMENT_BIT;
+        if (CITY.isCoveredBy(packedHand)) mask |= CITY_BIT;
+        return mask;
+    }
+
     // Getters
     public int getWood() { return wood; }
     public int getBrick() { return brick; }
     public int getWheat() { return wheat; }
     public int getSheep() { return sheep; }
     public int getOre() { return ore; }
+    /** @return this cost in 12-bit lanes (wood in the lowest lane) */
+    public long getPacked() { return packed; }
+    /** @return the total number of cards this cost requires */
+    public int totalCards() { return wood + brick + wheat + sheep + ore; }
 
     /**
      * Factory method: Returns the cost of a road.
      * @return Cost object for a road (1 wood, 1 brick)
      */
     public static Cost roadCost() {
-        return new Cost(1, 1, 0, 0, 0);
+        return ROAD;
     }
 
     /**
@@ -56,7 +162,7 @@ public class Cost {
      * @return Cost object for a settlement (1 wood, 1 brick, 1 wheat, 1 sheep)
      */
     public static Cost settlementCost() {
-        return new Cost(1, 1, 1, 1, 0);
+        return SETTLEMENT;
     }
 
     /**
@@ -64,6 +170,11 @@ public class Cost {
      * @return Cost object for a city (2 wheat, 3 ore)
      */
     public static Cost cityCost() {
-        return new Cost(0, 0, 2, 0, 3);
+        return CITY;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Cost[wood=%d brick=%d wheat=%d sheep=%d ore=%d]", wood, brick, wheat, sheep, ore);
     }
-}
\ No newline at end of file
+}
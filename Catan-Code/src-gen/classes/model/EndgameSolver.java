@@ -0,0 +1,325 @@
+package classes.model;
+
+import classes.model.BuildModel.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exact probability that a player near the end reaches WIN_POINTS within a number of
+ * their own turns, over the same model as ExpectimaxSearch (BuildModel, static
+ * opponents, the 7 discarding half of a hand over the limit and robbing the player's
+ * best tile).
+ *
+ * The value is a dynamic program over (hand, own pieces, turns left): a roll node
+ * averages the 2d6 outcomes, a build node takes the best of ending the turn and each
+ * build. The state space is kept small by only solving within `gap` VP of winning,
+ * a short horizon, capping each resource at HAND_CAP after a roll, and trying only the
+ * ROAD_BRANCH most useful roads per node. Nodes are memoised in an open-addressing
+ * table keyed by a packed long (hand, turns left, and an interned id of the pieces);
+ * the table is kept across calls as long as the opponents' pieces and the robber
+ * do not change.
+ *
+ * A solve that would visit more than MAX_NODES new nodes gives up (NaN / -1);
+ * the nodes it finished stay in the table, so the next call gets further.
+ */
+public class EndgameSolver {
+    /** Default VP gap within which the solver is used. */
+    public static final int DEFAULT_GAP = 2;
+    /** Default horizon in own turns. */
+    public static final int DEFAULT_TURNS = 3;
+
+    static final int HAND_CAP = 15;
+    private static final int WIN_POINTS = 10;
+    private static final int ROAD_BRANCH = 3;
+    private static final int MAX_NODES = 200_000;
+    private static final int MAX_ENTRIES = 1 << 20;
+
+    private static final int R = BuildModel.R;
+    private static final int END = BuildModel.END;
+    private static final double[] ROLL_PROBABILITY = new double[13];
+
+    static {
+        for (int roll = 2; roll <= 12; roll++) {
+            ROLL_PROBABILITY[roll] = (6 - Math.abs(7 - roll)) / 36.0;
+        }
+    }
+
+    private final int gap;
+    private final int turns;
+    private final MemoTable memo = new MemoTable();
+    private final Map<Pieces, Integer> pieceIds = new HashMap<>();
+    private long fingerprint;
+    private BuildModel model;
+    private int nodes;
+    private double lastValue = Double.NaN;
+
+    public EndgameSolver() {
+        this(DEFAULT_GAP, DEFAULT_TURNS);
+    }
+
+    /**
+     * @param gap   Solve only when at most this many VP short of winning
+     * @param turns Horizon in the player's own turns (1-7)
+     */
+    public EndgameSolver(int gap, int turns) {
+        if (turns < 1 || turns > 7) throw new IllegalArgumentException("turns must be 1-7");
+        this.gap = gap;
+        this.turns = turns;
+    }
+
+    /** @return true if the player is close enough to winning for the solver to apply */
+    public boolean applies(Player player) {
+        return player.getVictoryPoints() >= WIN_POINTS - gap;
+    }
+
+    /**
+     * @param board  The live board
+     * @param player The player to solve for
+     * @param rolled true if the player has rolled this turn and is about to build
+     * @return the probability of winning within the horizon (this turn counting as one),
+     *         or NaN if the node budget ran out
+     */
+    public double winProbability(Board board, Player player, boolean rolled) {
+        BuildModel m = new BuildModel(board, player);
+        State root = clamped(m.rootState(player));
+        prepare(m);
+        try {
+            return rolled ? buildNode(root, turns) : rollNode(root, turns);
+        } catch (OutOfBudget e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Picks the build (or END) that maximises the chance of winning within the horizon,
+     * for a player who has rolled. getLastValue() is that chance.
+     *
+     * @return the move, or -1 if the node budget ran out
+     */
+    int bestMove(BuildModel m, State position) {
+        State root = clamped(position);
+        prepare(m);
+        lastValue = Double.NaN;
+        try {
+            if (root.vp >= WIN_POINTS) {
+                lastValue = 1.0;
+                return END;
+            }
+            int best = END;
+            double bestValue = turns > 1 ? rollNode(root, turns - 1) : 0.0;
+            for (int move : moves(root)) {
+                double v = buildNode(model.apply(root, move), turns);
+                // On a tie a build beats ending the turn: it wins no later
+                if (v > bestValue || (v == bestValue && best == END)) {
+                    bestValue = v;
+                    best = move;
+                }
+            }
+            lastValue = bestValue;
+            return best;
+        } catch (OutOfBudget e) {
+            return -1;
+        }
+    }
+
+    /** @return the win probability found by the last bestMove() (NaN if it gave up) */
+    double getLastValue() { return lastValue; }
+
+    /** @return memoised nodes currently held */
+    public int getTableSize() { return memo.size(); }
+
+    /** Keeps the table if the model's fixed part is unchanged; starts the node budget. */
+    private void prepare(BuildModel m) {
+        if (model == null || m.fingerprint() != fingerprint || memo.size() > MAX_ENTRIES) {
+            memo.clear();
+            pieceIds.clear();
+            fingerprint = m.fingerprint();
+        }
+        model = m;
+        nodes = 0;
+    }
+
+    // ------------------------------------------------------------------------------
+    // Dynamic program
+    // ------------------------------------------------------------------------------
+
+    /** Before the roll, with n turns left including this one. */
+    private double rollNode(State s, int n) {
+        long key = key(s, n, 1);
+        double hit = memo.get(key);
+        if (!Double.isNaN(hit)) return hit;
+        if (++nodes > MAX_NODES) throw OutOfBudget.INSTANCE;
+
+        double value = 0;
+        for (int roll = 2; roll <= 12; roll++) {
+            value += ROLL_PROBABILITY[roll] * buildNode(clamped(model.rolled(s, roll)), n);
+        }
+        value = Math.min(1.0, value);   // the probabilities sum to 1 only up to rounding
+        memo.put(key, value);
+        return value;
+    }
+
+    /** After the roll, with n turns left including this one. */
+    private double buildNode(State s, int n) {
+        if (s.vp >= WIN_POINTS) return 1.0;
+        long key = key(s, n, 0);
+        double hit = memo.get(key);
+        if (!Double.isNaN(hit)) return hit;
+        if (++nodes > MAX_NODES) throw OutOfBudget.INSTANCE;
+
+        double best = n > 1 ? rollNode(s, n - 1) : 0.0;
+        for (int move : moves(s)) {
+            if (best >= 1.0) break;
+            best = Math.max(best, buildNode(model.apply(s, move), n));
+        }
+        memo.put(key, best);
+        return best;
+    }
+
+    /** @return the state with each resource capped at HAND_CAP (a copy if any was over) */
+    private static State clamped(State s) {
+        for (int r = 0; r < R; r++) {
+            if (s.hand[r] > HAND_CAP) {
+                State c = s.copy();
+                for (int k = 0; k < R; k++) c.hand[k] = Math.min(c.hand[k], HAND_CAP);
+                return c;
+            }
+        }
+        return s;
+    }
+
+    /** Cities, settlements, then roads that open a settlement spot first (capped). */
+    private List<Integer> moves(State s) {
+        List<Integer> moves = new ArrayList<>();
+        if (BuildModel.canAffordCity(s)) {
+            for (long m = s.settlements; m != 0; m &= m - 1) moves.add(BuildModel.CITY | Long.numberOfTrailingZeros(m));
+        }
+        if (BuildModel.canAffordSettlement(s)) {
+            for (long m = model.settlementSpots(s); m != 0; m &= m - 1) {
+                moves.add(BuildModel.SETTLEMENT | Long.numberOfTrailingZeros(m));
+            }
+        }
+        if (BuildModel.canAffordRoad(s)) {
+            List<Integer> other = new ArrayList<>();
+            long open = model.openVertices(s);
+            int roads = 0;
+            for (int e : model.legalRoads(s)) {
+                if (model.opensSpot(s, open, e)) {
+                    if (roads++ < ROAD_BRANCH) moves.add(BuildModel.ROAD | e);
+                } else {
+                    other.add(BuildModel.ROAD | e);
+                }
+            }
+            for (int i = 0; roads < ROAD_BRANCH && i < other.size(); i++, roads++) moves.add(other.get(i));
+        }
+        return moves;
+    }
+
+    /** (pieces id + 1) << 24 | turns << 21 | roll node << 20 | hand in 4-bit lanes; never 0. */
+    private long key(State s, int n, int rollNode) {
+        long hand = 0;
+        for (int r = 0; r < R; r++) hand = (hand << 4) | Math.min(s.hand[r], HAND_CAP);
+        Pieces p = new Pieces(s);
+        Integer id = pieceIds.get(p);
+        if (id == null) {
+            id = pieceIds.size();
+            pieceIds.put(p, id);
+        }
+        return ((long) id + 1) << 24 | (long) n << 21 | (long) rollNode << 20 | hand;
+    }
+
+    /** The player's own buildings and roads, interned to a small id for memo keys. */
+    private static final class Pieces {
+        private final long settlements;
+        private final long cities;
+        private final long roads0;
+        private final long roads1;
+        private final int robber;
+
+        Pieces(State s) {
+            settlements = s.settlements;
+            cities = s.cities;
+            roads0 = s.roads[0];
+            roads1 = s.roads[1];
+            robber = s.robber;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Pieces)) return false;
+            Pieces p = (Pieces) o;
+            return settlements == p.settlements && cities == p.cities && roads0 == p.roads0 && roads1 == p.roads1
+                    && robber == p.robber;
+        }
+
+        @Override
+        public int hashCode() {
+            long h = settlements * 31 + cities;
+            h = h * 31 + roads0;
+            h = h * 31 + roads1;
+            return Long.hashCode(h * 31 + robber);
+        }
+    }
+
+    /** Open-addressing long -> double map with linear probing; key 0 marks an empty slot. */
+    private static final class MemoTable {
+        private long[] keys = new long[1 << 12];
+        private double[] values = new double[1 << 12];
+        private int size;
+
+        double get(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i];
+                if (keys[i] == 0) return Double.NaN;
+            }
+        }
+
+        void put(long key, double value) {
+            if (2 * (size + 1) > keys.length) grow();
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+            if (keys[i] == 0) size++;
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        int size() { return size; }
+
+        void clear() {
+            Arrays.fill(keys, 0L);
+            size = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new double[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+
+    /** Thrown to unwind a solve that ran past the node budget. */
+    private static final class OutOfBudget extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        static final OutOfBudget INSTANCE = new OutOfBudget();
+
+        private OutOfBudget() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package classes.model;
+
+import classes.controller.GameMaster;
+import classes.moves.*;
+import classes.util.RuleValidator;
+
+/**
+ * AI player that plans ahead with expectimax instead of the R3.2/R3.3 rules.
+ *
+ * Each decision searches this turn's build sequences (max nodes) followed by the next
+ * rolls (chance nodes weighted by 2d6, with the 7 discard), see ExpectimaxSearch.
+ * The search deepens one roll at a time until maxPlies or the per-decision node or
+ * time budget runs out, and plays the first build of the best plan found. The
+ * transposition table is kept for the rest of the turn, so later decisions in the
+ * same turn start from the earlier results.
+ *
+ * Within EndgameSolver.DEFAULT_GAP VP of winning, the move comes from EndgameSolver
+ * instead, which maximises the exact chance of winning within a few turns; when that
+ * chance is 0 (or the solver gives up) the expectimax search decides as usual.
+ *
+ * The default budget counts search nodes, so games are reproducible from a seed. With
+ * a time budget the reached depth depends on the machine.
+ */
+public class ExpectimaxAIPlayer extends RuleBasedAIPlayer {
+    /** Default number of rolls to look ahead. */
+    public static final int DEFAULT_MAX_PLIES = 2;
+    /** Default search nodes per decision: about 2 ms, and enough for 2 rolls in most positions. */
+    public static final int DEFAULT_BUDGET_NODES = 2000;
+
+    private final int maxPlies;
+    private final long budgetNanos;
+    private final int budgetNodes;
+
+    /** The previous decision's search, reused while the round is the same. */
+    private ExpectimaxSearch lastSearch;
+    private int lastRound = -1;
+    /** Kept across decisions so its table carries over while opponents stand still. */
+    private final EndgameSolver endgame = new EndgameSolver();
+
+    public ExpectimaxAIPlayer(int id) {
+        this(id, DEFAULT_MAX_PLIES, 0, DEFAULT_BUDGET_NODES);
+    }
+
+    /**
+     * @param id          The player ID
+     * @param maxPlies    Deepest number of rolls to look ahead
+     * @param budgetNanos Time per decision in nanoseconds, or 0 for no time limit
+     * @param budgetNodes Search nodes per decision, or 0 for no node limit
+     */
+    public ExpectimaxAIPlayer(int id, int maxPlies, long budgetNanos, int budgetNodes) {
+        super(id);
+        if (maxPlies < 0) throw new IllegalArgumentException("maxPlies must be >= 0");
+        this.maxPlies = maxPlies;
+        this.budgetNanos = budgetNanos;
+        this.budgetNodes = budgetNodes;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        lastSearch = null;
+        lastRound = -1;
+    }
+
+    /**
+     * No rule-based constraints: the search already weighs a large hand against the
+     * chance of a 7.
+     */
+    @Override
+    protected PlayerAction resolveConstraint(GameMaster game) {
+        return null;
+    }
+
+    @Override
+    protected PlayerAction pickBestValueMove(GameMaster game) {
+        long deadline = budgetNanos > 0 ? System.nanoTime() + budgetNanos : Long.MAX_VALUE;
+        BuildModel model = new BuildModel(game.getBoard(), this);
+        if (endgame.applies(this)) {
+            int move = endgame.bestMove(model, model.rootState(this));
+            if (move >= 0 && endgame.getLastValue() > 0) {
+                return toAction(game, model, move);
+            }
+        }
+        ExpectimaxSearch search = new ExpectimaxSearch(model, true);
+        if (lastSearch != null && lastRound == game.getCurrentRound()) {
+            search.reuseTable(lastSearch);
+        }
+        lastSearch = search;
+        lastRound = game.getCurrentRound();
+
+        int move = search.search(model.rootState(this), maxPlies, deadline, budgetNodes);
+        return toAction(game, model, move);
+    }
+
+    /**
+     * Turns a search move back into a command, re-checking it against the rules.
+     */
+    private PlayerAction toAction(GameMaster game, BuildModel model, int move) {
+        Board board = game.getBoard();
+        RuleValidator rules = game.getRuleValidator();
+        int arg = move & BuildModel.ARG;
+        switch (move & ~BuildModel.ARG) {
+            case BuildModel.CITY: {
+                Vertex v = board.getVertex(arg);
+                if (rules.canBuildCity(this, v)) return new BuildCityAction(this, v);
+                break;
+            }
+            case BuildModel.SETTLEMENT: {
+                Vertex v = board.getVertex(arg);
+                if (rules.canBuildSettlement(this, v)) return new BuildSettlementAction(this, v);
+                break;
+            }
+            case BuildModel.ROAD: {
+                Vertex a = board.getVertex(model.edgeStart(arg));
+                Vertex b = board.getVertex(model.edgeEnd(arg));
+                if (rules.canBuildRoad(this, a, b)) return new BuildRoadAction(this, a, b);
+                break;
+            }
+            default:
+                break;
+        }
+        return new PassAction(this);
+    }
+
+    public int getMaxPlies() { return maxPlies; }
+    public long getBudgetNanos() { return budgetNanos; }
+    public int getBudgetNodes() { return budgetNodes; }
+}
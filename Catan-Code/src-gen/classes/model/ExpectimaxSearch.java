@@ -0,0 +1,315 @@
+package classes.model;
+
+import classes.model.BuildModel.Key;
+import classes.model.BuildModel.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Depth-limited expectimax over a compact model of one player's position.
+ *
+ * Max nodes are the player's build choices (city, settlement, road, or end the turn);
+ * ending the turn leads to a chance node over the 2d6 roll, after which the player
+ * builds again. Opponents are treated as static: their buildings and roads block, but
+ * they do not move. On a 7 the model discards half of a hand over 7 (from the largest
+ * piles) and the opponents move the robber onto the player's best tile
+ * (BuildModel.robberTarget), which then produces nothing for the rolls that follow.
+ *
+ * Chance nodes use Star1 pruning with the evaluation bounds [MIN_VALUE, MAX_VALUE],
+ * plus a Star2 probe of each outcome's first move. Max and chance nodes are memoised
+ * in a transposition table that the caller keeps for one turn. Searches deepen one roll at
+ * a time until the depth limit, the deadline or the node budget; an unfinished iteration
+ * is discarded. A node budget stops at the same point on every machine.
+ *
+ * Depth counts rolls: depth 0 plans this turn's builds and evaluates the result.
+ */
+public class ExpectimaxSearch {
+    static final double MIN_VALUE = 0.0;
+    static final double MAX_VALUE = 20.0;
+    private static final int WIN_POINTS = 10;
+
+    private static final double PRODUCTION_WEIGHT = 3.0;   // per expected card per roll
+    private static final double HAND_WEIGHT = 0.05;        // per card held, up to the discard limit
+    private static final double FRONTIER_WEIGHT = 0.3;     // per open settlement spot, up to two
+    private static final int DISCARD_LIMIT = BuildModel.DISCARD_LIMIT;
+    /** Road moves considered per max node (best-first), to keep branching bounded. */
+    private static final int ROAD_BRANCH = 6;
+
+    private static final int R = BuildModel.R;
+    private static final int END = BuildModel.END;
+    private static final int CITY = BuildModel.CITY;
+    private static final int SETTLEMENT = BuildModel.SETTLEMENT;
+    private static final int ROAD = BuildModel.ROAD;
+
+    private static final double[] ROLL_PROBABILITY = new double[13];
+
+    static {
+        for (int roll = 2; roll <= 12; roll++) {
+            ROLL_PROBABILITY[roll] = (6 - Math.abs(7 - roll)) / 36.0;
+        }
+    }
+
+    private final BuildModel model;
+    private final boolean pruning;
+    private Map<Key, Entry> table = new HashMap<>();
+    private long deadline;
+    private long nodeLimit = Long.MAX_VALUE;
+    private int nodes;
+    private int completedDepth;
+
+    /**
+     * @param model   The deciding player's position
+     * @param pruning false disables Star1/Star2 cut-offs (for testing; the value is the same)
+     */
+    ExpectimaxSearch(BuildModel model, boolean pruning) {
+        this.model = model;
+        this.pruning = pruning;
+    }
+
+    /**
+     * Keeps the transposition table of an earlier search (same player, same turn).
+     */
+    void reuseTable(ExpectimaxSearch previous) {
+        this.table = previous.table;
+    }
+
+    /**
+     * Iterative deepening from depth 0 up to maxDepth, stopping at the deadline.
+     *
+     * @param root      The position to decide for
+     * @param maxDepth  Deepest number of rolls to look ahead
+     * @param deadline  System.nanoTime() after which to stop (Long.MAX_VALUE for none)
+     * @return The first move of the best plan from the deepest completed iteration
+     */
+    int search(State root, int maxDepth, long deadline) {
+        return search(root, maxDepth, deadline, 0);
+    }
+
+    /**
+     * Iterative deepening as above, also stopping once maxNodes nodes have been visited.
+     *
+     * @param maxNodes Nodes this call may visit (0 for no limit)
+     */
+    int search(State root, int maxDepth, long deadline, int maxNodes) {
+        this.deadline = deadline;
+        this.nodeLimit = maxNodes > 0 ? nodes + (long) maxNodes : Long.MAX_VALUE;
+        int best = END;
+        completedDepth = -1;
+        for (int depth = 0; depth <= maxDepth; depth++) {
+            try {
+                int[] move = new int[1];
+                maxNode(root, depth, MIN_VALUE, MAX_VALUE, move);
+                best = move[0];
+                completedDepth = depth;
+            } catch (OutOfTime e) {
+                break;
+            }
+            if (System.nanoTime() > deadline || nodes >= nodeLimit) break;
+        }
+        return best;
+    }
+
+    /** @return the exact value of the root at a fixed depth (no deadline) */
+    double value(State root, int depth) {
+        this.deadline = Long.MAX_VALUE;
+        this.nodeLimit = Long.MAX_VALUE;
+        return maxNode(root, depth, MIN_VALUE, MAX_VALUE, new int[1]);
+    }
+
+    int getCompletedDepth() { return completedDepth; }
+    int getNodes() { return nodes; }
+
+    // ------------------------------------------------------------------------------
+    // Search
+    // ------------------------------------------------------------------------------
+
+    private double maxNode(State s, int depth, double alpha, double beta, int[] bestOut) {
+        if (++nodes > nodeLimit || ((nodes & 255) == 0 && System.nanoTime() > deadline)) throw OutOfTime.INSTANCE;
+        if (s.vp >= WIN_POINTS) {
+            bestOut[0] = END;
+            return MAX_VALUE;
+        }
+
+        Key key = new Key(s, false);
+        Entry hit = table.get(key);
+        int first = END;
+        if (hit != null) {
+            first = hit.move;
+            if (hit.depth == depth && (hit.flag == Entry.EXACT
+                    || (hit.flag == Entry.LOWER && hit.value >= beta)
+                    || (hit.flag == Entry.UPPER && hit.value <= alpha))) {
+                bestOut[0] = hit.move;
+                return hit.value;
+            }
+        }
+
+        double alphaOrig = alpha;
+        double best = Double.NEGATIVE_INFINITY;
+        int bestMove = END;
+        for (int move : orderedMoves(s, first)) {
+            double v = move == END ? chanceNode(s, depth, alpha, beta) : maxNode(model.apply(s, move), depth, alpha, beta, new int[1]);
+            if (v > best) {
+                best = v;
+                bestMove = move;
+            }
+            if (best > alpha) alpha = best;
+            if (pruning && alpha >= beta) break;
+        }
+
+        int flag = best <= alphaOrig ? Entry.UPPER : best >= beta ? Entry.LOWER : Entry.EXACT;
+        table.put(key, new Entry(depth, best, flag, bestMove));
+        bestOut[0] = bestMove;
+        return best;
+    }
+
+    private double chanceNode(State s, int depth, double alpha, double beta) {
+        if (depth == 0) return evaluate(s);
+
+        Key key = new Key(s, true);
+        Entry hit = table.get(key);
+        if (hit != null && hit.depth == depth && (hit.flag == Entry.EXACT
+                || (hit.flag == Entry.LOWER && hit.value >= beta)
+                || (hit.flag == Entry.UPPER && hit.value <= alpha))) {
+            return hit.value;
+        }
+        double value = expectation(s, depth, alpha, beta);
+        int flag = value <= alpha ? Entry.UPPER : value >= beta ? Entry.LOWER : Entry.EXACT;
+        table.put(key, new Entry(depth, value, flag, END));
+        return value;
+    }
+
+    private double expectation(State s, int depth, double alpha, double beta) {
+        State[] outcomes = new State[13];
+        double[] lower = new double[13];
+        double lowerRest = 0;
+        for (int roll = 2; roll <= 12; roll++) {
+            outcomes[roll] = model.rolled(s, roll);
+            lower[roll] = MIN_VALUE;
+        }
+
+        if (pruning) {
+            // Star2: the value of any one move is a lower bound on each outcome's max node
+            for (int roll = 2; roll <= 12; roll++) {
+                lower[roll] = probe(outcomes[roll], depth - 1);
+                lowerRest += ROLL_PROBABILITY[roll] * lower[roll];
+            }
+            if (lowerRest >= beta) return lowerRest;
+        }
+
+        // Star1: narrow each outcome's window using the bounds of the ones not yet searched
+        double known = 0;
+        double remaining = 1;
+        for (int roll = 2; roll <= 12; roll++) {
+            double p = ROLL_PROBABILITY[roll];
+            remaining -= p;
+            lowerRest -= p * lower[roll];
+            double a = Math.max(MIN_VALUE, (alpha - known - remaining * MAX_VALUE) / p);
+            double b = Math.min(MAX_VALUE, (beta - known - lowerRest) / p);
+            double v = pruning
+                    ? maxNode(outcomes[roll], depth - 1, a, b, new int[1])
+                    : maxNode(outcomes[roll], depth - 1, MIN_VALUE, MAX_VALUE, new int[1]);
+            known += p * v;
+            if (pruning && known + lowerRest >= beta) return known + lowerRest;
+            if (pruning && known + remaining * MAX_VALUE <= alpha) return known + remaining * MAX_VALUE;
+        }
+        return known;
+    }
+
+    /** Searches only the first ordered move of a max node. */
+    private double probe(State s, int depth) {
+        if (s.vp >= WIN_POINTS) return MAX_VALUE;
+        Entry hit = table.get(new Key(s, false));
+        int move = hit == null ? END : hit.move;
+        if (hit != null && hit.depth == depth && hit.flag != Entry.UPPER) return hit.value;
+        return move == END ? chanceNode(s, depth, MIN_VALUE, MAX_VALUE)
+                : maxNode(model.apply(s, move), depth, MIN_VALUE, MAX_VALUE, new int[1]);
+    }
+
+    /**
+     * Static evaluation: victory points, expected production, cards in hand and open
+     * settlement spots, clamped to [MIN_VALUE, MAX_VALUE).
+     */
+    double evaluate(State s) {
+        if (s.vp >= WIN_POINTS) return MAX_VALUE;
+        double pips = 0;
+        for (int roll = 2; roll <= 12; roll++) {
+            int cards = 0;
+            for (int r = 0; r < R; r++) cards += s.income[roll * R + r];
+            pips += ROLL_PROBABILITY[roll] * cards;
+        }
+        int spots = Math.min(2, Long.bitCount(model.settlementSpots(s)));
+        double value = s.vp + PRODUCTION_WEIGHT * pips + HAND_WEIGHT * Math.min(BuildModel.total(s), DISCARD_LIMIT)
+                + FRONTIER_WEIGHT * spots;
+        return Math.max(MIN_VALUE, Math.min(MAX_VALUE - 1e-6, value));
+    }
+
+    // ------------------------------------------------------------------------------
+    // Moves
+    // ------------------------------------------------------------------------------
+
+    /** Cities, then settlements, then the most promising roads, then ending the turn. */
+    List<Integer> orderedMoves(State s, int first) {
+        List<Integer> moves = new ArrayList<>();
+        if (BuildModel.canAffordCity(s)) {
+            for (long m = s.settlements; m != 0; m &= m - 1) moves.add(CITY | Long.numberOfTrailingZeros(m));
+        }
+        if (BuildModel.canAffordSettlement(s)) {
+            for (long m = model.settlementSpots(s); m != 0; m &= m - 1) moves.add(SETTLEMENT | Long.numberOfTrailingZeros(m));
+        }
+        if (BuildModel.canAffordRoad(s)) {
+            moves.addAll(bestRoads(s));
+        }
+        moves.add(END);
+        if (first != END && moves.remove(Integer.valueOf(first))) {
+            moves.add(0, first);
+        }
+        return moves;
+    }
+
+    /** Legal roads, those opening a settlement spot first, capped at ROAD_BRANCH. */
+    private List<Integer> bestRoads(State s) {
+        List<Integer> opening = new ArrayList<>();
+        List<Integer> other = new ArrayList<>();
+        long open = model.openVertices(s);
+        for (int e : model.legalRoads(s)) {
+            (model.opensSpot(s, open, e) ? opening : other).add(ROAD | e);
+        }
+        opening.addAll(other);
+        return opening.size() > ROAD_BRANCH ? opening.subList(0, ROAD_BRANCH) : opening;
+    }
+
+    // ------------------------------------------------------------------------------
+    // Transposition table
+    // ------------------------------------------------------------------------------
+
+    private static final class Entry {
+        static final int EXACT = 0;
+        static final int LOWER = 1;
+        static final int UPPER = 2;
+
+        final int depth;
+        final double value;
+        final int flag;
+        final int move;
+
+        Entry(int depth, double value, int flag, int move) {
+            this.depth = depth;
+            this.value = value;
+            this.flag = flag;
+            this.move = move;
+        }
+    }
+
+    /** Thrown to unwind an iteration that ran past the deadline or the node budget. */
+    private static final class OutOfTime extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        static final OutOfTime INSTANCE = new OutOfTime();
+
+        private OutOfTime() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -17,6 +17,8 @@ public class HumanPlayer extends Player {
     private static final Logger LOGGER = Logger.getLogger(HumanPlayer.class.getName());
     private final Scanner scanner;
     private boolean hasRolled;
+    /** Set after 'go' while waiting for the player to confirm or take back the pass. */
+    private boolean confirmingPass;
 
     public HumanPlayer(int id) {
         super(id);
@@ -25,38 +27,81 @@ public class HumanPlayer extends Player {
 
     @Override
     public void takeTurn(GameMaster game) {
+        beginTurn();
+        do {
+            prompt();
+        } while (!handleInput(game, scanner.nextLine()));
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        hasRolled = false;
+        confirmingPass = false;
+    }
+
+    /**
+     * Starts a turn driven by handleInput() rather than the console.
+     */
+    public void beginTurn() {
         LOGGER.info(() -> String.format("%n--- IT IS YOUR TURN (Player %d) ---", id));
         LOGGER.info("Commands: roll | build settlement <id> | build road <id1>,<id2> | build city <id> | undo | redo | list | go");
-
         this.hasRolled = false;
-        boolean turnActive = true;
-
-        while (turnActive) {
-            PlayerAction action = decideMove(game, false);
-            if (action instanceof PassAction) {
-                game.executeAction(action);
-                // After logging the pass, ask for confirmation
-                LOGGER.info("Turn ended. Type 'undo' to take it back, or press Enter to confirm:");
-                String confirm = scanner.nextLine().trim();
-                if (confirm.equalsIgnoreCase("undo")) {
-                    game.undoLastAction();
-                    hasRolled = true; // roll is still on the stack
-                } else {
-                    turnActive = false;
-                }
-            } else if (action != null) {
-                game.executeAction(action);
-                if (action instanceof RollAction) {
-                    hasRolled = true;
-                }
+        this.confirmingPass = false;
+    }
+
+    /** Prints the prompt for the next line of handleInput(). */
+    public void prompt() {
+        if (!confirmingPass) {
+            LOGGER.info("> ");
+        }
+    }
+
+    /**
+     * Handles one line of input during this player's turn.
+     *
+     * @param game  The game
+     * @param input One command line
+     * @return true once the turn has ended (a pass that was not taken back)
+     */
+    public boolean handleInput(GameMaster game, String input) {
+        if (confirmingPass) {
+            confirmingPass = false;
+            if (input.trim().equalsIgnoreCase("undo")) {
+                game.undoLastAction();
+                hasRolled = true; // roll is still on the stack
+                return false;
             }
+            return true;
         }
+
+        PlayerAction action = parseCommand(game, input);
+        if (action instanceof PassAction) {
+            game.executeAction(action);
+            // After logging the pass, ask for confirmation
+            LOGGER.info("Turn ended. Type 'undo' to take it back, or press Enter to confirm:");
+            confirmingPass = true;
+        } else if (action != null) {
+            game.executeAction(action);
+            if (action instanceof RollAction) {
+                hasRolled = true;
+            }
+        }
+        return false;
+    }
+
+    /** @return true if the dice have been rolled (and not undone) this turn */
+    public boolean hasRolled() {
+        return hasRolled;
     }
 
     @Override
     protected PlayerAction decideMove(GameMaster game, boolean mustBuild) {
         LOGGER.info("> ");
-        String input = scanner.nextLine();
+        return parseCommand(game, scanner.nextLine());
+    }
+
+    private PlayerAction parseCommand(GameMaster game, String input) {
         String[] cmd = classes.util.CommandParser.parse(input);
 
         if (cmd == null || cmd.length == 0) {
@@ -173,26 +218,43 @@ public class HumanPlayer extends Player {
 
     public void discardHalf() {
         int toDiscard = getHand().totalCards() / 2;
-        LOGGER.info(() -> "ROBBER ALERT! You must discard " + toDiscard + " cards.");
-        LOGGER.info(() -> "Your current hand: " + getHand().toString());
+        promptDiscard(toDiscard);
 
         int discarded = 0;
         while (discarded < toDiscard) {
             final int step = discarded + 1;
             LOGGER.info(() -> String.format("Enter resource type to discard (%d/%d): ", step, toDiscard));
-            String resStr = scanner.nextLine().toUpperCase().trim();
-            try {
-                ResourceType res = ResourceType.valueOf(resStr);
-                if (getHand().getCount(res) > 0) {
-                    getHand().remove(res, 1);
-                    LOGGER.info(() -> "Discarded 1 " + res + ". Hand: " + getHand().toString());
-                    discarded++;
-                } else {
-                    LOGGER.warning(() -> "Error: You don't have any " + res + ". Try again.");
-                }
-            } catch (IllegalArgumentException e) {
-                LOGGER.warning("Error: Invalid resource name. Enter WOOD, BRICK, SHEEP, WHEAT, or ORE.");
+            if (discardOne(scanner.nextLine())) {
+                discarded++;
             }
         }
     }
-}
\ No newline at end of file
+
+    /** Announces a robber discard of the given number of cards. */
+    public void promptDiscard(int toDiscard) {
+        LOGGER.info(() -> "ROBBER ALERT! Player " + id + " must discard " + toDiscard + " cards.");
+        LOGGER.info(() -> "Your current hand: " + getHand().toString());
+    }
+
+    /**
+     * Discards one card named by the input.
+     *
+     * @param input A resource name
+     * @return true if a card was discarded
+     */
+    public boolean discardOne(String input) {
+        String resStr = input.toUpperCase().trim();
+        try {
+            ResourceType res = ResourceType.valueOf(resStr);
+            if (getHand().getCount(res) > 0) {
+                getHand().remove(res, 1);
+                LOGGER.info(() -> "Discarded 1 " + res + ". Hand: " + getHand().toString());
+                return true;
+            }
+            LOGGER.warning(() -> "Error: You don't have any " + res + ". Try again.");
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Error: Invalid resource name. Enter WOOD, BRICK, SHEEP, WHEAT, or ORE.");
+        }
+        return false;
+    }
+}
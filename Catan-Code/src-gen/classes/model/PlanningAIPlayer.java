@@ -0,0 +1,32 @@
+package classes.model;
+
+import classes.controller.GameMaster;
+import classes.moves.PlayerAction;
+import classes.moves.ValueWeights;
+import java.util.List;
+
+/**
+ * AI player that plans each turn's builds in one call (see TurnPlanner) instead of
+ * choosing and re-enumerating one action at a time.
+ */
+public class PlanningAIPlayer extends AIPlayer {
+    private final TurnPlanner planner;
+
+    public PlanningAIPlayer(int id) {
+        this(id, ValueWeights.defaults());
+    }
+
+    /**
+     * @param id      The player ID
+     * @param weights The R3.2 value scores (kept for the inherited hooks)
+     */
+    public PlanningAIPlayer(int id, ValueWeights weights) {
+        super(id, weights);
+        this.planner = new TurnPlanner();
+    }
+
+    @Override
+    protected List<PlayerAction> planTurn(GameMaster game) {
+        return planner.plan(game, this);
+    }
+}
@@ -34,9 +34,23 @@ public abstract class Player {
     protected abstract PlayerAction decideMove(GameMaster game, boolean mustBuild);
 
     protected List<PlayerAction> getCandidateCities(GameMaster game) {
+        return getCandidateCities(game, Cost.affordableMask(hand));
+    }
+
+    /**
+     * Lists legal city upgrades. Affordability is decided once by the caller
+     * (see Cost.affordableMask), so candidates only go through the placement rules.
+     *
+     * @param game       The game
+     * @param affordable Bit mask of affordable builds for this decision
+     */
+    protected List<PlayerAction> getCandidateCities(GameMaster game, int affordable) {
         List<PlayerAction> moves = new ArrayList<>();
+        if ((affordable & Cost.CITY_BIT) == 0) {
+            return moves;
+        }
         for (Buildings b : buildingsBuilt) {
-            if (b instanceof Settlement && game.getRuleValidator().canBuildCity(this, b.getLocation())) {
+            if (b instanceof Settlement && game.getRuleValidator().canPlaceCity(this, b.getLocation())) {
                 moves.add(new BuildCityAction(this, b.getLocation()));
             }
         }
@@ -44,9 +58,16 @@ public abstract class Player {
     }
 
     protected List<PlayerAction> getCandidateSettlements(GameMaster game) {
+        return getCandidateSettlements(game, Cost.affordableMask(hand));
+    }
+
+    protected List<PlayerAction> getCandidateSettlements(GameMaster game, int affordable) {
         List<PlayerAction> moves = new ArrayList<>();
+        if ((affordable & Cost.SETTLEMENT_BIT) == 0) {
+            return moves;
+        }
         for (Vertex v : game.getBoard().getVertices()) {
-            if (game.getRuleValidator().canBuildSettlement(this, v)) {
+            if (game.getRuleValidator().canPlaceSettlement(this, v)) {
                 moves.add(new BuildSettlementAction(this, v));
             }
         }
@@ -54,10 +75,17 @@ public abstract class Player {
     }
 
     protected List<PlayerAction> getCandidateRoads(GameMaster game) {
+        return getCandidateRoads(game, Cost.affordableMask(hand));
+    }
+
+    protected List<PlayerAction> getCandidateRoads(GameMaster game, int affordable) {
         List<PlayerAction> moves = new ArrayList<>();
+        if ((affordable & Cost.ROAD_BIT) == 0) {
+            return moves;
+        }
         for (Vertex v1 : game.getBoard().getVertices()) {
             for (Vertex v2 : v1.getAdjacentVertices()) {
-                if (game.getRuleValidator().canBuildRoad(this, v1, v2)) {
+                if (game.getRuleValidator().canPlaceRoad(this, v1, v2)) {
                     moves.add(new BuildRoadAction(this, v1, v2));
                 }
             }
@@ -78,11 +106,16 @@ public abstract class Player {
     }
 
     public void spendResources(Cost cost) {
-        hand.remove(ResourceType.WOOD, cost.getWood());
-        hand.remove(ResourceType.BRICK, cost.getBrick());
-        hand.remove(ResourceType.WHEAT, cost.getWheat());
-        hand.remove(ResourceType.SHEEP, cost.getSheep());
-        hand.remove(ResourceType.ORE, cost.getOre());
+        hand.spend(cost);
+    }
+
+    /**
+     * Gives back the resources of a build that is being undone.
+     *
+     * @param cost The cost originally spent
+     */
+    public void refundResources(Cost cost) {
+        hand.refund(cost);
     }
 
     public void addVictoryPoints(int amount) {
@@ -97,6 +130,31 @@ public abstract class Player {
         buildingsBuilt.add(building);
     }
 
+    /**
+     * Clears the hand, victory points and pieces so the player can sit in a new game
+     * (see GameMaster.reset). The random generator is left to GameMaster to reseed.
+     */
+    public void reset() {
+        hand.clear();
+        victoryPoints = 0;
+        roadsBuilt.clear();
+        buildingsBuilt.clear();
+    }
+
+    /**
+     * Replaces the player's random generator, e.g. with a seeded one for reproducible games.
+     *
+     * @param random The generator used for this player's random choices
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    /** @return the generator used for this player's random choices */
+    public Random getRandom() {
+        return random;
+    }
+
     public int getId() { return id; }
     public ResourceHand getHand() { return hand; }
     public int getVictoryPoints() { return victoryPoints; }
@@ -0,0 +1,34 @@
+package classes.model;
+
+import classes.controller.GameMaster;
+import classes.moves.ActionVisitor;
+import classes.moves.ProductionValueEvaluator;
+import classes.moves.ValueWeights;
+
+/**
+ * AI player that follows the same R3.3 constraints and R3.2 value tiers as AIPlayer,
+ * but ranks settlements and cities within a tier by the expected production of
+ * their vertex (see ProductionValueEvaluator). Whether a build drains the hand is
+ * judged by the expected rolls until the next settlement or city is affordable
+ * (ProductionModel), not by the number of cards left.
+ */
+public class ProductionAIPlayer extends AIPlayer {
+
+    public ProductionAIPlayer(int id) {
+        super(id);
+    }
+
+    /**
+     * @param id      The player ID
+     * @param weights The R3.2 value scores this player uses
+     */
+    public ProductionAIPlayer(int id, ValueWeights weights) {
+        super(id, weights);
+    }
+
+    @Override
+    protected ActionVisitor createEvaluator(GameMaster game) {
+        return new ProductionValueEvaluator(this, getWeights(), game.getBoard().getProductionIndex(),
+                game.getBoard().getProductionModel());
+    }
+}
@@ -0,0 +1,151 @@
+package classes.model;
+
+import classes.enums.ResourceType;
+import java.util.List;
+
+/**
+ * Precomputed production tables for every vertex of a board.
+ *
+ * For each vertex and resource the index stores the pips (number of the 36 dice
+ * outcomes that produce it) of the adjacent tiles, plus the vertex total and the
+ * number of distinct resources. Lookups are plain array reads, so evaluators never
+ * scan tiles.
+ *
+ * The tables exclude the tile under the robber. Board.getProductionIndex() calls
+ * sync() before handing the index out; when the robber has moved only the six
+ * vertices of the old and new tiles are updated.
+ */
+public class ProductionIndex {
+    /** Outcomes of two dice, used to turn pips into expected cards per roll. */
+    public static final int DICE_OUTCOMES = 36;
+
+    private static final int R = ResourceHand.RESOURCE_COUNT;
+
+    private final int vertexCount;
+    /** Per-tile resource ordinal (-1 for desert), pips and vertex ids. */
+    private final int[] tileResource;
+    private final int[] tilePips;
+    private final int[][] tileVertices;
+
+    /** vertexPips[v * R + r]: pips of resource r at vertex v, robber excluded. */
+    private final int[] vertexPips;
+    private final int[] vertexTotal;
+    private final int[] vertexDiversity;
+
+    private int blockedTile = -1;
+
+    /**
+     * Builds the tables for a board with no tile blocked.
+     *
+     * @param tiles       The board's tiles (ids index the tile tables)
+     * @param vertexCount Number of vertices on the board
+     */
+    public ProductionIndex(List<Tile> tiles, int vertexCount) {
+        this.vertexCount = vertexCount;
+        int tileCount = 0;
+        for (Tile t : tiles) {
+            tileCount = Math.max(tileCount, t.getId() + 1);
+        }
+        this.tileResource = new int[tileCount];
+        this.tilePips = new int[tileCount];
+        this.tileVertices = new int[tileCount][];
+        this.vertexPips = new int[vertexCount * R];
+        this.vertexTotal = new int[vertexCount];
+        this.vertexDiversity = new int[vertexCount];
+
+        for (Tile t : tiles) {
+            int id = t.getId();
+            ResourceType type = t.getResourceType();
+            tileResource[id] = type == ResourceType.DESERT ? -1 : type.ordinal();
+            tilePips[id] = pips(t.getNumberToken());
+            List<Vertex> adjacent = t.getAdjacentVertices();
+            tileVertices[id] = new int[adjacent.size()];
+            for (int i = 0; i < adjacent.size(); i++) {
+                tileVertices[id][i] = adjacent.get(i).getId();
+            }
+            apply(id, 1);
+        }
+    }
+
+    /**
+     * @param token A number token (2-12, 0 for none)
+     * @return how many of the 36 rolls of two dice produce it (0 for 7 or no token)
+     */
+    public static int pips(int token) {
+        if (token < 2 || token > 12 || token == 7) {
+            return 0;
+        }
+        return 6 - Math.abs(7 - token);
+    }
+
+    /**
+     * Brings the tables in line with the robber's position.
+     *
+     * @param robberTile The tile currently blocked, or null
+     */
+    public void sync(Tile robberTile) {
+        int tile = robberTile == null ? -1 : robberTile.getId();
+        if (tile == blockedTile) {
+            return;
+        }
+        if (blockedTile >= 0) {
+            apply(blockedTile, 1);
+        }
+        if (tile >= 0) {
+            apply(tile, -1);
+        }
+        blockedTile = tile;
+    }
+
+    /**
+     * Adds (sign 1) or removes (sign -1) one tile's production at its vertices.
+     */
+    private void apply(int tile, int sign) {
+        int r = tileResource[tile];
+        int p = tilePips[tile];
+        if (r < 0 || p == 0) {
+            return;
+        }
+        for (int v : tileVertices[tile]) {
+            int slot = v * R + r;
+            int before = vertexPips[slot];
+            vertexPips[slot] = before + sign * p;
+            vertexTotal[v] += sign * p;
+            if (before == 0) {
+                vertexDiversity[v]++;
+            } else if (vertexPips[slot] == 0) {
+                vertexDiversity[v]--;
+            }
+        }
+    }
+
+    /** @return pips of one resource at a vertex */
+    public int getPips(int vertexId, ResourceType type) {
+        int r = type.ordinal();
+        return r < R ? vertexPips[vertexId * R + r] : 0;
+    }
+
+    /** @return total pips of all resources at a vertex */
+    public int getTotalPips(int vertexId) {
+        return vertexTotal[vertexId];
+    }
+
+    /** @return expected cards per roll for one building at a vertex */
+    public double getExpectedYield(int vertexId) {
+        return (double) vertexTotal[vertexId] / DICE_OUTCOMES;
+    }
+
+    /** @return number of distinct resources a vertex currently produces */
+    public int getDiversity(int vertexId) {
+        return vertexDiversity[vertexId];
+    }
+
+    /** @return the id of the tile excluded from the tables, or -1 */
+    public int getBlockedTile() {
+        return blockedTile;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+}
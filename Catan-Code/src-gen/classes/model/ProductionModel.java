@@ -0,0 +1,300 @@
+package classes.model;
+
+import classes.enums.ResourceType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-player income by dice roll, and how long each player needs to afford a Cost.
+ *
+ * Every player collects on every roll, so the model works in rolls: a player's income
+ * is, for each of 2-12, the cards their settlements (1) and cities (2) collect from
+ * adjacent tiles with that token, the robber's tile excluded. The income tables are
+ * built once from the board and then updated from BoardChange records (a building
+ * placed, upgraded or removed, or the robber moved), touching only the owners of the
+ * vertices involved. A board reset rebuilds them.
+ *
+ * Time to afford is a Markov chain over the missing cards (the cost minus the hand,
+ * floored at 0): each roll subtracts that roll's income, and a cost is affordable once
+ * nothing is missing. Trades, development cards and the 7's discard are not modelled.
+ * A city has at most 12 deficit states and a settlement 16, so a whole distribution
+ * over MAX_ROLLS rolls costs a few tens of thousands of operations; distributions are
+ * cached per player and deficit until that player's income changes.
+ */
+public class ProductionModel implements BoardListener {
+    /** Horizon of the time-to-afford distributions. */
+    public static final int MAX_ROLLS = 256;
+
+    private static final int R = ResourceHand.RESOURCE_COUNT;
+    private static final int LANE_BITS = 5;
+    private static final int MAX_DEFICIT = (1 << LANE_BITS) - 1;
+    private static final int[] ROLL_WAYS = new int[13];
+
+    static {
+        for (int roll = 2; roll <= 12; roll++) {
+            ROLL_WAYS[roll] = 6 - Math.abs(7 - roll);
+        }
+    }
+
+    /** Per tile id: resource ordinal (-1 for none), token and corner vertex ids. */
+    private final int[] tileResource;
+    private final int[] tileToken;
+    private final int[][] tileVertices;
+    /** Per vertex: ids of the producing tiles around it. */
+    private final int[][] vertexTiles;
+    private final Board board;
+    private int robberTile = -1;
+
+    /** [roll * R + resource]: cards a player collects on each roll. */
+    private final Map<Player, int[]> income = new HashMap<>();
+    /** Per player: deficit key to P(affordable within k rolls), k = 0..MAX_ROLLS. */
+    private final Map<Player, Map<Integer, double[]>> cache = new HashMap<>();
+
+    /**
+     * Builds the income tables from the board's current buildings and robber and
+     * subscribes to its changes.
+     *
+     * @param board The board to model
+     */
+    public ProductionModel(Board board) {
+        this.board = board;
+        int tileCount = 0;
+        for (Tile t : board.getTiles()) tileCount = Math.max(tileCount, t.getId() + 1);
+        tileResource = new int[tileCount];
+        tileToken = new int[tileCount];
+        tileVertices = new int[tileCount][];
+        vertexTiles = new int[board.getVertices().size()][];
+        rebuild();
+        board.addListener(this);
+    }
+
+    /** Reads the tiles, robber and buildings of the board from scratch. */
+    private void rebuild() {
+        income.clear();
+        cache.clear();
+        int vertexCount = vertexTiles.length;
+        int[] tilesAt = new int[vertexCount];
+        for (Tile t : board.getTiles()) {
+            int id = t.getId();
+            boolean producing = t.getResourceType() != ResourceType.DESERT && ProductionIndex.pips(t.getNumberToken()) > 0;
+            tileResource[id] = producing ? t.getResourceType().ordinal() : -1;
+            tileToken[id] = t.getNumberToken();
+            tileVertices[id] = t.getAdjacentVertices().stream().mapToInt(Vertex::getId).toArray();
+            if (producing) for (int v : tileVertices[id]) tilesAt[v]++;
+        }
+        for (int v = 0; v < vertexCount; v++) vertexTiles[v] = new int[tilesAt[v]];
+        int[] fill = new int[vertexCount];
+        for (int id = 0; id < tileResource.length; id++) {
+            if (tileResource[id] < 0 || tileVertices[id] == null) continue;
+            for (int v : tileVertices[id]) vertexTiles[v][fill[v]++] = id;
+        }
+
+        robberTile = -1;
+        if (board.getRobber() != null && board.getRobber().getCurrentTile() != null) {
+            robberTile = board.getRobber().getCurrentTile().getId();
+        }
+        for (Vertex v : board.getVertices()) {
+            if (v.getBuilding() != null) addBuilding(v.getId(), v.getBuilding(), 1);
+        }
+    }
+
+    // ------------------------------------------------------------------------------
+    // Incremental updates
+    // ------------------------------------------------------------------------------
+
+    @Override
+    public void boardChanged(BoardChange change) {
+        switch (change.getKind()) {
+            case BUILDING_PLACED:
+            case BUILDING_REPLACED:
+            case BUILDING_REMOVED:
+                int v = change.getVertex().getId();
+                if (change.getBefore() != null) addBuilding(v, change.getBefore(), -1);
+                if (change.getAfter() != null) addBuilding(v, change.getAfter(), 1);
+                break;
+            case ROBBER_MOVED:
+                if (robberTile >= 0) addTile(robberTile, 1);
+                robberTile = change.getToTile() == null ? -1 : change.getToTile().getId();
+                if (robberTile >= 0) addTile(robberTile, -1);
+                break;
+            case BOARD_RESET:
+                rebuild();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /** Adds (sign 1) or removes (sign -1) one building's share of every producing tile it touches. */
+    private void addBuilding(int v, Buildings building, int sign) {
+        int[] inc = incomeOf(building.getOwner());
+        int cards = sign * multiplier(building);
+        for (int t : vertexTiles[v]) {
+            if (t != robberTile) inc[tileToken[t] * R + tileResource[t]] += cards;
+        }
+        cache.remove(building.getOwner());
+    }
+
+    /** Adds (sign 1) or removes (sign -1) one tile's production for every building on it. */
+    private void addTile(int t, int sign) {
+        if (tileResource[t] < 0) return;
+        for (int v : tileVertices[t]) {
+            Buildings b = board.getVertex(v).getBuilding();
+            if (b == null) continue;
+            incomeOf(b.getOwner())[tileToken[t] * R + tileResource[t]] += sign * multiplier(b);
+            cache.remove(b.getOwner());
+        }
+    }
+
+    private static int multiplier(Buildings b) {
+        return b instanceof City ? 2 : 1;
+    }
+
+    private int[] incomeOf(Player p) {
+        return income.computeIfAbsent(p, k -> new int[13 * R]);
+    }
+
+    // ------------------------------------------------------------------------------
+    // Queries
+    // ------------------------------------------------------------------------------
+
+    /**
+     * @return cards of the resource the player collects when the dice show roll
+     */
+    public int getIncome(Player p, int roll, ResourceType type) {
+        int[] inc = income.get(p);
+        return inc == null || type.ordinal() >= R ? 0 : inc[roll * R + type.ordinal()];
+    }
+
+    /** @return expected cards of the resource the player collects per roll */
+    public double getExpectedIncome(Player p, ResourceType type) {
+        double e = 0;
+        for (int roll = 2; roll <= 12; roll++) e += ROLL_WAYS[roll] * getIncome(p, roll, type);
+        return e / ProductionIndex.DICE_OUTCOMES;
+    }
+
+    /**
+     * @param p    The player
+     * @param hand The player's cards (ResourceHand order)
+     * @param cost What the player wants to buy
+     * @return the distribution of rolls until the hand covers the cost
+     */
+    public Affordability timeToAfford(Player p, int[] hand, Cost cost) {
+        int[] need = {cost.getWood(), cost.getBrick(), cost.getWheat(), cost.getSheep(), cost.getOre()};
+        int key = 0;
+        for (int r = R - 1; r >= 0; r--) {
+            int deficit = Math.max(0, need[r] - hand[r]);
+            if (deficit > MAX_DEFICIT) throw new IllegalArgumentException("Cost too far from the hand: " + cost);
+            key = key << LANE_BITS | deficit;
+        }
+        int deficitKey = key;
+        double[] cdf = cache.computeIfAbsent(p, k -> new HashMap<>())
+                .computeIfAbsent(deficitKey, k -> distribution(incomeOf(p), k));
+        return new Affordability(cdf);
+    }
+
+    /** @see #timeToAfford(Player, int[], Cost) */
+    public Affordability timeToAfford(Player p, Cost cost) {
+        return timeToAfford(p, p.getHand().toArray(), cost);
+    }
+
+    /**
+     * P(no card missing after k rolls), k = 0..MAX_ROLLS, by stepping the deficit
+     * distribution (mixed-radix state index) one roll at a time.
+     */
+    private static double[] distribution(int[] inc, int key) {
+        int[] deficit = new int[R];
+        int[] radix = new int[R];
+        int states = 1;
+        for (int r = 0; r < R; r++) {
+            deficit[r] = key >> (r * LANE_BITS) & MAX_DEFICIT;
+            radix[r] = states;
+            states *= deficit[r] + 1;
+        }
+
+        // Where each state goes on each roll
+        int[][] next = new int[13][states];
+        int[] d = new int[R];
+        for (int s = 0; s < states; s++) {
+            for (int r = 0; r < R; r++) d[r] = s / radix[r] % (deficit[r] + 1);
+            for (int roll = 2; roll <= 12; roll++) {
+                int t = 0;
+                for (int r = 0; r < R; r++) t += Math.max(0, d[r] - inc[roll * R + r]) * radix[r];
+                next[roll][s] = t;
+            }
+        }
+
+        double[] cdf = new double[MAX_ROLLS + 1];
+        double[] mass = new double[states];
+        double[] step = new double[states];
+        mass[states - 1] = 1.0;   // everything missing
+        cdf[0] = mass[0];
+        for (int k = 1; k <= MAX_ROLLS; k++) {
+            Arrays.fill(step, 0.0);
+            step[0] = mass[0];
+            for (int s = 1; s < states; s++) {
+                if (mass[s] == 0) continue;
+                double share = mass[s] / ProductionIndex.DICE_OUTCOMES;
+                step[s] += share * ROLL_WAYS[7];
+                for (int roll = 2; roll <= 12; roll++) {
+                    if (roll != 7) step[next[roll][s]] += share * ROLL_WAYS[roll];
+                }
+            }
+            double[] swap = mass;
+            mass = step;
+            step = swap;
+            cdf[k] = mass[0];
+        }
+        return cdf;
+    }
+
+    /**
+     * Distribution of the number of rolls until a cost is affordable.
+     */
+    public static final class Affordability {
+        private final double[] cdf;
+
+        Affordability(double[] cdf) {
+            this.cdf = cdf;
+        }
+
+        /** @return P(affordable within the given number of rolls); 1 if already affordable */
+        public double probabilityWithin(int rolls) {
+            return cdf[Math.max(0, Math.min(rolls, MAX_ROLLS))];
+        }
+
+        /**
+         * @return the expected number of rolls, counting rolls past MAX_ROLLS as MAX_ROLLS
+         *         (infinite if the player can never collect what is missing)
+         */
+        public double expectedRolls() {
+            if (cdf[MAX_ROLLS] == 0) return Double.POSITIVE_INFINITY;
+            double e = 0;
+            for (int k = 0; k < MAX_ROLLS; k++) e += 1 - cdf[k];
+            return e;
+        }
+
+        /**
+         * @param q A probability in (0, 1]
+         * @return the fewest rolls after which the cost is affordable with probability q,
+         *         or Integer.MAX_VALUE if that is beyond MAX_ROLLS
+         */
+        public int percentileRolls(double q) {
+            for (int k = 0; k <= MAX_ROLLS; k++) {
+                if (cdf[k] >= q - 1e-12) return k;
+            }
+            return Integer.MAX_VALUE;
+        }
+
+        /**
+         * @param rollsPerTurn Rolls between two of the player's turns (the player count)
+         * @return expectedRolls() in the player's own turns
+         */
+        public double expectedTurns(int rollsPerTurn) {
+            return expectedRolls() / rollsPerTurn;
+        }
+    }
+}
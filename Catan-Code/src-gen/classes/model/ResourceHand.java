@@ -1,52 +1,45 @@
 package classes.model;
 
 import classes.enums.ResourceType;
-import java.util.List;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
 
 /**
  * Tracks the resources held by a player.
  * * Manages addition, removal, and querying of resource cards.
  * Used by Player class to manage their hand of resources.
+ *
+ * Counts live in an int[5] indexed by ResourceType.ordinal() (DESERT is ignored),
+ * with the total kept alongside so random-card selection never needs a scan to size
+ * the hand and never allocates.
  */
 public class ResourceHand {
-    private int wood;
-    private int brick;
-    private int wheat;
-    private int sheep;
-    private int ore;
+    /** Number of real resource types (every ResourceType except DESERT). */
+    public static final int RESOURCE_COUNT = 5;
+
+    private static final ResourceType[] TYPES = ResourceType.values();
+
+    private final int[] counts;
+    private int total;
 
     public ResourceHand() {
-        this.wood = 0;
-        this.brick = 0;
-        this.wheat = 0;
-        this.sheep = 0;
-        this.ore = 0;
+        this.counts = new int[RESOURCE_COUNT];
+        this.total = 0;
     }
 
     /**
      * Adds a specified method to return the count of a specific resource type.
      */
     public int getCount(ResourceType resource) {
-        return switch (resource) {
-            case WOOD -> wood;
-            case BRICK -> brick;
-            case WHEAT -> wheat;
-            case SHEEP -> sheep;
-            case ORE -> ore;
-            default -> 0;
-        };
+        int i = resource.ordinal();
+        return i < RESOURCE_COUNT ? counts[i] : 0;
     }
 
     public void add(ResourceType resource, int amount) {
-        switch (resource) {
-            case WOOD: wood += amount; break;
-            case BRICK: brick += amount; break;
-            case WHEAT: wheat += amount; break;
-            case SHEEP: sheep += amount; break;
-            case ORE: ore += amount; break;
-            case DESERT: break;
+        int i = resource.ordinal();
+        if (i < RESOURCE_COUNT) {
+            counts[i] += amount;
+            total += amount;
         }
     }
 
@@ -54,69 +47,160 @@ public class ResourceHand {
      * EXISTING METHOD: Note the name is 'remove', not 'removeResource'.
      */
     public void remove(ResourceType resource, int amount) {
-        switch (resource) {
-            case WOOD: wood = Math.max(0, wood - amount); break;
-            case BRICK: brick = Math.max(0, brick - amount); break;
-            case WHEAT: wheat = Math.max(0, wheat - amount); break;
-            case SHEEP: sheep = Math.max(0, sheep - amount); break;
-            case ORE: ore = Math.max(0, ore - amount); break;
-            case DESERT: break;
+        int i = resource.ordinal();
+        if (i < RESOURCE_COUNT) {
+            removeAt(i, amount);
         }
     }
-    
- 
+
     public void set(ResourceType resource, int amount) {
-        switch (resource) {
-            case WOOD:  wood  = amount; break;
-            case BRICK: brick = amount; break;
-            case WHEAT: wheat = amount; break;
-            case SHEEP: sheep = amount; break;
-            case ORE:   ore   = amount; break;
-            case DESERT: break;
+        int i = resource.ordinal();
+        if (i < RESOURCE_COUNT) {
+            total += amount - counts[i];
+            counts[i] = amount;
         }
     }
 
     public int totalCards() {
-        return wood + brick + wheat + sheep + ore;
+        return total;
     }
 
+    /**
+     * Compares the counts directly; packing only pays off when one hand is checked
+     * against several costs (Cost.affordableMask).
+     */
     public boolean hasEnough(Cost cost) {
-        return wood >= cost.getWood() &&
-               brick >= cost.getBrick() &&
-               wheat >= cost.getWheat() &&
-               sheep >= cost.getSheep() &&
-               ore >= cost.getOre();
-    }
-
-    public int getWood() { return wood; }
-    public int getBrick() { return brick; }
-    public int getWheat() { return wheat; }
-    public int getSheep() { return sheep; }
-    public int getOre() { return ore; }
-    
+        return counts[0] >= cost.getWood() && counts[1] >= cost.getBrick() && counts[2] >= cost.getWheat()
+                && counts[3] >= cost.getSheep() && counts[4] >= cost.getOre();
+    }
+
+    /**
+     * Packs the counts into the 12-bit lanes used by Cost for whole-vector comparisons.
+     *
+     * @return The packed hand
+     */
+    public long packed() {
+        return Cost.pack(counts[0], counts[1], counts[2], counts[3], counts[4]);
+    }
+
+    /**
+     * Pays a cost from this hand in one pass. Counts never go below zero.
+     *
+     * @param cost The cost to deduct
+     */
+    public void spend(Cost cost) {
+        removeAt(0, cost.getWood());
+        removeAt(1, cost.getBrick());
+        removeAt(2, cost.getWheat());
+        removeAt(3, cost.getSheep());
+        removeAt(4, cost.getOre());
+    }
+
+    /**
+     * Returns a previously spent cost to this hand (used by undo).
+     *
+     * @param cost The cost to give back
+     */
+    public void refund(Cost cost) {
+        counts[0] += cost.getWood();
+        counts[1] += cost.getBrick();
+        counts[2] += cost.getWheat();
+        counts[3] += cost.getSheep();
+        counts[4] += cost.getOre();
+        total += cost.getWood() + cost.getBrick() + cost.getWheat() + cost.getSheep() + cost.getOre();
+    }
+
+    private void removeAt(int i, int amount) {
+        int removed = Math.min(counts[i], amount);
+        counts[i] -= removed;
+        total -= removed;
+    }
+
+    /**
+     * @return a copy of the counts, indexed by ResourceType.ordinal()
+     */
+    public int[] toArray() {
+        return counts.clone();
+    }
+
+    /**
+     * Replaces every count at once, e.g. to restore a toArray() snapshot.
+     *
+     * @param values Counts indexed by ResourceType.ordinal()
+     */
+    public void setAll(int[] values) {
+        total = 0;
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            counts[i] = values[i];
+            total += values[i];
+        }
+    }
+
+    /** Empties the hand. */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        total = 0;
+    }
+
+    public int getWood() { return counts[0]; }
+    public int getBrick() { return counts[1]; }
+    public int getWheat() { return counts[2]; }
+    public int getSheep() { return counts[3]; }
+    public int getOre() { return counts[4]; }
+
     public ResourceType removeRandomCard() {
-        if (totalCards() == 0) return null;
-        List<ResourceType> available = new ArrayList<>();
-        if (wood > 0) available.add(ResourceType.WOOD);
-        if (brick > 0) available.add(ResourceType.BRICK);
-        if (wheat > 0) available.add(ResourceType.WHEAT);
-        if (sheep > 0) available.add(ResourceType.SHEEP);
-        if (ore > 0) available.add(ResourceType.ORE);
-        
-        ResourceType selected = available.get(new Random().nextInt(available.size()));
-        remove(selected, 1);
-        return selected;
+        return removeRandomCard(new Random());
+    }
+
+    /**
+     * Removes one card chosen uniformly among all cards in the hand, so each resource
+     * is picked with probability proportional to how many of it are held.
+     *
+     * @param random The generator to draw from
+     * @return The removed resource, or null if the hand is empty
+     */
+    public ResourceType removeRandomCard(Random random) {
+        if (total == 0) return null;
+        int i = pickWeighted(random.nextInt(total));
+        counts[i]--;
+        total--;
+        return TYPES[i];
     }
 
     public void discardRandomCards(int count) {
-        for (int i = 0; i < count; i++) {
-            removeRandomCard();
+        discardRandomCards(count, new Random());
+    }
+
+    /**
+     * Discards random cards in a single pass, sampling without replacement:
+     * each draw picks uniformly among the cards still in hand.
+     *
+     * @param count  Number of cards to discard
+     * @param random The generator to draw from
+     */
+    public void discardRandomCards(int count, Random random) {
+        int draws = Math.min(count, total);
+        for (int d = 0; d < draws; d++) {
+            counts[pickWeighted(random.nextInt(total - d))]--;
+        }
+        total -= draws;
+    }
+
+    /**
+     * Maps a card position in [0, cards in hand) to the resource index holding it.
+     */
+    private int pickWeighted(int position) {
+        int i = 0;
+        while (position >= counts[i]) {
+            position -= counts[i];
+            i++;
         }
+        return i;
     }
 
     @Override
     public String toString() {
-        return String.format("Wood:%d Brick:%d Wheat:%d Sheep:%d Ore:%d (Total:%d)", 
-                           wood, brick, wheat, sheep, ore, totalCards());
+        return String.format("Wood:%d Brick:%d Wheat:%d Sheep:%d Ore:%d (Total:%d)",
+                           counts[0], counts[1], counts[2], counts[3], counts[4], total);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+package classes.model;
+
+import classes.moves.BuildRoadAction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the fewest roads that connect a player's network to a target vertex.
+ *
+ * A road may only be extended from a vertex the player can build from (their own
+ * building, or the end of their road with no opponent building on it), so paths never
+ * pass through an opponent's settlement or city, and never reuse an edge that already
+ * has a road.
+ *
+ * The nearest vertex of the network comes from the board's VertexDistances. If the
+ * shortest path from it is clear, that path is the answer and costs its own length to
+ * check; otherwise a breadth-first search from the whole network finds the detour.
+ *
+ * The player's network, the occupied vertices and the edges with roads are read once
+ * and reused until the board's epoch moves on or another player is asked about, so
+ * the queries of one decision share them. Changes must go through the Board.
+ *
+ * Library only for now: the AIPlayer road rules are mirrored move for move by the
+ * lockstep engine, and TurnPlanner plans roads on its own BuildModel state.
+ */
+public class RoadPlanner {
+    /** Returned by roadsTo() when the target cannot be reached. */
+    public static final int UNREACHABLE = VertexDistances.UNREACHABLE;
+
+    private final Board board;
+    private final BoardTopology topology;
+    private final VertexDistances distances;
+
+    // Snapshot of the board for one player, valid while the epoch is unchanged
+    private Player snapshotPlayer;
+    private long snapshotEpoch = -1;
+    /** Bit v: the player can build a road from vertex v. */
+    private long sources;
+    /** Bit v: vertex v has a building. */
+    private long occupied;
+    /** Bit e (word e / 64): edge e has a road. */
+    private final long[] roadOnEdge;
+
+    public RoadPlanner(Board board) {
+        this.board = board;
+        this.topology = board.getTopology();
+        this.distances = topology.getDistances();
+        this.roadOnEdge = new long[(topology.getEdgeCount() + 63) >>> 6];
+    }
+
+    /**
+     * @return the number of roads the player needs to reach the target (0 if the network
+     *         already touches it), or UNREACHABLE
+     */
+    public int roadsTo(Player player, Vertex target) {
+        List<Integer> path = route(player, target.getId());
+        return path == null ? UNREACHABLE : path.size() - 1;
+    }
+
+    /**
+     * @return the roads to build, in order, to reach the target (empty if the network
+     *         already touches it), or null if it cannot be reached
+     */
+    public List<BuildRoadAction> pathTo(Player player, Vertex target) {
+        List<Integer> path = route(player, target.getId());
+        if (path == null) return null;
+        List<BuildRoadAction> roads = new ArrayList<>();
+        for (int i = 1; i < path.size(); i++) {
+            roads.add(new BuildRoadAction(player, board.getVertex(path.get(i - 1)), board.getVertex(path.get(i))));
+        }
+        return roads;
+    }
+
+    /**
+     * @return vertex ids from a network vertex to the target, or null if unreachable
+     */
+    private List<Integer> route(Player player, int target) {
+        snapshot(player);
+        if (sources == 0) return null;
+        if ((sources & (1L << target)) != 0) return List.of(target);
+
+        int nearest = -1;
+        for (long rest = sources; rest != 0; rest &= rest - 1) {
+            int v = Long.numberOfTrailingZeros(rest);
+            if (nearest < 0 || distances.distance(v, target) < distances.distance(nearest, target)) {
+                nearest = v;
+            }
+        }
+        List<Integer> direct = distances.path(nearest, target);
+        if (isClear(direct)) return direct;
+        return search(target);
+    }
+
+    /** Reads the player's network and the board's occupancy, unless they are still current. */
+    private void snapshot(Player player) {
+        if (player == snapshotPlayer && board.getEpoch() == snapshotEpoch) return;
+        snapshotPlayer = player;
+        snapshotEpoch = board.getEpoch();
+
+        occupied = 0;
+        long own = 0;
+        for (Vertex v : board.getVertices()) {
+            if (!v.isOccupied()) continue;
+            occupied |= 1L << v.getId();
+            if (v.getOwner() == player) own |= 1L << v.getId();
+        }
+        // Mirrors RuleValidator: own building, or own road end without an opponent building
+        long roadEnds = 0;
+        for (Road road : player.getRoadsBuilt()) {
+            roadEnds |= (1L << road.getStart().getId()) | (1L << road.getEnd().getId());
+        }
+        sources = own | (roadEnds & ~occupied);
+
+        Arrays.fill(roadOnEdge, 0L);
+        for (Road road : board.getRoads()) {
+            int e = topology.edgeId(road.getStart().getId(), road.getEnd().getId());
+            if (e >= 0) roadOnEdge[e >>> 6] |= 1L << e;
+        }
+    }
+
+    private boolean hasRoad(int a, int b) {
+        int e = topology.edgeId(a, b);
+        return e >= 0 && (roadOnEdge[e >>> 6] & (1L << e)) != 0;
+    }
+
+    /** @return true if every edge of the path is free and no inner vertex has a building */
+    private boolean isClear(List<Integer> path) {
+        if (path.isEmpty()) return false;
+        for (int i = 1; i < path.size(); i++) {
+            if (hasRoad(path.get(i - 1), path.get(i))) return false;
+            if (i < path.size() - 1 && (occupied & (1L << path.get(i))) != 0) return false;
+        }
+        return true;
+    }
+
+    /** Breadth-first search from every network vertex at once. */
+    private List<Integer> search(int target) {
+        int[] parent = new int[topology.getVertexCount()];
+        Arrays.fill(parent, -2);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (long rest = sources; rest != 0; rest &= rest - 1) {
+            int v = Long.numberOfTrailingZeros(rest);
+            parent[v] = -1;
+            queue.add(v);
+        }
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            if (u == target) break;
+            if ((sources & (1L << u)) == 0 && (occupied & (1L << u)) != 0) continue; // cannot build past it
+            for (Vertex next : board.getVertex(u).getAdjacentVertices()) {
+                int w = next.getId();
+                if (parent[w] != -2 || hasRoad(u, w)) continue;
+                parent[w] = u;
+                queue.add(w);
+            }
+        }
+        if (parent[target] == -2) return null;
+
+        List<Integer> path = new ArrayList<>();
+        for (int v = target; v != -1; v = parent[v]) path.add(0, v);
+        return path;
+    }
+}
@@ -17,9 +17,10 @@ public class Robber {
 
     /**
      * Moves the Robber to a new tile.
+     * Only the Board calls this; use Board.moveRobber so that the change is published.
      * @param newTile The destination tile.
      */
-    public void moveTo(Tile newTile) {
+    void moveTo(Tile newTile) {
         this.currentTile = newTile;
     }
 
@@ -15,6 +15,10 @@ import java.util.List;
  *
  * Subclasses override the hook methods to provide specific constraint
  * checks and move evaluation logic without changing the skeleton.
+ *
+ * A subclass may instead plan the whole turn after the roll (planTurn); the
+ * planned builds are executed in order, each re-checked first, and steps 2-4
+ * are skipped.
  */
 public abstract class RuleBasedAIPlayer extends Player {
 
@@ -22,6 +26,9 @@ public abstract class RuleBasedAIPlayer extends Player {
         super(id);
     }
 
+    /** Build steps per turn before the player is made to pass. */
+    public static final int MAX_BUILD_STEPS = 10;
+
     /**
      * THE TEMPLATE METHOD — final so subclasses cannot change the skeleton.
      * Defines the invariant turn structure for all rule-based AI players.
@@ -29,25 +36,51 @@ public abstract class RuleBasedAIPlayer extends Player {
     @Override
     public final void takeTurn(GameMaster game) {
         game.rollAndDistribute(this);
+        for (int step = 0; buildStep(game, step); step++) {
+            // one action per step
+        }
+    }
 
-        int safety = 0;
-        while (safety++ < 10) {
-            // R3.3: constraints come first
-            PlayerAction constraint = resolveConstraint(game);
-            if (constraint != null) {
-                constraint.execute(game);
-                continue;
-            }
-
-            // R3.2: pick highest-value move
-            PlayerAction best = pickBestValueMove(game);
-            if (best == null || best instanceof PassAction) {
+    /**
+     * Steps 2-4 of the skeleton, one action at a time, so a caller can stop
+     * between actions (TurnStateMachine does).
+     *
+     * @param game The game, after this player's roll
+     * @param step How many build steps this turn has already taken
+     * @return true if the turn continues, false once the player has passed
+     */
+    public final boolean buildStep(GameMaster game, int step) {
+        if (step == 0) {
+            List<PlayerAction> plan = planTurn(game);
+            if (plan != null) {
+                for (PlayerAction action : plan) {
+                    // An earlier build of the plan may have spent the resources or taken the spot
+                    if (action.isLegal(game)) action.execute(game);
+                }
                 new PassAction(this).execute(game);
-                return;
+                return false;
             }
-            best.execute(game);
         }
-        new PassAction(this).execute(game);
+        if (step >= MAX_BUILD_STEPS) {
+            new PassAction(this).execute(game);
+            return false;
+        }
+
+        // R3.3: constraints come first
+        PlayerAction constraint = resolveConstraint(game);
+        if (constraint != null) {
+            constraint.execute(game);
+            return true;
+        }
+
+        // R3.2: pick highest-value move
+        PlayerAction best = pickBestValueMove(game);
+        if (best == null || best instanceof PassAction) {
+            new PassAction(this).execute(game);
+            return false;
+        }
+        best.execute(game);
+        return true;
     }
 
     /**
@@ -64,6 +97,14 @@ public abstract class RuleBasedAIPlayer extends Player {
      */
     protected abstract PlayerAction pickBestValueMove(GameMaster game);
 
+    /**
+     * Optional hook — plan every build of the turn at once, after the roll.
+     * Return null (the default) to use the constraint/value loop instead.
+     */
+    protected List<PlayerAction> planTurn(GameMaster game) {
+        return null;
+    }
+
     /**
      * Delegates to pickBestValueMove for compatibility with Player abstract method.
      */
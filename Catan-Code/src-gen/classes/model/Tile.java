@@ -16,7 +16,7 @@ public class Tile {
     private int id;
     private ResourceType resourceType;
     private int numberToken;
-    private List<Vertex> adjacentVertices;
+    private final List<Vertex> adjacentVertices;
 
     /**
      * Constructs a Tile with specified properties.
@@ -32,6 +32,16 @@ public class Tile {
         this.adjacentVertices = new ArrayList<>();
     }
 
+    /**
+     * Constructs a board tile whose corners are fixed by the board's topology.
+     */
+    Tile(int id, ResourceType resourceType, int numberToken, VertexView corners) {
+        this.id = id;
+        this.resourceType = resourceType;
+        this.numberToken = numberToken;
+        this.adjacentVertices = corners;
+    }
+
     /**
      * Checks if this tile produces resources on the given roll.
      * DESERT tiles never produce resources.
@@ -45,7 +55,7 @@ public class Tile {
 
     /**
      * Adds an adjacent vertex to this tile.
-     * Used during board initialization.
+     * Only for stand-alone tiles: a board tile's corners come from its BoardTopology.
      * 
      * @param vertex The vertex adjacent to this tile
      */
@@ -55,6 +65,14 @@ public class Tile {
         }
     }
 
+    /**
+     * Gives a board tile new contents when its board is reset for another game.
+     */
+    void reset(ResourceType resourceType, int numberToken) {
+        this.resourceType = resourceType;
+        this.numberToken = numberToken;
+    }
+
     // Getters
     public int getId() { return id; }
     public ResourceType getResourceType() { return resourceType; }
@@ -0,0 +1,187 @@
+package classes.model;
+
+import classes.controller.GameMaster;
+import classes.model.BuildModel.Key;
+import classes.model.BuildModel.State;
+import classes.moves.BuildCityAction;
+import classes.moves.BuildRoadAction;
+import classes.moves.BuildSettlementAction;
+import classes.moves.PlayerAction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plans all of a turn's builds in one call.
+ *
+ * Given the hand after the roll, the planner finds the ordered set of builds with the
+ * highest total value that the hand can pay for: cities, settlements, and the roads
+ * that lead to new settlement spots. It is a DP over BuildModel states memoised on the
+ * hand and the player's pieces, so the same set of builds reached in a different
+ * order is only scored once.
+ *
+ * Values:
+ *   - settlement or city: victoryPointValue + yieldWeight * expected cards per roll
+ *   - what is left at the end: spotValue per open settlement spot (up to two), minus
+ *     discardPenalty per card that a 7 would take from the hand
+ *
+ * Roads have no value of their own; they are only worth building for the spots they
+ * open or the cards they keep out of a discard.
+ */
+public class TurnPlanner {
+    public static final double DEFAULT_VICTORY_POINT_VALUE = 1.0;
+    public static final double DEFAULT_YIELD_WEIGHT = 0.5;
+    public static final double DEFAULT_SPOT_VALUE = 0.3;
+    public static final double DEFAULT_DISCARD_PENALTY = 0.05;
+    private static final int DISCARD_LIMIT = 7;
+    private static final int MAX_SPOTS_VALUED = 2;
+
+    private final double victoryPointValue;
+    private final double yieldWeight;
+    private final double spotValue;
+    private final double discardPenalty;
+
+    private BuildModel model;
+    private Map<Key, Step> memo;
+
+    public TurnPlanner() {
+        this(DEFAULT_VICTORY_POINT_VALUE, DEFAULT_YIELD_WEIGHT, DEFAULT_SPOT_VALUE, DEFAULT_DISCARD_PENALTY);
+    }
+
+    /**
+     * @param victoryPointValue Value of a settlement or city
+     * @param yieldWeight       Value per expected card per roll a building adds
+     * @param spotValue         Value of each open settlement spot left at the end (up to two)
+     * @param discardPenalty    Cost per card a 7 would discard from the final hand
+     */
+    public TurnPlanner(double victoryPointValue, double yieldWeight, double spotValue, double discardPenalty) {
+        this.victoryPointValue = victoryPointValue;
+        this.yieldWeight = yieldWeight;
+        this.spotValue = spotValue;
+        this.discardPenalty = discardPenalty;
+    }
+
+    /**
+     * Plans the player's builds for the rest of this turn.
+     *
+     * @param game   The game, after the roll
+     * @param player The player to plan for
+     * @return The builds in the order to execute them (empty if nothing is worth building)
+     */
+    public List<PlayerAction> plan(GameMaster game, Player player) {
+        model = new BuildModel(game.getBoard(), player);
+        memo = new HashMap<>();
+        State state = model.rootState(player);
+        best(state);
+
+        Board board = game.getBoard();
+        List<PlayerAction> plan = new ArrayList<>();
+        for (int move = memo.get(new Key(state, false)).move; move != BuildModel.END;
+             move = memo.get(new Key(state, false)).move) {
+            plan.add(toAction(board, player, move));
+            state = model.apply(state, move);
+        }
+        return plan;
+    }
+
+    /** @return number of distinct positions scored by the last plan() call */
+    public int getPositionsScored() {
+        return memo == null ? 0 : memo.size();
+    }
+
+    /**
+     * @return the value of the best plan from s; the first move is stored in the memo
+     */
+    private double best(State s) {
+        Key key = new Key(s, false);
+        Step known = memo.get(key);
+        if (known != null) return known.value;
+
+        double bestValue = finalValue(s);
+        int bestMove = BuildModel.END;
+
+        if (BuildModel.canAffordCity(s)) {
+            for (long m = s.settlements; m != 0; m &= m - 1) {
+                int v = Long.numberOfTrailingZeros(m);
+                double value = buildValue(v) + best(model.apply(s, BuildModel.CITY | v));
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestMove = BuildModel.CITY | v;
+                }
+            }
+        }
+        if (BuildModel.canAffordSettlement(s)) {
+            for (long m = model.settlementSpots(s); m != 0; m &= m - 1) {
+                int v = Long.numberOfTrailingZeros(m);
+                double value = buildValue(v) + best(model.apply(s, BuildModel.SETTLEMENT | v));
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestMove = BuildModel.SETTLEMENT | v;
+                }
+            }
+        }
+        if (BuildModel.canAffordRoad(s)) {
+            long open = model.openVertices(s);
+            for (int e : model.legalRoads(s)) {
+                if (!leadsToSpot(s, open, e)) continue;
+                double value = best(model.apply(s, BuildModel.ROAD | e));
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestMove = BuildModel.ROAD | e;
+                }
+            }
+        }
+
+        memo.put(key, new Step(bestValue, bestMove));
+        return bestValue;
+    }
+
+    /**
+     * A road is only planned if it opens a settlement spot, or ends next to one so that
+     * a second road can.
+     */
+    private boolean leadsToSpot(State s, long open, int e) {
+        if (model.opensSpot(s, open, e)) return true;
+        for (int end : new int[]{model.edgeStart(e), model.edgeEnd(e)}) {
+            if ((s.roadTouch & (1L << end)) == 0 && (model.neighbors(end) & open) != 0) return true;
+        }
+        return false;
+    }
+
+    private double buildValue(int v) {
+        return victoryPointValue + yieldWeight * model.pips(v) / ProductionIndex.DICE_OUTCOMES;
+    }
+
+    /** Value of stopping here: open spots kept, cards at risk from a 7. */
+    private double finalValue(State s) {
+        int spots = Math.min(MAX_SPOTS_VALUED, Long.bitCount(model.settlementSpots(s)));
+        int total = BuildModel.total(s);
+        int atRisk = total > DISCARD_LIMIT ? total / 2 : 0;
+        return spotValue * spots - discardPenalty * atRisk;
+    }
+
+    private PlayerAction toAction(Board board, Player player, int move) {
+        int arg = move & BuildModel.ARG;
+        switch (move & ~BuildModel.ARG) {
+            case BuildModel.CITY:
+                return new BuildCityAction(player, board.getVertex(arg));
+            case BuildModel.SETTLEMENT:
+                return new BuildSettlementAction(player, board.getVertex(arg));
+            default:
+                return new BuildRoadAction(player, board.getVertex(model.edgeStart(arg)),
+                        board.getVertex(model.edgeEnd(arg)));
+        }
+    }
+
+    private static final class Step {
+        final double value;
+        final int move;
+
+        Step(double value, int move) {
+            this.value = value;
+            this.move = move;
+        }
+    }
+}
@@ -9,12 +9,13 @@ import java.util.List;
  * Vertices are intersection points on the board.
  * Each vertex has a unique ID (0-53 in standard Catan).
  * Vertices can hold one building (Settlement or City).
- * Adjacent vertices are stored to enforce the distance rule.
+ * Adjacent vertices are stored to enforce the distance rule; a board's vertices
+ * read them from the shared BoardTopology.
  */
 public class Vertex {
     private int id;
     private Buildings building;
-    private List<Vertex> adjacentVertices;
+    private final List<Vertex> adjacentVertices;
 
     /**
      * Constructs a Vertex with the given ID.
@@ -27,6 +28,18 @@ public class Vertex {
         this.adjacentVertices = new ArrayList<>();
     }
 
+    /**
+     * Constructs a board vertex whose neighbours are fixed by the board's topology.
+     *
+     * @param id        Unique identifier for this vertex
+     * @param neighbours The board's vertices, by id, and this vertex's neighbour ids
+     */
+    Vertex(int id, VertexView neighbours) {
+        this.id = id;
+        this.building = null;
+        this.adjacentVertices = neighbours;
+    }
+
     /**
      * Checks if this vertex is occupied by a building.
      * 
@@ -60,15 +73,18 @@ public class Vertex {
 
     /**
      * Places a building at this vertex.
+     * Only Buildings.placeOn calls this; during a game use Board.placeBuilding so that
+     * the change is published.
      * 
      * @param building The building to place
      */
-    public void placeBuilding(Buildings building) {
+    void placeBuilding(Buildings building) {
         this.building = building;
     }
 
     /**
      * Adds an adjacent vertex to this vertex's adjacency list.
+     * Only for stand-alone vertices: a board vertex's neighbours cannot change.
      * 
      * @param vertex The vertex to add as adjacent
      */
@@ -103,11 +119,12 @@ public class Vertex {
     
     /**
      * Sets the building at this vertex.
-     * Used when upgrading settlements to cities.
+     * Only the Board calls this; outside the package use Board.placeBuilding /
+     * Board.removeBuilding so that the change is published.
      * 
      * @param building The building to set
      */
-    public void setBuilding(Buildings building) { 
+    void setBuilding(Buildings building) { 
         this.building = building; 
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package classes.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * All-pairs hop distances and next hops between the vertices of a board.
+ *
+ * The tables are filled by one breadth-first search per vertex when the object is
+ * built, and every board shares the same topology, so Board keeps a single instance.
+ * distance() and nextHop() are array reads; path() walks next hops, so it costs the
+ * length of the path.
+ */
+public class VertexDistances {
+    /** Returned by distance() when no path exists. */
+    public static final int UNREACHABLE = -1;
+
+    private final int vertexCount;
+    /** dist[a * n + b]: edges on a shortest path from a to b, or UNREACHABLE. */
+    private final byte[] dist;
+    /** next[a * n + b]: the neighbour of a on a shortest path to b, or -1 if a == b or unreachable. */
+    private final byte[] next;
+
+    /**
+     * @param adjacency Neighbour ids per vertex id; links are treated as two-way
+     */
+    public VertexDistances(int[][] adjacency) {
+        int n = adjacency.length;
+        this.vertexCount = n;
+        List<List<Integer>> neighbours = new ArrayList<>();
+        for (int i = 0; i < n; i++) neighbours.add(new ArrayList<>());
+        for (int a = 0; a < n; a++) {
+            for (int b : adjacency[a]) {
+                if (!neighbours.get(a).contains(b)) neighbours.get(a).add(b);
+                if (!neighbours.get(b).contains(a)) neighbours.get(b).add(a);
+            }
+        }
+
+        this.dist = new byte[n * n];
+        this.next = new byte[n * n];
+        Arrays.fill(dist, (byte) UNREACHABLE);
+        Arrays.fill(next, (byte) -1);
+
+        // A search from each target b: the BFS parent of v is v's next hop towards b
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int b = 0; b < n; b++) {
+            dist[b * n + b] = 0;
+            queue.add(b);
+            while (!queue.isEmpty()) {
+                int u = queue.poll();
+                for (int v : neighbours.get(u)) {
+                    if (dist[v * n + b] != UNREACHABLE) continue;
+                    dist[v * n + b] = (byte) (dist[u * n + b] + 1);
+                    next[v * n + b] = (byte) u;
+                    queue.add(v);
+                }
+            }
+        }
+    }
+
+    /** @return the number of roads on a shortest path between two vertices, or UNREACHABLE */
+    public int distance(int from, int to) {
+        return dist[from * vertexCount + to];
+    }
+
+    /** @return the neighbour of from on a shortest path to to, or -1 if from == to or unreachable */
+    public int nextHop(int from, int to) {
+        return next[from * vertexCount + to];
+    }
+
+    /**
+     * @return vertex ids of a shortest path, both ends included (empty if unreachable)
+     */
+    public List<Integer> path(int from, int to) {
+        List<Integer> path = new ArrayList<>();
+        if (distance(from, to) == UNREACHABLE) return path;
+        path.add(from);
+        for (int v = from; v != to; ) {
+            v = nextHop(v, to);
+            path.add(v);
+        }
+        return path;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+}
@@ -0,0 +1,38 @@
+package classes.model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of a board's vertices picked by id, e.g. one vertex's neighbours
+ * from the shared BoardTopology. Replaces a per-vertex ArrayList of references.
+ */
+final class VertexView extends AbstractList<Vertex> implements RandomAccess {
+    private final Vertex[] vertices;
+    private final int[] ids;
+
+    VertexView(Vertex[] vertices, int[] ids) {
+        this.vertices = vertices;
+        this.ids = ids;
+    }
+
+    @Override
+    public Vertex get(int index) {
+        return vertices[ids[index]];
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Vertex)) return false;
+        Vertex v = (Vertex) o;
+        for (int id : ids) {
+            if (vertices[id] == v) return true;
+        }
+        return false;
+    }
+}
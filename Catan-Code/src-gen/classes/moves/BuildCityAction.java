@@ -2,6 +2,7 @@ package classes.moves;
 
 import classes.model.*;
 import classes.controller.GameMaster;
+import classes.enums.GameEventType;
 
 /**
  * Represents the action of building a city (upgrading a settlement).
@@ -50,13 +51,14 @@ public class BuildCityAction extends PlayerAction {
         player.spendResources(Cost.cityCost());
 
         placedCity = new City(player);
-        placedCity.placeOn(location);
+        game.getBoard().placeBuilding(location, placedCity);
 
         player.getBuildingsBuilt().remove(replacedSettlement);
         player.addBuilding(placedCity);
         player.addVictoryPoints(1); // net gain: city=2, settlement was 1
 
         game.logAction(player, describe());
+        game.publish(GameEventType.BUILD_CITY, player, location.getId(), 0, 0);
     }
 
     /**
@@ -72,7 +74,7 @@ public class BuildCityAction extends PlayerAction {
     @Override
     public void undo(GameMaster game) {
         // Swap city back to the saved settlement
-        location.setBuilding(replacedSettlement);
+        game.getBoard().placeBuilding(location, replacedSettlement);
 
         player.getBuildingsBuilt().remove(placedCity);
         player.addBuilding(replacedSettlement);
@@ -81,12 +83,17 @@ public class BuildCityAction extends PlayerAction {
         player.addVictoryPoints(-1);
 
         // Refund resources
-        player.collectResource(classes.enums.ResourceType.WHEAT, 2);
-        player.collectResource(classes.enums.ResourceType.ORE,   3);
+        player.refundResources(Cost.cityCost());
 
         game.logAction(player, "Undid: " + describe());
+        game.publish(GameEventType.UNDO, player, GameEventType.BUILD_CITY.ordinal(), location.getId(), 0);
     }
     
+    @Override
+    public boolean isLegal(GameMaster game) {
+        return game.getRuleValidator().canBuildCity(player, location);
+    }
+
     @Override
     public double accept(ActionVisitor visitor) {
         return visitor.visit(this);
@@ -2,6 +2,7 @@ package classes.moves;
 
 import classes.model.*;
 import classes.controller.GameMaster;
+import classes.enums.GameEventType;
 
 /**
  * Represents the action of building a road.
@@ -49,6 +50,7 @@ public class BuildRoadAction extends PlayerAction {
         player.addRoad(placedRoad);
 
         game.logAction(player, describe());
+        game.publish(GameEventType.BUILD_ROAD, player, start.getId(), end.getId(), 0);
     }
 
     /**
@@ -63,18 +65,23 @@ public class BuildRoadAction extends PlayerAction {
     @Override
     public void undo(GameMaster game) {
         // Remove from the board's road list
-        game.getBoard().getRoads().remove(placedRoad);
+        game.getBoard().removeRoad(placedRoad);
 
         // Remove from the player's road list
         player.getRoadsBuilt().remove(placedRoad);
 
         // Refund resources
-        player.collectResource(classes.enums.ResourceType.WOOD,  1);
-        player.collectResource(classes.enums.ResourceType.BRICK, 1);
+        player.refundResources(Cost.roadCost());
 
         game.logAction(player, "Undid: " + describe());
+        game.publish(GameEventType.UNDO, player, GameEventType.BUILD_ROAD.ordinal(), start.getId(), end.getId());
     }
     
+    @Override
+    public boolean isLegal(GameMaster game) {
+        return game.getRuleValidator().canBuildRoad(player, start, end);
+    }
+
     @Override
     public double accept(ActionVisitor visitor) {
         return visitor.visit(this);
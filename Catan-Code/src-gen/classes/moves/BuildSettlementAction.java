@@ -2,6 +2,7 @@ package classes.moves;
 
 import classes.model.*;
 import classes.controller.GameMaster;
+import classes.enums.GameEventType;
 
 /**
  * Represents the action of building a settlement.
@@ -44,13 +45,19 @@ public class BuildSettlementAction extends PlayerAction {
         player.spendResources(Cost.settlementCost());
 
         placedSettlement = new Settlement(player);
-        placedSettlement.placeOn(location);
+        game.getBoard().placeBuilding(location, placedSettlement);
         player.addBuilding(placedSettlement);
         player.addVictoryPoints(placedSettlement.getVictoryPoints());
 
         game.logAction(player, describe());
+        game.publish(GameEventType.BUILD_SETTLEMENT, player, location.getId(), 0, 0);
     }
     
+    @Override
+    public boolean isLegal(GameMaster game) {
+        return game.getRuleValidator().canBuildSettlement(player, location);
+    }
+
     @Override
     public double accept(ActionVisitor visitor) {
         return visitor.visit(this);
@@ -69,7 +76,7 @@ public class BuildSettlementAction extends PlayerAction {
     @Override
     public void undo(GameMaster game) {
         // Remove the building from the vertex
-        location.setBuilding(null);
+        game.getBoard().removeBuilding(location);
 
         // Remove from player's collection
         player.getBuildingsBuilt().remove(placedSettlement);
@@ -78,12 +85,10 @@ public class BuildSettlementAction extends PlayerAction {
         player.addVictoryPoints(-placedSettlement.getVictoryPoints());
 
         // Refund resources
-        player.collectResource(classes.enums.ResourceType.WOOD,  1);
-        player.collectResource(classes.enums.ResourceType.BRICK, 1);
-        player.collectResource(classes.enums.ResourceType.WHEAT, 1);
-        player.collectResource(classes.enums.ResourceType.SHEEP, 1);
+        player.refundResources(Cost.settlementCost());
 
         game.logAction(player, "Undid: " + describe());
+        game.publish(GameEventType.UNDO, player, GameEventType.BUILD_SETTLEMENT.ordinal(), location.getId(), 0);
     }
 
     @Override
@@ -2,6 +2,7 @@ package classes.moves;
 
 import classes.model.Player;
 import classes.controller.GameMaster;
+import classes.enums.GameEventType;
 
 /**
  * Represents passing without taking an action.
@@ -20,6 +21,7 @@ public class PassAction extends PlayerAction {
     @Override
     public void execute(GameMaster game) {
         game.logAction(player, describe());
+        game.publish(GameEventType.PASS, player, 0, 0, 0);
     }
 
     /**
@@ -30,6 +32,11 @@ public class PassAction extends PlayerAction {
         // Nothing to reverse for a pass
     }
     
+    @Override
+    public boolean isLegal(GameMaster game) {
+        return true;
+    }
+
     @Override
     public double accept(ActionVisitor visitor) {
         return visitor.visit(this);
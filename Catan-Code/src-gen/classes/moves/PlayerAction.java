@@ -62,6 +62,15 @@ public abstract class PlayerAction {
      * @return Description of the action
      */
     public abstract String describe();
+
+    /**
+     * Checks this action against the board and the player's hand as they are now,
+     * e.g. before carrying out a build planned earlier in the turn.
+     *
+     * @param game The GameMaster controlling the game
+     * @return true if the rules allow the action and the player can pay for it
+     */
+    public abstract boolean isLegal(GameMaster game);
     
     /**
      * Accepts a visitor for value evaluation (R3.2).
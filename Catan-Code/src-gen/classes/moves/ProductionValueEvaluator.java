@@ -0,0 +1,94 @@
+package classes.moves;
+
+import classes.model.Player;
+import classes.model.ProductionIndex;
+import classes.model.ProductionModel;
+import classes.model.ResourceHand;
+
+/**
+ * Concrete Visitor that adds expected production to the R3.2 value scores.
+ *
+ * Every action first gets its ValueEvaluator score. Settlements and cities then earn
+ * a bonus from the target vertex:
+ *   - settlement: yieldWeight * expected cards per roll + diversityWeight * distinct resources
+ *   - city: yieldWeight * expected cards per roll (the upgrade doubles the existing share)
+ *
+ * The bonus is small next to the gaps between R3.2 scores, so it ranks builds within
+ * a tier instead of leaving the choice to a coin flip. All vertex data comes from a
+ * ProductionIndex, so scoring a candidate is a few array reads.
+ *
+ * Given a ProductionModel, the base scores use its time-to-afford in place of the
+ * low-hand card threshold (see ValueEvaluator).
+ */
+public class ProductionValueEvaluator implements ActionVisitor {
+    /** Default weight of expected cards per roll (at most about 0.4 on a real board). */
+    public static final double DEFAULT_YIELD_WEIGHT = 0.5;
+    /** Default weight per distinct resource at the vertex (at most 3). */
+    public static final double DEFAULT_DIVERSITY_WEIGHT = 0.02;
+
+    private final ValueEvaluator base;
+    private final ProductionIndex production;
+    private final double yieldWeight;
+    private final double diversityWeight;
+
+    public ProductionValueEvaluator(ResourceHand hand, ValueWeights weights, ProductionIndex production) {
+        this(hand, weights, production, DEFAULT_YIELD_WEIGHT, DEFAULT_DIVERSITY_WEIGHT);
+    }
+
+    /**
+     * @param player     The player paying for the builds
+     * @param weights    The R3.2 scores used as the base value
+     * @param production Production tables for the current robber position
+     * @param income     Income model used for the low-hand rule
+     */
+    public ProductionValueEvaluator(Player player, ValueWeights weights, ProductionIndex production,
+                                    ProductionModel income) {
+        this.base = new ValueEvaluator(player, weights, income, ValueEvaluator.DEFAULT_RECOVERY_ROLLS);
+        this.production = production;
+        this.yieldWeight = DEFAULT_YIELD_WEIGHT;
+        this.diversityWeight = DEFAULT_DIVERSITY_WEIGHT;
+    }
+
+    /**
+     * @param hand            The hand the builds would be paid from
+     * @param weights         The R3.2 scores used as the base value
+     * @param production      Production tables for the current robber position
+     * @param yieldWeight     Bonus per expected card per roll
+     * @param diversityWeight Bonus per distinct resource at a new settlement
+     */
+    public ProductionValueEvaluator(ResourceHand hand, ValueWeights weights, ProductionIndex production,
+                                    double yieldWeight, double diversityWeight) {
+        this.base = new ValueEvaluator(hand, weights);
+        this.production = production;
+        this.yieldWeight = yieldWeight;
+        this.diversityWeight = diversityWeight;
+    }
+
+    @Override
+    public double visit(BuildSettlementAction action) {
+        int v = action.getLocation().getId();
+        return base.visit(action)
+                + yieldWeight * production.getExpectedYield(v)
+                + diversityWeight * production.getDiversity(v);
+    }
+
+    @Override
+    public double visit(BuildCityAction action) {
+        return base.visit(action) + yieldWeight * production.getExpectedYield(action.getLocation().getId());
+    }
+
+    @Override
+    public double visit(BuildRoadAction action) {
+        return base.visit(action);
+    }
+
+    @Override
+    public double visit(PassAction action) {
+        return base.visit(action);
+    }
+
+    @Override
+    public double visit(RollAction action) {
+        return base.visit(action);
+    }
+}
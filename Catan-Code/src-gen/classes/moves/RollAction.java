@@ -1,7 +1,7 @@
 package classes.moves;
 
 import classes.controller.GameMaster;
-import classes.enums.ResourceType;
+import classes.enums.GameEventType;
 import classes.model.*;
 import java.util.HashMap;
 import java.util.Map;
@@ -34,10 +34,7 @@ public class RollAction extends PlayerAction {
         // restores back to the original pre-roll state.
         if (!snapshotTaken) {
             for (Player p : game.getPlayers()) {
-                ResourceHand h = p.getHand();
-                resourcesBefore.put(p, new int[]{
-                    h.getWood(), h.getBrick(), h.getWheat(), h.getSheep(), h.getOre()
-                });
+                resourcesBefore.put(p, p.getHand().toArray());
             }
             robberTileBefore = game.getBoard().getRobber().getCurrentTile();
             snapshotTaken = true;
@@ -52,18 +49,19 @@ public class RollAction extends PlayerAction {
         for (Player p : game.getPlayers()) {
             int[] before = resourcesBefore.get(p);
             if (before == null) continue;
-            ResourceHand h = p.getHand();
-            h.set(ResourceType.WOOD,  before[0]);
-            h.set(ResourceType.BRICK, before[1]);
-            h.set(ResourceType.WHEAT, before[2]);
-            h.set(ResourceType.SHEEP, before[3]);
-            h.set(ResourceType.ORE,   before[4]);
+            p.getHand().setAll(before);
         }
         // Restore the robber to where it was before the roll
-        game.getBoard().getRobber().moveTo(robberTileBefore);
+        game.getBoard().moveRobber(robberTileBefore);
         game.logAction(player, "Undid: " + describe());
+        game.publish(GameEventType.UNDO, player, GameEventType.ROLL.ordinal(), 0, 0);
     }
     
+    @Override
+    public boolean isLegal(GameMaster game) {
+        return true;
+    }
+
     @Override
     public double accept(ActionVisitor visitor) {
         return visitor.visit(this);
@@ -1,5 +1,8 @@
 package classes.moves;
 
+import classes.model.Cost;
+import classes.model.Player;
+import classes.model.ProductionModel;
 import classes.model.ResourceHand;
 
 /**
@@ -8,32 +11,83 @@ import classes.model.ResourceHand;
  *   - Earning a VP (settlement, city): 1.0
  *   - Building without earning a VP (road): 0.8
  *   - Spending cards such that fewer than 5 remain: 0.5
+ *
+ * With a ProductionModel the last rule looks at income instead of card counts: a
+ * build scores the low-hand value when, after paying for it, the player would
+ * expect to need more than recoveryRolls rolls to afford a settlement or a city again.
  */
 public class ValueEvaluator implements ActionVisitor {
+    /** Default rolls to afford the next VP build beyond which a build counts as draining (three rounds of four). */
+    public static final int DEFAULT_RECOVERY_ROLLS = 12;
 
     private final ResourceHand hand;
+    private final ValueWeights weights;
+    private final Player player;
+    private final ProductionModel production;
+    private final int recoveryRolls;
 
     public ValueEvaluator(ResourceHand hand) {
+        this(hand, ValueWeights.defaults());
+    }
+
+    /**
+     * @param hand    The hand the builds would be paid from
+     * @param weights The scores to assign (see ValueWeights)
+     */
+    public ValueEvaluator(ResourceHand hand, ValueWeights weights) {
         this.hand = hand;
+        this.weights = weights;
+        this.player = null;
+        this.production = null;
+        this.recoveryRolls = 0;
+    }
+
+    /**
+     * @param player        The player paying for the builds
+     * @param weights       The scores to assign (the low-hand threshold is not used)
+     * @param production    Income model of the player's board
+     * @param recoveryRolls Expected rolls to the next VP build above which lowHand applies
+     */
+    public ValueEvaluator(Player player, ValueWeights weights, ProductionModel production, int recoveryRolls) {
+        this.hand = player.getHand();
+        this.weights = weights;
+        this.player = player;
+        this.production = production;
+        this.recoveryRolls = recoveryRolls;
     }
 
     @Override
     public double visit(BuildSettlementAction action) {
         // settlement costs 4 cards
-        return (hand.totalCards() - 4 < 5) ? 0.5 : 1.0;
+        return score(Cost.SETTLEMENT, weights.getVictoryPointBuild());
     }
 
     @Override
     public double visit(BuildCityAction action) {
         // city costs 5 cards
-        return (hand.totalCards() - 5 < 5) ? 0.5 : 1.0;
+        return score(Cost.CITY, weights.getVictoryPointBuild());
     }
 
     @Override
     public double visit(BuildRoadAction action) {
         // Roads cost 1 wood + 1 brick = 2 cards
         // If hand drops below 5 after building → 0.5, otherwise 0.8
-        return (hand.totalCards() - 2 < 5) ? 0.5 : 0.8;
+        return score(Cost.ROAD, weights.getRoadBuild());
+    }
+
+    private double score(Cost cost, double value) {
+        if (production == null) {
+            return (hand.totalCards() - cost.totalCards() < weights.getLowHandThreshold()) ? weights.getLowHand() : value;
+        }
+        int[] left = hand.toArray();
+        left[0] -= cost.getWood();
+        left[1] -= cost.getBrick();
+        left[2] -= cost.getWheat();
+        left[3] -= cost.getSheep();
+        left[4] -= cost.getOre();
+        double rolls = Math.min(production.timeToAfford(player, left, Cost.SETTLEMENT).expectedRolls(),
+                production.timeToAfford(player, left, Cost.CITY).expectedRolls());
+        return rolls > recoveryRolls ? weights.getLowHand() : value;
     }
 
     @Override
@@ -0,0 +1,44 @@
+package classes.moves;
+
+/**
+ * Tunable scores used by ValueEvaluator (R3.2).
+ *
+ * The defaults reproduce the original rule: 1.0 for a VP-earning build, 0.8 for a road,
+ * and 0.5 for any build that leaves fewer than 5 cards in hand.
+ */
+public final class ValueWeights {
+    private static final ValueWeights DEFAULT = new ValueWeights(1.0, 0.8, 0.5, 5);
+
+    private final double victoryPointBuild;
+    private final double roadBuild;
+    private final double lowHand;
+    private final int lowHandThreshold;
+
+    /**
+     * @param victoryPointBuild Score of a settlement or city
+     * @param roadBuild         Score of a road
+     * @param lowHand           Score of any build that leaves fewer than lowHandThreshold cards
+     * @param lowHandThreshold  Hand size below which lowHand applies
+     */
+    public ValueWeights(double victoryPointBuild, double roadBuild, double lowHand, int lowHandThreshold) {
+        this.victoryPointBuild = victoryPointBuild;
+        this.roadBuild = roadBuild;
+        this.lowHand = lowHand;
+        this.lowHandThreshold = lowHandThreshold;
+    }
+
+    /** @return the weights of the original R3.2 rule */
+    public static ValueWeights defaults() {
+        return DEFAULT;
+    }
+
+    public double getVictoryPointBuild() { return victoryPointBuild; }
+    public double getRoadBuild() { return roadBuild; }
+    public double getLowHand() { return lowHand; }
+    public int getLowHandThreshold() { return lowHandThreshold; }
+
+    @Override
+    public String toString() {
+        return String.format("%s, %s, %s, %d", victoryPointBuild, roadBuild, lowHand, lowHandThreshold);
+    }
+}
@@ -0,0 +1,76 @@
+package classes.sim;
+
+import classes.model.Cost;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bulk operations over many hands at once, used by the batch simulation paths.
+ *
+ * Hands are stored as consecutive runs of ResourceHand.RESOURCE_COUNT ints (wood, brick,
+ * wheat, sheep, ore), as in LockstepEngine. Each call covers every game in flight, so
+ * the lengths are in the hundreds or thousands of ints. ScalarHandKernels is always available.
+ * VectorHandKernels lives in src-vector and is only built with the "vector" Maven
+ * profile; it needs the JVM flag --add-modules jdk.incubator.vector at run time.
+ *
+ * Every implementation must return exactly what the scalar one does.
+ */
+public interface HandKernels {
+
+    /** System property that picks the implementation: "scalar" (default) or "vector". */
+    String PROPERTY = "catan.kernels";
+
+    /**
+     * Element-wise target[targetOffset + i] += source[sourceOffset + i] for i in [0, length).
+     * Used to pay out one pass of rolls to every seat of every game in one call.
+     */
+    void add(int[] target, int targetOffset, int[] source, int sourceOffset, int length);
+
+    /**
+     * Sets bit i of mask (word i / 64) when values[i] > limit, and clears it otherwise,
+     * for i in [0, length); e.g. the seats of every game that must discard on a 7.
+     *
+     * @param mask At least (length + 63) / 64 words
+     */
+    void maskAbove(int[] values, int length, int limit, long[] mask);
+
+    /**
+     * Sets bit k of mask when the hand starting at hands[offset + k * stride] covers cost,
+     * and clears it otherwise, for k in [0, count); e.g. which games' seat to move can
+     * afford a road.
+     *
+     * @param mask At least (count + 63) / 64 words
+     */
+    void coverMask(int[] hands, int offset, int stride, int count, Cost cost, long[] mask);
+
+    /** @return a short name for logs and benchmarks */
+    String name();
+
+    /**
+     * @return the implementation named by the catan.kernels system property
+     */
+    static HandKernels select() {
+        return named(System.getProperty(PROPERTY, "scalar"));
+    }
+
+    /**
+     * Returns the named implementation, falling back to the scalar kernels when the
+     * vector kernels were not compiled in or the incubator module is not enabled.
+     *
+     * @param name "scalar" or "vector"
+     * @return The kernels to use
+     */
+    static HandKernels named(String name) {
+        if ("vector".equalsIgnoreCase(name)) {
+            try {
+                return (HandKernels) Class.forName("classes.sim.VectorHandKernels")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                Logger.getLogger(HandKernels.class.getName()).log(Level.WARNING,
+                        "Vector kernels unavailable ({0}); using scalar kernels", e.toString());
+            }
+        }
+        return new ScalarHandKernels();
+    }
+}
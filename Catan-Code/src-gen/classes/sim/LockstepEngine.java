@@ -0,0 +1,869 @@
+package classes.sim;
+
+import classes.controller.GameMaster;
+import classes.controller.GameSpec;
+import classes.enums.ResourceType;
+import classes.model.BoardLayout;
+import classes.model.BoardTopology;
+import classes.model.Cost;
+import classes.moves.ValueWeights;
+import classes.util.SeededRandom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Data-oriented engine that plays many all-AI games side by side.
+ *
+ * Instead of a Board/Vertex/Player object graph per game, the state of up to
+ * `capacity` games lives in flat primitive arrays indexed by slot (hands, vertex
+ * owners, edge owners, robber tile, generator states). Games advance in lockstep one
+ * seat at a time: every active game rolls, then every game distributes or resolves
+ * the robber, then every game runs the AIPlayer policy. Finished games are handed
+ * to the caller and their slot is refilled from the spec iterator.
+ *
+ * The engine reproduces GameMaster + Demonstrator setup + AIPlayer exactly: a spec
+ * played here gives the same winner, round count and final position as
+ * new GameMaster(spec). That holds because it draws from the same SeededRandom
+ * streams, in the same order, for the same decisions. Any change to the object
+ * model's rules or candidate order must be mirrored here.
+ *
+ * Production is not computed by scanning tiles: each slot keeps an income table per
+ * dice value (what every seat earns on that roll, robber excluded), updated when a
+ * building is placed or the robber moves. Each pass copies every game's row for its
+ * roll into one staging array laid out like the hands, so paying out the pass is a
+ * single HandKernels add over all games. The discard check on 7s and the "can the
+ * seat to move afford anything" check are likewise one kernel call per pass; those
+ * calls are long enough for the vector kernels to fill their SIMD lanes.
+ *
+ * An engine instance is single-threaded; run one per worker.
+ */
+public class LockstepEngine {
+    private static final int R = 5;               // resource types (DESERT excluded)
+    private static final int DESERT = ResourceType.DESERT.ordinal();
+    private static final int WOOD = ResourceType.WOOD.ordinal();
+    private static final int BRICK = ResourceType.BRICK.ordinal();
+    private static final int WHEAT = ResourceType.WHEAT.ordinal();
+    private static final int SHEEP = ResourceType.SHEEP.ordinal();
+    private static final int ORE = ResourceType.ORE.ordinal();
+    private static final int TRIO_MASK = (1 << WOOD) | (1 << BRICK) | (1 << WHEAT) | (1 << ORE);
+
+    private static final int VICTORY_POINTS = 10;
+    private static final int DISCARD_LIMIT = 7;
+    /** Dice sums index the income tables directly (0 and 1 unused). */
+    private static final int ROLLS = 13;
+    private static final int MAX_ACTIONS_PER_TURN = 10;
+
+    private static final int ROAD_BIT = 1;
+    private static final int SETTLEMENT_BIT = 2;
+    private static final int CITY_BIT = 4;
+
+    /** Action encoding: kind in the high bits, vertex or directed-edge index in the low 16. */
+    private static final int NONE = -1;
+    private static final int PASS = 0;
+    private static final int CITY = 1 << 16;
+    private static final int SETTLEMENT = 2 << 16;
+    private static final int ROAD = 3 << 16;
+    private static final int ARG = 0xFFFF;
+
+    /** Generator slots per game; seat p uses RNG_PLAYER + p. */
+    private static final int RNG_DICE = 0;
+    private static final int RNG_ROBBER = 1;
+    private static final int RNG_STEAL = 2;
+    private static final int RNG_DISCARD = 3;
+    private static final int RNG_SETUP = 4;
+    private static final int RNG_PLAYER = 5;
+
+    private static final byte EMPTY = 0;
+    private static final byte HAS_SETTLEMENT = 1;
+    private static final byte HAS_CITY = 2;
+
+    // ------------------------------------------------------------------------------
+    // Shared topology, read from BoardTopology so orders match the object model
+    // ------------------------------------------------------------------------------
+
+    private static final int V;
+    private static final int T;
+    private static final int E;
+    /** Tile ids in board list order (the robber draws from this order). */
+    private static final int[] TILE_IDS;
+    private static final int[][] TILE_VERTICES;
+    private static final int[][] ADJ;
+    private static final long[] NEIGHBOR_MASK;
+    /** Tiles (list positions) touching each vertex, in list order. */
+    private static final int[][] VERTEX_TILES;
+    /** Directed edges in AIPlayer enumeration order: for v1, for v2 in adj(v1). */
+    private static final int[] DIR_FROM;
+    private static final int[] DIR_TO;
+    private static final int[] DIR_EDGE;
+    private static final int[] EDGE_A;
+    private static final int[] EDGE_B;
+    /** For each edge, the edges an AIPlayer would consider "within two steps" of it. */
+    private static final long[][] NEAR_EDGES;
+
+    static {
+        BoardTopology topology = BoardTopology.STANDARD;
+        V = topology.getVertexCount();
+        T = topology.getTileCount();
+
+        TILE_IDS = topology.getTileOrder();
+        TILE_VERTICES = new int[T][];
+        List<List<Integer>> vertexTiles = new ArrayList<>();
+        for (int v = 0; v < V; v++) vertexTiles.add(new ArrayList<>());
+        for (int t = 0; t < T; t++) {
+            TILE_VERTICES[t] = topology.getTileVertices(TILE_IDS[t]);
+            for (int v : TILE_VERTICES[t]) vertexTiles.get(v).add(t);
+        }
+        VERTEX_TILES = new int[V][];
+        for (int v = 0; v < V; v++) {
+            VERTEX_TILES[v] = vertexTiles.get(v).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        ADJ = new int[V][];
+        NEIGHBOR_MASK = new long[V];
+        int directed = 0;
+        for (int v = 0; v < V; v++) {
+            ADJ[v] = topology.getNeighbours(v);
+            for (int n : ADJ[v]) NEIGHBOR_MASK[v] |= 1L << n;
+            directed += ADJ[v].length;
+        }
+
+        int[][] edgeId = new int[V][V];
+        for (int[] row : edgeId) Arrays.fill(row, -1);
+        DIR_FROM = new int[directed];
+        DIR_TO = new int[directed];
+        DIR_EDGE = new int[directed];
+        int[] a = new int[directed];
+        int[] b = new int[directed];
+        int d = 0;
+        int e = 0;
+        for (int v1 = 0; v1 < V; v1++) {
+            for (int v2 : ADJ[v1]) {
+                if (edgeId[v1][v2] < 0) {
+                    edgeId[v1][v2] = edgeId[v2][v1] = e;
+                    a[e] = v1;
+                    b[e] = v2;
+                    e++;
+                }
+                DIR_FROM[d] = v1;
+                DIR_TO[d] = v2;
+                DIR_EDGE[d] = edgeId[v1][v2];
+                d++;
+            }
+        }
+        E = e;
+        EDGE_A = Arrays.copyOf(a, E);
+        EDGE_B = Arrays.copyOf(b, E);
+
+        // AIPlayer.isWithinTwoSteps: some pair of distinct endpoints is 1 or 2 steps apart
+        long[] within2 = new long[V];
+        for (int v = 0; v < V; v++) {
+            long m = NEIGHBOR_MASK[v];
+            for (int n : ADJ[v]) m |= NEIGHBOR_MASK[n];
+            within2[v] = m;
+        }
+        NEAR_EDGES = new long[E][2];
+        for (int e1 = 0; e1 < E; e1++) {
+            int[] ends1 = {EDGE_A[e1], EDGE_B[e1]};
+            for (int e2 = 0; e2 < E; e2++) {
+                if (e1 == e2) continue;
+                boolean near = false;
+                for (int x : ends1) {
+                    for (int y : new int[]{EDGE_A[e2], EDGE_B[e2]}) {
+                        near |= x != y && (within2[x] & (1L << y)) != 0;
+                    }
+                }
+                if (near) NEAR_EDGES[e1][e2 >> 6] |= 1L << e2;
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------------
+    // Per-slot state (structure of arrays)
+    // ------------------------------------------------------------------------------
+
+    private final int capacity;
+    private final int players;
+    private final HandKernels kernels;
+    private final int streams;
+
+    private final GameSpec[] spec;
+    private final long[] rng;
+    private final int[] round;
+    private final int[] maxRounds;
+    private final int[] robber;          // tile list position
+    private final int[] roll;
+    private final long[] occupied;       // vertex bitmask per slot
+
+    private final byte[] tileResource;   // [slot * T + tile position]
+    private final byte[] tileToken;
+    private final byte[] vertexResources;  // [slot * V + v] resource bitmask (incl. desert)
+    private final byte[] vertexOwner;    // player index, -1 for none
+    private final byte[] vertexKind;
+    private final byte[] edgeOwner;
+
+    private final double[] vpScore;
+    private final double[] roadScore;
+    private final double[] lowScore;
+    private final int[] lowThreshold;
+
+    private final int[] hand;            // [(slot * P + p) * R + r]
+    private final int[] handTotal;       // [slot * P + p]
+    private final int[] vp;
+    private final int[] roadCount;
+    private final long[] roadTouch;      // vertices touched by the player's roads
+    private final long[] roadEdges;      // [(slot * P + p) * 2 + word]
+    private final boolean[] gap;
+    private final byte[] buildings;      // [(slot * P + p) * V + i] vertex ids in build order
+    private final int[] buildingCount;
+    /** [(slot * ROLLS + roll) * P * R + p * R + r]: what each seat earns on a roll. */
+    private final int[] income;
+    /** [(slot * ROLLS + roll) * P + p]: cards each seat earns on a roll. */
+    private final int[] incomeTotal;
+
+    // Per-pass staging for the kernels, covering every slot
+    /** [(slot * P + p) * R + r]: the income row for the slot's roll (row 7 is all zeros). */
+    private final int[] payout;
+    /** [slot * P + p] */
+    private final int[] payoutTotal;
+    /** Bit slot * P + p: the seat holds more than DISCARD_LIMIT cards. */
+    private final long[] overLimit;
+    /** Bit slot: the seat to move can afford a road (and so possibly a settlement). */
+    private final long[] canRoad;
+    /** Bit slot: the seat to move can afford a city. */
+    private final long[] canCity;
+
+    // Scratch candidate lists for the decision being made
+    private final int[] cityCandidates;
+    private final int[] settlementCandidates;
+    private final int[] roadCandidates;
+
+    /**
+     * @param capacity    Number of games kept in flight
+     * @param playerCount Seats per game (every spec must match)
+     */
+    public LockstepEngine(int capacity, int playerCount) {
+        this(capacity, playerCount, HandKernels.select());
+    }
+
+    /**
+     * @param capacity    Number of games kept in flight
+     * @param playerCount Seats per game (every spec must match)
+     * @param kernels     Bulk hand operations (scalar or vector; results are identical)
+     */
+    public LockstepEngine(int capacity, int playerCount, HandKernels kernels) {
+        if (playerCount < 1 || playerCount > 32) {
+            throw new IllegalArgumentException("Player count must be between 1 and 32: " + playerCount);
+        }
+        this.capacity = capacity;
+        this.kernels = kernels;
+        this.players = playerCount;
+        this.streams = RNG_PLAYER + playerCount;
+
+        int slotsByPlayer = capacity * playerCount;
+        spec = new GameSpec[capacity];
+        rng = new long[capacity * streams];
+        round = new int[capacity];
+        maxRounds = new int[capacity];
+        robber = new int[capacity];
+        roll = new int[capacity];
+        occupied = new long[capacity];
+        tileResource = new byte[capacity * T];
+        tileToken = new byte[capacity * T];
+        vertexResources = new byte[capacity * V];
+        vertexOwner = new byte[capacity * V];
+        vertexKind = new byte[capacity * V];
+        edgeOwner = new byte[capacity * E];
+        vpScore = new double[capacity];
+        roadScore = new double[capacity];
+        lowScore = new double[capacity];
+        lowThreshold = new int[capacity];
+        hand = new int[slotsByPlayer * R];
+        handTotal = new int[slotsByPlayer];
+        vp = new int[slotsByPlayer];
+        roadCount = new int[slotsByPlayer];
+        roadTouch = new long[slotsByPlayer];
+        roadEdges = new long[slotsByPlayer * 2];
+        gap = new boolean[slotsByPlayer];
+        buildings = new byte[slotsByPlayer * V];
+        buildingCount = new int[slotsByPlayer];
+        income = new int[capacity * ROLLS * playerCount * R];
+        incomeTotal = new int[capacity * ROLLS * playerCount];
+        payout = new int[slotsByPlayer * R];
+        payoutTotal = new int[slotsByPlayer];
+        overLimit = new long[(slotsByPlayer + 63) >>> 6];
+        canRoad = new long[(capacity + 63) >>> 6];
+        canCity = new long[(capacity + 63) >>> 6];
+        cityCandidates = new int[V];
+        settlementCandidates = new int[V];
+        roadCandidates = new int[DIR_EDGE.length];
+    }
+
+    /**
+     * Plays every spec and collects the results in input order.
+     *
+     * @param specs The games to play
+     * @return One result per spec, same order
+     */
+    public List<SimResult> runAll(List<GameSpec> specs) {
+        // Results arrive in completion order; map each back through its spec's identity
+        Map<GameSpec, Integer> order = new IdentityHashMap<>();
+        for (int i = 0; i < specs.size(); i++) {
+            order.put(specs.get(i), i);
+        }
+        SimResult[] results = new SimResult[specs.size()];
+        run(specs.iterator(), r -> results[order.get(r.getSpec())] = r);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Streams specs through the engine. Up to `capacity` games run at once; each
+     * finished game is passed to the sink and its slot refilled from the iterator.
+     *
+     * @param specs The games to play
+     * @param sink  Receives each result as its game finishes (completion order)
+     */
+    public void run(Iterator<GameSpec> specs, Consumer<SimResult> sink) {
+        int[] active = new int[capacity];
+        int activeCount = 0;
+        for (int slot = 0; slot < capacity && specs.hasNext(); slot++) {
+            if (start(slot, specs.next(), sink)) {
+                active[activeCount++] = slot;
+            } else {
+                slot--; // finished during setup (no rounds); reuse the slot
+            }
+        }
+
+        while (activeCount > 0) {
+            for (int i = 0; i < activeCount; i++) {
+                round[active[i]]++;
+            }
+            for (int p = 0; p < players; p++) {
+                for (int i = 0; i < activeCount; i++) {
+                    int slot = active[i];
+                    roll[slot] = SeededRandom.nextInt(rng, slot * streams + RNG_DICE, 6) + 1
+                            + SeededRandom.nextInt(rng, slot * streams + RNG_DICE, 6) + 1;
+                }
+                // Slots only touch their own state, so production can run before every robber
+                for (int i = 0; i < activeCount; i++) {
+                    stagePayout(active[i]);
+                }
+                kernels.add(hand, 0, payout, 0, payout.length);
+                kernels.add(handTotal, 0, payoutTotal, 0, payoutTotal.length);
+                kernels.maskAbove(handTotal, handTotal.length, DISCARD_LIMIT, overLimit);
+                for (int i = 0; i < activeCount; i++) {
+                    int slot = active[i];
+                    if (roll[slot] == 7) resolveRobber(slot, p);
+                }
+
+                // A seat that can afford neither a road nor a city has no move to make
+                kernels.coverMask(hand, p * R, players * R, capacity, Cost.ROAD, canRoad);
+                kernels.coverMask(hand, p * R, players * R, capacity, Cost.CITY, canCity);
+                for (int i = 0; i < activeCount; i++) {
+                    int slot = active[i];
+                    if (isSet(canRoad, slot) || isSet(canCity, slot)) playTurn(slot, p);
+                }
+            }
+
+            // Retire finished games and refill their slots
+            int kept = 0;
+            for (int i = 0; i < activeCount; i++) {
+                int slot = active[i];
+                int winner = winner(slot);
+                if (winner == 0 && round[slot] < maxRounds[slot]) {
+                    active[kept++] = slot;
+                    continue;
+                }
+                sink.accept(result(slot, winner));
+                boolean refilled = false;
+                while (!refilled && specs.hasNext()) {
+                    refilled = start(slot, specs.next(), sink);
+                }
+                if (refilled) {
+                    active[kept++] = slot;
+                } else {
+                    clearPayout(slot);
+                }
+            }
+            activeCount = kept;
+        }
+    }
+
+    // ------------------------------------------------------------------------------
+    // Game setup (mirrors GameMaster construction and Demonstrator.performSetupPhase)
+    // ------------------------------------------------------------------------------
+
+    /**
+     * Loads a spec into a slot and plays its setup phase.
+     *
+     * @return false if the game is already over (round limit below one), in which
+     *         case its result has been sent to the sink
+     */
+    private boolean start(int slot, GameSpec s, Consumer<SimResult> sink) {
+        if (s.getPlayerCount() != players) {
+            throw new IllegalArgumentException("Engine seats " + players + " players, spec has " + s.getPlayerCount());
+        }
+        spec[slot] = s;
+        round[slot] = 0;
+        maxRounds[slot] = s.getMaxRounds();
+        occupied[slot] = 0;
+
+        long seed = s.getSeed();
+        int r0 = slot * streams;
+        rng[r0 + RNG_DICE] = SeededRandom.streamState(seed, GameMaster.STREAM_DICE);
+        rng[r0 + RNG_ROBBER] = SeededRandom.streamState(seed, GameMaster.STREAM_ROBBER);
+        rng[r0 + RNG_STEAL] = SeededRandom.streamState(seed, GameMaster.STREAM_STEAL);
+        rng[r0 + RNG_DISCARD] = SeededRandom.streamState(seed, GameMaster.STREAM_DISCARD);
+        rng[r0 + RNG_SETUP] = SeededRandom.streamState(seed, GameMaster.STREAM_SETUP);
+        for (int p = 0; p < players; p++) {
+            rng[r0 + RNG_PLAYER + p] = SeededRandom.streamState(seed, GameMaster.STREAM_PLAYER_BASE + p + 1);
+        }
+
+        ValueWeights w = s.getWeights();
+        vpScore[slot] = w.getVictoryPointBuild();
+        roadScore[slot] = w.getRoadBuild();
+        lowScore[slot] = w.getLowHand();
+        lowThreshold[slot] = w.getLowHandThreshold();
+
+        BoardLayout layout = s.getBoard();
+        for (int t = 0; t < T; t++) {
+            tileResource[slot * T + t] = (byte) layout.getResource(TILE_IDS[t]).ordinal();
+            tileToken[slot * T + t] = (byte) layout.getToken(TILE_IDS[t]);
+            if (TILE_IDS[t] == layout.getDesertTileId()) robber[slot] = t;
+        }
+        for (int v = 0; v < V; v++) {
+            int mask = 0;
+            for (int t : VERTEX_TILES[v]) mask |= 1 << tileResource[slot * T + t];
+            vertexResources[slot * V + v] = (byte) mask;
+            vertexOwner[slot * V + v] = -1;
+            vertexKind[slot * V + v] = EMPTY;
+        }
+        Arrays.fill(edgeOwner, slot * E, (slot + 1) * E, (byte) -1);
+
+        int g0 = slot * players;
+        Arrays.fill(hand, g0 * R, (g0 + players) * R, 0);
+        Arrays.fill(income, slot * ROLLS * players * R, (slot + 1) * ROLLS * players * R, 0);
+        Arrays.fill(incomeTotal, slot * ROLLS * players, (slot + 1) * ROLLS * players, 0);
+        Arrays.fill(roadEdges, g0 * 2, (g0 + players) * 2, 0L);
+        for (int gp = g0; gp < g0 + players; gp++) {
+            handTotal[gp] = 0;
+            vp[gp] = 0;
+            roadCount[gp] = 0;
+            roadTouch[gp] = 0;
+            gap[gp] = false;
+            buildingCount[gp] = 0;
+        }
+
+        for (int setupRound = 1; setupRound <= 2; setupRound++) {
+            for (int p = 0; p < players; p++) {
+                placeInitialPieces(slot, p, setupRound);
+            }
+        }
+
+        if (maxRounds[slot] <= 0) {
+            sink.accept(result(slot, 0));
+            return false;
+        }
+        return true;
+    }
+
+    private void placeInitialPieces(int slot, int p, int setupRound) {
+        int gp = slot * players + p;
+        int attempts = 0;
+        int v;
+        while (true) {
+            attempts++;
+            v = SeededRandom.nextInt(rng, slot * streams + RNG_SETUP, V);
+            boolean valid = (occupied[slot] & ((1L << v) | NEIGHBOR_MASK[v])) == 0;
+            if (valid && (setupRound == 1 || hasEssentialTrio(slot, gp, v) || attempts > 200)) {
+                break;
+            }
+        }
+        placeSettlement(slot, p, v);
+        int neighbor = ADJ[v][0];
+        for (int d = 0; d < DIR_EDGE.length; d++) {
+            if (DIR_FROM[d] == v && DIR_TO[d] == neighbor) {
+                placeRoad(slot, p, d);
+                break;
+            }
+        }
+        if (setupRound == 2) {
+            for (int t : VERTEX_TILES[v]) {
+                collect(gp, tileResource[slot * T + t], 1);
+            }
+        }
+    }
+
+    private boolean hasEssentialTrio(int slot, int gp, int candidate) {
+        if (buildingCount[gp] == 0) return false;
+        int first = buildings[gp * V];
+        int mask = vertexResources[slot * V + first] | vertexResources[slot * V + candidate];
+        return (mask & TRIO_MASK) == TRIO_MASK;
+    }
+
+    // ------------------------------------------------------------------------------
+    // Dice outcomes (mirrors GameMaster.rollAndDistribute)
+    // ------------------------------------------------------------------------------
+
+    /** Copies the income row for the slot's roll into the pass's payout. */
+    private void stagePayout(int slot) {
+        int row = slot * ROLLS + roll[slot];
+        System.arraycopy(income, row * players * R, payout, slot * players * R, players * R);
+        System.arraycopy(incomeTotal, row * players, payoutTotal, slot * players, players);
+    }
+
+    /** An idle slot is still covered by the payout add, so it must earn nothing. */
+    private void clearPayout(int slot) {
+        Arrays.fill(payout, slot * players * R, (slot + 1) * players * R, 0);
+        Arrays.fill(payoutTotal, slot * players, (slot + 1) * players, 0);
+    }
+
+    private static boolean isSet(long[] mask, int bit) {
+        return (mask[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Adds (sign 1) or removes (sign -1) what one building level at a vertex earns from a tile.
+     */
+    private void addIncome(int slot, int p, int t, int sign) {
+        int res = tileResource[slot * T + t];
+        int token = tileToken[slot * T + t];
+        if (res == DESERT || token < 2 || token >= ROLLS) return;
+        int row = slot * ROLLS + token;
+        income[(row * players + p) * R + res] += sign;
+        incomeTotal[row * players + p] += sign;
+    }
+
+    /** A new settlement, or a city's second share, earns from every unblocked tile it touches. */
+    private void addBuildingIncome(int slot, int p, int v) {
+        for (int t : VERTEX_TILES[v]) {
+            if (t != robber[slot]) addIncome(slot, p, t, 1);
+        }
+    }
+
+    /** Moves the robber, restoring the old tile's income and removing the new one's. */
+    private void moveRobber(int slot, int tile) {
+        int from = robber[slot];
+        for (int v : TILE_VERTICES[from]) {
+            int owner = vertexOwner[slot * V + v];
+            for (int k = 0; owner >= 0 && k < vertexKind[slot * V + v]; k++) addIncome(slot, owner, from, 1);
+        }
+        for (int v : TILE_VERTICES[tile]) {
+            int owner = vertexOwner[slot * V + v];
+            for (int k = 0; owner >= 0 && k < vertexKind[slot * V + v]; k++) addIncome(slot, owner, tile, -1);
+        }
+        robber[slot] = tile;
+    }
+
+    private void resolveRobber(int slot, int roller) {
+        int g0 = slot * players;
+        // Discard half of any hand over 7, sampling without replacement (seats in order)
+        for (int gp = g0; gp < g0 + players; gp++) {
+            if (!isSet(overLimit, gp)) continue;
+            int total = handTotal[gp];
+            int count = total / 2;
+            for (int d = 0; d < count; d++) {
+                hand[gp * R + pickWeighted(gp, SeededRandom.nextInt(rng, slot * streams + RNG_DISCARD, total - d))]--;
+            }
+            handTotal[gp] -= count;
+        }
+
+        // Move to any other tile, drawn from the tile list without the current one
+        int i = SeededRandom.nextInt(rng, slot * streams + RNG_ROBBER, T - 1);
+        int tile = i < robber[slot] ? i : i + 1;
+        moveRobber(slot, tile);
+
+        // Steal from a random adjacent opponent, victims in first-seen order
+        int victims = 0;
+        int v0 = -1;
+        int v1 = -1;
+        int v2 = -1;
+        for (int v : TILE_VERTICES[tile]) {
+            int owner = vertexOwner[slot * V + v];
+            if (owner < 0 || owner == roller || owner == v0 || owner == v1 || owner == v2) continue;
+            if (victims == 0) v0 = owner;
+            else if (victims == 1) v1 = owner;
+            else v2 = owner;
+            victims++;
+        }
+        if (victims == 0) return;
+        int pick = SeededRandom.nextInt(rng, slot * streams + RNG_STEAL, victims);
+        int victim = g0 + (pick == 0 ? v0 : pick == 1 ? v1 : v2);
+        if (handTotal[victim] == 0) return;
+        int res = pickWeighted(victim, SeededRandom.nextInt(rng, slot * streams + RNG_STEAL, handTotal[victim]));
+        hand[victim * R + res]--;
+        handTotal[victim]--;
+        collect(g0 + roller, res, 1);
+    }
+
+    private int pickWeighted(int gp, int position) {
+        int base = gp * R;
+        int r = 0;
+        while (position >= hand[base + r]) {
+            position -= hand[base + r];
+            r++;
+        }
+        return r;
+    }
+
+    private void collect(int gp, int res, int amount) {
+        if (res < R) {
+            hand[gp * R + res] += amount;
+            handTotal[gp] += amount;
+        }
+    }
+
+    // ------------------------------------------------------------------------------
+    // AI policy (mirrors RuleBasedAIPlayer.takeTurn and AIPlayer's hooks)
+    // ------------------------------------------------------------------------------
+
+    private void playTurn(int slot, int p) {
+        for (int n = 0; n < MAX_ACTIONS_PER_TURN; n++) {
+            int action = resolveConstraint(slot, p);
+            if (action == NONE) {
+                action = pickBestValueMove(slot, p);
+                if (action == PASS) return;
+            }
+            apply(slot, p, action);
+        }
+    }
+
+    private int resolveConstraint(int slot, int p) {
+        int gp = slot * players + p;
+        if (handTotal[gp] > 7) {
+            int action = findAnyBuildAction(slot, p);
+            if (action != NONE) return action;
+        }
+        if (gap[gp]) {
+            int action = findRoadAction(slot, p);
+            if (action != NONE) return action;
+        }
+        if (longestRoadThreatened(slot, p)) {
+            int action = findRoadAction(slot, p);
+            if (action != NONE) return action;
+        }
+        return NONE;
+    }
+
+    private boolean longestRoadThreatened(int slot, int p) {
+        int g0 = slot * players;
+        int mine = roadCount[g0 + p];
+        if (mine == 0) return false;
+        for (int q = 0; q < players; q++) {
+            if (q != p && roadCount[g0 + q] >= mine - 1) return true;
+        }
+        return false;
+    }
+
+    private int findAnyBuildAction(int slot, int p) {
+        int affordable = affordableMask(slot * players + p);
+        if (affordable == 0) return NONE;
+        int n = candidateCities(slot, p, affordable);
+        if (n > 0) return CITY | cityCandidates[pickRandom(slot, p, n)];
+        n = candidateSettlements(slot, p, affordable);
+        if (n > 0) return SETTLEMENT | settlementCandidates[pickRandom(slot, p, n)];
+        n = candidateRoads(slot, p, affordable);
+        if (n > 0) return ROAD | roadCandidates[pickRandom(slot, p, n)];
+        return NONE;
+    }
+
+    private int findRoadAction(int slot, int p) {
+        int n = candidateRoads(slot, p, affordableMask(slot * players + p));
+        return n == 0 ? NONE : ROAD | roadCandidates[pickRandom(slot, p, n)];
+    }
+
+    private int pickBestValueMove(int slot, int p) {
+        int gp = slot * players + p;
+        int affordable = affordableMask(gp);
+        int nc = candidateCities(slot, p, affordable);
+        int ns = candidateSettlements(slot, p, affordable);
+        int nr = candidateRoads(slot, p, affordable);
+        if (nc + ns + nr == 0) return PASS;
+
+        double cityValue = score(slot, gp, 5, vpScore[slot]);
+        double settlementValue = score(slot, gp, 4, vpScore[slot]);
+        double roadValue = score(slot, gp, 2, roadScore[slot]);
+        double max = Double.NEGATIVE_INFINITY;
+        if (nc > 0) max = Math.max(max, cityValue);
+        if (ns > 0) max = Math.max(max, settlementValue);
+        if (nr > 0) max = Math.max(max, roadValue);
+
+        // Ties are broken over the concatenated list: cities, then settlements, then roads
+        int bc = nc > 0 && cityValue == max ? nc : 0;
+        int bs = ns > 0 && settlementValue == max ? ns : 0;
+        int br = nr > 0 && roadValue == max ? nr : 0;
+        int pick = pickRandom(slot, p, bc + bs + br);
+        if (pick < bc) return CITY | cityCandidates[pick];
+        pick -= bc;
+        if (pick < bs) return SETTLEMENT | settlementCandidates[pick];
+        return ROAD | roadCandidates[pick - bs];
+    }
+
+    /** ValueEvaluator.score: the low-hand score applies if the build leaves too few cards. */
+    private double score(int slot, int gp, int cardsSpent, double value) {
+        return handTotal[gp] - cardsSpent < lowThreshold[slot] ? lowScore[slot] : value;
+    }
+
+    private int pickRandom(int slot, int p, int size) {
+        return SeededRandom.nextInt(rng, slot * streams + RNG_PLAYER + p, size);
+    }
+
+    private int affordableMask(int gp) {
+        int h = gp * R;
+        int wood = hand[h + WOOD];
+        int brick = hand[h + BRICK];
+        int mask = 0;
+        if (wood >= 1 && brick >= 1) {
+            mask |= ROAD_BIT;
+            if (hand[h + WHEAT] >= 1 && hand[h + SHEEP] >= 1) mask |= SETTLEMENT_BIT;
+        }
+        if (hand[h + WHEAT] >= 2 && hand[h + ORE] >= 3) mask |= CITY_BIT;
+        return mask;
+    }
+
+    /** Own settlements in build order. */
+    private int candidateCities(int slot, int p, int affordable) {
+        if ((affordable & CITY_BIT) == 0) return 0;
+        int gp = slot * players + p;
+        int n = 0;
+        for (int i = 0; i < buildingCount[gp]; i++) {
+            int v = buildings[gp * V + i];
+            if (vertexKind[slot * V + v] == HAS_SETTLEMENT) cityCandidates[n++] = v;
+        }
+        return n;
+    }
+
+    /** Empty vertices with empty neighbours touching one of the player's roads, by vertex id. */
+    private int candidateSettlements(int slot, int p, int affordable) {
+        if ((affordable & SETTLEMENT_BIT) == 0) return 0;
+        long occ = occupied[slot];
+        long open = roadTouch[slot * players + p] & ~occ;
+        int n = 0;
+        while (open != 0) {
+            int v = Long.numberOfTrailingZeros(open);
+            open &= open - 1;
+            if ((NEIGHBOR_MASK[v] & occ) == 0) settlementCandidates[n++] = v;
+        }
+        return n;
+    }
+
+    /** Free edges connected to the player, in both directions, in enumeration order. */
+    private int candidateRoads(int slot, int p, int affordable) {
+        if ((affordable & ROAD_BIT) == 0) return 0;
+        int e0 = slot * E;
+        int n = 0;
+        for (int d = 0; d < DIR_EDGE.length; d++) {
+            if (edgeOwner[e0 + DIR_EDGE[d]] < 0
+                    && (connected(slot, p, DIR_FROM[d]) || connected(slot, p, DIR_TO[d]))) {
+                roadCandidates[n++] = d;
+            }
+        }
+        return n;
+    }
+
+    /** RuleValidator.isConnectedForRoad */
+    private boolean connected(int slot, int p, int v) {
+        int owner = vertexOwner[slot * V + v];
+        if (owner == p) return true;
+        if (owner >= 0) return false;
+        return (roadTouch[slot * players + p] & (1L << v)) != 0;
+    }
+
+    // ------------------------------------------------------------------------------
+    // Build actions
+    // ------------------------------------------------------------------------------
+
+    private void apply(int slot, int p, int action) {
+        int gp = slot * players + p;
+        int arg = action & ARG;
+        switch (action & ~ARG) {
+            case CITY:
+                spend(gp, WHEAT, 2);
+                spend(gp, ORE, 3);
+                upgradeToCity(slot, p, arg);
+                break;
+            case SETTLEMENT:
+                spend(gp, WOOD, 1);
+                spend(gp, BRICK, 1);
+                spend(gp, WHEAT, 1);
+                spend(gp, SHEEP, 1);
+                placeSettlement(slot, p, arg);
+                break;
+            default:
+                spend(gp, WOOD, 1);
+                spend(gp, BRICK, 1);
+                placeRoad(slot, p, arg);
+                break;
+        }
+    }
+
+    private void spend(int gp, int res, int amount) {
+        hand[gp * R + res] -= amount;
+        handTotal[gp] -= amount;
+    }
+
+    private void placeSettlement(int slot, int p, int v) {
+        int gp = slot * players + p;
+        vertexOwner[slot * V + v] = (byte) p;
+        vertexKind[slot * V + v] = HAS_SETTLEMENT;
+        occupied[slot] |= 1L << v;
+        addBuildingIncome(slot, p, v);
+        buildings[gp * V + buildingCount[gp]++] = (byte) v;
+        vp[gp]++;
+    }
+
+    /** The settlement leaves the build list and the city is appended, as in BuildCityAction. */
+    private void upgradeToCity(int slot, int p, int v) {
+        int gp = slot * players + p;
+        vertexKind[slot * V + v] = HAS_CITY;
+        addBuildingIncome(slot, p, v);
+        int base = gp * V;
+        int count = buildingCount[gp];
+        int i = 0;
+        while (buildings[base + i] != v) i++;
+        System.arraycopy(buildings, base + i + 1, buildings, base + i, count - i - 1);
+        buildings[base + count - 1] = (byte) v;
+        vp[gp]++;
+    }
+
+    private void placeRoad(int slot, int p, int directed) {
+        int gp = slot * players + p;
+        int e = DIR_EDGE[directed];
+        edgeOwner[slot * E + e] = (byte) p;
+        long[] near = NEAR_EDGES[e];
+        if ((roadEdges[gp * 2] & near[0]) != 0 || (roadEdges[gp * 2 + 1] & near[1]) != 0) {
+            gap[gp] = true;
+        }
+        roadEdges[gp * 2 + (e >> 6)] |= 1L << e;
+        roadTouch[gp] |= (1L << EDGE_A[e]) | (1L << EDGE_B[e]);
+        roadCount[gp]++;
+    }
+
+    // ------------------------------------------------------------------------------
+    // Results
+    // ------------------------------------------------------------------------------
+
+    /** @return the first player (by seat) with enough points, as a player ID, or 0 */
+    private int winner(int slot) {
+        int g0 = slot * players;
+        for (int p = 0; p < players; p++) {
+            if (vp[g0 + p] >= VICTORY_POINTS) return p + 1;
+        }
+        return 0;
+    }
+
+    private SimResult result(int slot, int winnerId) {
+        int g0 = slot * players;
+        return new SimResult(spec[slot], winnerId, round[slot],
+                Arrays.copyOfRange(vp, g0, g0 + players),
+                Arrays.copyOfRange(handTotal, g0, g0 + players));
+    }
+
+    public int getCapacity() { return capacity; }
+    public int getPlayerCount() { return players; }
+}
@@ -0,0 +1,285 @@
+package classes.sim;
+
+import classes.Demonstrator;
+import classes.controller.GameMaster;
+import classes.model.Player;
+import classes.model.Vertex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranked setup placements, keyed by (board layout, seat, settlements already placed).
+ *
+ * A book is built offline by OpeningBookBuilder and stored as a sorted array of
+ * fixed-size entries. Opening a book maps the file without reading it; lookups
+ * binary-search the mapping, so only the pages of boards actually played are ever
+ * loaded. An LRU cache of recent lookups (hits and misses) sits in front.
+ *
+ * As a Demonstrator.SetupAdvisor, the book answers each AI setup placement with its
+ * best-ranked entry; positions it has no entry for fall back to the default placement.
+ *
+ * File layout: magic, version, entry count, then entries sorted by key:
+ *   layout hash (long), settlements placed (vertex mask), the seat's own (vertex mask),
+ *   seat (byte), pick count (byte), MAX_PICKS x {vertex, road end, score * 10000 (short)}
+ */
+public class OpeningBook implements Demonstrator.SetupAdvisor {
+    /** System property naming a book file for BatchRunner's corpus mode. */
+    public static final String PROPERTY = "catan.book";
+    /** Placements kept per position. */
+    public static final int MAX_PICKS = 4;
+    /** Default number of lookups kept in the LRU cache. */
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private static final int MAGIC = 0x424F4F4B; // "BOOK"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int ENTRY_BYTES = 8 + 8 + 8 + 1 + 1 + MAX_PICKS * 4;
+    private static final double SCORE_SCALE = 10000.0;
+
+    private final ByteBuffer entries;
+    private final int count;
+    private final Map<Key, List<Pick>> cache;
+
+    private OpeningBook(ByteBuffer data, int cacheSize) throws IOException {
+        if (data.limit() < HEADER_BYTES || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IOException("Not an opening book");
+        }
+        this.count = data.getInt(8);
+        if (data.limit() < HEADER_BYTES + (long) count * ENTRY_BYTES) {
+            throw new IOException("Truncated opening book");
+        }
+        this.entries = data;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<Pick>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Maps a book file (nothing is read until the first lookup).
+     *
+     * @param file      A file written by write()
+     * @param cacheSize Lookups kept in the LRU cache
+     */
+    public static OpeningBook open(Path file, int cacheSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), cacheSize);
+        }
+    }
+
+    public static OpeningBook open(Path file) throws IOException {
+        return open(file, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @return an in-memory book of the given entries (same layout as a file)
+     */
+    public static OpeningBook of(List<Entry> entries) {
+        try {
+            return new OpeningBook(encode(entries), DEFAULT_CACHE_SIZE);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes entries to a book file, replacing it.
+     */
+    public static void write(Path file, List<Entry> entries) throws IOException {
+        ByteBuffer data = encode(entries);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+    }
+
+    /**
+     * Merges entries into an existing book file (entries for the same key are replaced).
+     */
+    public static void merge(Path file, List<Entry> entries) throws IOException {
+        Map<Key, Entry> all = new LinkedHashMap<>();
+        if (Files.exists(file)) {
+            for (Entry e : open(file).entries()) all.put(e.key, e);
+        }
+        for (Entry e : entries) all.put(e.key, e);
+        write(file, new ArrayList<>(all.values()));
+    }
+
+    private static ByteBuffer encode(List<Entry> list) {
+        List<Entry> sorted = new ArrayList<>(list);
+        sorted.sort(Comparator.comparing(e -> e.key));
+        ByteBuffer data = ByteBuffer.allocate(HEADER_BYTES + sorted.size() * ENTRY_BYTES);
+        data.putInt(MAGIC).putInt(VERSION).putInt(sorted.size());
+        for (Entry e : sorted) {
+            data.putLong(e.key.layoutHash).putLong(e.key.placed).putLong(e.key.own);
+            data.put((byte) e.key.seat).put((byte) e.picks.size());
+            for (int i = 0; i < MAX_PICKS; i++) {
+                Pick p = i < e.picks.size() ? e.picks.get(i) : new Pick(0, 0, 0);
+                data.put((byte) p.vertex).put((byte) p.roadEnd).putShort((short) Math.round(p.score * SCORE_SCALE));
+            }
+        }
+        data.flip();
+        return data;
+    }
+
+    /** @return the number of positions in the book */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return the ranked placements for a position, best first (empty if the book has none)
+     */
+    public List<Pick> lookup(long layoutHash, int seat, long placed, long own) {
+        Key key = new Key(layoutHash, seat, placed, own);
+        synchronized (cache) {
+            List<Pick> cached = cache.get(key);
+            if (cached != null) return cached;
+        }
+        List<Pick> picks = search(key);
+        synchronized (cache) {
+            cache.put(key, picks);
+        }
+        return picks;
+    }
+
+    @Override
+    public int[] advise(GameMaster game, Player player, int round) {
+        long placed = 0;
+        long own = 0;
+        for (Vertex v : game.getBoard().getVertices()) {
+            if (v.isOccupied()) {
+                placed |= 1L << v.getId();
+                if (v.getOwner() == player) own |= 1L << v.getId();
+            }
+        }
+        List<Pick> picks = lookup(game.getLayout().contentHash(), game.getPlayers().indexOf(player), placed, own);
+        return picks.isEmpty() ? null : new int[]{picks.get(0).vertex, picks.get(0).roadEnd};
+    }
+
+    private List<Pick> search(Key key) {
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = keyAt(mid).compareTo(key);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return picksAt(mid);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private Key keyAt(int i) {
+        int at = HEADER_BYTES + i * ENTRY_BYTES;
+        return new Key(entries.getLong(at), entries.get(at + 24), entries.getLong(at + 8), entries.getLong(at + 16));
+    }
+
+    private List<Pick> picksAt(int i) {
+        int at = HEADER_BYTES + i * ENTRY_BYTES;
+        int n = entries.get(at + 25);
+        List<Pick> picks = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            int p = at + 26 + k * 4;
+            picks.add(new Pick(entries.get(p), entries.get(p + 1), entries.getShort(p + 2) / SCORE_SCALE));
+        }
+        return Collections.unmodifiableList(picks);
+    }
+
+    /** @return every entry, in key order */
+    public List<Entry> entries() {
+        List<Entry> all = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) all.add(new Entry(keyAt(i), picksAt(i)));
+        return all;
+    }
+
+    /** A position: which board, whose turn, and the settlements already on it. */
+    public static final class Key implements Comparable<Key> {
+        final long layoutHash;
+        final int seat;
+        final long placed;
+        final long own;
+
+        /**
+         * @param layoutHash BoardLayout.contentHash() of the board
+         * @param seat       Index of the placing player in the game's player list
+         * @param placed     Vertex mask of every settlement on the board
+         * @param own        Vertex mask of the placing player's settlements
+         */
+        public Key(long layoutHash, int seat, long placed, long own) {
+            this.layoutHash = layoutHash;
+            this.seat = seat;
+            this.placed = placed;
+            this.own = own;
+        }
+
+        @Override
+        public int compareTo(Key o) {
+            int c = Long.compare(layoutHash, o.layoutHash);
+            if (c == 0) c = Integer.compare(seat, o.seat);
+            if (c == 0) c = Long.compare(placed, o.placed);
+            if (c == 0) c = Long.compare(own, o.own);
+            return c;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && compareTo((Key) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(layoutHash * 31 + placed) * 31 + Long.hashCode(own) + seat;
+        }
+    }
+
+    /** One ranked placement: settlement vertex, road end, and its rollout score in [0, 1]. */
+    public static final class Pick {
+        final int vertex;
+        final int roadEnd;
+        final double score;
+
+        public Pick(int vertex, int roadEnd, double score) {
+            this.vertex = vertex;
+            this.roadEnd = roadEnd;
+            this.score = score;
+        }
+
+        public int getVertex() { return vertex; }
+        public int getRoadEnd() { return roadEnd; }
+        public double getScore() { return score; }
+    }
+
+    /** A position and its placements, best first (at most MAX_PICKS are stored). */
+    public static final class Entry {
+        final Key key;
+        final List<Pick> picks;
+
+        public Entry(Key key, List<Pick> picks) {
+            this.key = key;
+            this.picks = picks.size() > MAX_PICKS ? picks.subList(0, MAX_PICKS) : picks;
+        }
+
+        public Key getKey() { return key; }
+        public List<Pick> getPicks() { return picks; }
+    }
+}
@@ -0,0 +1,185 @@
+package classes.sim;
+
+import classes.Demonstrator;
+import classes.controller.GameMaster;
+import classes.controller.GameSpec;
+import classes.model.Board;
+import classes.model.BoardLayout;
+import classes.model.Player;
+import classes.model.ProductionIndex;
+import classes.model.Vertex;
+import classes.moves.ValueWeights;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * Builds OpeningBook entries for a board by rollouts.
+ *
+ * Setup is walked along its principal variation: at each of the 2 x seats placements
+ * the most productive legal vertices are tried, each in the same set of seeded
+ * all-AI games (placements before it fixed to the book's choices, placements after
+ * it left to the default setup). A candidate scores 1 for a win and VP / 20 otherwise,
+ * averaged over the rollouts; the best candidate becomes the book's choice and the walk
+ * continues from it. All rollouts of one placement run in parallel.
+ */
+public class OpeningBookBuilder {
+    private static final Logger LOGGER = Logger.getLogger(OpeningBookBuilder.class.getName());
+    private static final int WIN_VP = 10;
+
+    private final int candidates;
+    private final int rollouts;
+    private final int maxRounds;
+    private final int threads;
+    private final long seed;
+
+    /**
+     * @param candidates Vertices tried per placement (the most productive legal ones)
+     * @param rollouts   Games played per candidate
+     * @param maxRounds  Round limit of each rollout
+     * @param threads    Worker threads
+     * @param seed       Base seed of the rollouts (the same games are played for every candidate)
+     */
+    public OpeningBookBuilder(int candidates, int rollouts, int maxRounds, int threads, long seed) {
+        this.candidates = Math.min(candidates, OpeningBook.MAX_PICKS);
+        this.rollouts = rollouts;
+        this.maxRounds = maxRounds;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * @param layout The board to build for
+     * @param seats  Number of (AI) players
+     * @return one entry per setup placement along the principal variation
+     */
+    public List<OpeningBook.Entry> build(BoardLayout layout, int seats) throws InterruptedException {
+        long hash = layout.contentHash();
+        List<int[]> line = new ArrayList<>();
+        List<OpeningBook.Entry> entries = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int decision = 0; decision < 2 * seats; decision++) {
+                int seat = decision % seats;
+                Probe probe = new Probe(line, decision);
+                play(layout, seats, seed, probe);
+
+                List<Future<Double>> scores = new ArrayList<>();
+                for (int[] pick : probe.candidates) {
+                    List<int[]> forced = new ArrayList<>(line);
+                    forced.add(pick);
+                    for (int r = 0; r < rollouts; r++) {
+                        long gameSeed = seed + r;
+                        scores.add(pool.submit(() -> score(play(layout, seats, gameSeed, new Replay(forced)), seat)));
+                    }
+                }
+
+                List<OpeningBook.Pick> picks = new ArrayList<>();
+                for (int c = 0; c < probe.candidates.size(); c++) {
+                    double sum = 0;
+                    for (int r = 0; r < rollouts; r++) {
+                        sum += scores.get(c * rollouts + r).get();
+                    }
+                    int[] pick = probe.candidates.get(c);
+                    picks.add(new OpeningBook.Pick(pick[0], pick[1], sum / rollouts));
+                }
+                picks.sort(Comparator.comparingDouble(OpeningBook.Pick::getScore).reversed());
+                entries.add(new OpeningBook.Entry(new OpeningBook.Key(hash, seat, probe.placed, probe.own), picks));
+                line.add(new int[]{picks.get(0).getVertex(), picks.get(0).getRoadEnd()});
+
+                int placement = decision;
+                LOGGER.fine(() -> String.format("Book %s placement %d: vertex %d (%.3f)",
+                        layout.getName(), placement, picks.get(0).getVertex(), picks.get(0).getScore()));
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Book rollout failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return entries;
+    }
+
+    private GameMaster play(BoardLayout layout, int seats, long gameSeed, Demonstrator.SetupAdvisor advisor) {
+        GameMaster game = new GameMaster(new GameSpec(0, gameSeed, "default", ValueWeights.defaults(),
+                layout, maxRounds, seats));
+        game.setStatePath(null);
+        Demonstrator.performSetupPhase(game, advisor);
+        if (!(advisor instanceof Probe)) {
+            game.startSimulation();
+        }
+        return game;
+    }
+
+    private static double score(GameMaster game, int seat) {
+        Player player = game.getPlayers().get(seat);
+        if (game.getWinner() == player) {
+            return 1.0;
+        }
+        return 0.5 * Math.min(player.getVictoryPoints(), WIN_VP) / WIN_VP;
+    }
+
+    /** Replays a fixed line of placements, then defers to the default setup. */
+    private static class Replay implements Demonstrator.SetupAdvisor {
+        private final List<int[]> line;
+        private int next;
+
+        Replay(List<int[]> line) {
+            this.line = line;
+        }
+
+        @Override
+        public int[] advise(GameMaster game, Player player, int round) {
+            return next < line.size() ? line.get(next++) : null;
+        }
+    }
+
+    /** Replays a line, then records the position and candidate placements at the next decision. */
+    private class Probe extends Replay {
+        private final int decision;
+        private final List<int[]> candidates = new ArrayList<>();
+        private long placed;
+        private long own;
+        private int calls;
+
+        Probe(List<int[]> line, int decision) {
+            super(line);
+            this.decision = decision;
+        }
+
+        @Override
+        public int[] advise(GameMaster game, Player player, int round) {
+            if (calls++ == decision) {
+                inspect(game.getBoard(), player);
+            }
+            return super.advise(game, player, round);
+        }
+
+        private void inspect(Board board, Player player) {
+            ProductionIndex index = board.getProductionIndex();
+            List<Vertex> legal = new ArrayList<>();
+            for (Vertex v : board.getVertices()) {
+                if (v.isOccupied()) {
+                    placed |= 1L << v.getId();
+                    if (v.getOwner() == player) own |= 1L << v.getId();
+                } else if (v.getAdjacentVertices().stream().noneMatch(Vertex::isOccupied)) {
+                    legal.add(v);
+                }
+            }
+            legal.sort(Comparator.comparingInt((Vertex v) -> index.getTotalPips(v.getId())).reversed()
+                    .thenComparingInt(Vertex::getId));
+            for (Vertex v : legal.subList(0, Math.min(OpeningBookBuilder.this.candidates, legal.size()))) {
+                Vertex road = v.getAdjacentVertices().stream()
+                        .max(Comparator.comparingInt((Vertex n) -> index.getTotalPips(n.getId()))
+                                .thenComparingInt(n -> -n.getId()))
+                        .orElseThrow();
+                candidates.add(new int[]{v.getId(), road.getId()});
+            }
+        }
+    }
+}
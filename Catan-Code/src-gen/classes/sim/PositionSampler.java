@@ -0,0 +1,64 @@
+package classes.sim;
+
+import classes.controller.GameEvent;
+import classes.controller.GameEventListener;
+import classes.controller.GameMaster;
+import classes.enums.GameEventType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumSet;
+
+/**
+ * Feeds a PositionStore from a running game: on every `every`-th event of the chosen
+ * types (e.g. TURN_START, or BUILD_CITY), the game's position is appended.
+ */
+public class PositionSampler implements GameEventListener {
+    private final GameMaster game;
+    private final PositionStore store;
+    private final EnumSet<GameEventType> points;
+    private final int every;
+    private int seen;
+    private int sampled;
+
+    /**
+     * @param game   The game to sample
+     * @param store  Where positions are appended
+     * @param points Event types that are sampling points
+     * @param every  Keep one sampling point in this many (1 keeps all)
+     */
+    public PositionSampler(GameMaster game, PositionStore store, EnumSet<GameEventType> points, int every) {
+        if (every < 1) throw new IllegalArgumentException("every must be >= 1");
+        this.game = game;
+        this.store = store;
+        this.points = EnumSet.copyOf(points);
+        this.every = every;
+    }
+
+    /**
+     * Creates a sampler and subscribes it to the game's events.
+     *
+     * @return The subscribed sampler
+     */
+    public static PositionSampler attach(GameMaster game, PositionStore store, EnumSet<GameEventType> points, int every) {
+        PositionSampler sampler = new PositionSampler(game, store, points, every);
+        game.getEvents().subscribe(sampler);
+        return sampler;
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        if (!points.contains(event.getType()) || seen++ % every != 0) {
+            return;
+        }
+        try {
+            store.append(game);
+            sampled++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** @return positions appended so far */
+    public int getSampled() { return sampled; }
+}
@@ -0,0 +1,367 @@
+package classes.sim;
+
+import classes.controller.GameMaster;
+import classes.model.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Append-only file of fixed-size game positions, memory-mapped in segments.
+ *
+ * Each record is a packed snapshot of one position: who owns every vertex and edge,
+ * the robber, each seat's cards and VP, and the round. Records are read by index
+ * straight from the mapping into a reusable Position, which answers queries from the
+ * packed bytes; a Board is only built when Position.toBoard() is called.
+ *
+ * The file starts with one header record (magic, version, record count). The count is
+ * written after each append, so records beyond it (from a crash mid-append) are
+ * ignored on reopen. Appends may come from many games at once; reads and scans may run
+ * alongside them and see every record appended before they started.
+ *
+ * Record layout (RECORD_BYTES = 128):
+ *   0   round (int)          4  robber tile     5  seats     6  turns taken this round
+ *   8   game seed (long)
+ *   16  vertices, one nibble each: seat + 1 in the low 3 bits, 8 for a city (27 bytes)
+ *   43  edges, one nibble each: seat + 1 (36 bytes)
+ *   80  cards, 5 per seat in ResourceType order, capped at 255 (20 bytes)
+ *   100 VP per seat      104 player id per seat      108-127 unused
+ */
+public final class PositionStore implements Closeable {
+    public static final int RECORD_BYTES = 128;
+    /** Most seats a record can hold. */
+    public static final int MAX_SEATS = 4;
+    /** Records per mapped segment (1 MiB). */
+    public static final int SEGMENT_RECORDS = 8192;
+
+    private static final int MAGIC = 0x504F5331; // "POS1"
+    private static final int VERSION = 1;
+    private static final long SEGMENT_BYTES = (long) SEGMENT_RECORDS * RECORD_BYTES;
+
+    private static final int ROUND = 0;
+    private static final int ROBBER = 4;
+    private static final int SEATS = 5;
+    private static final int TURNS = 6;
+    private static final int SEED = 8;
+    /** Byte offset of the game seed within a record. */
+    public static final int SEED_OFFSET = SEED;
+    private static final int VERTICES = 16;
+    private static final int EDGES = 43;
+    private static final int CARDS = 80;
+    private static final int VP = 100;
+    private static final int IDS = 104;
+    private static final int CITY_FLAG = 8;
+
+    private static final int V;
+    private static final int E;
+    /** Edge numbering of BoardTopology, the same as LockstepEngine's. */
+    private static final BoardTopology TOPOLOGY = BoardTopology.STANDARD;
+
+    static {
+        V = TOPOLOGY.getVertexCount();
+        E = TOPOLOGY.getEdgeCount();
+        if ((V + 1) / 2 > EDGES - VERTICES || (E + 1) / 2 > CARDS - EDGES) {
+            throw new IllegalStateException("Board does not fit the position record");
+        }
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private volatile MappedByteBuffer[] segments;
+    private volatile long count;
+
+    private PositionStore(FileChannel channel, MappedByteBuffer header, long count) throws IOException {
+        this.channel = channel;
+        this.header = header;
+        this.count = count;
+        int mapped = (int) ((count + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS);
+        MappedByteBuffer[] initial = new MappedByteBuffer[mapped];
+        for (int s = 0; s < mapped; s++) initial[s] = mapSegment(s);
+        this.segments = initial;
+    }
+
+    /**
+     * Opens a store, creating the file if needed.
+     *
+     * @param file The store file
+     * @return The store, positioned to append after its last record
+     * @throws IOException if the file exists but is not a position store
+     */
+    public static PositionStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean fresh = channel.size() == 0;
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, RECORD_BYTES);
+        if (fresh) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putLong(8, 0);
+        } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException(file + " is not a position store");
+        }
+        return new PositionStore(channel, header, header.getLong(8));
+    }
+
+    private MappedByteBuffer mapSegment(int s) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, RECORD_BYTES + s * SEGMENT_BYTES, SEGMENT_BYTES);
+    }
+
+    // ------------------------------------------------------------------------------
+    // Writing
+    // ------------------------------------------------------------------------------
+
+    /**
+     * Appends the game's current position.
+     *
+     * @param game The game to snapshot
+     * @return The new record's index
+     * @throws IllegalArgumentException if the game has more than MAX_SEATS players
+     */
+    public long append(GameMaster game) throws IOException {
+        return append(record(game));
+    }
+
+    /**
+     * @return the game's current position in the store's record layout
+     * @throws IllegalArgumentException if the game has more than MAX_SEATS players
+     */
+    public static byte[] record(GameMaster game) {
+        byte[] record = new byte[RECORD_BYTES];
+        pack(game, record);
+        return record;
+    }
+
+    /**
+     * Appends a record already in the store's layout (e.g. copied from another store).
+     */
+    public synchronized long append(byte[] record) throws IOException {
+        long index = count;
+        int s = (int) (index / SEGMENT_RECORDS);
+        MappedByteBuffer[] current = segments;
+        if (s == current.length) {
+            current = Arrays.copyOf(current, s + 1);
+            current[s] = mapSegment(s);
+            segments = current;
+        }
+        current[s].put((int) (index % SEGMENT_RECORDS) * RECORD_BYTES, record, 0, RECORD_BYTES);
+        count = index + 1;
+        header.putLong(8, count);
+        return index;
+    }
+
+    private static void pack(GameMaster game, byte[] r) {
+        List<Player> players = game.getPlayers();
+        if (players.size() > MAX_SEATS) {
+            throw new IllegalArgumentException("A position record holds at most " + MAX_SEATS + " seats");
+        }
+        putInt(r, ROUND, game.getCurrentRound());
+        Tile robber = game.getBoard().getRobber().getCurrentTile();
+        r[ROBBER] = (byte) robber.getId();
+        r[SEATS] = (byte) players.size();
+        r[TURNS] = (byte) game.getTurnsTaken();
+        putLong(r, SEED, game.getSeed());
+
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player p = players.get(seat);
+            for (Buildings b : p.getBuildingsBuilt()) {
+                putNibble(r, VERTICES, b.getLocation().getId(), (seat + 1) | (b instanceof City ? CITY_FLAG : 0));
+            }
+            for (Road road : p.getRoadsBuilt()) {
+                putNibble(r, EDGES, TOPOLOGY.edgeId(road.getStart().getId(), road.getEnd().getId()), seat + 1);
+            }
+            int[] hand = p.getHand().toArray();
+            for (int i = 0; i < hand.length; i++) {
+                r[CARDS + seat * ResourceHand.RESOURCE_COUNT + i] = (byte) Math.min(hand[i], 255);
+            }
+            r[VP + seat] = (byte) p.getVictoryPoints();
+            r[IDS + seat] = (byte) p.getId();
+        }
+    }
+
+    // ------------------------------------------------------------------------------
+    // Reading
+    // ------------------------------------------------------------------------------
+
+    /** @return the number of records */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Reads a record into a reusable view.
+     *
+     * @param index Record index, below size()
+     * @param into  The view to fill
+     * @return into
+     */
+    public Position read(long index, Position into) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + count);
+        }
+        MappedByteBuffer segment = segments[(int) (index / SEGMENT_RECORDS)];
+        segment.get((int) (index % SEGMENT_RECORDS) * RECORD_BYTES, into.record, 0, RECORD_BYTES);
+        into.index = index;
+        return into;
+    }
+
+    /** @return a new view of one record */
+    public Position get(long index) {
+        return read(index, new Position());
+    }
+
+    /**
+     * Visits every record, one task per mapped segment on the common fork-join pool.
+     * Each task reuses one Position, so the visitor must copy anything it keeps.
+     *
+     * @param visitor Called once per record, from several threads
+     */
+    public void parallelScan(Visitor visitor) {
+        long end = count;
+        int segmentCount = (int) ((end + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS);
+        IntStream.range(0, segmentCount).parallel().forEach(s -> {
+            Position position = new Position();
+            long last = Math.min(end, (long) (s + 1) * SEGMENT_RECORDS);
+            for (long i = (long) s * SEGMENT_RECORDS; i < last; i++) {
+                visitor.visit(read(i, position));
+            }
+        });
+    }
+
+    /** Flushes the mapping to disk. */
+    public void force() {
+        header.force();
+        for (MappedByteBuffer segment : segments) segment.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /** Receives records from parallelScan(). */
+    public interface Visitor {
+        void visit(Position position);
+    }
+
+    // ------------------------------------------------------------------------------
+    // Position view
+    // ------------------------------------------------------------------------------
+
+    /**
+     * One record, decoded on demand. Seats are positions in the game's player list.
+     */
+    public static final class Position {
+        private final byte[] record = new byte[RECORD_BYTES];
+        private long index;
+
+        public long getIndex() { return index; }
+        public int getRound() { return getInt(record, ROUND); }
+        public int getRobberTile() { return record[ROBBER]; }
+        public int getSeatCount() { return record[SEATS]; }
+        public int getTurnsTaken() { return record[TURNS]; }
+        public long getSeed() { return getLong(record, SEED); }
+        public int getPlayerId(int seat) { return record[IDS + seat]; }
+        public int getVictoryPoints(int seat) { return record[VP + seat]; }
+
+        /** @return the card count of a resource (ResourceType ordinal), capped at 255 */
+        public int getCards(int seat, int resource) {
+            return record[CARDS + seat * ResourceHand.RESOURCE_COUNT + resource] & 0xFF;
+        }
+
+        public int getTotalCards(int seat) {
+            int total = 0;
+            for (int r = 0; r < ResourceHand.RESOURCE_COUNT; r++) total += getCards(seat, r);
+            return total;
+        }
+
+        /** @return the seat owning the vertex's building, or -1 if it is empty */
+        public int getVertexOwner(int vertex) {
+            return (getNibble(record, VERTICES, vertex) & 7) - 1;
+        }
+
+        public boolean isCity(int vertex) {
+            return (getNibble(record, VERTICES, vertex) & CITY_FLAG) != 0;
+        }
+
+        /** @return the seat owning the road between two adjacent vertices, or -1 if none */
+        public int getRoadOwner(int v1, int v2) {
+            int e = TOPOLOGY.edgeId(v1, v2);
+            return e < 0 ? -1 : getNibble(record, EDGES, e) - 1;
+        }
+
+        /** @return a copy of the packed record */
+        public byte[] toBytes() {
+            return record.clone();
+        }
+
+        /**
+         * Builds a live board holding this position's pieces and robber.
+         *
+         * @param layout The tile contents (records do not store them)
+         * @param seats  The owner of each seat's pieces
+         * @return A new board
+         */
+        public Board toBoard(BoardLayout layout, List<Player> seats) {
+            Board board = new Board();
+            board.initializeFromLayout(layout);
+            for (int v = 0; v < V; v++) {
+                int seat = getVertexOwner(v);
+                if (seat >= 0) {
+                    Player owner = seats.get(seat);
+                    board.placeBuilding(board.getVertex(v), isCity(v) ? new City(owner) : new Settlement(owner));
+                }
+            }
+            for (int e = 0; e < E; e++) {
+                int seat = getNibble(record, EDGES, e) - 1;
+                if (seat >= 0) {
+                    board.placeRoad(new Road(seats.get(seat), board.getVertex(TOPOLOGY.getEdgeStart(e)), board.getVertex(TOPOLOGY.getEdgeEnd(e))));
+                }
+            }
+            board.moveRobber(board.getTile(getRobberTile()));
+            return board;
+        }
+    }
+
+    // ------------------------------------------------------------------------------
+    // Packing helpers
+    // ------------------------------------------------------------------------------
+
+    private static void putNibble(byte[] r, int base, int i, int value) {
+        int at = base + (i >> 1);
+        int shift = (i & 1) * 4;
+        r[at] = (byte) ((r[at] & ~(0xF << shift)) | (value << shift));
+    }
+
+    private static int getNibble(byte[] r, int base, int i) {
+        return (r[base + (i >> 1)] >> ((i & 1) * 4)) & 0xF;
+    }
+
+    private static void putInt(byte[] r, int at, int value) {
+        for (int i = 0; i < 4; i++) r[at + i] = (byte) (value >>> (8 * i));
+    }
+
+    private static int getInt(byte[] r, int at) {
+        int value = 0;
+        for (int i = 3; i >= 0; i--) value = (value << 8) | (r[at + i] & 0xFF);
+        return value;
+    }
+
+    private static void putLong(byte[] r, int at, long value) {
+        for (int i = 0; i < 8; i++) r[at + i] = (byte) (value >>> (8 * i));
+    }
+
+    private static long getLong(byte[] r, int at) {
+        long value = 0;
+        for (int i = 7; i >= 0; i--) value = (value << 8) | (r[at + i] & 0xFF);
+        return value;
+    }
+}
@@ -0,0 +1,44 @@
+package classes.sim;
+
+import classes.model.Cost;
+
+import java.util.Arrays;
+
+/**
+ * Plain-loop HandKernels; the reference every other implementation must match.
+ */
+public class ScalarHandKernels implements HandKernels {
+    @Override
+    public void add(int[] target, int targetOffset, int[] source, int sourceOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            target[targetOffset + i] += source[sourceOffset + i];
+        }
+    }
+
+    @Override
+    public void maskAbove(int[] values, int length, int limit, long[] mask) {
+        Arrays.fill(mask, 0, (length + 63) >>> 6, 0L);
+        for (int i = 0; i < length; i++) {
+            if (values[i] > limit) {
+                mask[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    @Override
+    public void coverMask(int[] hands, int offset, int stride, int count, Cost cost, long[] mask) {
+        Arrays.fill(mask, 0, (count + 63) >>> 6, 0L);
+        for (int k = 0; k < count; k++) {
+            int h = offset + k * stride;
+            if (hands[h] >= cost.getWood() && hands[h + 1] >= cost.getBrick() && hands[h + 2] >= cost.getWheat()
+                    && hands[h + 3] >= cost.getSheep() && hands[h + 4] >= cost.getOre()) {
+                mask[k >>> 6] |= 1L << k;
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
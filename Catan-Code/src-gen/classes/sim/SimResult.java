@@ -0,0 +1,43 @@
+package classes.sim;
+
+import classes.controller.GameSpec;
+
+/**
+ * Outcome of one game played by the LockstepEngine.
+ */
+public final class SimResult {
+    private final GameSpec spec;
+    private final int winnerId;
+    private final int rounds;
+    private final int[] victoryPoints;
+    private final int[] cardsInHand;
+
+    /**
+     * @param spec          The game that was played
+     * @param winnerId      Winning player ID, or 0 if the round limit was hit
+     * @param rounds        Rounds played
+     * @param victoryPoints Final victory points, indexed by player ID - 1
+     * @param cardsInHand   Final hand sizes, indexed by player ID - 1
+     */
+    SimResult(GameSpec spec, int winnerId, int rounds, int[] victoryPoints, int[] cardsInHand) {
+        this.spec = spec;
+        this.winnerId = winnerId;
+        this.rounds = rounds;
+        this.victoryPoints = victoryPoints;
+        this.cardsInHand = cardsInHand;
+    }
+
+    public GameSpec getSpec() { return spec; }
+    public int getWinnerId() { return winnerId; }
+    public int getRounds() { return rounds; }
+    /** @return final victory points of the player with the given ID */
+    public int getVictoryPoints(int playerId) { return victoryPoints[playerId - 1]; }
+    /** @return final hand size of the player with the given ID */
+    public int getCardsInHand(int playerId) { return cardsInHand[playerId - 1]; }
+
+    @Override
+    public String toString() {
+        return String.format("SimResult[game=%d, seed=%d, winner=%d, rounds=%d]",
+                spec.getIndex(), spec.getSeed(), winnerId, rounds);
+    }
+}
@@ -0,0 +1,229 @@
+package classes.sim;
+
+import classes.controller.GameMaster;
+import classes.model.Player;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Estimates each player's chance of winning from a position by playing it out.
+ *
+ * The position is checkpointed once; every rollout restores its own copy with all
+ * seats played by AIPlayer, reseeds it (rollout i of a position always gets the same
+ * seed, so estimates are reproducible) and plays to the end. Rollouts run in batches
+ * on a fork-join pool; after each batch a 95% Wilson interval is computed per player,
+ * and sampling stops once every interval is within the target half-width or the
+ * rollout limit is reached. Games that hit the round limit count as a loss for all.
+ *
+ * Estimates are cached by a hash of the position (pieces, hands, VP, robber, round and
+ * layout; not the random streams), in an LRU of bounded size.
+ */
+public class WinProbabilityEstimator {
+    /** Default rollouts per position at most. */
+    public static final int DEFAULT_MAX_ROLLOUTS = 1024;
+    /** Default rollouts per batch (between two stopping checks). */
+    public static final int DEFAULT_BATCH = 64;
+    /** Default target half-width of every interval. */
+    public static final double DEFAULT_HALF_WIDTH = 0.05;
+    /** Default number of positions kept in the cache. */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private static final double Z = 1.96;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ForkJoinPool pool;
+    private final int maxRollouts;
+    private final int batch;
+    private final double halfWidth;
+    private final Map<Long, Estimate> cache;
+
+    public WinProbabilityEstimator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_MAX_ROLLOUTS, DEFAULT_BATCH, DEFAULT_HALF_WIDTH, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param pool        Where rollouts run
+     * @param maxRollouts Rollouts per position at most
+     * @param batch       Rollouts between two stopping checks
+     * @param halfWidth   Stop once every player's interval is at most this wide on each side
+     * @param cacheSize   Positions kept in the cache
+     */
+    public WinProbabilityEstimator(ForkJoinPool pool, int maxRollouts, int batch, double halfWidth, int cacheSize) {
+        if (batch < 1 || maxRollouts < batch) throw new IllegalArgumentException("need 1 <= batch <= maxRollouts");
+        this.pool = pool;
+        this.maxRollouts = maxRollouts;
+        this.batch = batch;
+        this.halfWidth = halfWidth;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Estimate> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Estimates a live game's position. The game must be between turns (see GameMaster.checkpoint).
+     */
+    public Estimate estimate(GameMaster game) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            game.checkpoint(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return estimate(out.toByteArray());
+    }
+
+    /**
+     * Estimates the position of a checkpoint written by GameMaster.checkpoint().
+     */
+    public Estimate estimate(byte[] checkpoint) {
+        GameMaster root = restore(checkpoint);
+        long key = positionHash(root);
+        synchronized (cache) {
+            Estimate cached = cache.get(key);
+            if (cached != null) return cached;
+        }
+
+        List<Player> players = root.getPlayers();
+        int seats = players.size();
+        int[] wins = new int[seats];
+        int played = 0;
+        while (played < maxRollouts) {
+            int from = played;
+            int to = Math.min(maxRollouts, played + batch);
+            int[] winners;
+            try {
+                winners = pool.submit(() -> IntStream.range(from, to).parallel()
+                        .map(i -> rollout(checkpoint, key, i)).toArray()).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while estimating", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Rollout failed", e.getCause());
+            }
+            for (int w : winners) {
+                if (w >= 0) wins[w]++;
+            }
+            played = to;
+            if (maxHalfWidth(wins, played) <= halfWidth) break;
+        }
+
+        int[] ids = players.stream().mapToInt(Player::getId).toArray();
+        Estimate estimate = new Estimate(ids, wins, played);
+        synchronized (cache) {
+            cache.put(key, estimate);
+        }
+        return estimate;
+    }
+
+    /** @return the winner's seat in one playout of the position, or -1 if nobody won */
+    private static int rollout(byte[] checkpoint, long positionHash, int index) {
+        GameMaster game = restore(checkpoint);
+        game.reseed(positionHash + index * 0x9E3779B97F4A7C15L);
+        game.startSimulation();
+        Player winner = game.getWinner();
+        return winner == null ? -1 : game.getPlayers().indexOf(winner);
+    }
+
+    private static GameMaster restore(byte[] checkpoint) {
+        try {
+            return GameMaster.restore(new ByteArrayInputStream(checkpoint), "AI");
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Not a game checkpoint", e);
+        }
+    }
+
+    /**
+     * @return a 64-bit FNV-1a hash of the position record (seed left out) and the game's
+     *         layout and round limit
+     */
+    static long positionHash(GameMaster game) {
+        byte[] record = PositionStore.record(game);
+        long h = FNV_OFFSET;
+        for (int i = 0; i < record.length; i++) {
+            if (i >= PositionStore.SEED_OFFSET && i < PositionStore.SEED_OFFSET + Long.BYTES) continue;
+            h = (h ^ (record[i] & 0xFF)) * FNV_PRIME;
+        }
+        h = (h ^ game.getLayout().contentHash()) * FNV_PRIME;
+        return (h ^ game.getMaxRounds()) * FNV_PRIME;
+    }
+
+    private static double maxHalfWidth(int[] wins, int n) {
+        double max = 0;
+        for (int w : wins) {
+            double[] ci = wilson(w, n);
+            max = Math.max(max, (ci[1] - ci[0]) / 2);
+        }
+        return max;
+    }
+
+    /** @return the 95% Wilson score interval {low, high} for w successes in n trials */
+    static double[] wilson(int w, int n) {
+        double p = (double) w / n;
+        double z2 = Z * Z;
+        double centre = (p + z2 / (2 * n)) / (1 + z2 / n);
+        double spread = Z * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / (1 + z2 / n);
+        return new double[]{Math.max(0, centre - spread), Math.min(1, centre + spread)};
+    }
+
+    /** @return positions currently cached */
+    public int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /** Per-player win rates of one position, in seat order. */
+    public static final class Estimate {
+        private final int[] playerIds;
+        private final int[] wins;
+        private final int rollouts;
+
+        Estimate(int[] playerIds, int[] wins, int rollouts) {
+            this.playerIds = playerIds;
+            this.wins = wins;
+            this.rollouts = rollouts;
+        }
+
+        public int getSeatCount() { return playerIds.length; }
+        public int getPlayerId(int seat) { return playerIds[seat]; }
+        public int getRollouts() { return rollouts; }
+        public int getWins(int seat) { return wins[seat]; }
+
+        /** @return the fraction of rollouts the seat won */
+        public double getWinProbability(int seat) {
+            return (double) wins[seat] / rollouts;
+        }
+
+        /** @return the lower end of the seat's 95% interval */
+        public double getLower(int seat) {
+            return wilson(wins[seat], rollouts)[0];
+        }
+
+        /** @return the upper end of the seat's 95% interval */
+        public double getUpper(int seat) {
+            return wilson(wins[seat], rollouts)[1];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("Estimate[" + rollouts + " rollouts");
+            for (int s = 0; s < playerIds.length; s++) {
+                sb.append(String.format(", P%d %.3f [%.3f, %.3f]", playerIds[s], getWinProbability(s), getLower(s), getUpper(s)));
+            }
+            return sb.append(']').toString();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package classes.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * Hands records to another handler on a background thread, so game threads do not
+ * wait on console or file output.
+ *
+ * Records are captured (GameLogContext.capture) on the logging thread and queued in a
+ * bounded queue; when it is full, the logging thread waits, so nothing is dropped.
+ * flush() returns once everything queued so far is written; close() drains the queue
+ * and closes the delegate.
+ */
+public class AsyncLogHandler extends Handler {
+    private final Handler delegate;
+    private final BlockingQueue<LogRecord> queue;
+    private final Thread writer;
+    private final Object lock = new Object();
+    private long queued;
+    private long written;
+    private volatile boolean closed;
+
+    /**
+     * @param delegate The handler that formats and writes the records
+     * @param capacity Records queued at most
+     */
+    public AsyncLogHandler(Handler delegate, int capacity) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drain, "catan-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void publish(LogRecord logRecord) {
+        if (closed || !isLoggable(logRecord)) return;
+        LogRecord captured = GameLogContext.capture(logRecord);
+        synchronized (lock) {
+            queued++;
+        }
+        try {
+            queue.put(captured);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            written(1);
+            reportError("Interrupted while queueing a log record", e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                LogRecord logRecord = queue.take();
+                try {
+                    delegate.publish(logRecord);
+                } catch (RuntimeException e) {
+                    reportError(null, e, ErrorManager.WRITE_FAILURE);
+                }
+                written(1);
+            }
+        } catch (InterruptedException e) {
+            // close() stops the writer once the queue is empty
+        }
+    }
+
+    private void written(long n) {
+        synchronized (lock) {
+            written += n;
+            if (written == queued) lock.notifyAll();
+        }
+    }
+
+    /** Waits until every record queued so far has been handed to the delegate, then flushes it. */
+    @Override
+    public void flush() {
+        synchronized (lock) {
+            while (written < queued) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        delegate.flush();
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        flush();
+        writer.interrupt();
+        delegate.close();
+    }
+}
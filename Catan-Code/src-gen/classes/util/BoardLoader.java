@@ -0,0 +1,281 @@
+package classes.util;
+
+import classes.enums.ResourceType;
+import classes.model.BoardLayout;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads board layouts from the visualizer's JSON map files (base_map.json format).
+ *
+ * The JSON is read with Jackson's streaming parser, tile by tile, without building
+ * a tree. Parsed layouts are cached in a compact binary file (40-odd bytes per board)
+ * keyed by the source file's size and modification time, so repeated runs over the
+ * same corpus skip JSON parsing entirely.
+ *
+ * Map format: {"tiles": [{"q":0,"s":0,"r":0,"resource":"WOOD","number":10}, ...]}
+ * where (q, s, r) are cube coordinates and a null resource marks the desert.
+ */
+public class BoardLoader {
+    private static final Logger LOGGER = Logger.getLogger(BoardLoader.class.getName());
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final int CACHE_MAGIC = 0x434C4159; // "CLAY"
+    private static final int CACHE_VERSION = 1;
+    private static final String CACHE_SUFFIX = ".layout";
+
+    /**
+     * Cube coordinates {q, s, r} of each tile, indexed by tile ID.
+     * Matches the tile order of base_map.json and the spiral numbering used by Board.
+     */
+    private static final int[][] TILE_COORDS = {
+        {0, 0, 0},
+        {0, -1, 1}, {-1, 0, 1}, {-1, 1, 0}, {0, 1, -1}, {1, 0, -1}, {1, -1, 0},
+        {0, -2, 2}, {-1, -1, 2}, {-2, 0, 2}, {-2, 1, 1}, {-2, 2, 0}, {-1, 2, -1},
+        {0, 2, -2}, {1, 1, -2}, {2, 0, -2}, {2, -1, -1}, {2, -2, 0}, {1, -2, 1}
+    };
+
+    private final Path cacheDir;
+
+    /**
+     * Constructs a loader that caches parsed layouts under the given directory.
+     *
+     * @param cacheDir Directory for binary layout caches, or null to disable caching
+     */
+    public BoardLoader(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Lists the map files of a visualizer corpus: base_map.json plus every
+     * *.json file in its scraped_boards directory. The shipped corpus is base_map.json
+     * alone; its scraped_boards only holds board0.png, a rendering of that map, until
+     * map files are added.
+     *
+     * @param corpusDir The visualize directory
+     * @return Map files in a stable (sorted) order
+     */
+    public static List<Path> findCorpusFiles(Path corpusDir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        Path baseMap = corpusDir.resolve("base_map.json");
+        if (Files.isRegularFile(baseMap)) {
+            files.add(baseMap);
+        }
+        Path scraped = corpusDir.resolve("scraped_boards");
+        if (Files.isDirectory(scraped)) {
+            List<Path> boards = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(scraped, "*.json")) {
+                stream.forEach(boards::add);
+            }
+            boards.sort(null);
+            files.addAll(boards);
+        }
+        return files;
+    }
+
+    /**
+     * Loads every board of a corpus, using the binary cache where it is fresh.
+     * Files that fail to parse are logged and skipped.
+     *
+     * @param corpusDir The visualize directory
+     * @return The loaded layouts
+     */
+    public List<BoardLayout> loadCorpus(Path corpusDir) throws IOException {
+        List<BoardLayout> layouts = new ArrayList<>();
+        for (Path file : findCorpusFiles(corpusDir)) {
+            try {
+                layouts.add(load(file));
+            } catch (IOException | IllegalArgumentException e) {
+                LOGGER.log(Level.WARNING, "Skipping unreadable board {0}: {1}", new Object[]{file, e.getMessage()});
+            }
+        }
+        return layouts;
+    }
+
+    /**
+     * Loads a single board, from the binary cache if it matches the file, otherwise
+     * by parsing the JSON (and refreshing the cache).
+     *
+     * @param mapFile Path to a base_map.json-style file
+     * @return The parsed layout
+     */
+    public BoardLayout load(Path mapFile) throws IOException {
+        long size = Files.size(mapFile);
+        long modified = Files.getLastModifiedTime(mapFile).toMillis();
+        String name = mapFile.getFileName().toString();
+
+        Path cacheFile = cacheDir == null ? null : cacheDir.resolve(name + CACHE_SUFFIX);
+        if (cacheFile != null && Files.isRegularFile(cacheFile)) {
+            BoardLayout cached = readCache(cacheFile, size, modified);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        BoardLayout layout;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(mapFile))) {
+            layout = parse(name, in);
+        }
+        if (cacheFile != null) {
+            writeCache(cacheFile, layout, size, modified);
+        }
+        return layout;
+    }
+
+    /**
+     * Stream-parses a map from JSON. Unknown fields are skipped.
+     *
+     * @param name Name to give the layout
+     * @param in   JSON input
+     * @return The parsed layout
+     */
+    public static BoardLayout parse(String name, InputStream in) throws IOException {
+        ResourceType[] resources = new ResourceType[BoardLayout.TILE_COUNT];
+        int[] tokens = new int[BoardLayout.TILE_COUNT];
+
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Board map must be a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("tiles".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readTile(parser, resources, tokens);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        for (int i = 0; i < BoardLayout.TILE_COUNT; i++) {
+            if (resources[i] == null) {
+                throw new IllegalArgumentException("Board map is missing tile " + i);
+            }
+        }
+        return new BoardLayout(name, resources, tokens);
+    }
+
+    /**
+     * Reads one tile object; the parser is positioned on its START_OBJECT.
+     *
+     * @throws IllegalArgumentException if the tile is off the board, was already read,
+     *         or is a resource tile without a number from 2 to 6 or 8 to 12
+     */
+    private static void readTile(JsonParser parser, ResourceType[] resources, int[] tokens) throws IOException {
+        int q = 0;
+        int s = 0;
+        int r = 0;
+        ResourceType resource = ResourceType.DESERT;
+        int number = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "q": q = parser.getIntValue(); break;
+                case "s": s = parser.getIntValue(); break;
+                case "r": r = parser.getIntValue(); break;
+                case "resource":
+                    resource = value == JsonToken.VALUE_NULL
+                            ? ResourceType.DESERT
+                            : ResourceType.valueOf(parser.getText().trim().toUpperCase());
+                    break;
+                case "number":
+                    number = value == JsonToken.VALUE_NULL ? 0 : parser.getIntValue();
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        int tileId = tileIdAt(q, s, r);
+        if (tileId < 0) {
+            throw new IllegalArgumentException(String.format("No tile at cube coordinate (%d, %d, %d)", q, s, r));
+        }
+        if (resources[tileId] != null) {
+            throw new IllegalArgumentException(String.format("Tile at (%d, %d, %d) is defined twice", q, s, r));
+        }
+        // Tokens are packed into four bits downstream (GameCheckpoint, the binary cache)
+        if (resource != ResourceType.DESERT && (number < 2 || number > 12 || number == 7)) {
+            throw new IllegalArgumentException(String.format(
+                    "Tile at (%d, %d, %d) needs a number from 2 to 6 or 8 to 12, not %d", q, s, r, number));
+        }
+        resources[tileId] = resource;
+        tokens[tileId] = resource == ResourceType.DESERT ? 0 : number;
+    }
+
+    private static int tileIdAt(int q, int s, int r) {
+        for (int id = 0; id < TILE_COORDS.length; id++) {
+            int[] c = TILE_COORDS[id];
+            if (c[0] == q && c[1] == s && c[2] == r) return id;
+        }
+        return -1;
+    }
+
+    // -------------------------------------------------------------------------
+    // Binary cache: magic, version, source size, source mtime, name,
+    // then one (resource ordinal, token) byte pair per tile.
+    // -------------------------------------------------------------------------
+
+    private static BoardLayout readCache(Path cacheFile, long size, long modified) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (in.readInt() != CACHE_MAGIC || in.readByte() != CACHE_VERSION
+                    || in.readLong() != size || in.readLong() != modified) {
+                return null;
+            }
+            String name = in.readUTF();
+            ResourceType[] all = ResourceType.values();
+            ResourceType[] resources = new ResourceType[BoardLayout.TILE_COUNT];
+            int[] tokens = new int[BoardLayout.TILE_COUNT];
+            for (int i = 0; i < BoardLayout.TILE_COUNT; i++) {
+                resources[i] = all[in.readUnsignedByte()];
+                tokens[i] = in.readUnsignedByte();
+            }
+            return new BoardLayout(name, resources, tokens);
+        } catch (IOException | RuntimeException e) {
+            // A stale or corrupt cache is not an error: fall back to the JSON
+            return null;
+        }
+    }
+
+    private static void writeCache(Path cacheFile, BoardLayout layout, long size, long modified) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tmp = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(CACHE_MAGIC);
+                out.writeByte(CACHE_VERSION);
+                out.writeLong(size);
+                out.writeLong(modified);
+                out.writeUTF(layout.getName());
+                for (int i = 0; i < BoardLayout.TILE_COUNT; i++) {
+                    out.writeByte(layout.getResource(i).ordinal());
+                    out.writeByte(layout.getToken(i));
+                }
+            }
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write layout cache {0}", cacheFile);
+        }
+    }
+}
@@ -10,10 +10,15 @@ import java.util.logging.Logger;
 /**
  * Reads configuration from a file.
  * R1.4: Configuration file format: turns: int [1-8192]
- * Player configuration: player: <id>, <type> (HUMAN or AI)
+ * Player configuration: player: <id>, <type> (HUMAN, AI, PRODUCTION, PLANNER or EXPECTIMAX)
+ *
+ * The turn cap belongs to interactive games; experiment files give uncapped round
+ * limits with their own rounds key (see ExperimentConfigReader).
  */
 public class ConfigReader {
     private static final Logger LOGGER = Logger.getLogger(ConfigReader.class.getName());
+    /** R1.4: the most turns a game may be configured for. */
+    static final int MAX_TURNS = 8192;
 
     private int maxTurns;
 
@@ -24,11 +29,19 @@ public class ConfigReader {
     private final List<String[]> playerConfigs = new ArrayList<>();
 
     public ConfigReader(String configFilePath) {
-        this.maxTurns = 100; // Default value
+        this();
         readConfig(configFilePath);
     }
 
-    private void readConfig(String configFilePath) {
+    /**
+     * Constructs a reader with default settings without reading a file.
+     * Subclasses call this, initialise their own state, then call readConfig().
+     */
+    protected ConfigReader() {
+        this.maxTurns = 100; // Default value
+    }
+
+    protected void readConfig(String configFilePath) {
         try (BufferedReader reader = new BufferedReader(new FileReader(configFilePath))) {
             String line;
             while ((line = reader.readLine()) != null) {
@@ -38,12 +51,7 @@ public class ConfigReader {
                 if (line.isEmpty() || line.startsWith("#")) {
                     continue;
                 }
-                if (line.startsWith("turns:")) {
-                    parseTurnsLine(line);
-                }
-                if (line.startsWith("player:")) {
-                    parsePlayerLine(line);
-                }
+                parseLine(line);
             }
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Could not read config file: {0}", configFilePath);
@@ -60,12 +68,31 @@ public class ConfigReader {
         }
     }
 
+    /**
+     * Handles one non-empty, non-comment line. Subclasses override this to
+     * accept extra keys and delegate the rest to super.
+     *
+     * @param line The trimmed line
+     * @return true if the line was recognised
+     */
+    protected boolean parseLine(String line) {
+        if (line.startsWith("turns:")) {
+            parseTurnsLine(line);
+            return true;
+        }
+        if (line.startsWith("player:")) {
+            parsePlayerLine(line);
+            return true;
+        }
+        return false;
+    }
+
     private void parseTurnsLine(String line) {
         String[] parts = line.split(":");
         if (parts.length == 2) {
             try {
                 int turns = Integer.parseInt(parts[1].trim());
-                maxTurns = Math.max(1, Math.min(turns, 32768));
+                maxTurns = Math.max(1, Math.min(turns, MAX_TURNS));
             } catch (NumberFormatException e) {
                 LOGGER.severe("Invalid turns value in config. Using default: 100");
             }
@@ -84,10 +111,11 @@ public class ConfigReader {
         if (parts.length == 2) {
             String id = parts[0].trim();
             String type = parts[1].trim().toUpperCase();
-            if (type.equals("HUMAN") || type.equals("AI")) {
+            if (type.equals("HUMAN") || type.equals("AI") || type.equals("PRODUCTION")
+                    || type.equals("PLANNER") || type.equals("EXPECTIMAX")) {
                 playerConfigs.add(new String[]{id, type});
             } else {
-                LOGGER.warning("Invalid player type: " + type + ". Must be HUMAN or AI. Defaulting to AI.");
+                LOGGER.warning("Invalid player type: " + type + ". Must be HUMAN, AI, PRODUCTION, PLANNER or EXPECTIMAX. Defaulting to AI.");
                 playerConfigs.add(new String[]{id, "AI"});
             }
         } else {
@@ -5,8 +5,9 @@ import java.util.Random;
  * Simulates rolling two six-sided dice.
  * 
  * Used by GameMaster to determine resource production each turn.
+ * The default DiceSource.
  */
-public class Dice {
+public class Dice implements DiceSource {
     private int die1;
     private int die2;
     private Random random;
@@ -15,7 +16,16 @@ public class Dice {
      * Constructs a new Dice object with a random number generator.
      */
     public Dice() {
-        this.random = new Random();
+        this(new Random());
+    }
+
+    /**
+     * Constructs a Dice object that draws from the given generator.
+     *
+     * @param random The random number generator (seeded for reproducible games)
+     */
+    public Dice(Random random) {
+        this.random = random;
         this.die1 = 1;
         this.die2 = 1;
     }
@@ -25,6 +35,7 @@ public class Dice {
      * 
      * @return The sum of two six-sided dice (2-12)
      */
+    @Override
     public int roll() {
         die1 = random.nextInt(6) + 1;
         die2 = random.nextInt(6) + 1;
@@ -36,14 +47,17 @@ public class Dice {
      * 
      * @return The last rolled sum
      */
+    @Override
     public int getLastRoll() {
         return die1 + die2;
     }
 
+    @Override
     public int getDie1() {
         return die1;
     }
 
+    @Override
     public int getDie2() {
         return die2;
     }
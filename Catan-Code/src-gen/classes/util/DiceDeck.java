@@ -0,0 +1,93 @@
+package classes.util;
+
+import java.util.Random;
+
+/**
+ * "Balanced dice": the 36 outcomes of two dice dealt from a shuffled deck.
+ *
+ * Over a full deck every sum comes up exactly as often as the odds say (six 7s, one
+ * 2, ...), so games differ less by luck and more by strategy. The deck is reshuffled
+ * from the random stream once only reshuffleAt cards are left; with 0 the whole deck
+ * is dealt, and a larger value keeps the last few rolls of a deck from being
+ * predictable.
+ *
+ * The deck's order is not part of a game checkpoint, so games rolling from a deck
+ * cannot be checkpointed.
+ */
+public class DiceDeck implements DiceSource {
+    /** Cards in a full deck: one per outcome of two dice. */
+    public static final int SIZE = 36;
+
+    private final Random random;
+    private final int reshuffleAt;
+    private final int[] cards = new int[SIZE];
+    private int dealt = SIZE;
+    private int die1 = 1;
+    private int die2 = 1;
+
+    /**
+     * Constructs a deck that is dealt to the last card before reshuffling.
+     *
+     * @param random The random number generator used for shuffling
+     */
+    public DiceDeck(Random random) {
+        this(random, 0);
+    }
+
+    /**
+     * @param random      The random number generator used for shuffling
+     * @param reshuffleAt Reshuffle once this many cards are left (0 to SIZE - 1)
+     */
+    public DiceDeck(Random random, int reshuffleAt) {
+        if (reshuffleAt < 0 || reshuffleAt >= SIZE) {
+            throw new IllegalArgumentException("reshuffleAt must be in [0, " + (SIZE - 1) + "]");
+        }
+        this.random = random;
+        this.reshuffleAt = reshuffleAt;
+        for (int i = 0; i < SIZE; i++) {
+            cards[i] = i;
+        }
+    }
+
+    @Override
+    public int roll() {
+        if (SIZE - dealt <= reshuffleAt) {
+            shuffle();
+        }
+        int card = cards[dealt++];
+        die1 = card / 6 + 1;
+        die2 = card % 6 + 1;
+        return die1 + die2;
+    }
+
+    /** Fisher-Yates over the whole deck, dealt cards included. */
+    private void shuffle() {
+        for (int i = SIZE - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = cards[i];
+            cards[i] = cards[j];
+            cards[j] = swap;
+        }
+        dealt = 0;
+    }
+
+    /** @return cards left before the next reshuffle */
+    public int remaining() {
+        return SIZE - dealt - reshuffleAt;
+    }
+
+    @Override
+    public int getLastRoll() {
+        return die1 + die2;
+    }
+
+    @Override
+    public int getDie1() {
+        return die1;
+    }
+
+    @Override
+    public int getDie2() {
+        return die2;
+    }
+}
@@ -0,0 +1,27 @@
+package classes.util;
+
+/**
+ * Where a game's dice rolls come from.
+ *
+ * GameMaster rolls through this interface. Dice (two nextInt(6) calls on the game's
+ * dice stream) is the default; RollTape draws the same stream in bulk, DiceDeck deals
+ * the 36 outcomes as a shuffled deck, and ReplayDice plays back the rolls of a log.
+ */
+public interface DiceSource {
+
+    /**
+     * Rolls both dice.
+     *
+     * @return The sum (2-12)
+     */
+    int roll();
+
+    /** @return the sum of the last roll */
+    int getLastRoll();
+
+    /** @return the first die of the last roll (1-6) */
+    int getDie1();
+
+    /** @return the second die of the last roll (1-6) */
+    int getDie2();
+}
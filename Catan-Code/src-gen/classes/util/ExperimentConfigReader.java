@@ -0,0 +1,313 @@
+package classes.util;
+
+import classes.controller.GameSpec;
+import classes.enums.DiceModel;
+import classes.enums.RandomMode;
+import classes.model.BoardLayout;
+import classes.moves.ValueWeights;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Reads a parameter-sweep experiment: the cross product of seeds, AI weight sets and boards.
+ *
+ * Accepts everything ConfigReader does, plus:
+ *   seeds: 1..10000            (inclusive range, or a comma-separated list)
+ *   weights: name = 1.0, 0.8, 0.5[, 5]   (repeatable; see ValueWeights)
+ *   boards: default, base_map.json, some/dir   (files, corpus directories, or "default")
+ *   rounds: 20000              (round limit per game, not capped)
+ *   players: 4                 (number of AI players)
+ *   checkpoint: sweep.progress (progress file used to resume a killed sweep)
+ *   threads: 8                 (worker threads)
+ *   engine: lockstep           (object, the default, or lockstep; both give identical results)
+ *   pairing: common            (independent, the default; common, so every arm of a seed sees
+ *                               the same n-th roll, robber pick and steal; or antithetic,
+ *                               which adds a mirrored game next to each common one)
+ *   dice: deck                 (stream, the default; tape, pre-generated rolls; or deck, the
+ *                               36 outcomes dealt from a shuffled deck; see DiceModel)
+ *
+ * Relative paths are resolved against the config file's directory. The grid is never
+ * materialised: specAt(i) decodes an index and specs() generates them lazily.
+ */
+public class ExperimentConfigReader extends ConfigReader {
+    private static final Logger LOGGER = Logger.getLogger(ExperimentConfigReader.class.getName());
+
+    private final Path baseDir;
+    private final BoardLoader boardLoader;
+
+    private long seedFrom = 1;
+    private long seedCount = 1;
+    private long[] seedList;
+    private final List<String> weightNames = new ArrayList<>();
+    private final List<ValueWeights> weightSets = new ArrayList<>();
+    private final List<BoardLayout> boards = new ArrayList<>();
+    private int rounds = -1;
+    private int playerCount = 4;
+    private Path checkpointPath;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean lockstep;
+    private RandomMode pairing = RandomMode.INDEPENDENT;
+    private DiceModel diceModel = DiceModel.STREAM;
+
+    /**
+     * Reads an experiment file.
+     *
+     * @param configFilePath Path to the experiment file
+     * @param boardLoader    Loader used for board entries (and its cache)
+     */
+    public ExperimentConfigReader(String configFilePath, BoardLoader boardLoader) {
+        super();
+        Path configFile = Paths.get(configFilePath).toAbsolutePath();
+        this.baseDir = configFile.getParent();
+        this.boardLoader = boardLoader;
+        this.checkpointPath = Paths.get(configFilePath + ".progress");
+        readConfig(configFilePath);
+
+        if (weightSets.isEmpty()) {
+            weightNames.add("default");
+            weightSets.add(ValueWeights.defaults());
+        }
+        if (boards.isEmpty()) {
+            boards.add(BoardLayout.defaultLayout());
+        }
+        if (lockstep && (pairing != RandomMode.INDEPENDENT || diceModel != DiceModel.STREAM)) {
+            LOGGER.warning("The lockstep engine only rolls stream dice on independent streams; using the object engine");
+            lockstep = false;
+        }
+    }
+
+    @Override
+    protected boolean parseLine(String line) {
+        int colon = line.indexOf(':');
+        if (colon < 0) {
+            return super.parseLine(line);
+        }
+        String key = line.substring(0, colon).trim();
+        String value = line.substring(colon + 1).trim();
+        try {
+            switch (key) {
+                case "seeds": parseSeeds(value); return true;
+                case "weights": parseWeights(value); return true;
+                case "boards": parseBoards(value); return true;
+                case "rounds": rounds = Math.max(1, Integer.parseInt(value)); return true;
+                case "players": playerCount = Math.max(2, Integer.parseInt(value)); return true;
+                case "checkpoint": checkpointPath = resolve(value); return true;
+                case "threads": threads = Math.max(1, Integer.parseInt(value)); return true;
+                case "engine": parseEngine(value); return true;
+                case "pairing": parsePairing(value); return true;
+                case "dice": parseDice(value); return true;
+                default: return super.parseLine(line);
+            }
+        } catch (NumberFormatException e) {
+            LOGGER.warning("Invalid experiment config line: " + line);
+            return true;
+        }
+    }
+
+    /** Parses the whole value before changing anything, so a bad line keeps the previous seeds. */
+    private void parseSeeds(String value) {
+        int range = value.indexOf("..");
+        if (range >= 0) {
+            long from = Long.parseLong(value.substring(0, range).trim());
+            long to = Long.parseLong(value.substring(range + 2).trim());
+            seedFrom = Math.min(from, to);
+            seedCount = Math.abs(to - from) + 1;
+            seedList = null;
+        } else {
+            String[] parts = value.split(",");
+            long[] seeds = new long[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                seeds[i] = Long.parseLong(parts[i].trim());
+            }
+            seedList = seeds;
+            seedCount = seeds.length;
+        }
+    }
+
+    private void parseEngine(String value) {
+        if ("lockstep".equalsIgnoreCase(value)) {
+            lockstep = true;
+        } else if ("object".equalsIgnoreCase(value)) {
+            lockstep = false;
+        } else {
+            LOGGER.warning("Unknown engine (object or lockstep): " + value + "; using the object engine");
+            lockstep = false;
+        }
+    }
+
+    private void parsePairing(String value) {
+        try {
+            pairing = RandomMode.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Unknown pairing (independent, common or antithetic): " + value);
+        }
+    }
+
+    private void parseDice(String value) {
+        try {
+            diceModel = DiceModel.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Unknown dice (stream, tape or deck): " + value);
+        }
+    }
+
+    /**
+     * Format: name = victoryPointBuild, roadBuild, lowHand[, lowHandThreshold]
+     */
+    private void parseWeights(String value) {
+        int eq = value.indexOf('=');
+        String name = eq < 0 ? "w" + weightSets.size() : value.substring(0, eq).trim();
+        String[] parts = value.substring(eq + 1).split(",");
+        if (parts.length < 3) {
+            LOGGER.warning("Weights need at least three values: " + value);
+            return;
+        }
+        // Parse every value before adding, so a bad line leaves names and sets aligned
+        double victoryPointBuild = Double.parseDouble(parts[0].trim());
+        double roadBuild = Double.parseDouble(parts[1].trim());
+        double lowHand = Double.parseDouble(parts[2].trim());
+        int threshold = parts.length > 3 ? Integer.parseInt(parts[3].trim())
+                : ValueWeights.defaults().getLowHandThreshold();
+        ValueWeights weights = new ValueWeights(victoryPointBuild, roadBuild, lowHand, threshold);
+        weightNames.add(name);
+        weightSets.add(weights);
+    }
+
+    private void parseBoards(String value) {
+        for (String entry : value.split(",")) {
+            String name = entry.trim();
+            if (name.isEmpty()) continue;
+            if ("default".equalsIgnoreCase(name)) {
+                boards.add(BoardLayout.defaultLayout());
+                continue;
+            }
+            Path path = resolve(name);
+            try {
+                if (Files.isDirectory(path)) {
+                    boards.addAll(loadDirectory(path));
+                } else {
+                    boards.add(boardLoader.load(path));
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                LOGGER.log(Level.WARNING, "Skipping board {0}: {1}", new Object[]{path, e.getMessage()});
+            }
+        }
+    }
+
+    /**
+     * A visualizer corpus directory contributes base_map.json and scraped_boards;
+     * any other directory contributes its *.json files.
+     */
+    private List<BoardLayout> loadDirectory(Path dir) throws IOException {
+        if (!BoardLoader.findCorpusFiles(dir).isEmpty()) {
+            return boardLoader.loadCorpus(dir);
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.json")) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        List<BoardLayout> layouts = new ArrayList<>();
+        for (Path file : files) {
+            layouts.add(boardLoader.load(file));
+        }
+        return layouts;
+    }
+
+    private Path resolve(String value) {
+        Path path = Paths.get(value);
+        return path.isAbsolute() ? path : baseDir.resolve(path);
+    }
+
+    /**
+     * @return the number of games in the sweep (seeds x weight sets x boards, twice that
+     *         for antithetic pairing)
+     */
+    public long size() {
+        return arms() * seedCount * weightSets.size() * boards.size();
+    }
+
+    private int arms() {
+        return pairing == RandomMode.ANTITHETIC ? 2 : 1;
+    }
+
+    /**
+     * Decodes a sweep index into its game. Seeds vary fastest, then weights, then boards;
+     * with antithetic pairing the common game and its mirror come first, at indices 2k
+     * and 2k + 1.
+     *
+     * @param index A value in [0, size())
+     * @return The game at that position
+     */
+    public GameSpec specAt(long index) {
+        RandomMode mode = pairing;
+        long cell = index;
+        if (pairing == RandomMode.ANTITHETIC) {
+            mode = index % 2 == 0 ? RandomMode.COMMON : RandomMode.ANTITHETIC;
+            cell = index / 2;
+        }
+        long seedIndex = cell % seedCount;
+        long rest = cell / seedCount;
+        int weightIndex = (int) (rest % weightSets.size());
+        int boardIndex = (int) (rest / weightSets.size());
+        long seed = seedList != null ? seedList[(int) seedIndex] : seedFrom + seedIndex;
+        return new GameSpec(index, seed, weightNames.get(weightIndex), weightSets.get(weightIndex),
+                boards.get(boardIndex), getRounds(), playerCount, mode, diceModel);
+    }
+
+    /**
+     * @return all games of the sweep, generated on demand
+     */
+    public Stream<GameSpec> specs() {
+        return LongStream.range(0, size()).mapToObj(this::specAt);
+    }
+
+    /**
+     * Identifies the sweep's contents, so a checkpoint from a different sweep is not resumed.
+     */
+    public String fingerprint() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(seedList != null ? Arrays.toString(seedList) : seedFrom + ".." + (seedFrom + seedCount - 1));
+        for (int i = 0; i < weightSets.size(); i++) {
+            sb.append('|').append(weightNames.get(i)).append('=').append(weightSets.get(i));
+        }
+        for (BoardLayout board : boards) {
+            sb.append('|').append(board.getName()).append('#').append(board.hashCode());
+        }
+        sb.append('|').append(getRounds()).append('|').append(playerCount);
+        if (pairing != RandomMode.INDEPENDENT) {
+            sb.append('|').append(pairing);
+        }
+        if (diceModel != DiceModel.STREAM) {
+            sb.append("|dice=").append(diceModel);
+        }
+        return Integer.toHexString(sb.toString().hashCode()) + "-" + size();
+    }
+
+    /** @return the round limit: the rounds key if given, otherwise derived from turns */
+    public int getRounds() {
+        return rounds > 0 ? rounds : getMaxRounds();
+    }
+
+    public int getPlayerCount() { return playerCount; }
+    public Path getCheckpointPath() { return checkpointPath; }
+    public int getThreads() { return threads; }
+    /** @return true if games should run on the LockstepEngine instead of GameMaster */
+    public boolean isLockstep() { return lockstep; }
+    /** @return the pairing of the sweep's games (see RandomMode) */
+    public RandomMode getPairing() { return pairing; }
+    /** @return the dice every game of the sweep rolls with */
+    public DiceModel getDiceModel() { return diceModel; }
+    public List<BoardLayout> getBoards() { return boards; }
+}
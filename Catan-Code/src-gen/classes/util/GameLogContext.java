@@ -0,0 +1,128 @@
+package classes.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.LogRecord;
+
+/**
+ * The game and seat that log records of the current thread belong to.
+ *
+ * Each GameMaster owns one context and binds it to the thread while it runs a step or
+ * the setup phase; the seat follows the player whose turn it is. Handlers read the
+ * context of the thread that logs, so records from many games running on many threads
+ * can be told apart (GameLogFormatter) and routed apart (GameLogRouter). A handler
+ * that publishes on another thread must capture() the record first.
+ *
+ * Binding reads and writes one ThreadLocal slot and allocates nothing.
+ */
+public final class GameLogContext {
+    /** Game id of records logged outside any game. */
+    public static final long NO_GAME = -1;
+
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+    private static final ThreadLocal<GameLogContext> CURRENT = new ThreadLocal<>();
+
+    private long gameId;
+    private int seat;
+
+    /**
+     * @param gameId Id the game's records are tagged with (e.g. its sweep index)
+     */
+    public GameLogContext(long gameId) {
+        this.gameId = gameId;
+    }
+
+    /** @return a process-wide game id no other call returns */
+    public static long nextGameId() {
+        return NEXT_ID.getAndIncrement();
+    }
+
+    /**
+     * Makes this the calling thread's context.
+     *
+     * @return the context that was bound before, to hand back to restore()
+     */
+    public GameLogContext bind() {
+        GameLogContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    /**
+     * Binds the context that bind() returned again (null for none).
+     */
+    public static void restore(GameLogContext previous) {
+        CURRENT.set(previous);
+    }
+
+    /** @return the calling thread's context, or null outside any game */
+    public static GameLogContext current() {
+        return CURRENT.get();
+    }
+
+    public long getGameId() { return gameId; }
+    public void setGameId(long gameId) { this.gameId = gameId; }
+    /** @return the id of the player whose turn it is, or 0 between turns */
+    public int getSeat() { return seat; }
+    public void setSeat(int seat) { this.seat = seat; }
+
+    /**
+     * Copies a record together with the calling thread's game, seat and name, for
+     * handlers that format it on another thread.
+     *
+     * @return a Tagged record (the record itself if it already is one)
+     */
+    public static Tagged capture(LogRecord record) {
+        if (record instanceof Tagged) return (Tagged) record;
+        GameLogContext context = current();
+        return new Tagged(record, context == null ? NO_GAME : context.gameId,
+                context == null ? 0 : context.seat, Thread.currentThread().getName());
+    }
+
+    /** @return the game of a captured record, or else of the calling thread */
+    public static long gameIdOf(LogRecord record) {
+        if (record instanceof Tagged) return ((Tagged) record).gameId;
+        GameLogContext context = current();
+        return context == null ? NO_GAME : context.gameId;
+    }
+
+    /** @return the seat of a captured record, or else of the calling thread */
+    public static int seatOf(LogRecord record) {
+        if (record instanceof Tagged) return ((Tagged) record).seat;
+        GameLogContext context = current();
+        return context == null ? 0 : context.seat;
+    }
+
+    /** @return the thread a captured record was logged on, or else the calling thread */
+    public static String threadOf(LogRecord record) {
+        return record instanceof Tagged ? ((Tagged) record).thread : Thread.currentThread().getName();
+    }
+
+    /**
+     * A LogRecord with the game, seat and thread it was logged from. The source class
+     * and method are not copied.
+     */
+    public static final class Tagged extends LogRecord {
+        private static final long serialVersionUID = 1L;
+
+        private final long gameId;
+        private final int seat;
+        private final String thread;
+
+        Tagged(LogRecord record, long gameId, int seat, String thread) {
+            super(record.getLevel(), record.getMessage());
+            setParameters(record.getParameters());
+            setLoggerName(record.getLoggerName());
+            setResourceBundle(record.getResourceBundle());
+            setThrown(record.getThrown());
+            setInstant(record.getInstant());
+            setSequenceNumber(record.getSequenceNumber());
+            this.gameId = gameId;
+            this.seat = seat;
+            this.thread = thread;
+        }
+
+        public long getGameId() { return gameId; }
+        public int getSeat() { return seat; }
+        public String getThread() { return thread; }
+    }
+}
@@ -0,0 +1,32 @@
+package classes.util;
+
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+
+/**
+ * Formats a record as its message on one line, optionally prefixed with the game and
+ * seat it came from: "[game 12 P3] rolled 8". Records logged outside a game, or between
+ * turns, get only the parts that are known.
+ */
+public class GameLogFormatter extends Formatter {
+    private final boolean tagged;
+
+    /**
+     * @param tagged true to prefix each line with its game and seat
+     */
+    public GameLogFormatter(boolean tagged) {
+        this.tagged = tagged;
+    }
+
+    @Override
+    public String format(LogRecord logRecord) {
+        String message = formatMessage(logRecord);
+        long gameId = GameLogContext.gameIdOf(logRecord);
+        if (!tagged || gameId == GameLogContext.NO_GAME) {
+            return message + System.lineSeparator();
+        }
+        int seat = GameLogContext.seatOf(logRecord);
+        return (seat == 0 ? "[game " + gameId + "] " : "[game " + gameId + " P" + seat + "] ")
+                + message + System.lineSeparator();
+    }
+}
@@ -0,0 +1,122 @@
+package classes.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * Writes each game's records to a file of its own (game-&lt;id&gt;.log) or each worker
+ * thread's records to worker-&lt;thread&gt;.log, in one directory.
+ *
+ * Records logged outside a game, and games the filter rejects, are ignored; the
+ * filter is checked before anything is formatted, so following a few games out of
+ * thousands costs little more than the records themselves. At most maxOpen files are
+ * open at once: the least recently written one is closed to make room and appended to
+ * if its game logs again.
+ */
+public class GameLogRouter extends Handler {
+    /** How records are split into files. */
+    public enum Split { GAME, WORKER }
+
+    private final Path dir;
+    private final Split split;
+    private final LongPredicate games;
+    private final Map<String, Writer> open;
+
+    /**
+     * @param dir     Directory for the log files (created if missing)
+     * @param split   One file per game or per worker thread
+     * @param games   Ids of the games to write
+     * @param maxOpen Files open at the same time at most
+     * @throws IOException if the directory cannot be created
+     */
+    public GameLogRouter(Path dir, Split split, LongPredicate games, int maxOpen) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.split = split;
+        this.games = games;
+        this.open = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Writer> eldest) {
+                if (size() <= maxOpen) return false;
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+        setFormatter(new GameLogFormatter(split == Split.WORKER));
+    }
+
+    @Override
+    public void publish(LogRecord logRecord) {
+        long gameId = GameLogContext.gameIdOf(logRecord);
+        if (gameId == GameLogContext.NO_GAME || !games.test(gameId) || !isLoggable(logRecord)) return;
+
+        String name = split == Split.GAME ? "game-" + gameId : "worker-" + GameLogContext.threadOf(logRecord);
+        String line;
+        try {
+            line = getFormatter().format(logRecord);
+        } catch (RuntimeException e) {
+            reportError(null, e, ErrorManager.FORMAT_FAILURE);
+            return;
+        }
+        synchronized (open) {
+            try {
+                Writer writer = open.get(name);
+                if (writer == null) {
+                    writer = Files.newBufferedWriter(dir.resolve(name.replaceAll("[^\\w.-]", "_") + ".log"),
+                            StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    open.put(name, writer);
+                }
+                writer.write(line);
+            } catch (IOException e) {
+                reportError(null, e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        synchronized (open) {
+            for (Writer writer : open.values()) {
+                try {
+                    writer.flush();
+                } catch (IOException e) {
+                    reportError(null, e, ErrorManager.FLUSH_FAILURE);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (open) {
+            for (Writer writer : open.values()) {
+                closeQuietly(writer);
+            }
+            open.clear();
+        }
+    }
+
+    /** @return files currently open */
+    public int getOpenCount() {
+        synchronized (open) {
+            return open.size();
+        }
+    }
+
+    private void closeQuietly(Writer writer) {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.CLOSE_FAILURE);
+        }
+    }
+}
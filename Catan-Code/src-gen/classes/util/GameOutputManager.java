@@ -0,0 +1,241 @@
+package classes.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gives every game its own output files under one root, so games running side by side
+ * never write the same file.
+ *
+ * A file's path is the template with {game} replaced by the game id and {name} by the
+ * artifact name: the default "game-{game}/{name}" puts each game in a directory of its
+ * own, "{name}-{game}" keeps them side by side. write() replaces a file's contents;
+ * the file's channel stays open for the next write, and at most maxOpen channels are
+ * open at once, the least recently written being closed first. Games only contend when
+ * they open or close a channel.
+ *
+ * complete() closes a game's channels, gzips its files if asked to and, once more than
+ * keepCompleted games are complete, deletes the oldest one's files (0 keeps them all).
+ */
+public class GameOutputManager implements Closeable {
+    /** Default output path of a game artifact, relative to the root. */
+    public static final String DEFAULT_TEMPLATE = "game-{game}/{name}";
+    /** Default number of channels open at once. */
+    public static final int DEFAULT_MAX_OPEN = 64;
+
+    /** What happens to a finished game's files. */
+    public enum Completion { KEEP, GZIP }
+
+    private final Path root;
+    private final String template;
+    private final Completion completion;
+    private final int keepCompleted;
+
+    /** Open channels by file, least recently written first. */
+    private final Map<Path, Channel> open;
+    /** Files written so far by each game not yet complete. */
+    private final Map<Long, Set<Path>> active = new HashMap<>();
+    /** Files of complete games, oldest first, while rotation may still delete them. */
+    private final Deque<List<Path>> completed = new ArrayDeque<>();
+
+    /**
+     * @param root          Directory all output goes under
+     * @param template      Path of an artifact relative to the root, with {game} and {name}
+     * @param maxOpen       Channels open at once at most
+     * @param completion    What complete() does with a game's files
+     * @param keepCompleted Complete games kept on disk (0 for all)
+     */
+    public GameOutputManager(Path root, String template, int maxOpen, Completion completion, int keepCompleted) {
+        if (!template.contains("{game}") || !template.contains("{name}")) {
+            throw new IllegalArgumentException("Output template needs {game} and {name}: " + template);
+        }
+        if (maxOpen < 1) throw new IllegalArgumentException("maxOpen must be positive");
+        this.root = root.toAbsolutePath().normalize();
+        this.template = template;
+        this.completion = completion;
+        this.keepCompleted = keepCompleted;
+        this.open = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, Channel> eldest) {
+                if (size() <= maxOpen) return false;
+                eldest.getValue().close();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Reads catan.out.dir (the root; null is returned when it is not set),
+     * catan.out.template, catan.out.gzip=true and catan.out.keep.
+     *
+     * @return a manager configured from system properties, or null
+     */
+    public static GameOutputManager fromProperties() {
+        String dir = System.getProperty("catan.out.dir");
+        if (dir == null) return null;
+        return new GameOutputManager(Paths.get(dir), System.getProperty("catan.out.template", DEFAULT_TEMPLATE),
+                DEFAULT_MAX_OPEN, Boolean.getBoolean("catan.out.gzip") ? Completion.GZIP : Completion.KEEP,
+                Integer.getInteger("catan.out.keep", 0));
+    }
+
+    /**
+     * @return where the game's artifact is written
+     * @throws IllegalArgumentException if the template and name lead outside the root
+     */
+    public Path resolve(long gameId, String name) {
+        Path path = root.resolve(template.replace("{game}", Long.toString(gameId)).replace("{name}", name)).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Output path outside " + root + ": " + path);
+        }
+        return path;
+    }
+
+    /**
+     * Replaces the contents of one of a game's files, creating it (and its directory) if needed.
+     */
+    public void write(long gameId, String name, byte[] content) throws IOException {
+        Path path = resolve(gameId, name);
+        Channel channel;
+        synchronized (this) {
+            active.computeIfAbsent(gameId, k -> new LinkedHashSet<>()).add(path);
+            channel = open.get(path);
+            if (channel == null) {
+                Files.createDirectories(path.getParent());
+                channel = new Channel(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE));
+                open.put(path, channel);
+            }
+        }
+        if (!channel.write(content)) {
+            // Closed by eviction between lookup and write: write through a fresh channel
+            synchronized (this) {
+                open.remove(path, channel);
+            }
+            write(gameId, name, content);
+        }
+    }
+
+    /**
+     * Closes a finished game's files, then compresses and rotates them as configured.
+     * Does nothing for a game that wrote nothing or is already complete.
+     */
+    public void complete(long gameId) throws IOException {
+        List<Path> files;
+        synchronized (this) {
+            Set<Path> written = active.remove(gameId);
+            if (written == null) return;
+            files = new ArrayList<>(written);
+            for (Path path : files) {
+                Channel channel = open.remove(path);
+                if (channel != null) channel.close();
+            }
+        }
+        if (completion == Completion.GZIP) {
+            for (int i = 0; i < files.size(); i++) {
+                files.set(i, gzip(files.get(i)));
+            }
+        }
+        if (keepCompleted <= 0) return;
+
+        List<Path> expired = null;
+        synchronized (this) {
+            completed.addLast(files);
+            if (completed.size() > keepCompleted) expired = completed.removeFirst();
+        }
+        if (expired != null) delete(expired);
+    }
+
+    /** @return channels currently open */
+    public synchronized int getOpenCount() {
+        return open.size();
+    }
+
+    public Path getRoot() { return root; }
+
+    /**
+     * Closes every open channel. Games not yet complete keep their files as they are.
+     */
+    @Override
+    public synchronized void close() {
+        for (Channel channel : open.values()) {
+            channel.close();
+        }
+        open.clear();
+        active.clear();
+    }
+
+    private static Path gzip(Path file) throws IOException {
+        Path target = file.resolveSibling(file.getFileName() + ".gz");
+        try (InputStream in = Files.newInputStream(file);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(target))) {
+            in.transferTo(out);
+        }
+        Files.delete(file);
+        return target;
+    }
+
+    /** Deletes the files, and their directories once empty (up to the root). */
+    private void delete(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+            for (Path dir = file.getParent(); dir != null && !dir.equals(root) && dir.startsWith(root);
+                 dir = dir.getParent()) {
+                try {
+                    Files.deleteIfExists(dir);
+                } catch (DirectoryNotEmptyException e) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /** One open file; writes and close are serialised per file only. */
+    private static final class Channel {
+        private final FileChannel channel;
+        private boolean closed;
+
+        Channel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /** @return false if the channel was closed first */
+        synchronized boolean write(byte[] content) throws IOException {
+            if (closed) return false;
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            long position = 0;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.truncate(content.length);
+            return true;
+        }
+
+        synchronized void close() {
+            if (closed) return;
+            closed = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing buffered: everything written went straight to the channel
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,7 +44,30 @@ public class JsonStateExporter {
         return JAVA_TO_CAT[javaVertexId];
     }
 
+    /** Name of the state file a game writes through a GameOutputManager. */
+    public static final String STATE_FILE = "state.json";
+
     public static void exportState(Board board, String filePath) {
+        try {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(new File(filePath), toJson(board));
+        } catch (IOException e) {
+            // FIXED: Replaced e.printStackTrace() with LOGGER.log to avoid leaking stack trace data
+            LOGGER.log(Level.SEVERE, "Failed to export game state to {0}", filePath);
+        }
+    }
+
+    /**
+     * @return the board state as the visualizer reads it, pretty-printed in UTF-8
+     */
+    public static byte[] toBytes(Board board) {
+        try {
+            return mapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(toJson(board));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ObjectNode toJson(Board board) {
         ObjectNode root = mapper.createObjectNode();
         ArrayNode buildingsNode = root.putArray("buildings");
         ArrayNode roadsNode = root.putArray("roads");
@@ -70,13 +94,7 @@ public class JsonStateExporter {
             rNode.put("owner", getPlayerColor(r.getOwner().getId()));
             roadsNode.add(rNode);
         }
-
-        try {
-            mapper.writerWithDefaultPrettyPrinter().writeValue(new File(filePath), root);
-        } catch (IOException e) {
-            // FIXED: Replaced e.printStackTrace() with LOGGER.log to avoid leaking stack trace data
-            LOGGER.log(Level.SEVERE, "Failed to export game state to {0}", filePath);
-        }
+        return root;
     }
 
     private static String getPlayerColor(int playerId) {
@@ -2,16 +2,38 @@ package classes.util;
 
 import java.io.FileDescriptor;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongPredicate;
 import java.util.logging.ConsoleHandler;
-import java.util.logging.Formatter;
 import java.util.logging.Handler;
-import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
 /**
  * Utility class to provide consistent logging configuration across the application.
+ *
+ * Logging is set up once per process, on the first call to setupLogging(). System
+ * properties choose where game records go:
+ * <ul>
+ *   <li>catan.log.tag=true prefixes console lines with their game and seat;</li>
+ *   <li>catan.log.dir=path writes game records to files in that directory instead of
+ *       the console, one per game (catan.log.split=game, the default) or one per worker
+ *       thread (catan.log.split=worker);</li>
+ *   <li>catan.log.games=3,17 keeps the records of those games only;</li>
+ *   <li>catan.log.async=true writes on a background thread.</li>
+ * </ul>
  */
 public class LoggerUtil {
+    /** Files a GameLogRouter keeps open at once. */
+    private static final int MAX_OPEN_LOGS = 64;
+    /** Records an async handler queues at most. */
+    private static final int ASYNC_CAPACITY = 8192;
+
+    private static boolean configured;
 
     // Private constructor to prevent instantiation of utility class
     private LoggerUtil() {}
@@ -27,27 +49,88 @@ public class LoggerUtil {
     }
 
     /**
-     * Configures the root logger to use a clean formatting style and remove default handlers.
+     * Configures the root logger to use a clean formatting style and remove default
+     * handlers. Only the first call does anything, so games may be created on any
+     * number of threads afterwards.
+     *
+     * The properties are read and the new handlers built before the default ones are
+     * removed. A bad catan.log.games list or an unusable catan.log.dir is logged as a
+     * warning and ignored, so the process never ends up without handlers.
      */
-    public static void setupLogging() {
+    public static synchronized void setupLogging() {
+        if (configured) return;
+        List<String> warnings = new ArrayList<>();
+        List<Handler> handlers = createHandlers(warnings);
+
+        configured = true;
         Logger rootLogger = Logger.getLogger("");
-        
         // Remove existing handlers to avoid duplicate output
         for (Handler handler : rootLogger.getHandlers()) {
             rootLogger.removeHandler(handler);
         }
+        for (Handler handler : handlers) {
+            rootLogger.addHandler(handler);
+        }
+        for (String warning : warnings) {
+            Logger.getLogger(LoggerUtil.class.getName()).warning(warning);
+        }
+    }
 
-        // Initialize the custom handler
-        ConsoleHandler whiteHandler = new WhiteTextHandler();
+    /**
+     * Builds the handlers the system properties ask for, without installing them.
+     *
+     * @param warnings Receives a message for every property that had to be ignored
+     * @return The handlers for the root logger, the console handler last
+     */
+    static List<Handler> createHandlers(List<String> warnings) {
+        boolean async = Boolean.getBoolean("catan.log.async");
+        String ids = System.getProperty("catan.log.games");
+        LongPredicate filter;
+        try {
+            filter = gameFilter(ids);
+        } catch (NumberFormatException e) {
+            warnings.add("Ignoring catan.log.games=" + ids + " (" + e.getMessage() + "); logging every game");
+            filter = id -> true;
+        }
+        LongPredicate games = filter;
 
-        // Apply custom formatting that only returns the message text
-        whiteHandler.setFormatter(new Formatter() {
-            @Override
-            public String format(LogRecord logRecord) {
-                return logRecord.getMessage() + System.lineSeparator();
+        String dir = System.getProperty("catan.log.dir");
+        Handler router = null;
+        if (dir != null) {
+            GameLogRouter.Split split = "worker".equalsIgnoreCase(System.getProperty("catan.log.split"))
+                    ? GameLogRouter.Split.WORKER : GameLogRouter.Split.GAME;
+            try {
+                router = new GameLogRouter(Paths.get(dir), split, games, MAX_OPEN_LOGS);
+            } catch (IOException | InvalidPathException e) {
+                warnings.add("Cannot create log directory " + dir + " (" + e + "); game records go to the console");
             }
-        });
+        }
+
+        // Initialize the custom handler; apply custom formatting that only returns the message text
+        ConsoleHandler whiteHandler = new WhiteTextHandler();
+        whiteHandler.setFormatter(new GameLogFormatter(Boolean.getBoolean("catan.log.tag")));
+        List<Handler> handlers = new ArrayList<>();
+        if (router == null) {
+            whiteHandler.setFilter(r -> {
+                long id = GameLogContext.gameIdOf(r);
+                return id == GameLogContext.NO_GAME || games.test(id);
+            });
+        } else {
+            // Game records go to their files; the console keeps the rest
+            whiteHandler.setFilter(r -> GameLogContext.gameIdOf(r) == GameLogContext.NO_GAME);
+            handlers.add(async ? new AsyncLogHandler(router, ASYNC_CAPACITY) : router);
+        }
+        handlers.add(async ? new AsyncLogHandler(whiteHandler, ASYNC_CAPACITY) : whiteHandler);
+        return handlers;
+    }
 
-        rootLogger.addHandler(whiteHandler);
+    /**
+     * @param ids Comma-separated game ids, or null for every game
+     */
+    static LongPredicate gameFilter(String ids) {
+        if (ids == null || ids.isBlank()) return id -> true;
+        long[] sorted = Arrays.stream(ids.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                .mapToLong(Long::parseLong).sorted().toArray();
+        return id -> Arrays.binarySearch(sorted, id) >= 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package classes.util;
+
+/**
+ * SeededRandom for common-random-numbers experiments.
+ *
+ * SeededRandom.nextInt(bound) rejects and redraws for bounds that are not powers of
+ * two, so how far a stream has advanced depends on the bounds drawn so far, and two
+ * games that diverge (different AI weights, say) drift onto different numbers. Here
+ * every draw takes exactly one step of the stream, so the n-th draw is fixed by the
+ * seed and the stream alone. Bounded draws use a multiply-shift, whose bias (under
+ * bound / 2^31) is far below anything a game can measure.
+ *
+ * An antithetic generator walks the same states but mirrors each draw: nextInt(bound)
+ * gives bound - 1 - i where the plain generator gives i, nextLong gives its complement
+ * and nextDouble gives (nearly) 1 - u. Averaging a game with its mirror cancels much
+ * of the dice luck.
+ */
+public class PairedRandom extends SeededRandom {
+    private static final long serialVersionUID = 1L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private final boolean antithetic;
+
+    /**
+     * @param state      Initial state, e.g. SeededRandom.streamState(seed, streamId)
+     * @param antithetic Whether to mirror every draw
+     */
+    public PairedRandom(long state, boolean antithetic) {
+        super(state);
+        this.antithetic = antithetic;
+    }
+
+    /** @return whether every draw is mirrored */
+    public boolean isAntithetic() {
+        return antithetic;
+    }
+
+    @Override
+    public long nextLong() {
+        long x = super.nextLong();
+        return antithetic ? ~x : x;
+    }
+
+    @Override
+    public void peekLongs(long[] out) {
+        super.peekLongs(out);
+        if (antithetic) {
+            for (int i = 0; i < out.length; i++) out[i] = ~out[i];
+        }
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("bound must be positive");
+        long r = super.nextLong() >>> 33;
+        int i = (int) ((bound * r) >>> 31);
+        return antithetic ? bound - 1 - i : i;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+}
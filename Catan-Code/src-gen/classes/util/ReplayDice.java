@@ -0,0 +1,83 @@
+package classes.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plays back a recorded sequence of dice sums, e.g. the rolls of a logged game.
+ *
+ * Only sums are recorded, so each roll is split into two dice that add up to it
+ * (the first as small as possible). Rolling past the end of the recording is an error.
+ */
+public class ReplayDice implements DiceSource {
+    /** A GameMaster action line: "[round] / [Player id]: rolled sum". */
+    private static final Pattern ROLL_LINE = Pattern.compile("\\]: rolled (\\d+)\\s*$");
+
+    private final int[] sums;
+    private int next;
+    private int die1 = 1;
+    private int die2 = 1;
+
+    /**
+     * @param sums The rolls to play back, in order (each 2-12)
+     */
+    public ReplayDice(int[] sums) {
+        for (int sum : sums) {
+            if (sum < 2 || sum > 12) {
+                throw new IllegalArgumentException("Not a dice sum: " + sum);
+            }
+        }
+        this.sums = sums.clone();
+    }
+
+    /**
+     * Reads the rolls of a game log, as written by GameMaster.logAction.
+     *
+     * @param log Path to the log
+     * @return A replay of every roll in the log, in order
+     * @throws IOException if the log cannot be read
+     */
+    public static ReplayDice fromLog(Path log) throws IOException {
+        int[] sums = Files.readAllLines(log, StandardCharsets.UTF_8).stream()
+                .map(ROLL_LINE::matcher)
+                .filter(Matcher::find)
+                .mapToInt(m -> Integer.parseInt(m.group(1)))
+                .toArray();
+        return new ReplayDice(sums);
+    }
+
+    @Override
+    public int roll() {
+        if (next == sums.length) {
+            throw new IllegalStateException("Replay ended after " + sums.length + " rolls");
+        }
+        int sum = sums[next++];
+        die1 = Math.max(1, sum - 6);
+        die2 = sum - die1;
+        return sum;
+    }
+
+    /** @return rolls not yet played back */
+    public int remaining() {
+        return sums.length - next;
+    }
+
+    @Override
+    public int getLastRoll() {
+        return die1 + die2;
+    }
+
+    @Override
+    public int getDie1() {
+        return die1;
+    }
+
+    @Override
+    public int getDie2() {
+        return die2;
+    }
+}
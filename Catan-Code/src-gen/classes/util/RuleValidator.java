@@ -21,20 +21,22 @@ public class RuleValidator {
      */
     public boolean canBuildRoad(Player player, Vertex start, Vertex end) {
         // 1. Check resource cost (1 Wood, 1 Brick)
-        if (!player.canAfford(Cost.roadCost())) {
-            return false;
-        }
+        return player.canAfford(Cost.roadCost()) && canPlaceRoad(player, start, end);
+    }
 
+    /**
+     * Checks the placement rules for a road, ignoring its cost.
+     * Move enumeration checks affordability once per decision, then calls this per candidate.
+     */
+    public boolean canPlaceRoad(Player player, Vertex start, Vertex end) {
         // 2. Check if vertices are actually adjacent
         if (!start.getAdjacentVertices().contains(end)) {
             return false;
         }
 
         // 3. Check if a road already exists here
-        for (Road road : board.getRoads()) {
-            if (road.connects(start, end)) {
-                return false;
-            }
+        if (board.getRoad(start, end) != null) {
+            return false;
         }
 
         // 4. Connectivity: Road must touch a vertex owned by the player 
@@ -72,10 +74,13 @@ public class RuleValidator {
      */
     public boolean canBuildSettlement(Player player, Vertex location) {
         // 1. Check resource cost (1 Wood, 1 Brick, 1 Wheat, 1 Sheep)
-        if (!player.canAfford(Cost.settlementCost())) {
-            return false;
-        }
+        return player.canAfford(Cost.settlementCost()) && canPlaceSettlement(player, location);
+    }
 
+    /**
+     * Checks the placement rules for a settlement, ignoring its cost.
+     */
+    public boolean canPlaceSettlement(Player player, Vertex location) {
         // 2. Vertex handles occupation and basic distance rule check
         if (!location.canBuild(player)) {
             return false;
@@ -102,10 +107,13 @@ public class RuleValidator {
      * Rules: Must afford it (2 Wheat, 3 Ore) and replace your own settlement.
      */
     public boolean canBuildCity(Player player, Vertex location) {
-        if (!player.canAfford(Cost.cityCost())) {
-            return false;
-        }
+        return player.canAfford(Cost.cityCost()) && canPlaceCity(player, location);
+    }
 
+    /**
+     * Checks the placement rules for a city, ignoring its cost.
+     */
+    public boolean canPlaceCity(Player player, Vertex location) {
         if (location == null || !location.isOccupied()) {
             return false;
         }
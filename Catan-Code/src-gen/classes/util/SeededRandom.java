@@ -0,0 +1,126 @@
+package classes.util;
+
+import java.util.Random;
+
+/**
+ * Fast, reproducible random generator for simulations (SplitMix64).
+ *
+ * Extends java.util.Random so it can be passed anywhere a Random is expected, but
+ * replaces the synchronized 48-bit LCG with an unsynchronized 64-bit state whose
+ * value can be read and restored. Each game owns its instances, so no locking is needed.
+ */
+public class SeededRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /**
+     * Constructs a generator from a seed. Equal seeds give equal sequences.
+     *
+     * @param seed The seed
+     */
+    public SeededRandom(long seed) {
+        super(0L);
+        this.state = seed;
+    }
+
+    /**
+     * Derives an independent generator for a named sub-stream of this seed,
+     * e.g. one stream for dice and another for robber placement.
+     *
+     * @param seed     The game seed
+     * @param streamId Identifier of the sub-stream
+     * @return A generator whose sequence depends only on (seed, streamId)
+     */
+    public static SeededRandom forStream(long seed, long streamId) {
+        return new SeededRandom(streamState(seed, streamId));
+    }
+
+    /**
+     * @return the initial state of forStream(seed, streamId), for callers that keep
+     *         generator states in arrays instead of objects
+     */
+    public static long streamState(long seed, long streamId) {
+        return mix(seed + mix(streamId * GOLDEN_GAMMA + 1));
+    }
+
+    /**
+     * Array form of nextInt(bound): advances states[slot] exactly as an instance would,
+     * so structure-of-arrays simulations draw the same numbers as object-based games.
+     *
+     * @param states Generator states
+     * @param slot   Which state to advance
+     * @param bound  Upper bound (exclusive), must be positive
+     * @return A value in [0, bound)
+     */
+    public static int nextInt(long[] states, int slot, int bound) {
+        int r = next31(states, slot);
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return (int) ((bound * (long) r) >> 31);
+        }
+        // Same rejection loop as java.util.Random.nextInt(int)
+        for (int u = r; u - (r = u % bound) + m < 0; u = next31(states, slot)) {
+            // retry
+        }
+        return r;
+    }
+
+    private static int next31(long[] states, int slot) {
+        states[slot] += GOLDEN_GAMMA;
+        return (int) (mix(states[slot]) >>> 33);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        // Called by Random's constructor before our fields exist; the constructor sets the state itself
+        this.state = seed;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    /**
+     * Fills out with the values the next out.length nextLong() calls would return,
+     * without advancing, so callers can draw a block at a time (see RollTape).
+     *
+     * @param out Where to write
+     */
+    public void peekLongs(long[] out) {
+        long s = state;
+        for (int i = 0; i < out.length; i++) {
+            s += GOLDEN_GAMMA;
+            out[i] = mix(s);
+        }
+    }
+
+    /**
+     * Advances the state as n nextLong() calls would.
+     *
+     * @param n Number of draws to skip
+     */
+    public void skip(long n) {
+        state += n * GOLDEN_GAMMA;
+    }
+
+    /** @return the internal state, for checkpointing */
+    public long getState() { return state; }
+
+    /** @param state a value previously returned by getState() */
+    public void setState(long state) { this.state = state; }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,128 @@
+package classes.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Progress file for a parameter sweep, so a killed run resumes where it stopped.
+ *
+ * The sweep is split into fixed-size chunks of game indices. When a chunk finishes,
+ * its result lines and a "c <chunk>" marker are appended in a single write. On reopen,
+ * every marked chunk is skipped and any trailing partial block (a chunk interrupted
+ * mid-write) is truncated away, so each game appears exactly once in the file.
+ *
+ * Layout:
+ *   # sweep <fingerprint>
+ *   r,<index>,<seed>,<weights>,<board>,<winner>,<rounds>
+ *   ...
+ *   c <chunk>
+ */
+public class SweepCheckpoint implements Closeable {
+    private static final String HEADER = "# sweep ";
+    private static final String CHUNK_MARKER = "c ";
+
+    private final FileChannel channel;
+    private final BitSet done;
+    private final int resumedChunks;
+
+    private SweepCheckpoint(FileChannel channel, BitSet done) {
+        this.channel = channel;
+        this.done = done;
+        this.resumedChunks = done.cardinality();
+    }
+
+    /**
+     * Opens (or creates) the progress file of a sweep.
+     *
+     * @param file        The progress file
+     * @param fingerprint Identifies the sweep; a file written by another sweep is rejected
+     * @return The checkpoint, positioned to append
+     * @throws IllegalStateException if the file belongs to a different sweep
+     */
+    public static SweepCheckpoint open(Path file, String fingerprint) throws IOException {
+        BitSet done = new BitSet();
+        long validLength = 0;
+
+        if (Files.exists(file) && Files.size(file) > 0) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String header = reader.readLine();
+                if (!(HEADER + fingerprint).equals(header)) {
+                    throw new IllegalStateException("Progress file " + file + " belongs to a different sweep");
+                }
+                long offset = lineBytes(header);
+                validLength = offset;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    offset += lineBytes(line);
+                    if (line.startsWith(CHUNK_MARKER)) {
+                        done.set(Integer.parseInt(line.substring(CHUNK_MARKER.length()).trim()));
+                        validLength = offset;
+                    }
+                }
+            }
+        }
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (validLength == 0) {
+            channel.truncate(0);
+            channel.write(ByteBuffer.wrap((HEADER + fingerprint + "\n").getBytes(StandardCharsets.UTF_8)));
+        } else {
+            // Drop results of a chunk that was interrupted before its marker was written
+            channel.truncate(validLength);
+            channel.position(validLength);
+        }
+        return new SweepCheckpoint(channel, done);
+    }
+
+    private static long lineBytes(String line) {
+        return line.getBytes(StandardCharsets.UTF_8).length + 1L;
+    }
+
+    /**
+     * @param chunk Chunk number
+     * @return true if the chunk was completed by this or a previous run
+     */
+    public synchronized boolean isDone(int chunk) {
+        return done.get(chunk);
+    }
+
+    /**
+     * Records a finished chunk: its result lines followed by its marker, in one write.
+     *
+     * @param chunk       Chunk number
+     * @param resultLines One line per game of the chunk
+     */
+    public synchronized void complete(int chunk, List<String> resultLines) throws IOException {
+        StringBuilder block = new StringBuilder();
+        for (String line : resultLines) {
+            block.append(line).append('\n');
+        }
+        block.append(CHUNK_MARKER).append(chunk).append('\n');
+        ByteBuffer buffer = ByteBuffer.wrap(block.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        done.set(chunk);
+    }
+
+    /** @return chunks that were already complete when the file was opened */
+    public int getResumedChunks() { return resumedChunks; }
+
+    /** @return chunks completed so far, including resumed ones */
+    public synchronized int getCompletedChunks() { return done.cardinality(); }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.force(true);
+        channel.close();
+    }
+}
@@ -0,0 +1,80 @@
+package classes.sim;
+
+import classes.model.Cost;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar vs vector HandKernels on one lockstep pass over every game in flight.
+ *
+ * Run with the jmh and vector profiles (see README), e.g.
+ * java --add-modules jdk.incubator.vector -cp ... org.openjdk.jmh.Main HandKernelsBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class HandKernelsBenchmark {
+
+    @Param({"scalar", "vector"})
+    public String kernels;
+
+    /** Games in flight, at four seats each: one lockstep pass covers all of them. */
+    @Param({"64", "1024"})
+    public int games;
+
+    private HandKernels impl;
+    private int[] hands;
+    private int[] payout;
+    private int[] totals;
+    private long[] mask;
+
+    @Setup
+    public void setUp() {
+        impl = HandKernels.named(kernels);
+        Random random = new Random(42);
+        hands = new int[games * 4 * 5];
+        payout = new int[hands.length];
+        totals = new int[games * 4];
+        mask = new long[(totals.length + 63) >>> 6];
+        for (int i = 0; i < hands.length; i++) {
+            hands[i] = random.nextInt(6);
+            payout[i] = random.nextInt(3);
+        }
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = random.nextInt(15);
+        }
+    }
+
+    @Benchmark
+    public int[] add() {
+        impl.add(hands, 0, payout, 0, hands.length);
+        return hands;
+    }
+
+    @Benchmark
+    public long[] maskAbove() {
+        impl.maskAbove(totals, totals.length, 7, mask);
+        return mask;
+    }
+
+    @Benchmark
+    public long[] coverMask() {
+        impl.coverMask(hands, 0, 4 * 5, games, Cost.CITY, mask);
+        return mask;
+    }
+}
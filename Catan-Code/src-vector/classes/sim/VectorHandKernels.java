@@ -0,0 +1,74 @@
+package classes.sim;
+
+import classes.model.Cost;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * HandKernels on the incubating Vector API.
+ *
+ * Built only with the "vector" Maven profile and run with
+ * --add-modules jdk.incubator.vector -Dcatan.kernels=vector.
+ * Results are identical to ScalarHandKernels; tails shorter than a vector use masked lanes.
+ */
+public class VectorHandKernels implements HandKernels {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    @Override
+    public void add(int[] target, int targetOffset, int[] source, int sourceOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += LANES) {
+            IntVector.fromArray(SPECIES, target, targetOffset + i)
+                    .add(IntVector.fromArray(SPECIES, source, sourceOffset + i))
+                    .intoArray(target, targetOffset + i);
+        }
+        if (i < length) {
+            VectorMask<Integer> tail = SPECIES.indexInRange(i, length);
+            IntVector.fromArray(SPECIES, target, targetOffset + i, tail)
+                    .add(IntVector.fromArray(SPECIES, source, sourceOffset + i, tail))
+                    .intoArray(target, targetOffset + i, tail);
+        }
+    }
+
+    @Override
+    public void maskAbove(int[] values, int length, int limit, long[] mask) {
+        Arrays.fill(mask, 0, (length + 63) >>> 6, 0L);
+        // LANES divides 64, so a vector's bits never straddle two mask words
+        for (int i = 0; i < length; i += LANES) {
+            VectorMask<Integer> lanes = SPECIES.indexInRange(i, length);
+            long bits = IntVector.fromArray(SPECIES, values, i, lanes)
+                    .compare(VectorOperators.GT, limit, lanes).toLong();
+            mask[i >>> 6] |= bits << i;
+        }
+    }
+
+    @Override
+    public void coverMask(int[] hands, int offset, int stride, int count, Cost cost, long[] mask) {
+        Arrays.fill(mask, 0, (count + 63) >>> 6, 0L);
+        int[] need = {cost.getWood(), cost.getBrick(), cost.getWheat(), cost.getSheep(), cost.getOre()};
+        int[] lanesToHands = new int[LANES];
+        for (int j = 0; j < LANES; j++) {
+            lanesToHands[j] = j * stride;
+        }
+        // One lane per hand, gathered a resource at a time
+        for (int k = 0; k < count; k += LANES) {
+            VectorMask<Integer> covered = SPECIES.indexInRange(k, count);
+            for (int r = 0; r < need.length && covered.anyTrue(); r++) {
+                if (need[r] == 0) continue;
+                covered = covered.and(IntVector.fromArray(SPECIES, hands, offset + k * stride + r,
+                        lanesToHands, 0, covered).compare(VectorOperators.GE, need[r], covered));
+            }
+            mask[k >>> 6] |= covered.toLong() << k;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+}
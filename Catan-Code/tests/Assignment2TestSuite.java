@@ -10,7 +10,29 @@ import classes.model.CostTest;
 import classes.model.BuildingsTest;    
 import classes.model.CityTest;        
 import classes.model.SettlementTest;
+import classes.model.ProductionIndexTest;
+import classes.model.ExpectimaxSearchTest;
+import classes.model.EndgameSolverTest;
+import classes.model.ProductionModelTest;
+import classes.model.BoardTopologyTest;
+import classes.model.TurnPlannerTest;
+import classes.model.RoadPlannerTest;
+import classes.controller.GameEventBusTest;
+import classes.controller.TurnStateMachineTest;
+import classes.controller.GameCheckpointTest;
+import classes.controller.GameMasterResetTest;
 import classes.util.CommandParserTest;
+import classes.util.BoardLoaderTest;
+import classes.util.ExperimentConfigReaderTest;
+import classes.sim.LockstepEngineTest;
+import classes.sim.HandKernelsTest;
+import classes.sim.PositionStoreTest;
+import classes.sim.OpeningBookTest;
+import classes.sim.WinProbabilityEstimatorTest;
+import classes.util.PairedRandomTest;
+import classes.util.DiceSourceTest;
+import classes.util.GameLogContextTest;
+import classes.util.GameOutputManagerTest;
 
 @Suite
 @SelectClasses({
@@ -22,7 +44,29 @@ import classes.util.CommandParserTest;
     BuildingsTest.class,
     CityTest.class,
     SettlementTest.class,
-    CommandParserTest.class
+    ProductionIndexTest.class,
+    ExpectimaxSearchTest.class,
+    EndgameSolverTest.class,
+    ProductionModelTest.class,
+    BoardTopologyTest.class,
+    TurnPlannerTest.class,
+    RoadPlannerTest.class,
+    GameEventBusTest.class,
+    TurnStateMachineTest.class,
+    GameCheckpointTest.class,
+    GameMasterResetTest.class,
+    CommandParserTest.class,
+    BoardLoaderTest.class,
+    ExperimentConfigReaderTest.class,
+    LockstepEngineTest.class,
+    HandKernelsTest.class,
+    PositionStoreTest.class,
+    OpeningBookTest.class,
+    WinProbabilityEstimatorTest.class,
+    PairedRandomTest.class,
+    DiceSourceTest.class,
+    GameLogContextTest.class,
+    GameOutputManagerTest.class
 })
 public class Assignment2TestSuite {
     // Leave empty
@@ -0,0 +1,85 @@
+package classes;
+
+import classes.controller.GameMaster;
+import classes.controller.GameSpec;
+import classes.model.BoardLayout;
+import classes.model.Player;
+import classes.moves.ValueWeights;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Games for tests: headless (no state file) on the default layout.
+ *
+ * Tests that play whole games call quietLogs() in a @BeforeEach and restoreLogs() in
+ * an @AfterEach; only the game's own loggers are silenced, never the root logger.
+ */
+public final class TestGames {
+    /** Parent of every game logger, held so its level is not lost to garbage collection. */
+    private static final Logger GAME_LOGS = Logger.getLogger("classes");
+
+    private TestGames() {}
+
+    /**
+     * @return a four-player game with the default weights, its setup phase not yet played
+     */
+    public static GameMaster fromSpec(long seed, int maxRounds) {
+        GameMaster game = new GameMaster(new GameSpec(0, seed, "default", ValueWeights.defaults(),
+                BoardLayout.defaultLayout(), maxRounds, 4));
+        game.setStatePath(null);
+        return game;
+    }
+
+    /**
+     * @return a game with one seat per type, numbered from 1, its setup phase not yet played
+     */
+    public static GameMaster seated(long seed, int maxRounds, ValueWeights weights, String... types) {
+        GameMaster game = new GameMaster(maxRounds, seats(types), BoardLayout.defaultLayout(), seed, weights);
+        game.setStatePath(null);
+        return game;
+    }
+
+    /** @return seat configs numbered from 1, one per type */
+    public static List<String[]> seats(String... types) {
+        List<String[]> seats = new ArrayList<>();
+        for (int i = 0; i < types.length; i++) seats.add(new String[]{String.valueOf(i + 1), types[i]});
+        return seats;
+    }
+
+    /** Plays the setup phase. @return the game */
+    public static GameMaster setUp(GameMaster game) {
+        Demonstrator.performSetupPhase(game);
+        return game;
+    }
+
+    /** @return the round, winner, and every player's points, hand, roads and buildings */
+    public static String outcome(GameMaster game) {
+        StringBuilder sb = new StringBuilder("round " + game.getCurrentRound());
+        sb.append(" winner ").append(game.getWinner() == null ? 0 : game.getWinner().getId());
+        for (Player p : game.getPlayers()) {
+            sb.append(" | ").append(p.getId()).append(':').append(p.getVictoryPoints()).append(' ').append(p.getHand())
+                    .append(" roads ").append(p.getRoadsBuilt().size())
+                    .append(" buildings ").append(p.getBuildingsBuilt().size());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Turns the game loggers off.
+     *
+     * @return their previous level, to hand back to restoreLogs()
+     */
+    public static Level quietLogs() {
+        Level previous = GAME_LOGS.getLevel();
+        GAME_LOGS.setLevel(Level.OFF);
+        return previous;
+    }
+
+    /** Gives the game loggers back the level quietLogs() returned. */
+    public static void restoreLogs(Level previous) {
+        GAME_LOGS.setLevel(previous);
+    }
+}
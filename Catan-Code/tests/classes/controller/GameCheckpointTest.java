@@ -0,0 +1,122 @@
+package classes.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import classes.TestGames;
+import classes.enums.TurnState;
+import classes.moves.ValueWeights;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.logging.Level;
+
+public class GameCheckpointTest {
+
+    private Level logLevel;
+
+    @BeforeEach
+    void quietLogs() {
+        logLevel = TestGames.quietLogs();
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    /** Mixed seat types and non-default weights, so a checkpoint has to carry both. */
+    private static GameMaster newGame(long seed) {
+        return TestGames.setUp(TestGames.seated(seed, 300, new ValueWeights(1.2, 0.7, 0.4, 6),
+                "AI", "PRODUCTION", "AI", "PLANNER"));
+    }
+
+    private static byte[] checkpoint(GameMaster game) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        game.checkpoint(out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void testEveryTurnCheckpointResumesToTheSameResult() throws IOException {
+        GameMaster game = newGame(21L);
+        TurnStateMachine machine = new TurnStateMachine(game);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        int checkpoints = 0;
+        while (machine.step()) {
+            if (machine.getState() == TurnState.TURN_START) {
+                game.checkpoint(stream);
+                checkpoints++;
+            }
+        }
+        String expected = TestGames.outcome(game);
+
+        // Read every checkpoint back from the one stream; resume from a few of them
+        InputStream in = new ByteArrayInputStream(stream.toByteArray());
+        for (int i = 0; i < checkpoints; i++) {
+            GameMaster restored = GameMaster.restore(in);
+            if (i % 17 == 0 || i == checkpoints - 1) {
+                restored.startSimulation();
+                assertEquals(expected, TestGames.outcome(restored), "resumed from checkpoint " + i);
+            }
+        }
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    void testRestoredGameWritesTheSameBytes() throws IOException {
+        GameMaster game = newGame(5L);
+        TurnStateMachine machine = new TurnStateMachine(game);
+        for (int i = 0; i < 400 && machine.step(); i++) {
+            // play part of the game, stopping mid-turn
+        }
+        byte[] first = checkpoint(game);
+        GameMaster restored = GameMaster.restore(new ByteArrayInputStream(first));
+        assertArrayEquals(first, checkpoint(restored));
+        assertEquals(game.getBoard().getRoads().size(), restored.getBoard().getRoads().size());
+        assertEquals(game.getBoard().getRobber().getCurrentTile().getId(),
+                restored.getBoard().getRobber().getCurrentTile().getId());
+        assertTrue(first.length < 300, "checkpoint is " + first.length + " bytes");
+    }
+
+    @Test
+    void testRejectsOtherData() {
+        byte[] junk = "not a checkpoint".getBytes();
+        assertThrows(IOException.class, () -> GameMaster.restore(new ByteArrayInputStream(junk)));
+    }
+
+    @Test
+    void testCorruptBytesFailWithAnIOException() throws IOException {
+        GameMaster game = newGame(8L);
+        TurnStateMachine machine = new TurnStateMachine(game);
+        for (int i = 0; i < 300 && machine.step(); i++) {
+            // get some buildings, roads and cards on the board
+        }
+        byte[] good = checkpoint(game);
+        int[] values = {0x00, 0x7F, 0x80, 0xFF};
+        for (int pos = 0; pos < good.length; pos++) {
+            for (int value : values) {
+                byte[] bad = good.clone();
+                bad[pos] = (byte) value;
+                try {
+                    GameMaster.restore(new ByteArrayInputStream(bad));
+                } catch (IOException expected) {
+                    // the only failure a corrupt file may cause
+                } catch (RuntimeException e) {
+                    fail("byte " + pos + " = " + value + " threw " + e);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testUnknownSeatTypeIsSavedAsAI() throws IOException {
+        GameMaster game = TestGames.seated(4L, 50, ValueWeights.defaults(), "RANDOM", "AI");
+        GameMaster restored = GameMaster.restore(new ByteArrayInputStream(checkpoint(game)));
+        assertEquals("AI", restored.getPlayerType(restored.getPlayers().get(0)));
+    }
+}
@@ -0,0 +1,93 @@
+package classes.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import classes.TestGames;
+import classes.enums.GameEventType;
+import classes.moves.ValueWeights;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+public class GameEventBusTest {
+
+    private Level logLevel;
+
+    @BeforeEach
+    void quietLogs() {
+        logLevel = TestGames.quietLogs();
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    @Test
+    void testSynchronousListenerSeesTheWholeGame() {
+        GameMaster game = TestGames.setUp(TestGames.seated(3L, 500, ValueWeights.defaults(), "AI", "AI", "AI", "AI"));
+        List<String> seen = new ArrayList<>();
+        int[] counts = new int[GameEventType.values().length];
+        game.getEvents().subscribe(e -> {
+            seen.add(e.toString());
+            counts[e.getType().ordinal()]++;
+        });
+        game.startSimulation();
+
+        int turns = game.getCurrentRound() * game.getPlayers().size();
+        assertEquals(turns, counts[GameEventType.TURN_START.ordinal()]);
+        assertEquals(turns, counts[GameEventType.ROLL.ordinal()]);
+        assertEquals(turns, counts[GameEventType.PASS.ordinal()]);
+        assertEquals(1, counts[GameEventType.GAME_OVER.ordinal()]);
+        assertTrue(seen.get(seen.size() - 1).contains("GAME_OVER"));
+        assertTrue(counts[GameEventType.PRODUCTION.ordinal()] > 0);
+    }
+
+    @Test
+    void testAsyncRingDeliversTheSameSequence() throws InterruptedException {
+        GameMaster game = TestGames.setUp(TestGames.seated(5L, 500, ValueWeights.defaults(), "AI", "AI", "AI", "AI"));
+        List<String> direct = new ArrayList<>();
+        game.getEvents().subscribe(e -> direct.add(e.toString()));
+        // A tiny ring so that the game thread regularly waits for the consumer
+        EventRing ring = game.getEvents().subscribeAsync(8);
+        assertEquals(8, ring.capacity());
+
+        List<String> async = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted() || ring.size() > 0) {
+                if (ring.drain(e -> async.add(e.toString())) == 0) Thread.onSpinWait();
+            }
+        });
+        consumer.start();
+        game.startSimulation();
+        while (ring.size() > 0) Thread.onSpinWait();
+        consumer.interrupt();
+        consumer.join();
+
+        assertEquals(direct, async);
+    }
+
+    @Test
+    void testUnsubscribeStopsDelivery() {
+        GameEventBus bus = new GameEventBus(1);
+        assertFalse(bus.hasSubscribers());
+        bus.publish(GameEventType.ROLL, 1, 1, 8, 0, 0); // nobody listening
+
+        int[] calls = new int[2];
+        GameEventListener first = e -> calls[0]++;
+        GameEventListener second = e -> calls[1]++;
+        bus.subscribe(first);
+        bus.subscribe(second); // grows past the initial capacity
+        bus.publish(GameEventType.ROLL, 1, 1, 8, 0, 0);
+        bus.unsubscribe(first);
+        bus.publish(GameEventType.PASS, 1, 1, 0, 0, 0);
+
+        assertArrayEquals(new int[]{1, 2}, calls);
+        bus.unsubscribe(second);
+        assertFalse(bus.hasSubscribers());
+    }
+}
@@ -0,0 +1,137 @@
+package classes.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import classes.Demonstrator;
+import classes.TestGames;
+import classes.enums.DiceModel;
+import classes.enums.RandomMode;
+import classes.enums.ResourceType;
+import classes.model.Board;
+import classes.model.BoardLayout;
+import classes.model.Player;
+import classes.moves.ValueWeights;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+
+public class GameMasterResetTest {
+
+    private Level logLevel;
+
+    @BeforeEach
+    void quietLogs() {
+        logLevel = TestGames.quietLogs();
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    private static GameSpec spec(long seed, BoardLayout layout, RandomMode mode, DiceModel dice) {
+        return new GameSpec(0, seed, "default", ValueWeights.defaults(), layout, 200, 4, mode, dice);
+    }
+
+    /** The default layout with its tiles in reverse order. */
+    private static BoardLayout reversedLayout() {
+        BoardLayout base = BoardLayout.defaultLayout();
+        ResourceType[] resources = new ResourceType[BoardLayout.TILE_COUNT];
+        int[] tokens = new int[BoardLayout.TILE_COUNT];
+        for (int i = 0; i < BoardLayout.TILE_COUNT; i++) {
+            resources[i] = base.getResource(BoardLayout.TILE_COUNT - 1 - i);
+            tokens[i] = base.getToken(BoardLayout.TILE_COUNT - 1 - i);
+        }
+        return new BoardLayout("reversed", resources, tokens);
+    }
+
+    private static String play(GameMaster game) {
+        game.setStatePath(null);
+        Demonstrator.performSetupPhase(game);
+        game.startSimulation();
+        return TestGames.outcome(game);
+    }
+
+    @Test
+    void testResetGameMatchesAFreshGame() {
+        List<GameSpec> specs = List.of(
+                spec(5L, BoardLayout.defaultLayout(), RandomMode.INDEPENDENT, DiceModel.STREAM),
+                spec(6L, BoardLayout.defaultLayout(), RandomMode.INDEPENDENT, DiceModel.STREAM),
+                spec(7L, reversedLayout(), RandomMode.INDEPENDENT, DiceModel.TAPE),
+                spec(8L, BoardLayout.defaultLayout(), RandomMode.ANTITHETIC, DiceModel.DECK),
+                spec(8L, BoardLayout.defaultLayout(), RandomMode.COMMON, DiceModel.DECK),
+                spec(5L, BoardLayout.defaultLayout(), RandomMode.INDEPENDENT, DiceModel.STREAM));
+
+        GameMaster reused = new GameMaster(specs.get(0));
+        Board board = reused.getBoard();
+        for (int i = 0; i < specs.size(); i++) {
+            if (i > 0) reused.reset(specs.get(i));
+            assertEquals(play(new GameMaster(specs.get(i))), play(reused), "spec " + i);
+        }
+        assertSame(board, reused.getBoard());
+    }
+
+    @Test
+    void testResetKeepsMatchingPlayersAndReplacesTheRest() {
+        List<String[]> seats = TestGames.seats("AI", "AI", "AI", "AI");
+        GameMaster game = new GameMaster(150, seats, BoardLayout.defaultLayout(), 11L, ValueWeights.defaults());
+        play(game);
+        List<Player> before = new ArrayList<>(game.getPlayers());
+
+        List<String[]> next = TestGames.seats("AI", "PRODUCTION", "AI");
+        game.reset(12L, next);
+
+        assertEquals(3, game.getPlayers().size());
+        assertSame(before.get(0), game.getPlayers().get(0));
+        assertNotSame(before.get(1), game.getPlayers().get(1));
+        assertSame(before.get(2), game.getPlayers().get(2));
+        for (Player p : game.getPlayers()) {
+            assertEquals(0, p.getVictoryPoints());
+            assertEquals(0, p.getHand().totalCards());
+            assertTrue(p.getRoadsBuilt().isEmpty());
+        }
+        assertEquals(0, game.getCurrentRound());
+        assertNull(game.getWinner());
+
+        GameMaster fresh = new GameMaster(150, next, BoardLayout.defaultLayout(), 12L, ValueWeights.defaults());
+        assertEquals(play(fresh), play(game));
+    }
+
+    @Test
+    void testResetAfterARoundLimitedGame() throws IOException {
+        List<String[]> seats = TestGames.seats("AI", "AI", "AI", "AI");
+        GameMaster game = new GameMaster(40, seats, BoardLayout.defaultLayout(), 5L, ValueWeights.defaults());
+        play(game);
+        assertNull(game.getWinner());   // the final standings were printed
+        List<Player> before = new ArrayList<>(game.getPlayers());
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(i + 1, before.get(i).getId());
+        }
+
+        Collections.reverse(game.getPlayers());   // reset finds players by id, wherever they are
+        game.reset(6L, seats);
+        for (int i = 0; i < before.size(); i++) {
+            assertSame(before.get(i), game.getPlayers().get(i));
+            assertEquals("AI", game.getPlayerType(game.getPlayers().get(i)));
+        }
+
+        game.setStatePath(null);
+        Demonstrator.performSetupPhase(game);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        game.checkpoint(out);
+        GameMaster restored = GameMaster.restore(new ByteArrayInputStream(out.toByteArray()));
+        restored.setStatePath(null);
+        restored.startSimulation();
+
+        GameMaster fresh = new GameMaster(40, seats, BoardLayout.defaultLayout(), 6L, ValueWeights.defaults());
+        assertEquals(play(fresh), TestGames.outcome(restored));
+    }
+}
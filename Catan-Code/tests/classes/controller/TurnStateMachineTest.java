@@ -0,0 +1,107 @@
+package classes.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import classes.Demonstrator;
+import classes.TestGames;
+import classes.enums.TurnState;
+import classes.model.HumanPlayer;
+import classes.moves.ValueWeights;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+public class TurnStateMachineTest {
+
+    private Level logLevel;
+
+    @BeforeEach
+    void quietLogs() {
+        logLevel = TestGames.quietLogs();
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    @Test
+    void testSteppedGamesMatchTheBlockingLoop() {
+        for (long seed = 1; seed <= 5; seed++) {
+            GameMaster expected = TestGames.seated(seed, 200, ValueWeights.defaults(), "AI", "AI", "AI", "AI");
+            Demonstrator.performSetupPhase(expected);
+            expected.startSimulation();
+
+            GameMaster stepped = TestGames.seated(seed, 200, ValueWeights.defaults(), "AI", "AI", "AI", "AI");
+            TurnStateMachine machine = new TurnStateMachine(stepped, Demonstrator::performSetupPhase);
+            assertEquals(TurnState.SETUP, machine.getState());
+            while (machine.step()) {
+                assertFalse(machine.isAwaitingInput());
+            }
+            assertTrue(machine.isFinished());
+            assertEquals(TestGames.outcome(expected), TestGames.outcome(stepped), "seed " + seed);
+        }
+    }
+
+    @Test
+    void testSchedulerInterleavesGamesOnOneThread() {
+        List<String> expected = new ArrayList<>();
+        for (long seed = 10; seed < 14; seed++) {
+            GameMaster game = TestGames.seated(seed, 200, ValueWeights.defaults(), "AI", "AI", "AI");
+            Demonstrator.performSetupPhase(game);
+            game.startSimulation();
+            expected.add(TestGames.outcome(game));
+        }
+
+        GameScheduler scheduler = new GameScheduler(1);
+        List<GameMaster> games = new ArrayList<>();
+        for (long seed = 10; seed < 14; seed++) {
+            GameMaster game = TestGames.seated(seed, 200, ValueWeights.defaults(), "AI", "AI", "AI");
+            games.add(game);
+            scheduler.add(new TurnStateMachine(game, Demonstrator::performSetupPhase));
+        }
+        assertEquals(0, scheduler.runUntilBlocked());
+        for (int i = 0; i < games.size(); i++) {
+            assertEquals(expected.get(i), TestGames.outcome(games.get(i)));
+        }
+    }
+
+    @Test
+    void testHumanTurnWaitsForInputWithoutBlocking() {
+        GameMaster game = TestGames.seated(4L, 200, ValueWeights.defaults(), "HUMAN", "AI");
+        HumanPlayer human = (HumanPlayer) game.getPlayers().get(0);
+        TurnStateMachine machine = new TurnStateMachine(game);
+        GameScheduler scheduler = new GameScheduler();
+        scheduler.add(machine);
+
+        assertEquals(1, scheduler.runUntilBlocked());
+        assertTrue(machine.isAwaitingInput());
+        assertEquals(TurnState.ROLLING, machine.getState());
+        assertSame(human, machine.getCurrentPlayer());
+
+        machine.offerInput("go");   // rejected: must roll first
+        scheduler.runUntilBlocked();
+        assertEquals(TurnState.ROLLING, machine.getState());
+
+        machine.offerInput("roll");
+        scheduler.runUntilBlocked();
+        assertTrue(human.hasRolled());
+        assertEquals(TurnState.BUILDING_PHASE, machine.getState());
+
+        machine.offerInput("go");
+        machine.offerInput("");     // confirm the pass
+        scheduler.runUntilBlocked();
+        assertEquals(TurnState.TURN_START, machine.getState());
+        assertEquals(2, machine.getCurrentPlayer().getId());
+
+        machine.offerInput("go");   // let the AI player move
+        scheduler.runUntilBlocked();
+        assertEquals(2, game.getCurrentRound());
+        assertEquals(TurnState.ROLLING, machine.getState());
+        assertSame(human, machine.getCurrentPlayer());
+    }
+}
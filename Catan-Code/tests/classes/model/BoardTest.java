@@ -3,6 +3,14 @@ package classes.model;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import classes.controller.GameMaster;
+import classes.enums.ResourceType;
+import classes.moves.BuildCityAction;
+import classes.moves.BuildRoadAction;
+import classes.moves.BuildSettlementAction;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class BoardTest {
     private Board board;
@@ -33,4 +41,108 @@ public class BoardTest {
         // R1.1: Map must have 19 tiles (0-18)
         assertEquals(19, board.getTiles().size(), "Board should have 19 tiles");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMutationsBumpEpochAndNotifyListeners() {
+        List<BoardChange> changes = new ArrayList<>();
+        board.addListener(changes::add);
+        Player p = new AIPlayer(1);
+        Vertex v = board.getVertex(0);
+
+        board.placeBuilding(v, new Settlement(p));
+        board.placeBuilding(v, new City(p));
+        board.removeBuilding(v);
+        board.removeBuilding(v); // already empty: no change
+        Road road = new Road(p, v, board.getVertex(1));
+        board.placeRoad(road);
+        board.removeRoad(road);
+        board.moveRobber(board.getTile(0));
+
+        assertEquals(6, board.getEpoch());
+        assertEquals(6, changes.size());
+        assertEquals(BoardChange.Kind.BUILDING_PLACED, changes.get(0).getKind());
+        assertEquals(BoardChange.Kind.BUILDING_REPLACED, changes.get(1).getKind());
+        assertTrue(changes.get(1).getBefore() instanceof Settlement);
+        assertEquals(BoardChange.Kind.BUILDING_REMOVED, changes.get(2).getKind());
+        assertEquals(BoardChange.Kind.ROAD_PLACED, changes.get(3).getKind());
+        assertEquals(BoardChange.Kind.ROAD_REMOVED, changes.get(4).getKind());
+        assertEquals(BoardChange.Kind.ROBBER_MOVED, changes.get(5).getKind());
+        assertEquals(board.getTile(0), changes.get(5).getToTile());
+        for (int i = 0; i < changes.size(); i++) {
+            assertEquals(i + 1, changes.get(i).getEpoch());
+        }
+    }
+
+    @Test
+    void testUndoIsPublishedToo() {
+        List<String[]> seats = new ArrayList<>();
+        seats.add(new String[]{"1", "AI"});
+        GameMaster game = new GameMaster(10, seats);
+        Board b = game.getBoard();
+        Player p = game.getPlayers().get(0);
+        for (ResourceType r : new ResourceType[]{ResourceType.WOOD, ResourceType.BRICK, ResourceType.WHEAT,
+                ResourceType.SHEEP}) {
+            p.collectResource(r, 2);
+        }
+        p.collectResource(ResourceType.ORE, 3);
+
+        List<BoardChange.Kind> kinds = new ArrayList<>();
+        b.addListener(change -> kinds.add(change.getKind()));
+        BuildSettlementAction settle = new BuildSettlementAction(p, b.getVertex(0));
+        BuildRoadAction road = new BuildRoadAction(p, b.getVertex(0), b.getVertex(1));
+        BuildCityAction city = new BuildCityAction(p, b.getVertex(0));
+        settle.execute(game);
+        road.execute(game);
+        city.execute(game);
+        city.undo(game);
+        road.undo(game);
+        settle.undo(game);
+
+        assertEquals(List.of(BoardChange.Kind.BUILDING_PLACED, BoardChange.Kind.ROAD_PLACED,
+                BoardChange.Kind.BUILDING_REPLACED, BoardChange.Kind.BUILDING_REPLACED,
+                BoardChange.Kind.ROAD_REMOVED, BoardChange.Kind.BUILDING_REMOVED), kinds);
+        assertFalse(b.getVertex(0).isOccupied());
+        assertTrue(b.getRoads().isEmpty());
+    }
+
+    @Test
+    void testResetIsPublishedToEveryListener() {
+        // A listener that mirrors the occupied vertices from the change records alone
+        List<Integer> occupied = new ArrayList<>();
+        List<BoardChange.Kind> kinds = new ArrayList<>();
+        board.addListener(change -> {
+            kinds.add(change.getKind());
+            switch (change.getKind()) {
+                case BUILDING_PLACED -> occupied.add(change.getVertex().getId());
+                case BUILDING_REMOVED -> occupied.remove(Integer.valueOf(change.getVertex().getId()));
+                case BOARD_RESET -> occupied.clear();
+                default -> { }
+            }
+        });
+        Player p = new AIPlayer(1);
+        board.placeBuilding(board.getVertex(0), new Settlement(p));
+        board.placeBuilding(board.getVertex(10), new Settlement(p));
+        board.placeRoad(new Road(p, board.getVertex(0), board.getVertex(1)));
+        board.moveRobber(board.getTile(3));
+        ProductionModel model = board.getProductionModel();
+        long epoch = board.getEpoch();
+
+        board.reset(BoardLayout.defaultLayout());
+
+        assertEquals(BoardChange.Kind.BOARD_RESET, kinds.get(kinds.size() - 1));
+        assertEquals(List.of(), occupied);
+        assertTrue(board.getEpoch() > epoch);
+        assertTrue(board.getRoads().isEmpty());
+        assertEquals(BoardLayout.defaultLayout().getDesertTileId(), board.getRobber().getCurrentTile().getId());
+
+        // The board's production model follows the reset and the next game
+        assertSame(model, board.getProductionModel());
+        board.placeBuilding(board.getVertex(20), new City(p));
+        ProductionModel rebuilt = new ProductionModel(board);
+        for (int roll = 2; roll <= 12; roll++) {
+            for (ResourceType type : ResourceType.values()) {
+                assertEquals(rebuilt.getIncome(p, roll, type), model.getIncome(p, roll, type));
+            }
+        }
+    }
+}
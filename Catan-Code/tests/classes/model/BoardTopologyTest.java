@@ -0,0 +1,82 @@
+package classes.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class BoardTopologyTest {
+
+    private static Board newBoard() {
+        Board board = new Board();
+        board.initializeDefaultMap();
+        return board;
+    }
+
+    @Test
+    void testBoardsReadTheSharedTopology() {
+        BoardTopology topology = BoardTopology.STANDARD;
+        Board a = newBoard();
+        Board b = newBoard();
+        assertSame(topology, a.getTopology());
+        assertSame(a.getDistances(), b.getDistances());
+        assertEquals(54, topology.getVertexCount());
+        assertEquals(19, topology.getTileCount());
+        assertEquals(72, topology.getEdgeCount());
+
+        for (Vertex v : a.getVertices()) {
+            List<Vertex> neighbours = v.getAdjacentVertices();
+            assertArrayEquals(topology.getNeighbours(v.getId()), neighbours.stream().mapToInt(Vertex::getId).toArray());
+            for (Vertex n : neighbours) {
+                assertSame(a.getVertex(n.getId()), n, "neighbours are the board's own vertices");
+                assertTrue(n.getAdjacentVertices().contains(v));
+            }
+        }
+        int[] order = topology.getTileOrder();
+        for (int t = 0; t < order.length; t++) {
+            Tile tile = a.getTiles().get(t);
+            assertEquals(order[t], tile.getId());
+            assertSame(tile, a.getTile(tile.getId()));
+            assertEquals(6, tile.getAdjacentVertices().size());
+        }
+        assertThrows(UnsupportedOperationException.class, () -> a.getVertex(0).addAdjacentVertex(a.getVertex(30)));
+    }
+
+    @Test
+    void testOrdersMatchTheListBasedBoard() {
+        // First links of the original adjacency table, in the order AI players iterate them
+        Board board = newBoard();
+        assertArrayEquals(new int[]{1, 5, 20}, ids(board.getVertex(0).getAdjacentVertices()));
+        assertArrayEquals(new int[]{0, 6, 2}, ids(board.getVertex(1).getAdjacentVertices()));
+        assertArrayEquals(new int[]{0, 19, 22}, ids(board.getVertex(20).getAdjacentVertices()));
+        assertArrayEquals(new int[]{2, 1, 6, 7, 8, 9}, ids(board.getTile(1).getAdjacentVertices()));
+        assertEquals(13, board.getTiles().get(0).getId());
+    }
+
+    @Test
+    void testEdgesIndexRoads() {
+        BoardTopology topology = BoardTopology.STANDARD;
+        for (int e = 0; e < topology.getEdgeCount(); e++) {
+            int start = topology.getEdgeStart(e);
+            int end = topology.getEdgeEnd(e);
+            assertTrue(start < end);
+            assertEquals(e, topology.edgeId(start, end));
+            assertEquals(e, topology.edgeId(end, start));
+        }
+        assertEquals(-1, topology.edgeId(0, 2));
+        assertEquals(-1, topology.edgeId(0, 54));
+
+        Board board = newBoard();
+        Player p = new AIPlayer(1);
+        Road road = new Road(p, board.getVertex(3), board.getVertex(4));
+        board.placeRoad(road);
+        assertSame(road, board.getRoad(board.getVertex(4), board.getVertex(3)));
+        assertNull(board.getRoad(board.getVertex(4), board.getVertex(5)));
+        board.removeRoad(road);
+        assertNull(board.getRoad(board.getVertex(3), board.getVertex(4)));
+    }
+
+    private static int[] ids(List<Vertex> vertices) {
+        return vertices.stream().mapToInt(Vertex::getId).toArray();
+    }
+}
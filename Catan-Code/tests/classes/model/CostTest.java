@@ -30,4 +30,35 @@ public class CostTest {
         hand.add(ResourceType.SHEEP, 1);
         assertTrue(settlement.isAffordableBy(hand));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCostsAreInterned() {
+        // Equal vectors share one instance, so the standard costs are constants
+        assertSame(Cost.roadCost(), Cost.of(1, 1, 0, 0, 0));
+        assertSame(Cost.of(2, 0, 1, 0, 0), Cost.of(2, 0, 1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Cost.of(-1, 0, 0, 0, 0));
+    }
+
+    @Test
+    void testAffordableMaskAndMaxAffordable() {
+        ResourceHand hand = new ResourceHand();
+        assertEquals(0, Cost.affordableMask(hand));
+
+        hand.add(ResourceType.WOOD, 3);
+        hand.add(ResourceType.BRICK, 2);
+        assertEquals(Cost.ROAD_BIT, Cost.affordableMask(hand));
+        assertEquals(2, Cost.roadCost().maxAffordable(hand));
+
+        hand.add(ResourceType.WHEAT, 2);
+        hand.add(ResourceType.SHEEP, 1);
+        hand.add(ResourceType.ORE, 3);
+        assertEquals(Cost.ROAD_BIT | Cost.SETTLEMENT_BIT | Cost.CITY_BIT, Cost.affordableMask(hand));
+        assertEquals(1, Cost.cityCost().maxAffordable(hand));
+
+        // Boundary: one card short in a single lane must fail the direct and the packed check
+        hand.remove(ResourceType.ORE, 1);
+        assertFalse(Cost.cityCost().isAffordableBy(hand));
+        assertFalse(Cost.cityCost().isCoveredBy(hand.packed()));
+        assertEquals(0, Cost.cityCost().maxAffordable(hand));
+    }
+}
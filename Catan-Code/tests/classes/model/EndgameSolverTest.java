@@ -0,0 +1,103 @@
+package classes.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import classes.Demonstrator;
+import classes.TestGames;
+import classes.controller.GameMaster;
+import classes.enums.ResourceType;
+import classes.moves.ValueWeights;
+
+import java.util.Random;
+import java.util.logging.Level;
+
+public class EndgameSolverTest {
+    private GameMaster game;
+    private Player player;
+
+    private Level logLevel;
+
+    @BeforeEach
+    void setUp() {
+        logLevel = TestGames.quietLogs();
+        game = TestGames.seated(7L, 100, ValueWeights.defaults(), "AI", "AI", "AI", "AI");
+        Demonstrator.performSetupPhase(game, new Random(7));
+        player = game.getPlayers().get(0);
+        player.addVictoryPoints(9 - player.getVictoryPoints());
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    @Test
+    void testAffordableCityWinsNow() {
+        player.collectResource(ResourceType.WHEAT, 2);
+        player.collectResource(ResourceType.ORE, 3);
+        BuildModel model = new BuildModel(game.getBoard(), player);
+        EndgameSolver solver = new EndgameSolver();
+        assertTrue(solver.applies(player));
+        int move = solver.bestMove(model, model.rootState(player));
+        assertEquals(BuildModel.CITY, move & ~BuildModel.ARG);
+        assertEquals(1.0, solver.getLastValue(), 1e-12);
+        assertEquals(1.0, solver.winProbability(game.getBoard(), player, true), 1e-12);
+    }
+
+    @Test
+    void testOneTurnMatchesTheRollOdds() {
+        // One ore short of a city; four cards, so a 7 costs nothing, and no settlement spot yet
+        player.getHand().setAll(new int[ResourceHand.RESOURCE_COUNT]);
+        player.collectResource(ResourceType.WHEAT, 2);
+        player.collectResource(ResourceType.ORE, 2);
+        BuildModel model = new BuildModel(game.getBoard(), player);
+        BuildModel.State root = model.rootState(player);
+        assertEquals(0, model.settlementSpots(root));
+
+        double expected = 0;
+        for (int roll = 2; roll <= 12; roll++) {
+            if (BuildModel.canAffordCity(model.rolled(root, roll))) {
+                expected += (6 - Math.abs(7 - roll)) / 36.0;
+            }
+        }
+        double oneTurn = new EndgameSolver(1, 1).winProbability(game.getBoard(), player, false);
+        assertEquals(expected, oneTurn, 1e-12);
+        assertEquals(0.0, new EndgameSolver(1, 1).winProbability(game.getBoard(), player, true), 1e-12);
+
+        double threeTurns = new EndgameSolver(1, 3).winProbability(game.getBoard(), player, false);
+        assertTrue(threeTurns >= oneTurn && threeTurns <= 1.0);
+    }
+
+    @Test
+    void testTableIsReusedUntilOpponentsMove() {
+        player.collectResource(ResourceType.WOOD, 1);
+        player.collectResource(ResourceType.WHEAT, 1);
+        EndgameSolver solver = new EndgameSolver();
+        double first = solver.winProbability(game.getBoard(), player, false);
+        int size = solver.getTableSize();
+        assertTrue(size > 0);
+
+        long start = System.nanoTime();
+        assertEquals(first, solver.winProbability(game.getBoard(), player, false), 1e-12);
+        assertTrue(System.nanoTime() - start < 50_000_000L);
+        assertEquals(size, solver.getTableSize());
+
+        // An opponent's road changes the fixed part of the model, so the table starts over
+        Player other = game.getPlayers().get(1);
+        Vertex from = other.getBuildingsBuilt().get(0).getLocation();
+        for (Vertex to : from.getAdjacentVertices()) {
+            if (game.getRuleValidator().canBuildRoad(other, from, to)) {
+                Road road = new Road(other, from, to);
+                game.getBoard().placeRoad(road);
+                other.addRoad(road);
+                break;
+            }
+        }
+        EndgameSolver fresh = new EndgameSolver();
+        assertEquals(fresh.winProbability(game.getBoard(), player, false),
+                solver.winProbability(game.getBoard(), player, false), 1e-12);
+        assertEquals(fresh.getTableSize(), solver.getTableSize());
+    }
+}
@@ -0,0 +1,121 @@
+package classes.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import classes.Demonstrator;
+import classes.TestGames;
+import classes.controller.GameMaster;
+import classes.enums.ResourceType;
+import classes.moves.ValueWeights;
+
+import java.util.Random;
+import java.util.logging.Level;
+
+public class ExpectimaxSearchTest {
+    private GameMaster game;
+    private Player player;
+
+    private Level logLevel;
+
+    @BeforeEach
+    void setUp() {
+        logLevel = TestGames.quietLogs();
+        game = TestGames.seated(7L, 100, ValueWeights.defaults(), "AI", "AI", "AI", "AI");
+        Demonstrator.performSetupPhase(game, new Random(7));
+        player = game.getPlayers().get(0);
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    @Test
+    void testPruningKeepsTheValue() {
+        player.collectResource(ResourceType.WOOD, 2);
+        player.collectResource(ResourceType.BRICK, 2);
+        player.collectResource(ResourceType.WHEAT, 1);
+        player.collectResource(ResourceType.SHEEP, 1);
+        for (int depth = 0; depth <= 2; depth++) {
+            BuildModel model = new BuildModel(game.getBoard(), player);
+            ExpectimaxSearch pruned = new ExpectimaxSearch(model, true);
+            ExpectimaxSearch full = new ExpectimaxSearch(model, false);
+            double expected = full.value(model.rootState(player), depth);
+            assertEquals(expected, pruned.value(model.rootState(player), depth), 1e-9, "depth " + depth);
+            assertTrue(pruned.getNodes() <= full.getNodes(), "depth " + depth);
+        }
+    }
+
+    @Test
+    void testPrefersCityWhenAffordable() {
+        player.collectResource(ResourceType.WHEAT, 2);
+        player.collectResource(ResourceType.ORE, 3);
+        BuildModel model = new BuildModel(game.getBoard(), player);
+        ExpectimaxSearch search = new ExpectimaxSearch(model, true);
+        int move = search.search(model.rootState(player), 1, Long.MAX_VALUE);
+        assertEquals(BuildModel.CITY, move & ~BuildModel.ARG);
+        assertEquals(1, search.getCompletedDepth());
+    }
+
+    @Test
+    void testNodeBudgetStopsAtTheSameDepth() {
+        player.collectResource(ResourceType.WOOD, 2);
+        player.collectResource(ResourceType.BRICK, 2);
+        player.collectResource(ResourceType.WHEAT, 1);
+        player.collectResource(ResourceType.SHEEP, 1);
+        BuildModel model = new BuildModel(game.getBoard(), player);
+        ExpectimaxSearch unlimited = new ExpectimaxSearch(model, true);
+        unlimited.search(model.rootState(player), 2, Long.MAX_VALUE);
+        assertEquals(2, unlimited.getCompletedDepth());
+
+        int budget = unlimited.getNodes() / 2;
+        int[] moves = new int[2];
+        for (int i = 0; i < 2; i++) {
+            ExpectimaxSearch limited = new ExpectimaxSearch(model, true);
+            moves[i] = limited.search(model.rootState(player), 2, Long.MAX_VALUE, budget);
+            assertTrue(limited.getCompletedDepth() < 2);
+            assertTrue(limited.getNodes() <= budget + 1);
+        }
+        assertEquals(moves[0], moves[1]);
+    }
+
+    @Test
+    void testSevenRobsTheBestTileUntilTheNextSeven() {
+        BuildModel model = new BuildModel(game.getBoard(), player);
+        BuildModel.State root = model.rootState(player);
+        int target = model.robberTarget(root);
+        assertNotEquals(BuildModel.NO_TILE, target);
+        assertNotEquals(root.robber, target);
+
+        // The income after a 7 is what the board would pay with the robber on that tile
+        BuildModel.State robbed = model.rolled(root, 7);
+        assertEquals(target, robbed.robber);
+        game.getBoard().moveRobber(game.getBoard().getTile(target));
+        assertArrayEquals(new BuildModel(game.getBoard(), player).rootState(player).income, robbed.income);
+
+        // Later rolls pay from the reduced income
+        int token = game.getBoard().getTile(target).getNumberToken();
+        BuildModel.State next = model.rolled(robbed, token);
+        assertEquals(target, next.robber);
+        assertTrue(BuildModel.total(next) - BuildModel.total(robbed) < BuildModel.total(model.rolled(root, token)) - BuildModel.total(root));
+    }
+
+    @Test
+    void testExpectimaxSeatsPlayAFullGame() {
+        String[] outcomes = new String[2];
+        for (int run = 0; run < 2; run++) {
+            GameMaster mixed = TestGames.setUp(TestGames.seated(11L, 200, ValueWeights.defaults(),
+                    "EXPECTIMAX", "EXPECTIMAX", "EXPECTIMAX", "EXPECTIMAX"));
+            mixed.startSimulation();
+            assertTrue(mixed.getCurrentRound() > 0);
+            for (Player p : mixed.getPlayers()) {
+                assertTrue(p instanceof ExpectimaxAIPlayer);
+                assertTrue(p.getVictoryPoints() >= 2);
+            }
+            outcomes[run] = TestGames.outcome(mixed);
+        }
+        assertEquals(outcomes[0], outcomes[1]);   // a node budget does not depend on the machine
+    }
+}
@@ -0,0 +1,77 @@
+package classes.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import classes.enums.ResourceType;
+import classes.moves.BuildSettlementAction;
+import classes.moves.ProductionValueEvaluator;
+import classes.moves.ValueEvaluator;
+import classes.moves.ValueWeights;
+
+public class ProductionIndexTest {
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board();
+        board.initializeDefaultMap();
+    }
+
+    @Test
+    void testPipsBoundaries() {
+        assertEquals(1, ProductionIndex.pips(2));
+        assertEquals(5, ProductionIndex.pips(8));
+        assertEquals(0, ProductionIndex.pips(7));
+        assertEquals(0, ProductionIndex.pips(0)); // desert has no token
+    }
+
+    @Test
+    void testVertexProduction() {
+        // Vertex 0 touches tile 0 (WOOD 10), tile 5 (SHEEP 5) and tile 6 (SHEEP 12)
+        ProductionIndex index = board.getProductionIndex();
+        assertEquals(3, index.getPips(0, ResourceType.WOOD));
+        assertEquals(5, index.getPips(0, ResourceType.SHEEP));
+        assertEquals(8, index.getTotalPips(0));
+        assertEquals(2, index.getDiversity(0));
+        assertEquals(8.0 / 36, index.getExpectedYield(0), 1e-9);
+    }
+
+    @Test
+    void testRobberMoveInvalidatesOnlyTouchedVertices() {
+        ProductionIndex index = board.getProductionIndex();
+        board.moveRobber(board.getTile(0));
+        index = board.getProductionIndex();
+        assertEquals(0, index.getBlockedTile());
+        assertEquals(5, index.getTotalPips(0));
+        assertEquals(1, index.getDiversity(0));
+
+        // The incrementally updated tables match a fresh build for the same robber tile
+        ProductionIndex fresh = new ProductionIndex(board.getTiles(), board.getVertices().size());
+        fresh.sync(board.getTile(0));
+        for (int v = 0; v < board.getVertices().size(); v++) {
+            assertEquals(fresh.getTotalPips(v), index.getTotalPips(v), "vertex " + v);
+            assertEquals(fresh.getDiversity(v), index.getDiversity(v), "vertex " + v);
+        }
+
+        board.moveRobber(board.getTile(16));
+        assertEquals(8, board.getProductionIndex().getTotalPips(0));
+    }
+
+    @Test
+    void testEvaluatorPrefersProductiveVertexWithinTier() {
+        ResourceHand hand = new ResourceHand();
+        hand.add(ResourceType.WOOD, 10);
+        Player player = new AIPlayer(1);
+        ProductionIndex index = board.getProductionIndex();
+        ProductionValueEvaluator evaluator = new ProductionValueEvaluator(hand, ValueWeights.defaults(), index);
+        ValueEvaluator base = new ValueEvaluator(hand);
+
+        BuildSettlementAction rich = new BuildSettlementAction(player, board.getVertex(0));
+        BuildSettlementAction poor = new BuildSettlementAction(player, board.getVertex(53));
+        assertEquals(base.visit(rich), base.visit(poor));
+        assertTrue(evaluator.visit(rich) > evaluator.visit(poor));
+        // The bonus never lifts a build past the next R3.2 tier
+        assertTrue(evaluator.visit(rich) - base.visit(rich) < 0.2);
+    }
+}
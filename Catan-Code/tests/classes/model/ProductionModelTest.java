@@ -0,0 +1,105 @@
+package classes.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import classes.Demonstrator;
+import classes.TestGames;
+import classes.controller.GameMaster;
+import classes.controller.GameSpec;
+import classes.enums.ResourceType;
+import classes.moves.ValueWeights;
+
+import java.util.logging.Level;
+
+public class ProductionModelTest {
+    private GameMaster game;
+    private Board board;
+
+    private Level logLevel;
+
+    @BeforeEach
+    void setUp() {
+        logLevel = TestGames.quietLogs();
+        game = new GameMaster(new GameSpec(0, 21L, "default", ValueWeights.defaults(),
+                BoardLayout.defaultLayout(), 60, 4));
+        game.setStatePath(null);
+        Demonstrator.performSetupPhase(game);
+        board = game.getBoard();
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    @Test
+    void testIncomeMatchesTheProductionIndex() {
+        ProductionModel model = board.getProductionModel();
+        ProductionIndex index = board.getProductionIndex();
+        for (Player p : game.getPlayers()) {
+            double expected = 0;
+            for (Buildings b : p.getBuildingsBuilt()) {
+                expected += (b instanceof City ? 2 : 1) * index.getExpectedYield(b.getLocation().getId());
+            }
+            double modelled = 0;
+            for (ResourceType type : ResourceType.values()) {
+                modelled += model.getExpectedIncome(p, type);
+            }
+            assertEquals(expected, modelled, 1e-9);
+        }
+    }
+
+    @Test
+    void testIncrementalUpdatesMatchARebuild() {
+        ProductionModel model = board.getProductionModel();
+        game.startSimulation();   // builds, upgrades and robber moves all arrive as BoardChanges
+
+        ProductionModel rebuilt = new ProductionModel(board);
+        for (Player p : game.getPlayers()) {
+            for (int roll = 2; roll <= 12; roll++) {
+                for (ResourceType type : ResourceType.values()) {
+                    assertEquals(rebuilt.getIncome(p, roll, type), model.getIncome(p, roll, type),
+                            "player " + p.getId() + " roll " + roll + " " + type);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testOneMissingCardIsGeometric() {
+        ProductionModel model = board.getProductionModel();
+        Player best = null;
+        int bestWays = 0;
+        for (Player p : game.getPlayers()) {
+            int ways = 0;
+            for (int roll = 2; roll <= 12; roll++) {
+                if (model.getIncome(p, roll, ResourceType.ORE) > 0) ways += 6 - Math.abs(7 - roll);
+            }
+            if (ways > bestWays) {
+                bestWays = ways;
+                best = p;
+            }
+        }
+        assertNotNull(best);
+
+        ProductionModel.Affordability ready = model.timeToAfford(best, new int[]{0, 0, 2, 0, 3}, Cost.CITY);
+        assertEquals(0.0, ready.expectedRolls(), 1e-12);
+        assertEquals(1.0, ready.probabilityWithin(0), 1e-12);
+
+        double p = bestWays / 36.0;
+        ProductionModel.Affordability oneOre = model.timeToAfford(best, new int[]{0, 0, 2, 0, 2}, Cost.CITY);
+        assertEquals(p, oneOre.probabilityWithin(1), 1e-12);
+        assertEquals(1 - Math.pow(1 - p, 5), oneOre.probabilityWithin(5), 1e-12);
+        assertEquals(1 / p, oneOre.expectedRolls(), 0.05);
+        assertEquals((int) Math.ceil(Math.log(0.5) / Math.log(1 - p) - 1e-9), oneOre.percentileRolls(0.5));
+        assertEquals(oneOre.expectedRolls() / 4, oneOre.expectedTurns(4), 1e-12);
+
+        Player noOre = game.getPlayers().stream()
+                .filter(q -> model.getExpectedIncome(q, ResourceType.ORE) == 0).findFirst().orElse(null);
+        if (noOre != null) {
+            assertEquals(Double.POSITIVE_INFINITY, model.timeToAfford(noOre, new int[5], Cost.CITY).expectedRolls());
+        }
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import classes.enums.ResourceType;
+import java.util.Random;
 
 public class ResourceHandTest {
     private ResourceHand hand;
@@ -70,4 +71,74 @@ public class ResourceHandTest {
         // Partition: Lacking one type of required resource should return false
         assertFalse(hand.hasEnough(Cost.roadCost()), "Should not afford road missing a resource");
     }
-}
\ No newline at end of file
+
+    // --- PARTITION: Bulk spend / refund ---
+
+    @Test
+    void testSpendAndRefundCity() {
+        hand.add(ResourceType.WHEAT, 2);
+        hand.add(ResourceType.ORE, 4);
+        hand.spend(Cost.cityCost());
+        // Partition: spending exactly a city's cost leaves only the surplus
+        assertEquals(0, hand.getWheat());
+        assertEquals(1, hand.getOre());
+        assertEquals(1, hand.totalCards(), "Total must track bulk operations");
+
+        hand.refund(Cost.cityCost());
+        assertEquals(6, hand.totalCards(), "Refund restores the full cost");
+    }
+
+    // --- PARTITION/BOUNDARY: Random removal ---
+
+    @Test
+    void testRemoveRandomCardEmptyHand() {
+        // Boundary: nothing to remove from an empty hand
+        assertNull(hand.removeRandomCard(new Random(1)));
+    }
+
+    @Test
+    void testRemoveRandomCardWeightedByCount() {
+        // Partition: a single card type can only ever yield that type
+        hand.add(ResourceType.SHEEP, 3);
+        assertEquals(ResourceType.SHEEP, hand.removeRandomCard(new Random(1)));
+        assertEquals(2, hand.totalCards());
+
+        // Partition: a skewed hand yields each type in proportion to its count
+        hand.removeRandomCard(new Random(1));
+        hand.removeRandomCard(new Random(1));
+        hand.add(ResourceType.WOOD, 1);
+        hand.add(ResourceType.BRICK, 3);
+        hand.add(ResourceType.ORE, 6);
+        Random random = new Random(42);
+        int draws = 20000;
+        int[] seen = new int[ResourceType.values().length];
+        for (int i = 0; i < draws; i++) {
+            ResourceType type = hand.removeRandomCard(random);
+            seen[type.ordinal()]++;
+            hand.add(type, 1);
+        }
+        assertEquals(0.1, seen[ResourceType.WOOD.ordinal()] / (double) draws, 0.02);
+        assertEquals(0.3, seen[ResourceType.BRICK.ordinal()] / (double) draws, 0.02);
+        assertEquals(0.6, seen[ResourceType.ORE.ordinal()] / (double) draws, 0.02);
+        assertEquals(10, hand.totalCards());
+    }
+
+    @Test
+    void testDiscardRandomCardsExactCount() {
+        hand.add(ResourceType.WOOD, 4);
+        hand.add(ResourceType.ORE, 5);
+        hand.discardRandomCards(4, new Random(7));
+        // Partition: exactly k cards leave the hand and no count goes negative
+        assertEquals(5, hand.totalCards());
+        assertEquals(5, hand.getWood() + hand.getOre());
+    }
+
+    @Test
+    void testDiscardMoreThanHeld() {
+        hand.add(ResourceType.BRICK, 2);
+        // Boundary: discarding more than the hand holds empties it
+        hand.discardRandomCards(5, new Random(3));
+        assertEquals(0, hand.totalCards());
+        assertEquals(0, hand.getBrick());
+    }
+}
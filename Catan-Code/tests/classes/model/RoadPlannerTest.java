@@ -0,0 +1,89 @@
+package classes.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import classes.moves.BuildRoadAction;
+import classes.util.RuleValidator;
+
+import java.util.List;
+
+public class RoadPlannerTest {
+    private Board board;
+    private Player player;
+    private Player opponent;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board();
+        board.initializeDefaultMap();
+        player = new AIPlayer(1);
+        opponent = new AIPlayer(2);
+        place(player, 0);
+    }
+
+    private void place(Player owner, int vertexId) {
+        Settlement s = new Settlement(owner);
+        board.placeBuilding(board.getVertex(vertexId), s);
+        owner.addBuilding(s);
+    }
+
+    @Test
+    void testDistanceTables() {
+        VertexDistances d = board.getDistances();
+        assertEquals(0, d.distance(7, 7));
+        assertEquals(1, d.distance(0, 1));
+        assertEquals(2, d.distance(0, 2));
+        for (int a = 0; a < 54; a++) {
+            for (int b = 0; b < 54; b++) {
+                assertEquals(d.distance(a, b), d.distance(b, a));
+                // Walking next hops reaches b in exactly distance(a, b) steps
+                List<Integer> path = d.path(a, b);
+                assertEquals(d.distance(a, b) + 1, path.size());
+                for (int i = 1; i < path.size(); i++) {
+                    assertTrue(board.getVertex(path.get(i - 1)).getAdjacentVertices()
+                            .contains(board.getVertex(path.get(i))));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testShortestPathIsBuildable() {
+        RoadPlanner planner = new RoadPlanner(board);
+        assertEquals(0, planner.roadsTo(player, board.getVertex(0)));
+        assertEquals(3, planner.roadsTo(player, board.getVertex(3)));
+
+        RuleValidator rules = new RuleValidator(board);
+        List<BuildRoadAction> roads = planner.pathTo(player, board.getVertex(3));
+        for (BuildRoadAction road : roads) {
+            assertTrue(rules.canPlaceRoad(player, road.getStart(), road.getEnd()));
+            Road placed = new Road(player, road.getStart(), road.getEnd());
+            board.placeRoad(placed);
+            player.addRoad(placed);
+        }
+        assertEquals(0, planner.roadsTo(player, board.getVertex(3)));
+    }
+
+    @Test
+    void testDetoursAroundOpponentBuildings() {
+        RoadPlanner planner = new RoadPlanner(board);
+        // Vertex 0 reaches 2 through 1; an opponent settlement on 1 forces the long way
+        place(opponent, 1);
+        int roads = planner.roadsTo(player, board.getVertex(2));
+        assertTrue(roads > 2, "expected a detour, got " + roads);
+        for (BuildRoadAction road : planner.pathTo(player, board.getVertex(2))) {
+            assertNotEquals(1, road.getStart().getId());
+            assertNotEquals(1, road.getEnd().getId());
+        }
+        // Asking about another player reads the board again
+        assertEquals(1, planner.roadsTo(opponent, board.getVertex(2)));
+        assertEquals(roads, planner.roadsTo(player, board.getVertex(2)));
+
+        // Fencing in every neighbour of vertex 0 leaves no way out
+        place(opponent, 5);
+        place(opponent, 20);
+        assertEquals(RoadPlanner.UNREACHABLE, planner.roadsTo(player, board.getVertex(2)));
+        assertNull(planner.pathTo(player, board.getVertex(2)));
+    }
+}
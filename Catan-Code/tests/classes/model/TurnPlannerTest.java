@@ -0,0 +1,130 @@
+package classes.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import classes.Demonstrator;
+import classes.TestGames;
+import classes.controller.GameMaster;
+import classes.enums.ResourceType;
+import classes.moves.BuildCityAction;
+import classes.moves.BuildRoadAction;
+import classes.moves.BuildSettlementAction;
+import classes.moves.PlayerAction;
+import classes.moves.ValueWeights;
+
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Level;
+
+public class TurnPlannerTest {
+    private GameMaster game;
+    private Player player;
+
+    private Level logLevel;
+
+    @BeforeEach
+    void setUp() {
+        logLevel = TestGames.quietLogs();
+        game = TestGames.seated(7L, 100, ValueWeights.defaults(), "AI", "AI", "AI", "AI");
+        Demonstrator.performSetupPhase(game, new Random(7));
+        player = game.getPlayers().get(0);
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    private void give(int wood, int brick, int wheat, int sheep, int ore) {
+        player.collectResource(ResourceType.WOOD, wood);
+        player.collectResource(ResourceType.BRICK, brick);
+        player.collectResource(ResourceType.WHEAT, wheat);
+        player.collectResource(ResourceType.SHEEP, sheep);
+        player.collectResource(ResourceType.ORE, ore);
+    }
+
+    @Test
+    void testEmptyHandPlansNothing() {
+        player.getHand().setAll(new int[ResourceHand.RESOURCE_COUNT]);
+        assertTrue(new TurnPlanner().plan(game, player).isEmpty());
+    }
+
+    @Test
+    void testRoadsComeBeforeTheSettlementTheyEnable() {
+        give(3, 3, 1, 1, 0);
+        List<PlayerAction> plan = new TurnPlanner().plan(game, player);
+
+        int settlement = -1;
+        for (int i = 0; i < plan.size(); i++) {
+            if (plan.get(i) instanceof BuildSettlementAction) settlement = i;
+        }
+        assertTrue(settlement > 0, "plan should end in a settlement: " + plan);
+        assertTrue(plan.get(0) instanceof BuildRoadAction);
+
+        // The plan is legal when executed in order
+        for (PlayerAction action : plan) {
+            if (action instanceof BuildRoadAction) {
+                BuildRoadAction road = (BuildRoadAction) action;
+                assertTrue(game.getRuleValidator().canBuildRoad(player, road.getStart(), road.getEnd()));
+            } else if (action instanceof BuildSettlementAction) {
+                assertTrue(game.getRuleValidator().canBuildSettlement(player,
+                        ((BuildSettlementAction) action).getLocation()));
+            }
+            action.execute(game);
+        }
+        assertEquals(3, player.getVictoryPoints());
+    }
+
+    @Test
+    void testPlansTwoCitiesFromOneHand() {
+        give(0, 0, 4, 0, 6);
+        int cards = player.getHand().totalCards();
+        List<PlayerAction> plan = new TurnPlanner().plan(game, player);
+        assertEquals(2, plan.size());
+        for (PlayerAction action : plan) {
+            assertTrue(action instanceof BuildCityAction);
+            action.execute(game);
+        }
+        assertEquals(4, player.getVictoryPoints());
+        assertEquals(cards - 10, player.getHand().totalCards());
+    }
+
+    @Test
+    void testPlanningSeatsPlayAFullGame() {
+        GameMaster planned = TestGames.setUp(TestGames.seated(11L, 300, ValueWeights.defaults(),
+                "PLANNER", "PLANNER", "PLANNER", "PLANNER"));
+        planned.startSimulation();
+        for (Player p : planned.getPlayers()) {
+            assertTrue(p instanceof PlanningAIPlayer);
+        }
+        assertNotNull(planned.getWinner());
+    }
+
+    @Test
+    void testStalePlannedBuildsAreSkipped() {
+        player.getHand().setAll(new int[ResourceHand.RESOURCE_COUNT]);
+        give(1, 1, 0, 0, 0);
+        Vertex own = player.getBuildingsBuilt().get(0).getLocation();
+        Vertex next = null;
+        for (Vertex v : own.getAdjacentVertices()) {
+            if (game.getRuleValidator().canPlaceRoad(player, own, v)) next = v;
+        }
+        Vertex theirs = game.getPlayers().get(1).getBuildingsBuilt().get(0).getLocation();
+        // The second road was affordable and free when planned, but the first takes both
+        List<PlayerAction> stale = List.of(new BuildCityAction(player, theirs),
+                new BuildRoadAction(player, own, next), new BuildRoadAction(player, own, next));
+        RuleBasedAIPlayer planner = new RuleBasedAIPlayer(9) {
+            @Override protected PlayerAction resolveConstraint(GameMaster g) { return null; }
+            @Override protected PlayerAction pickBestValueMove(GameMaster g) { return null; }
+            @Override protected List<PlayerAction> planTurn(GameMaster g) { return stale; }
+        };
+
+        int roads = player.getRoadsBuilt().size();
+        assertFalse(planner.buildStep(game, 0));
+        assertEquals(roads + 1, player.getRoadsBuilt().size());
+        assertEquals(0, player.getHand().totalCards());
+        assertFalse(theirs.getBuilding() instanceof City);
+    }
+}
@@ -0,0 +1,53 @@
+package classes.sim;
+
+import classes.model.Cost;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandKernelsTest {
+
+    @Test
+    void testKernelsAgreeAcrossWordAndVectorBoundaries() {
+        // Vector and scalar kernels must agree, including lengths that leave a partial vector
+        for (HandKernels kernels : new HandKernels[]{new ScalarHandKernels(), HandKernels.named("vector")}) {
+            int[] totals = new int[70];
+            for (int i = 0; i < totals.length; i++) totals[i] = i % 9;
+            long[] over = {-1L, -1L, -1L};
+            kernels.maskAbove(totals, 67, 7, over);
+            // Bits past the length but inside the last word are cleared too
+            for (int i = 0; i < 67; i++) {
+                assertEquals(i % 9 == 8, (over[i >>> 6] & 1L << i) != 0, kernels.name() + " " + i);
+            }
+            assertEquals(-1L, over[2], "words past the length are left alone");
+
+            int[] target = {1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1};
+            int[] source = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+            kernels.add(target, 1, source, 0, 9);
+            assertArrayEquals(new int[]{1, 1, 2, 3, 4, 5, 6, 7, 8, 9, 1}, target, kernels.name());
+        }
+    }
+
+    @Test
+    void testCoverMaskReadsOneSeatPerGame() {
+        for (HandKernels kernels : new HandKernels[]{new ScalarHandKernels(), HandKernels.named("vector")}) {
+            // 70 games of two seats; seat 1 of game k holds k % 4 of every resource
+            int games = 70;
+            int[] hands = new int[games * 2 * 5];
+            for (int k = 0; k < games; k++) {
+                Arrays.fill(hands, (k * 2 + 1) * 5, (k * 2 + 2) * 5, k % 4);
+                Arrays.fill(hands, k * 2 * 5, (k * 2 + 1) * 5, 9); // seat 0 always could
+            }
+            long[] road = new long[2];
+            long[] city = new long[2];
+            kernels.coverMask(hands, 5, 10, games, Cost.ROAD, road);
+            kernels.coverMask(hands, 5, 10, games, Cost.CITY, city);
+            for (int k = 0; k < games; k++) {
+                assertEquals(k % 4 >= 1, (road[k >>> 6] & 1L << k) != 0, kernels.name() + " road " + k);
+                assertEquals(k % 4 >= 3, (city[k >>> 6] & 1L << k) != 0, kernels.name() + " city " + k);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package classes.sim;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import classes.Demonstrator;
+import classes.TestGames;
+import classes.controller.GameMaster;
+import classes.controller.GameSpec;
+import classes.model.BoardLayout;
+import classes.model.Player;
+import classes.moves.ValueWeights;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+public class LockstepEngineTest {
+
+    private Level logLevel;
+
+    @BeforeEach
+    void quietLogs() {
+        logLevel = TestGames.quietLogs();
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    private static List<GameSpec> specs(int games, ValueWeights weights, int maxRounds) {
+        List<GameSpec> specs = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            specs.add(new GameSpec(i, 1000 + i, "w", weights, BoardLayout.defaultLayout(), maxRounds, 4));
+        }
+        return specs;
+    }
+
+    private static void assertMatchesGameMaster(List<GameSpec> specs, int capacity) {
+        List<SimResult> results = new LockstepEngine(capacity, 4).runAll(specs);
+        for (int i = 0; i < specs.size(); i++) {
+            GameMaster game = new GameMaster(specs.get(i));
+            game.setStatePath(null);
+            Demonstrator.performSetupPhase(game);
+            game.startSimulation();
+
+            SimResult sim = results.get(i);
+            String where = "seed " + specs.get(i).getSeed();
+            assertEquals(game.getWinner() == null ? 0 : game.getWinner().getId(), sim.getWinnerId(), where);
+            assertEquals(game.getCurrentRound(), sim.getRounds(), where);
+            for (Player p : game.getPlayers()) {
+                assertEquals(p.getVictoryPoints(), sim.getVictoryPoints(p.getId()), where);
+                assertEquals(p.getHand().totalCards(), sim.getCardsInHand(p.getId()), where);
+            }
+        }
+    }
+
+    @Test
+    void testReproducesGameMasterUnderSeed() {
+        // Fewer slots than games, so finished slots are refilled mid-run
+        assertMatchesGameMaster(specs(40, ValueWeights.defaults(), 2000), 16);
+    }
+
+    @Test
+    void testReproducesGameMasterWithOtherWeightsAndRoundLimit() {
+        // A short round limit exercises unfinished games; other weights change tie sets
+        assertMatchesGameMaster(specs(20, new ValueWeights(0.6, 0.9, 0.5, 3), 60), 7);
+    }
+
+    @Test
+    void testRejectsMismatchedPlayerCount() {
+        LockstepEngine engine = new LockstepEngine(4, 3);
+        assertThrows(IllegalArgumentException.class, () -> engine.runAll(specs(1, ValueWeights.defaults(), 10)));
+    }
+}
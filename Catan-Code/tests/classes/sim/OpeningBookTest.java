@@ -0,0 +1,91 @@
+package classes.sim;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import classes.Demonstrator;
+import classes.TestGames;
+import classes.controller.GameMaster;
+import classes.model.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Level;
+
+public class OpeningBookTest {
+
+    private Level logLevel;
+
+    @BeforeEach
+    void quietLogs() {
+        logLevel = TestGames.quietLogs();
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testBuildWriteAndLookUp() throws IOException, InterruptedException {
+        BoardLayout layout = BoardLayout.defaultLayout();
+        List<OpeningBook.Entry> entries = new OpeningBookBuilder(2, 2, 30, 2, 5L).build(layout, 4);
+        assertEquals(8, entries.size());
+        for (OpeningBook.Entry e : entries) {
+            List<OpeningBook.Pick> picks = e.getPicks();
+            assertEquals(2, picks.size());
+            assertTrue(picks.get(0).getScore() >= picks.get(1).getScore());
+        }
+
+        Path file = dir.resolve("opening.book");
+        OpeningBook.write(file, entries);
+        OpeningBook book = OpeningBook.open(file, 4);
+        assertEquals(entries.size(), book.size());
+        for (OpeningBook.Entry e : entries) {
+            OpeningBook.Key k = e.getKey();
+            List<OpeningBook.Pick> picks = book.lookup(k.layoutHash, k.seat, k.placed, k.own);
+            assertEquals(e.getPicks().get(0).getVertex(), picks.get(0).getVertex());
+            assertEquals(e.getPicks().get(0).getRoadEnd(), picks.get(0).getRoadEnd());
+            assertEquals(e.getPicks().get(0).getScore(), picks.get(0).getScore(), 1e-4);
+        }
+        assertTrue(book.lookup(layout.contentHash() + 1, 0, 0L, 0L).isEmpty());
+    }
+
+    @Test
+    void testSetupFollowsTheBook() throws InterruptedException {
+        List<OpeningBook.Entry> entries = new OpeningBookBuilder(2, 1, 30, 2, 9L).build(BoardLayout.defaultLayout(), 4);
+        GameMaster game = TestGames.fromSpec(9L, 30);
+        Demonstrator.performSetupPhase(game, OpeningBook.of(entries));
+
+        // Each entry's key is the position after the previous entries' choices were played
+        for (int i = 0; i < entries.size(); i++) {
+            OpeningBook.Pick best = entries.get(i).getPicks().get(0);
+            Player seat = game.getPlayers().get(entries.get(i).getKey().seat);
+            Vertex v = game.getBoard().getVertex(best.getVertex());
+            assertSame(seat, v.getOwner());
+        }
+    }
+
+    @Test
+    void testUnknownBoardFallsBackToDefaultSetup() throws IOException {
+        GameMaster withBook = TestGames.fromSpec(4L, 30);
+        GameMaster without = TestGames.fromSpec(4L, 30);
+        Demonstrator.performSetupPhase(withBook, OpeningBook.of(List.of()));
+        Demonstrator.performSetupPhase(without);
+        for (Vertex v : without.getBoard().getVertices()) {
+            assertEquals(v.isOccupied(), withBook.getBoard().getVertex(v.getId()).isOccupied());
+        }
+
+        Path file = dir.resolve("other.book");
+        Files.write(file, new byte[16]);
+        assertThrows(IOException.class, () -> OpeningBook.open(file));
+    }
+}
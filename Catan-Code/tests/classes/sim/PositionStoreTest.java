@@ -0,0 +1,111 @@
+package classes.sim;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import classes.TestGames;
+import classes.controller.GameMaster;
+import classes.enums.GameEventType;
+import classes.model.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+public class PositionStoreTest {
+
+    private Level logLevel;
+
+    @BeforeEach
+    void quietLogs() {
+        logLevel = TestGames.quietLogs();
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRecordMatchesTheLiveGame() throws IOException {
+        GameMaster game = TestGames.setUp(TestGames.fromSpec(8L, 120));
+        try (PositionStore store = PositionStore.open(dir.resolve("positions.bin"))) {
+            PositionSampler sampler = PositionSampler.attach(game, store, EnumSet.of(GameEventType.TURN_START), 1);
+            game.startSimulation();
+            assertEquals(sampler.getSampled(), store.size());
+
+            long index = store.append(game);
+            PositionStore.Position pos = store.get(index);
+            Board board = game.getBoard();
+            assertEquals(game.getCurrentRound(), pos.getRound());
+            assertEquals(game.getSeed(), pos.getSeed());
+            assertEquals(board.getRobber().getCurrentTile().getId(), pos.getRobberTile());
+            for (int seat = 0; seat < game.getPlayers().size(); seat++) {
+                Player p = game.getPlayers().get(seat);
+                assertEquals(p.getId(), pos.getPlayerId(seat));
+                assertEquals(p.getVictoryPoints(), pos.getVictoryPoints(seat));
+                assertEquals(p.getHand().totalCards(), pos.getTotalCards(seat));
+                for (Road road : p.getRoadsBuilt()) {
+                    assertEquals(seat, pos.getRoadOwner(road.getEnd().getId(), road.getStart().getId()));
+                }
+            }
+            for (Vertex v : board.getVertices()) {
+                int owner = v.isOccupied() ? game.getPlayers().indexOf(v.getOwner()) : -1;
+                assertEquals(owner, pos.getVertexOwner(v.getId()));
+                assertEquals(v.getBuilding() instanceof City, pos.isCity(v.getId()));
+            }
+
+            Board copy = pos.toBoard(BoardLayout.defaultLayout(), game.getPlayers());
+            assertEquals(board.getRoads().size(), copy.getRoads().size());
+            assertEquals(board.getRobber().getCurrentTile().getId(), copy.getRobber().getCurrentTile().getId());
+        }
+    }
+
+    @Test
+    void testReopenAndParallelScanAcrossSegments() throws IOException {
+        Path file = dir.resolve("many.bin");
+        int records = PositionStore.SEGMENT_RECORDS * 2 + 100;
+        byte[] template;
+        try (PositionStore store = PositionStore.open(file)) {
+            store.append(TestGames.setUp(TestGames.fromSpec(3L, 120)));
+            template = store.get(0).toBytes();
+        }
+        try (PositionStore store = PositionStore.open(file)) {
+            assertEquals(1, store.size());
+            for (int i = 1; i < records; i++) {
+                template[0] = (byte) i;   // low byte of the round
+                store.append(template);
+            }
+        }
+        try (PositionStore store = PositionStore.open(file)) {
+            assertEquals(records, store.size());
+            AtomicLong visited = new AtomicLong();
+            AtomicLong roundSum = new AtomicLong();
+            store.parallelScan(p -> {
+                visited.incrementAndGet();
+                roundSum.addAndGet(p.getRound() & 0xFF);
+            });
+            long expected = 0;
+            PositionStore.Position pos = new PositionStore.Position();
+            for (long i = 0; i < records; i++) expected += store.read(i, pos).getRound() & 0xFF;
+            assertEquals(records, visited.get());
+            assertEquals(expected, roundSum.get());
+        }
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path file = dir.resolve("other.bin");
+        Files.write(file, new byte[PositionStore.RECORD_BYTES]);
+        assertThrows(IOException.class, () -> PositionStore.open(file));
+    }
+}
@@ -0,0 +1,77 @@
+package classes.sim;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import classes.TestGames;
+import classes.controller.GameMaster;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+
+public class WinProbabilityEstimatorTest {
+
+    private Level logLevel;
+
+    @BeforeEach
+    void quietLogs() {
+        logLevel = TestGames.quietLogs();
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    @Test
+    void testOpeningEstimateIsReproducibleAndCached() {
+        GameMaster game = TestGames.setUp(TestGames.fromSpec(12L, 150));
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator(ForkJoinPool.commonPool(), 48, 16, 0.0, 4);
+        WinProbabilityEstimator.Estimate estimate = estimator.estimate(game);
+
+        assertEquals(48, estimate.getRollouts());
+        int total = 0;
+        for (int seat = 0; seat < estimate.getSeatCount(); seat++) {
+            assertEquals(game.getPlayers().get(seat).getId(), estimate.getPlayerId(seat));
+            assertTrue(estimate.getLower(seat) <= estimate.getWinProbability(seat));
+            assertTrue(estimate.getWinProbability(seat) <= estimate.getUpper(seat));
+            total += estimate.getWins(seat);
+        }
+        assertTrue(total <= 48);
+        assertTrue(total > 0);
+
+        // Same position, fresh estimator: the same rollouts; same estimator: the cached estimate
+        WinProbabilityEstimator.Estimate again = new WinProbabilityEstimator(ForkJoinPool.commonPool(), 48, 16, 0.0, 4)
+                .estimate(game);
+        for (int seat = 0; seat < estimate.getSeatCount(); seat++) {
+            assertEquals(estimate.getWins(seat), again.getWins(seat));
+        }
+        assertSame(estimate, estimator.estimate(game));
+        assertEquals(0, game.getCurrentRound());   // the live game is not touched
+    }
+
+    @Test
+    void testDecidedPositionStopsEarly() {
+        GameMaster game = TestGames.setUp(TestGames.fromSpec(3L, 300));
+        game.startSimulation();
+        assertNotNull(game.getWinner());
+        int winnerSeat = game.getPlayers().indexOf(game.getWinner());
+
+        WinProbabilityEstimator.Estimate estimate = new WinProbabilityEstimator(ForkJoinPool.commonPool(),
+                1024, 64, 0.05, 4).estimate(game);
+        assertEquals(64, estimate.getRollouts());
+        assertEquals(1.0, estimate.getWinProbability(winnerSeat), 1e-12);
+        assertTrue(estimate.getLower(winnerSeat) > 0.9);
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator(ForkJoinPool.commonPool(), 4, 4, 0.0, 2);
+        for (long seed = 1; seed <= 3; seed++) {
+            estimator.estimate(TestGames.setUp(TestGames.fromSpec(seed, 20)));
+        }
+        assertEquals(2, estimator.getCacheSize());
+    }
+}
@@ -0,0 +1,110 @@
+package classes.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import classes.enums.ResourceType;
+import classes.model.BoardLayout;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+public class BoardLoaderTest {
+
+    private static final Path BASE_MAP = Paths.get("../2aa4-2026-base/assignments/visualize/base_map.json");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testBaseMapMatchesDefaultLayout() throws IOException {
+        // The shipped base map describes the same board the simulator hard-codes
+        BoardLayout layout = new BoardLoader(null).load(BASE_MAP);
+        assertEquals(BoardLayout.defaultLayout(), layout);
+        assertEquals(16, layout.getDesertTileId(), "Desert should be tile 16");
+    }
+
+    @Test
+    void testCacheRoundTrip() throws IOException {
+        Path map = tempDir.resolve("board.json");
+        Files.copy(BASE_MAP, map);
+        Path cache = tempDir.resolve("cache");
+
+        BoardLayout parsed = new BoardLoader(cache).load(map);
+        assertTrue(Files.exists(cache.resolve("board.json.layout")), "Cache file should be written");
+
+        // Corrupt the JSON but keep its size and timestamp, so only the cache can load it
+        FileTime stamp = Files.getLastModifiedTime(map);
+        Files.writeString(map, Files.readString(map).replace("WOOD", "WOOF"));
+        Files.setLastModifiedTime(map, stamp);
+
+        // Partition: a fresh cache skips JSON parsing entirely
+        assertEquals(parsed, new BoardLoader(cache).load(map));
+        assertThrows(IllegalArgumentException.class, () -> new BoardLoader(null).load(map));
+    }
+
+    @Test
+    void testShippedCorpusIsTheBaseMap() throws IOException {
+        // The shipped scraped_boards directory holds a rendered PNG and no map files
+        Path corpus = BASE_MAP.getParent();
+        assertEquals(List.of(BASE_MAP), BoardLoader.findCorpusFiles(corpus));
+        assertEquals(List.of(BoardLayout.defaultLayout()), new BoardLoader(null).loadCorpus(corpus));
+    }
+
+    @Test
+    void testScrapedMapFilesJoinTheCorpus() throws IOException {
+        Path scraped = Files.createDirectories(tempDir.resolve("scraped_boards"));
+        Files.copy(BASE_MAP, tempDir.resolve("base_map.json"));
+        // A second board: wood and sheep tiles trade places
+        Files.writeString(scraped.resolve("board1.json"), Files.readString(BASE_MAP)
+                .replace("WOOD", "TEMP").replace("SHEEP", "WOOD").replace("TEMP", "SHEEP"));
+        Files.writeString(scraped.resolve("board2.json"), "{\"tiles\": []}");
+        Files.write(scraped.resolve("board0.png"), new byte[]{1, 2, 3});
+
+        List<BoardLayout> boards = new BoardLoader(null).loadCorpus(tempDir);
+        // Partition: the unreadable map is skipped and the image is not a map file
+        assertEquals(2, boards.size());
+        assertEquals(BoardLayout.defaultLayout(), boards.get(0));
+        assertEquals(ResourceType.SHEEP, boards.get(1).getResource(0));
+        assertEquals(BoardLayout.defaultLayout().getToken(0), boards.get(1).getToken(0));
+    }
+
+    @Test
+    void testMissingTileRejected() {
+        String json = "{\"tiles\": [{\"q\":0,\"s\":0,\"r\":0,\"resource\":\"WOOD\",\"number\":10}]}";
+        // Boundary: a map must define all 19 tiles
+        assertThrows(IllegalArgumentException.class, () -> BoardLoader.parse("partial",
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void testBadTilesRejected() throws IOException {
+        String base = Files.readString(BASE_MAP);
+        String centre = "{ \"q\":  0, \"s\":  0, \"r\":  0, \"resource\": \"WOOD\", \"number\": 10 },";
+        assertTrue(base.contains(centre));
+        // Boundaries: 7, 1 and 13 are not tokens, a resource tile needs one, and a tile is defined once
+        for (String bad : new String[]{
+                centre.replace("10", "7"), centre.replace("10", "1"), centre.replace("10", "13"),
+                centre.replace("10", "null"), centre + centre}) {
+            String json = base.replace(centre, bad);
+            assertThrows(IllegalArgumentException.class, () -> BoardLoader.parse("bad",
+                    new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))), bad);
+        }
+        String ok = base.replace(centre, centre.replace("10", "12"));
+        assertEquals(12, BoardLoader.parse("ok", new ByteArrayInputStream(ok.getBytes(StandardCharsets.UTF_8))).getToken(0));
+    }
+
+    @Test
+    void testNullResourceIsDesert() throws IOException {
+        BoardLayout layout = new BoardLoader(null).load(BASE_MAP);
+        assertEquals(ResourceType.DESERT, layout.getResource(16));
+        assertEquals(0, layout.getToken(16));
+    }
+}
@@ -0,0 +1,120 @@
+package classes.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import classes.TestGames;
+import classes.controller.GameMaster;
+import classes.controller.GameSpec;
+import classes.enums.DiceModel;
+import classes.enums.RandomMode;
+import classes.model.BoardLayout;
+import classes.moves.ValueWeights;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Level;
+
+public class DiceSourceTest {
+
+    private Level logLevel;
+
+    @BeforeEach
+    void quietLogs() {
+        logLevel = TestGames.quietLogs();
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testTapeTakesOneStepPerRollAndFollowsReseeds() {
+        SeededRandom random = new SeededRandom(3L);
+        RollTape tape = new RollTape(random);
+        int[] counts = new int[13];
+        int rolls = 36 * 2000;
+        for (int i = 0; i < rolls; i++) {
+            int roll = tape.roll();
+            assertEquals(roll, tape.getDie1() + tape.getDie2());
+            counts[roll]++;
+        }
+        SeededRandom skipped = new SeededRandom(3L);
+        skipped.skip(rolls);
+        assertEquals(skipped.getState(), random.getState());
+        for (int sum = 2; sum <= 12; sum++) {
+            double expected = rolls * (6 - Math.abs(7 - sum)) / 36.0;
+            assertEquals(expected, counts[sum], 5 * Math.sqrt(expected), "sum " + sum);
+        }
+
+        // Setting the stream back replays the same rolls, mid-block or not
+        random.setState(11L);
+        int first = tape.roll();
+        int second = tape.roll();
+        random.setState(11L);
+        assertEquals(first, tape.roll());
+        assertEquals(second, tape.roll());
+    }
+
+    @Test
+    void testDeckDealsEveryOutcomeOncePerDeck() {
+        DiceDeck deck = new DiceDeck(new SeededRandom(8L));
+        for (int round = 0; round < 3; round++) {
+            int[] counts = new int[13];
+            for (int i = 0; i < DiceDeck.SIZE; i++) {
+                counts[deck.roll()]++;
+            }
+            for (int sum = 2; sum <= 12; sum++) {
+                assertEquals(6 - Math.abs(7 - sum), counts[sum], "sum " + sum);
+            }
+        }
+        DiceDeck early = new DiceDeck(new SeededRandom(8L), 5);
+        early.roll();
+        assertEquals(DiceDeck.SIZE - 6, early.remaining());
+        assertThrows(IllegalArgumentException.class, () -> new DiceDeck(new SeededRandom(1L), DiceDeck.SIZE));
+    }
+
+    @Test
+    void testReplayReadsTheRollsOfALog() throws IOException {
+        Path log = tempDir.resolve("game.log");
+        Files.write(log, List.of("Added AI Player 1", "[1] / [Player 1]: rolled 8",
+                "[1] / [Player 2]: rolled 2", "[1] / [Player 2]: built road", "[2] / [Player 1]: rolled 12"));
+        ReplayDice replay = ReplayDice.fromLog(log);
+        assertEquals(3, replay.remaining());
+        assertEquals(8, replay.roll());
+        assertEquals(2, replay.getDie1());
+        assertEquals(6, replay.getDie2());
+        assertEquals(2, replay.roll());
+        assertEquals(12, replay.roll());
+        assertThrows(IllegalStateException.class, replay::roll);
+    }
+
+    @Test
+    void testTapeGamesResumeFromCheckpoints() throws IOException {
+        GameMaster game = new GameMaster(new GameSpec(0, 6L, "default", ValueWeights.defaults(),
+                BoardLayout.defaultLayout(), 40, 4, RandomMode.INDEPENDENT, DiceModel.TAPE));
+        game.setStatePath(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        game.checkpoint(out);
+        GameMaster restored = GameMaster.restore(new ByteArrayInputStream(out.toByteArray()));
+        assertTrue(restored.getDiceSource() instanceof RollTape);
+        game.startSimulation();
+        restored.startSimulation();
+        assertEquals(game.getCurrentRound(), restored.getCurrentRound());
+        assertEquals(game.getPlayers().get(0).getHand().toString(), restored.getPlayers().get(0).getHand().toString());
+
+        game.setDiceModel(DiceModel.DECK);
+        assertThrows(IllegalStateException.class, () -> game.checkpoint(new ByteArrayOutputStream()));
+    }
+}
@@ -0,0 +1,109 @@
+package classes.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import classes.controller.GameSpec;
+import classes.enums.RandomMode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ExperimentConfigReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ExperimentConfigReader read(String... lines) throws IOException {
+        Path file = tempDir.resolve("experiment.txt");
+        Files.write(file, List.of(lines));
+        return new ExperimentConfigReader(file.toString(), new BoardLoader(null));
+    }
+
+    @Test
+    void testGridSize() throws IOException {
+        ExperimentConfigReader config = read(
+                "seeds: 1..10",
+                "weights: a = 1.0, 0.8, 0.5",
+                "weights: b = 1.0, 0.9, 0.4, 3",
+                "boards: default, default, default");
+        // Partition: size is the product of the three dimensions
+        assertEquals(10 * 2 * 3, config.size());
+    }
+
+    @Test
+    void testSeedsVaryFastest() throws IOException {
+        ExperimentConfigReader config = read(
+                "seeds: 5..6",
+                "weights: a = 1.0, 0.8, 0.5",
+                "weights: b = 1.0, 0.9, 0.4");
+        List<String> order = config.specs()
+                .map(s -> s.getSeed() + s.getWeightsName())
+                .collect(Collectors.toList());
+        assertEquals(List.of("5a", "6a", "5b", "6b"), order);
+    }
+
+    @Test
+    void testBadSeedListKeepsThePreviousSeeds() throws IOException {
+        ExperimentConfigReader config = read("seeds: 1..3", "seeds: 4, 5, x, 6");
+        assertEquals(3, config.size());
+        assertEquals(3, config.specAt(2).getSeed());
+    }
+
+    @Test
+    void testBadWeightsLineKeepsNamesAligned() throws IOException {
+        ExperimentConfigReader config = read(
+                "seeds: 1",
+                "weights: a = 1.0, 0.8, 0.5",
+                "weights: aggressive = 1.0, x, 0.5",
+                "weights: b = 1.0, 0.9, 0.4");
+        assertEquals(2, config.size());
+        assertEquals("a", config.specAt(0).getWeightsName());
+        assertEquals("b", config.specAt(1).getWeightsName());
+        assertEquals(0.9, config.specAt(1).getWeights().getRoadBuild());
+    }
+
+    @Test
+    void testUnknownEngineUsesTheObjectEngine() throws IOException {
+        assertTrue(read("engine: lockstep").isLockstep());
+        assertFalse(read("engine: lockstep", "engine: lockstpe").isLockstep());
+        assertFalse(read("engine: object").isLockstep());
+    }
+
+    @Test
+    void testSeedListAndRounds() throws IOException {
+        ExperimentConfigReader config = read("seeds: 42, 7", "rounds: 20000");
+        GameSpec last = config.specAt(config.size() - 1);
+        assertEquals(7, last.getSeed());
+        // Boundary: experiment rounds are not capped at 8192
+        assertEquals(20000, last.getMaxRounds());
+        // ... but the turns key keeps the R1.4 cap
+        assertEquals(ConfigReader.MAX_TURNS, read("turns: 20000").getMaxTurns());
+        assertEquals(0.8, last.getWeights().getRoadBuild(), "Default weights when none are given");
+    }
+
+    @Test
+    void testFingerprintChangesWithGrid() throws IOException {
+        String a = read("seeds: 1..10").fingerprint();
+        String b = read("seeds: 1..11").fingerprint();
+        assertNotEquals(a, b);
+    }
+
+    @Test
+    void testAntitheticPairingDoublesTheGrid() throws IOException {
+        ExperimentConfigReader config = read("seeds: 1..3", "pairing: antithetic", "engine: lockstep");
+        assertEquals(6, config.size());
+        assertFalse(config.isLockstep(), "Lockstep draws independent streams only");
+        GameSpec common = config.specAt(4);
+        GameSpec mirror = config.specAt(5);
+        assertEquals(3, common.getSeed());
+        assertEquals(3, mirror.getSeed());
+        assertEquals(RandomMode.COMMON, common.getRandomMode());
+        assertEquals(RandomMode.ANTITHETIC, mirror.getRandomMode());
+        assertNotEquals(read("seeds: 1..3").fingerprint(), read("seeds: 1..3", "pairing: common").fingerprint());
+    }
+}
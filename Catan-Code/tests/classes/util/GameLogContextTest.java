@@ -0,0 +1,164 @@
+package classes.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import classes.Demonstrator;
+import classes.TestGames;
+import classes.controller.GameMaster;
+import classes.controller.GameSpec;
+import classes.enums.GameEventType;
+import classes.model.BoardLayout;
+import classes.moves.ValueWeights;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+public class GameLogContextTest {
+
+    private Level logLevel;
+
+    @BeforeEach
+    void quietLogs() {
+        logLevel = TestGames.quietLogs();
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    @Test
+    void testStepsAndTurnsCarryTheGameAndSeat() {
+        GameMaster game = new GameMaster(new GameSpec(42, 9L, "default", ValueWeights.defaults(),
+                BoardLayout.defaultLayout(), 20, 4));
+        game.setStatePath(null);
+        Demonstrator.performSetupPhase(game);
+
+        List<String> mismatches = new ArrayList<>();
+        game.getEvents().subscribe(event -> {
+            GameLogContext context = GameLogContext.current();
+            if (context == null || context.getGameId() != 42) {
+                mismatches.add("no game at " + event);
+            } else if (event.getType() == GameEventType.TURN_START && context.getSeat() != event.getPlayerId()) {
+                mismatches.add("seat " + context.getSeat() + " at " + event);
+            }
+        });
+        game.startSimulation();
+
+        assertEquals(List.of(), mismatches);
+        assertNull(GameLogContext.current());   // unbound again after every step
+    }
+
+    @Test
+    void testRouterWritesOneFilePerSelectedGame(@TempDir Path dir) throws Exception {
+        Logger logger = Logger.getLogger("classes.util.GameLogContextTest.router");
+        Level level = logger.getLevel();
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.INFO);
+        GameLogRouter router = new GameLogRouter(dir, GameLogRouter.Split.GAME, id -> id != 2, 1);
+        logger.addHandler(router);
+        try {
+            Thread[] threads = new Thread[3];
+            for (int g = 0; g < threads.length; g++) {
+                GameLogContext context = new GameLogContext(g + 1);
+                threads[g] = new Thread(() -> {
+                    GameLogContext previous = context.bind();
+                    for (int i = 0; i < 100; i++) {
+                        context.setSeat(i % 4 + 1);
+                        logger.info("line " + i + " of game " + context.getGameId());
+                    }
+                    GameLogContext.restore(previous);
+                });
+                threads[g].start();
+            }
+            for (Thread t : threads) t.join();
+            logger.info("outside any game");
+            assertEquals(1, router.getOpenCount());   // games take turns in one open file
+        } finally {
+            logger.removeHandler(router);
+            logger.setLevel(level);
+            logger.setUseParentHandlers(true);
+            router.close();
+        }
+
+        assertFalse(Files.exists(dir.resolve("game-2.log")));
+        for (int g : new int[]{1, 3}) {
+            List<String> lines = Files.readAllLines(dir.resolve("game-" + g + ".log"));
+            assertEquals(100, lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                assertEquals("line " + i + " of game " + g, lines.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testAsyncHandlerKeepsTheLoggingThreadsContext() {
+        List<String> lines = new ArrayList<>();
+        Handler sink = new Handler() {
+            @Override
+            public void publish(LogRecord logRecord) {
+                lines.add(getFormatter().format(logRecord).trim() + " on " + GameLogContext.threadOf(logRecord));
+            }
+            @Override public void flush() {}
+            @Override public void close() {}
+        };
+        sink.setFormatter(new GameLogFormatter(true));
+        AsyncLogHandler async = new AsyncLogHandler(sink, 4);
+
+        GameLogContext context = new GameLogContext(7);
+        GameLogContext previous = context.bind();
+        String thread = Thread.currentThread().getName();
+        for (int i = 0; i < 20; i++) {
+            context.setSeat(i % 2 == 0 ? 0 : 3);
+            async.publish(new LogRecord(Level.INFO, "message " + i));
+        }
+        GameLogContext.restore(previous);
+        async.publish(new LogRecord(Level.INFO, "after"));
+        async.close();
+
+        assertEquals(21, lines.size());
+        assertEquals("[game 7] message 0 on " + thread, lines.get(0));
+        assertEquals("[game 7 P3] message 1 on " + thread, lines.get(1));
+        assertEquals("after on " + thread, lines.get(20));
+    }
+
+    @Test
+    void testGameFilter() {
+        assertTrue(LoggerUtil.gameFilter(null).test(123));
+        assertTrue(LoggerUtil.gameFilter("17, 3").test(3));
+        assertFalse(LoggerUtil.gameFilter("17, 3").test(4));
+    }
+
+    @Test
+    void testBadGameListFallsBackToEveryGame() {
+        String previous = System.getProperty("catan.log.games");
+        System.setProperty("catan.log.games", "3,x");
+        try {
+            List<String> warnings = new ArrayList<>();
+            List<Handler> handlers = LoggerUtil.createHandlers(warnings);
+            assertEquals(1, warnings.size());
+            assertTrue(warnings.get(0).contains("3,x"), warnings.get(0));
+            // Only the console handler, passing records of any game
+            assertEquals(1, handlers.size());
+            GameLogContext bound = new GameLogContext(4).bind();
+            try {
+                assertTrue(handlers.get(0).getFilter().isLoggable(new LogRecord(Level.INFO, "game 4")));
+            } finally {
+                GameLogContext.restore(bound);
+            }
+        } finally {
+            if (previous == null) System.clearProperty("catan.log.games");
+            else System.setProperty("catan.log.games", previous);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package classes.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import classes.Demonstrator;
+import classes.TestGames;
+import classes.controller.GameMaster;
+import classes.controller.GameSpec;
+import classes.model.BoardLayout;
+import classes.moves.ValueWeights;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+
+public class GameOutputManagerTest {
+
+    private Level logLevel;
+
+    @BeforeEach
+    void quietLogs() {
+        logLevel = TestGames.quietLogs();
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testTemplatesResolveUnderTheRoot(@TempDir Path dir) {
+        GameOutputManager perDir = new GameOutputManager(dir, GameOutputManager.DEFAULT_TEMPLATE, 4,
+                GameOutputManager.Completion.KEEP, 0);
+        assertEquals(dir.toAbsolutePath().resolve("game-12/state.json"), perDir.resolve(12, "state.json"));
+        GameOutputManager flat = new GameOutputManager(dir, "{name}-{game}", 4, GameOutputManager.Completion.KEEP, 0);
+        assertEquals(dir.toAbsolutePath().resolve("state.json-12"), flat.resolve(12, "state.json"));
+
+        assertThrows(IllegalArgumentException.class, () -> perDir.resolve(1, "../../escape"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameOutputManager(dir, "state.json", 4, GameOutputManager.Completion.KEEP, 0));
+    }
+
+    @Test
+    void testChannelsAreBoundedAndWritesReplaceTheFile(@TempDir Path dir) throws IOException {
+        try (GameOutputManager out = new GameOutputManager(dir, GameOutputManager.DEFAULT_TEMPLATE, 2,
+                GameOutputManager.Completion.KEEP, 0)) {
+            for (int round = 0; round < 3; round++) {
+                for (long game = 0; game < 5; game++) {
+                    String content = round == 2 ? "g" + game : "a much longer first version of game " + game;
+                    out.write(game, "state.json", bytes(content));
+                    assertTrue(out.getOpenCount() <= 2);
+                }
+            }
+            for (long game = 0; game < 5; game++) {
+                assertEquals("g" + game, Files.readString(out.resolve(game, "state.json")));
+            }
+        }
+    }
+
+    @Test
+    void testCompletedGamesAreCompressedAndRotated(@TempDir Path dir) throws IOException {
+        try (GameOutputManager out = new GameOutputManager(dir, GameOutputManager.DEFAULT_TEMPLATE, 8,
+                GameOutputManager.Completion.GZIP, 2)) {
+            for (long game = 0; game < 3; game++) {
+                out.write(game, "state.json", bytes("state " + game));
+                out.write(game, "moves.txt", bytes("moves " + game));
+                out.complete(game);
+                assertEquals(0, out.getOpenCount());
+            }
+            out.complete(2);   // already complete: nothing happens
+
+            assertFalse(Files.exists(dir.resolve("game-0")));
+            for (long game = 1; game < 3; game++) {
+                assertFalse(Files.exists(out.resolve(game, "state.json")));
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(dir.resolve("game-" + game + "/state.json.gz")))) {
+                    assertEquals("state " + game, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testConcurrentGamesWriteTheirOwnState(@TempDir Path dir) throws Exception {
+        try (GameOutputManager out = new GameOutputManager(dir, GameOutputManager.DEFAULT_TEMPLATE, 1,
+                GameOutputManager.Completion.KEEP, 0)) {
+            GameMaster[] games = new GameMaster[3];
+            Thread[] threads = new Thread[games.length];
+            for (int g = 0; g < games.length; g++) {
+                GameMaster game = new GameMaster(new GameSpec(g, 30L + g, "default", ValueWeights.defaults(),
+                        BoardLayout.defaultLayout(), 40, 4));
+                game.setStatePath(null);
+                game.setOutputManager(out);
+                games[g] = game;
+                threads[g] = new Thread(() -> {
+                    Demonstrator.performSetupPhase(game);
+                    game.startSimulation();
+                });
+                threads[g].start();
+            }
+            for (Thread t : threads) t.join();
+
+            for (int g = 0; g < games.length; g++) {
+                assertArrayEquals(JsonStateExporter.toBytes(games[g].getBoard()),
+                        Files.readAllBytes(out.resolve(g, JsonStateExporter.STATE_FILE)));
+            }
+            assertEquals(0, out.getOpenCount());   // every game completed at game over
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package classes.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import classes.TestGames;
+import classes.controller.GameMaster;
+import classes.controller.GameSpec;
+import classes.enums.RandomMode;
+import classes.model.BoardLayout;
+import classes.moves.ValueWeights;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.logging.Level;
+
+public class PairedRandomTest {
+
+    private Level logLevel;
+
+    @BeforeEach
+    void quietLogs() {
+        logLevel = TestGames.quietLogs();
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        TestGames.restoreLogs(logLevel);
+    }
+
+    @Test
+    void testEveryDrawTakesOneStep() {
+        long state = SeededRandom.streamState(9L, GameMaster.STREAM_STEAL);
+        PairedRandom a = new PairedRandom(state, false);
+        PairedRandom b = new PairedRandom(state, false);
+        // Different bounds (one of them rejection-prone for SeededRandom), same step count
+        for (int i = 0; i < 1000; i++) {
+            a.nextInt(3);
+            b.nextInt(1 << 30 | 1);
+        }
+        assertEquals(a.getState(), b.getState());
+        assertEquals(a.nextInt(6), b.nextInt(6));
+    }
+
+    @Test
+    void testAntitheticMirrorsEveryDraw() {
+        long state = SeededRandom.streamState(4L, GameMaster.STREAM_DICE);
+        PairedRandom plain = new PairedRandom(state, false);
+        PairedRandom mirror = new PairedRandom(state, true);
+        Dice d1 = new Dice(plain);
+        Dice d2 = new Dice(mirror);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(14, d1.roll() + d2.roll());
+            int bound = 1 + i % 19;
+            assertEquals(bound - 1, plain.nextInt(bound) + mirror.nextInt(bound));
+        }
+        assertEquals(plain.getState(), mirror.getState());
+    }
+
+    @Test
+    void testPairedGamesCheckpointTheirMode() throws IOException {
+        GameMaster game = new GameMaster(new GameSpec(1, 5L, "default", ValueWeights.defaults(),
+                BoardLayout.defaultLayout(), 40, 4, RandomMode.ANTITHETIC));
+        game.setStatePath(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        game.checkpoint(out);
+        GameMaster restored = GameMaster.restore(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(RandomMode.ANTITHETIC, restored.getRandomMode());
+
+        game.startSimulation();
+        restored.startSimulation();
+        assertEquals(game.getCurrentRound(), restored.getCurrentRound());
+        assertEquals(game.getWinner() == null ? 0 : game.getWinner().getId(),
+                restored.getWinner() == null ? 0 : restored.getWinner().getId());
+    }
+}